@@ -0,0 +1,146 @@
+package nl.zerofiftyit.mdepunit.benchmark;
+
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
+import nl.zerofiftyit.mdepunit.core.parse.PomReader;
+import nl.zerofiftyit.mdepunit.core.validation.InitAnalyzer;
+import nl.zerofiftyit.mdepunit.core.validation.PomAnalyzer;
+import nl.zerofiftyit.mdepunit.core.validation.ResultCaller;
+import nl.zerofiftyit.mdepunit.dsl.Statement;
+import nl.zerofiftyit.mdepunit.exception.PomValidationException;
+import nl.zerofiftyit.mdepunit.model.NegateNext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluating a single rule against a POM file that has already been parsed, the way
+ * every {@code checking(...)} chain of a rule class does. The checks of a chain only run when
+ * it is validated, so every benchmark validates its chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyzerBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private BenchmarkPom pom;
+
+    private Path pomFile;
+    private PathIndex index;
+    private String lastProperty;
+    private String lastArtifact;
+    private InitAnalyzer analyzer;
+
+    /**
+     * Writes and parses the POM file.
+     *
+     * @throws IOException if the POM file cannot be written or read
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pomFile = pom.write();
+        index = new PomReader(pomFile.toString()).getIndex();
+        lastProperty = "library-" + (pom.getProperties() - 1) + ".version";
+        lastArtifact = "artifact-" + (pom.getDependencies() - 1);
+        analyzer = InitAnalyzer.analyzePom(pomFile.toString());
+        verifyModules();
+    }
+
+    /**
+     * Deletes the POM file.
+     *
+     * @throws IOException if the POM file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkPom.delete(pomFile);
+    }
+
+    /**
+     * Checks that the dependencies have a version tag.
+     *
+     * @param blackhole consumes the outcome of the rule
+     */
+    @Benchmark
+    public void haveTag(final Blackhole blackhole) {
+        validate(pomAnalyzer("dependencies.dependency").haveTag("version"), blackhole);
+    }
+
+    /**
+     * Checks that the dependencies contain the last artifact of the POM file.
+     *
+     * @param blackhole consumes the outcome of the rule
+     */
+    @Benchmark
+    public void containValue(final Blackhole blackhole) {
+        validate(pomAnalyzer("dependencies.dependency").containValue(lastArtifact), blackhole);
+    }
+
+    /**
+     * Checks that a property is present.
+     *
+     * @param blackhole consumes the outcome of the rule
+     */
+    @Benchmark
+    public void haveProperty(final Blackhole blackhole) {
+        validate(pomAnalyzer("properties").haveProperty(lastProperty), blackhole);
+    }
+
+    /**
+     * Checks that all modules of the POM file exist, resolved relative to the POM file.
+     *
+     * @param blackhole consumes the outcome of the rule
+     */
+    @Benchmark
+    public void allRegisteredModulesExist(final Blackhole blackhole) {
+        validate(analyzer.checkingModule().should().allRegisteredModulesExist(), blackhole);
+    }
+
+    private void verifyModules() {
+        // every module directory is looked up, so a missing module fails the negated chain
+        analyzer.checkingModule().should().allRegisteredModulesExist().validate();
+        try {
+            analyzer.checkingModule().shouldNot().allRegisteredModulesExist().validate();
+        } catch (PomValidationException e) {
+            if (e.getViolations().size() == pom.getModules()) {
+                return;
+            }
+        }
+        throw new IllegalStateException("The modules of " + pomFile + " are not all checked");
+    }
+
+    private static void validate(final Statement<?> statement, final Blackhole blackhole) {
+        try {
+            statement.validate();
+            blackhole.consume(statement);
+        } catch (PomValidationException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    private PomAnalyzer pomAnalyzer(final String givenNode) {
+        List<String> errorMessages = new ArrayList<>();
+        return new PomAnalyzer(givenNode, index, new ResultCaller(errorMessages),
+                new NegateNext(), errorMessages);
+    }
+}
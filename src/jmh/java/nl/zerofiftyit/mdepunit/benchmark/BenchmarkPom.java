@@ -0,0 +1,143 @@
+package nl.zerofiftyit.mdepunit.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * The POM files the benchmarks run against. Every size is generated into a temporary
+ * directory, together with a directory and {@code pom.xml} for each of its modules, so the
+ * benchmarks do not depend on the POM files of the project itself.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public enum BenchmarkPom {
+
+    /**
+     * A POM comparable to a small library: a few dependencies, properties and modules.
+     */
+    SMALL(5, 5, 2),
+
+    /**
+     * A POM comparable to the parent of a multi-module build.
+     */
+    MEDIUM(200, 50, 20),
+
+    /**
+     * A synthetic POM with 10,000 dependencies.
+     */
+    LARGE(10_000, 500, 100);
+
+    private final int dependencies;
+    private final int properties;
+    private final int modules;
+
+    BenchmarkPom(final int dependencies, final int properties, final int modules) {
+        this.dependencies = dependencies;
+        this.properties = properties;
+        this.modules = modules;
+    }
+
+    /**
+     * Retrieves the number of dependencies, which are named "artifact-0", "artifact-1" and so on.
+     *
+     * @return the number of dependencies in this POM file
+     */
+    public int getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Retrieves the number of properties, which are named "library-0.version",
+     * "library-1.version" and so on.
+     *
+     * @return the number of properties in this POM file
+     */
+    public int getProperties() {
+        return properties;
+    }
+
+    /**
+     * Retrieves the number of modules, which are named "module-0", "module-1" and so on.
+     *
+     * @return the number of modules in this POM file
+     */
+    public int getModules() {
+        return modules;
+    }
+
+    /**
+     * Writes this POM file and its module directories into a new temporary directory.
+     *
+     * @return the path of the written POM file
+     * @throws IOException if the files cannot be written
+     */
+    public Path write() throws IOException {
+        Path directory = Files.createTempDirectory("mdepunit-benchmark-");
+        Path pomFile = directory.resolve("pom.xml");
+        Files.write(pomFile, content().getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < modules; i++) {
+            Path module = Files.createDirectory(directory.resolve("module-" + i));
+            Files.write(module.resolve("pom.xml"),
+                    "<project/>".getBytes(StandardCharsets.UTF_8));
+        }
+        return pomFile;
+    }
+
+    /**
+     * Deletes the directory of a POM file written by {@link #write()}.
+     *
+     * @param pomFile the path returned by {@link #write()}
+     * @throws IOException if the files cannot be deleted
+     */
+    public static void delete(final Path pomFile) throws IOException {
+        try (Stream<Path> paths = Files.walk(pomFile.getParent())) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private String content() {
+        StringBuilder pom = new StringBuilder()
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n")
+                .append("  <groupId>nl.zerofifty-it.benchmark</groupId>\n")
+                .append("  <artifactId>").append(name().toLowerCase()).append("</artifactId>\n")
+                .append("  <version>1.0.0</version>\n")
+                .append("  <packaging>pom</packaging>\n");
+
+        pom.append("  <modules>\n");
+        for (int i = 0; i < modules; i++) {
+            pom.append("    <module>module-").append(i).append("</module>\n");
+        }
+        pom.append("  </modules>\n");
+
+        pom.append("  <properties>\n");
+        for (int i = 0; i < properties; i++) {
+            pom.append("    <library-").append(i).append(".version>").append(i)
+                    .append(".0.0</library-").append(i).append(".version>\n");
+        }
+        pom.append("  </properties>\n");
+
+        pom.append("  <dependencies>\n");
+        for (int i = 0; i < dependencies; i++) {
+            pom.append("    <dependency>\n")
+                    .append("      <groupId>org.example.group").append(i % properties)
+                    .append("</groupId>\n")
+                    .append("      <artifactId>artifact-").append(i).append("</artifactId>\n")
+                    .append("      <version>${library-").append(i % properties)
+                    .append(".version}</version>\n");
+            if (i % 3 == 0) {
+                pom.append("      <scope>test</scope>\n");
+            }
+            pom.append("    </dependency>\n");
+        }
+        pom.append("  </dependencies>\n");
+
+        return pom.append("</project>\n").toString();
+    }
+}
@@ -0,0 +1,101 @@
+package nl.zerofiftyit.mdepunit.benchmark;
+
+import nl.zerofiftyit.mdepunit.core.parse.ParserEngine;
+import nl.zerofiftyit.mdepunit.core.parse.PomReader;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a POM file with each {@link ParserEngine} and flattening it into
+ * {@link PomElement}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PomReaderBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private BenchmarkPom pom;
+
+    @Param({"JACKSON", "STAX"})
+    private ParserEngine engine;
+
+    private Path pomFile;
+    private String pomFilePath;
+    private PomReader reader;
+
+    /**
+     * Writes the POM file and reads it once for the benchmarks on an existing reader.
+     *
+     * @throws IOException if the POM file cannot be written or read
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pomFile = pom.write();
+        pomFilePath = pomFile.toString();
+        reader = new PomReader(pomFilePath, engine);
+    }
+
+    /**
+     * Deletes the POM file.
+     *
+     * @throws IOException if the POM file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkPom.delete(pomFile);
+    }
+
+    /**
+     * Reads and parses the POM file.
+     *
+     * @return the reader holding the parsed POM file
+     * @throws IOException if the POM file cannot be read
+     */
+    @Benchmark
+    public PomReader construct() throws IOException {
+        return new PomReader(pomFilePath, engine);
+    }
+
+    /**
+     * Reads, parses and flattens the POM file, as done once for every POM file that is
+     * analyzed.
+     *
+     * @return the flattened elements
+     * @throws IOException if the POM file cannot be read
+     */
+    @Benchmark
+    public List<PomElement> constructAndFlatten() throws IOException {
+        return new PomReader(pomFilePath, engine).getElements();
+    }
+
+    /**
+     * Retrieves a modifiable copy of all elements from an existing reader.
+     *
+     * @return the elements of the POM file
+     */
+    @Benchmark
+    public List<PomElement> getAllElements() {
+        return reader.getAllElements();
+    }
+}
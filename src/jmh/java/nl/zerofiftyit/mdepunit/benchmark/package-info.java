@@ -0,0 +1,6 @@
+/**
+ * JMH benchmarks for the POM analysis tool.
+ * Contains the benchmarks for parsing POM files and evaluating rules, run with the
+ * {@code benchmark} Maven profile.
+ */
+package nl.zerofiftyit.mdepunit.benchmark;
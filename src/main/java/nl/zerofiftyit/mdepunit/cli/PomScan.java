@@ -0,0 +1,173 @@
+package nl.zerofiftyit.mdepunit.cli;
+
+import nl.zerofiftyit.mdepunit.core.rules.RuleResult;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import nl.zerofiftyit.mdepunit.report.ReportFormat;
+import nl.zerofiftyit.mdepunit.report.Reporter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point of the {@link PomScanner}, which evaluates the rules of a
+ * {@link RuleFile} against every POM file in a directory tree:
+ * <pre>
+ * java -cp ... nl.zerofiftyit.mdepunit.cli.PomScan --rules pom-rules.txt [--threads 8]
+ *         [--verbose] [--format jsonl|junit|sarif --output report-file] [directory]
+ * </pre>
+ * The directory defaults to the working directory, and the number of threads to the number of
+ * processors. Failed and unreadable POM files are printed as their results come in, passed
+ * ones only with {@code --verbose}, followed by the totals and the number of files per second.
+ * With {@code --format}, every result is written to the output file as well, as it comes in,
+ * see {@link ReportFormat}.
+ * The exit code is 0 when the rules passed on every POM file, 1 when they did not, and 2 when
+ * the arguments or the rule file are invalid or the directory cannot be walked.
+ */
+public final class PomScan {
+
+    static final int PASSED = 0;
+    static final int FAILED = 1;
+    static final int INVALID = 2;
+
+    private static final String USAGE = "Usage: PomScan --rules <file> [--threads <count>]"
+            + " [--verbose] [--format jsonl|junit|sarif --output <file>] [directory]";
+
+    private PomScan() {
+    }
+
+    /**
+     * Scans the POM files below a directory and exits with the outcome.
+     *
+     * @param args the command-line arguments, see {@link PomScan}
+     */
+    public static void main(final String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Scans the POM files below a directory.
+     *
+     * @param args the command-line arguments, see {@link PomScan}
+     * @param out receives the results and the totals
+     * @param err receives usage and other errors
+     * @return the exit code
+     */
+    static int run(final String[] args, final PrintStream out, final PrintStream err) {
+        String rules = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean verbose = false;
+        String format = null;
+        String output = null;
+        String directory = ".";
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--rules":
+                        rules = value(args, ++i);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--verbose":
+                        verbose = true;
+                        break;
+                    case "--format":
+                        format = value(args, ++i);
+                        break;
+                    case "--output":
+                        output = value(args, ++i);
+                        break;
+                    default:
+                        directory = args[i];
+                        break;
+                }
+            }
+            if (rules == null) {
+                throw new IllegalArgumentException("No rule file given");
+            }
+            Path root = Paths.get(directory);
+            RuleSet ruleSet = RuleFile.read(Paths.get(rules));
+            PomScanner scanner = new PomScanner(ruleSet, threads);
+            boolean printPassed = verbose;
+            try (Reporter reporter = reporter(format, output, ruleSet)) {
+                ScanSummary summary = scanner.scan(root, result -> {
+                    String pomFile = root.relativize(result.getPomFile()).toString();
+                    print(out, pomFile, result, printPassed);
+                    report(reporter, pomFile, result);
+                });
+                out.println(summary);
+                return summary.isPassed() ? PASSED : FAILED;
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return INVALID;
+        } catch (IOException e) {
+            err.println("Cannot scan: " + e);
+            return INVALID;
+        } catch (UncheckedIOException e) {
+            err.println("Cannot scan: " + e.getCause());
+            return INVALID;
+        }
+    }
+
+    private static Reporter reporter(final String format, final String output,
+                                     final RuleSet ruleSet) throws IOException {
+        if (format == null) {
+            if (output != null) {
+                throw new IllegalArgumentException("No report format given for " + output);
+            }
+            return null;
+        }
+        ReportFormat reportFormat = ReportFormat.of(format);
+        if (output == null) {
+            throw new IllegalArgumentException("No output file given for the " + format
+                    + " report");
+        }
+        return reportFormat.open(Files.newOutputStream(Paths.get(output)), ruleSet);
+    }
+
+    private static void report(final Reporter reporter, final String pomFile,
+                               final ScanResult result) {
+        if (reporter == null) {
+            return;
+        }
+        try {
+            if (result.isError()) {
+                reporter.reportError(pomFile, result.getError());
+            } else {
+                reporter.report(pomFile, result.getResult());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String value(final String[] args, final int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void print(final PrintStream out, final String pomFile,
+                              final ScanResult result, final boolean printPassed) {
+        if (result.isError()) {
+            out.println("ERROR " + pomFile + ": " + result.getError());
+        } else if (!result.isPassed()) {
+            out.println("FAIL " + pomFile);
+            for (RuleResult failure : result.getResult().getFailures()) {
+                for (String message : failure.getMessages()) {
+                    out.println("  " + failure.getRule().getId() + ": "
+                            + message.strip().replace("\n", "\n    "));
+                }
+            }
+        } else if (printPassed) {
+            out.println("PASS " + pomFile);
+        }
+    }
+}
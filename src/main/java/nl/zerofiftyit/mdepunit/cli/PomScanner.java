@@ -0,0 +1,174 @@
+package nl.zerofiftyit.mdepunit.cli;
+
+import lombok.NonNull;
+import nl.zerofiftyit.mdepunit.core.parse.PomReader;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates a {@link RuleSet} against every {@code pom.xml} in a directory tree, for example
+ * all modules of a large checkout, without starting a test run per module.
+ * <p>
+ * The tree is walked with {@link Files#walkFileTree}, and every POM file found is handed to a
+ * fixed number of workers right away, so parsing starts while the walk is still going on.
+ * Hidden directories, such as {@code .git}, and {@code target} and {@code node_modules}
+ * directories are not entered, and symbolic links are not followed. The results are passed on
+ * as they complete, not in the order of the tree.
+ * <p>
+ * Every POM file is parsed once and evaluated in a single pass, see {@link RuleSet}. The files
+ * are not kept in the shared {@code PomCache}, as a scan reads every file only once. A file
+ * that cannot be read or parsed is reported as an error and does not stop the scan.
+ */
+public final class PomScanner {
+
+    /**
+     * The name of the files that are scanned.
+     */
+    public static final String POM_FILE = "pom.xml";
+
+    private static final Set<String> SKIPPED = Set.of("target", "node_modules");
+
+    private final RuleSet ruleSet;
+    private final int workers;
+
+    /**
+     * Constructs a scanner evaluating the given rules with the given number of workers.
+     *
+     * @param ruleSet the rules to evaluate against every POM file
+     * @param workers the number of POM files parsed and evaluated at the same time
+     * @throws IllegalArgumentException if the number of workers is less than one
+     */
+    public PomScanner(@NonNull final RuleSet ruleSet, final int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required, got "
+                    + workers);
+        }
+        this.ruleSet = ruleSet;
+        this.workers = workers;
+    }
+
+    /**
+     * Scans all POM files below the given directory. The listener receives the result of every
+     * file as soon as it is known; it is never called by two workers at the same time.
+     *
+     * @param directory the root of the tree to scan
+     * @param listener receives the result of every scanned POM file
+     * @return the totals of the scan
+     * @throws NotDirectoryException if the given path is not a directory
+     * @throws IOException if the directory cannot be walked, or the scan is interrupted
+     */
+    public ScanSummary scan(@NonNull final Path directory,
+                            @NonNull final Consumer<ScanResult> listener) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new NotDirectoryException(directory.toString());
+        }
+        long start = System.nanoTime();
+        Tally tally = new Tally(listener);
+        List<Future<?>> running = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir,
+                                                         final BasicFileAttributes attrs) {
+                    String name = String.valueOf(dir.getFileName());
+                    return !dir.equals(directory)
+                            && (name.startsWith(".") || SKIPPED.contains(name))
+                            ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(final Path file,
+                                                 final BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && POM_FILE.equals(
+                            String.valueOf(file.getFileName()))) {
+                        running.add(executor.submit(() -> tally.add(evaluate(file))));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                    tally.add(ScanResult.failed(file, message(exc)));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            for (Future<?> result : running) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Scan of " + directory + " was interrupted");
+        } catch (ExecutionException e) {
+            // only the listener can fail a worker, evaluate() catches all else
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (RuntimeException) e.getCause();
+        } finally {
+            executor.shutdownNow();
+        }
+        return tally.summary(System.nanoTime() - start);
+    }
+
+    private ScanResult evaluate(final Path pomFile) {
+        try {
+            return ScanResult.of(pomFile,
+                    ruleSet.evaluate(new PomReader(pomFile.toString()).getElements()));
+        } catch (IOException | RuntimeException e) {
+            return ScanResult.failed(pomFile, message(e));
+        }
+    }
+
+    private static String message(final Exception exception) {
+        return exception.getMessage() == null ? exception.toString() : exception.getMessage();
+    }
+
+    /**
+     * Counts the results and passes them on to the listener, one at a time.
+     */
+    private static final class Tally {
+
+        private final Consumer<ScanResult> listener;
+
+        private int passed;
+        private int failed;
+        private int errors;
+
+        Tally(final Consumer<ScanResult> listener) {
+            this.listener = listener;
+        }
+
+        synchronized void add(final ScanResult result) {
+            if (result.isError()) {
+                errors++;
+            } else if (result.isPassed()) {
+                passed++;
+            } else {
+                failed++;
+            }
+            listener.accept(result);
+        }
+
+        synchronized ScanSummary summary(final long elapsedNanos) {
+            return new ScanSummary(passed, failed, errors, elapsedNanos);
+        }
+    }
+}
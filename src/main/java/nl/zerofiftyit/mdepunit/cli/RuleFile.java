@@ -0,0 +1,100 @@
+package nl.zerofiftyit.mdepunit.cli;
+
+import lombok.NonNull;
+import nl.zerofiftyit.mdepunit.core.rules.RuleBuilder;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSetBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads a {@link RuleSet} from a text file, for use outside of Java code such as by
+ * {@link PomScan}. Every line declares one rule in the words of the {@code RuleSet} builder:
+ * <pre>
+ * # dependencies get their versions from dependency management
+ * versions: checking(dependencies.dependency).shouldNot().haveTag(version)
+ * no-snapshots: checking(dependencies).shouldNot().containValue(SNAPSHOT)
+ * encoding: should().haveProperty(project.build.sourceEncoding)
+ * </pre>
+ * The checks are {@code haveTag}, {@code containValue}, {@code equalsValue} and
+ * {@code haveProperty}, and {@code checking(...)} may be left out to check all elements. Blank
+ * lines and lines starting with {@code #} are ignored.
+ */
+public final class RuleFile {
+
+    private static final Pattern RULE = Pattern.compile("(?<id>[^:]+):\\s*"
+            + "(?:checking\\((?<node>[^)]*)\\)\\.)?(?<negation>should|shouldNot)\\(\\)\\."
+            + "(?<check>haveTag|containValue|equalsValue|haveProperty)\\((?<argument>.*)\\)");
+
+    private RuleFile() {
+    }
+
+    /**
+     * Reads the rules of the given file.
+     *
+     * @param file the file declaring the rules, in UTF-8
+     * @return the rule set with the rules in the order they are declared
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is not a rule, or a rule id is used twice or
+     *                                  reserved
+     */
+    public static RuleSet read(@NonNull final Path file) throws IOException {
+        return parse(Files.readAllLines(file, StandardCharsets.UTF_8), file.toString());
+    }
+
+    /**
+     * Parses the given lines as rules.
+     *
+     * @param lines the lines declaring the rules
+     * @param source where the lines come from, to report invalid lines
+     * @return the rule set with the rules in the order they are declared
+     * @throws IllegalArgumentException if a line is not a rule, or a rule id is used twice or
+     *                                  reserved
+     */
+    public static RuleSet parse(@NonNull final List<String> lines, final String source) {
+        RuleSetBuilder builder = RuleSet.builder();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            Matcher rule = RULE.matcher(line);
+            if (!rule.matches()) {
+                throw new IllegalArgumentException("Line " + (i + 1) + " of " + source
+                        + " is not a rule: " + line);
+            }
+            RuleBuilder declared = builder.rule(rule.group("id").trim());
+            if (rule.group("node") != null) {
+                declared.checking(rule.group("node"));
+            }
+            if ("shouldNot".equals(rule.group("negation"))) {
+                declared.shouldNot();
+            }
+            check(declared, rule.group("check"), rule.group("argument"));
+        }
+        return builder.build();
+    }
+
+    private static void check(final RuleBuilder rule, final String check, final String argument) {
+        switch (check) {
+            case "haveTag":
+                rule.haveTag(argument);
+                break;
+            case "containValue":
+                rule.containValue(argument);
+                break;
+            case "equalsValue":
+                rule.equalsValue(argument);
+                break;
+            default:
+                rule.haveProperty(argument);
+                break;
+        }
+    }
+}
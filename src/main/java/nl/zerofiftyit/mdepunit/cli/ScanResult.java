@@ -0,0 +1,76 @@
+package nl.zerofiftyit.mdepunit.cli;
+
+import nl.zerofiftyit.mdepunit.core.rules.RuleSetResult;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of scanning a single POM file: the result of the rule set, or the reason the
+ * file could not be read.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class ScanResult {
+
+    private final Path pomFile;
+    private final RuleSetResult result;
+    private final String error;
+
+    private ScanResult(final Path pomFile, final RuleSetResult result, final String error) {
+        this.pomFile = pomFile;
+        this.result = result;
+        this.error = error;
+    }
+
+    static ScanResult of(final Path pomFile, final RuleSetResult result) {
+        return new ScanResult(pomFile, result, null);
+    }
+
+    static ScanResult failed(final Path pomFile, final String error) {
+        return new ScanResult(pomFile, null, error);
+    }
+
+    /**
+     * Retrieves the scanned POM file.
+     *
+     * @return the path of the POM file, below the scanned directory
+     */
+    public Path getPomFile() {
+        return pomFile;
+    }
+
+    /**
+     * Retrieves the result of the rules evaluated against the POM file.
+     *
+     * @return the result of every rule, or {@code null} if the file could not be read
+     */
+    public RuleSetResult getResult() {
+        return result;
+    }
+
+    /**
+     * Retrieves the reason the POM file could not be read or parsed.
+     *
+     * @return the error, or {@code null} if the rules were evaluated
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Checks whether the POM file could not be read or parsed.
+     *
+     * @return true if no rules were evaluated
+     */
+    public boolean isError() {
+        return error != null;
+    }
+
+    /**
+     * Checks whether all rules passed on the POM file.
+     *
+     * @return true if the file was read and no rule found errors
+     */
+    public boolean isPassed() {
+        return error == null && result.isPassed();
+    }
+}
@@ -0,0 +1,101 @@
+package nl.zerofiftyit.mdepunit.cli;
+
+import java.util.Locale;
+
+/**
+ * The totals of a scan by the {@link PomScanner}.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class ScanSummary {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final int passed;
+    private final int failed;
+    private final int errors;
+    private final long elapsedNanos;
+
+    ScanSummary(final int passed, final int failed, final int errors, final long elapsedNanos) {
+        this.passed = passed;
+        this.failed = failed;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Retrieves the number of scanned POM files.
+     *
+     * @return the number of files, whether they passed, failed or could not be read
+     */
+    public int getFiles() {
+        return passed + failed + errors;
+    }
+
+    /**
+     * Retrieves the number of POM files on which all rules passed.
+     *
+     * @return the number of passed files
+     */
+    public int getPassed() {
+        return passed;
+    }
+
+    /**
+     * Retrieves the number of POM files on which a rule found errors.
+     *
+     * @return the number of failed files
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Retrieves the number of POM files that could not be read or parsed.
+     *
+     * @return the number of files in error
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Retrieves the time the scan took, from the start of the walk until the last result.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Retrieves the throughput of the scan.
+     *
+     * @return the number of scanned files per second
+     */
+    public double getFilesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getFiles() * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Checks whether the rules passed on every POM file.
+     *
+     * @return true if no file failed or was in error
+     */
+    public boolean isPassed() {
+        return failed == 0 && errors == 0;
+    }
+
+    /**
+     * Describes the totals of the scan.
+     *
+     * @return a summary such as {@code Scanned 3000 POM files in 1.84 s (1630.4 files/s):
+     *         2998 passed, 2 failed, 0 errors}
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "Scanned %d POM files in %.2f s (%.1f files/s): %d passed, %d failed, %d errors",
+                getFiles(), elapsedNanos / NANOS_PER_SECOND, getFilesPerSecond(), passed,
+                failed, errors);
+    }
+}
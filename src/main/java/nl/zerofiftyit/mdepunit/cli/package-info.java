@@ -0,0 +1,6 @@
+/**
+ * Command-line package for the POM analysis tool.
+ * Contains the batch scanner that evaluates a rule set against every POM file in a directory
+ * tree, and the {@code PomScan} entry point that runs it from the command line.
+ */
+package nl.zerofiftyit.mdepunit.cli;
@@ -0,0 +1,169 @@
+package nl.zerofiftyit.mdepunit.core.cache;
+
+import nl.zerofiftyit.mdepunit.core.parse.ContentHash;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A persistent cache of the checks that passed, kept in a directory so that later runs do not
+ * evaluate them again as long as nothing they depend on changed.
+ * <p>
+ * An entry is keyed by the hash of the content of the POM file, the fingerprint of the checks
+ * and the version of this library, so an entry never has to be invalidated: a changed POM file,
+ * changed checks or another library version use a different key. Only passed checks are kept.
+ * Checks that failed are evaluated again, so their violations can be reported in full.
+ * <p>
+ * An entry is an empty file named after its key. Creating a file is atomic, so concurrent
+ * writers of the same entry are safe. Failing to write an entry does not fail the analysis.
+ * <p>
+ * The cache is used by the analyzers when the system property
+ * {@code mdepunit.result.cache.dir} names a directory, for example
+ * {@code -Dmdepunit.result.cache.dir=target/mdepunit-results}. A summary of the hits and misses
+ * of the configured cache is printed when the JVM exits. The results of a build of this library
+ * without version or with a {@code -SNAPSHOT} version, for example a snapshot built from
+ * source, are not cached, as its checks may change between builds of the same version.
+ */
+public final class ResultCache {
+
+    /**
+     * The name of the system property naming the directory of the cache.
+     */
+    public static final String SYSTEM_PROPERTY = "mdepunit.result.cache.dir";
+
+    private static final String SNAPSHOT = "-SNAPSHOT";
+
+    private static final Map<Path, ResultCache> CACHES = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final String libraryVersion;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong writeFailures = new AtomicLong();
+
+    /**
+     * Constructs a new {@code ResultCache} keeping its entries in the given directory. The
+     * directory is created when the first entry is written.
+     *
+     * @param directory the directory holding the entries of the cache
+     * @param libraryVersion the version of the library evaluating the checks
+     */
+    public ResultCache(final Path directory, final String libraryVersion) {
+        this.directory = directory;
+        this.libraryVersion = libraryVersion;
+    }
+
+    /**
+     * Returns the cache in the directory configured by the {@code mdepunit.result.cache.dir}
+     * system property. The same instance is returned for the same directory, and the summary
+     * of every returned cache is printed when the JVM exits.
+     *
+     * @return the configured cache, or {@code null} when the property is not set or this
+     *         library has no version or a snapshot version
+     */
+    public static ResultCache configured() {
+        return configured(ResultCache.class.getPackage().getImplementationVersion());
+    }
+
+    static ResultCache configured(final String version) {
+        String configured = System.getProperty(SYSTEM_PROPERTY);
+        if (configured == null || configured.isBlank() || version == null
+                || version.endsWith(SNAPSHOT)) {
+            return null;
+        }
+        return CACHES.computeIfAbsent(Paths.get(configured.trim()).toAbsolutePath().normalize(),
+                directory -> {
+                    ResultCache cache = new ResultCache(directory, version);
+                    Runtime.getRuntime().addShutdownHook(new Thread(cache::printSummary));
+                    return cache;
+                });
+    }
+
+    /**
+     * Checks whether the given checks passed on a POM file with the given content before.
+     *
+     * @param contentHash the hash of the content of the POM file
+     * @param fingerprint a text identifying the checks, including everything their outcome
+     *                    depends on besides the POM file
+     * @return true if the checks passed before and do not have to be evaluated
+     */
+    public boolean isPassed(final String contentHash, final String fingerprint) {
+        boolean passed = Files.exists(entry(contentHash, fingerprint));
+        (passed ? hits : misses).incrementAndGet();
+        return passed;
+    }
+
+    /**
+     * Records that the given checks passed on a POM file with the given content.
+     *
+     * @param contentHash the hash of the content of the POM file
+     * @param fingerprint a text identifying the checks, as passed to {@link #isPassed}
+     */
+    public void recordPassed(final String contentHash, final String fingerprint) {
+        Path entry = entry(contentHash, fingerprint);
+        try {
+            Files.createDirectories(directory);
+            Files.createFile(entry);
+        } catch (IOException e) {
+            // the cache only saves work, the outcome is recorded again by a later run; an
+            // existing entry was recorded by another run
+            if (!(e instanceof FileAlreadyExistsException && Files.isRegularFile(entry))) {
+                writeFailures.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of checks that did not have to be evaluated.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of checks that were evaluated.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of outcomes that could not be recorded.
+     *
+     * @return the number of failed writes
+     */
+    public long getWriteFailures() {
+        return writeFailures.get();
+    }
+
+    /**
+     * Describes how many checks were served from this cache.
+     *
+     * @return a summary such as {@code mDepUnit result cache: 41 hits, 1 misses}
+     */
+    @Override
+    public String toString() {
+        return "mDepUnit result cache: " + getHits() + " hits, " + getMisses() + " misses";
+    }
+
+    void printSummary() {
+        if (getHits() + getMisses() > 0) {
+            System.out.println(this);
+        }
+    }
+
+    private Path entry(final String contentHash, final String fingerprint) {
+        return directory.resolve(ContentHash.of(libraryVersion + '\n' + contentHash + '\n'
+                + fingerprint));
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Core caching package for the POM analysis tool.
+ * Contains classes that keep the outcome of checks across runs, so checks of unchanged POM files
+ * do not have to be evaluated again.
+ */
+package nl.zerofiftyit.mdepunit.core.cache;
@@ -0,0 +1,72 @@
+package nl.zerofiftyit.mdepunit.core.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor for file system bound work, such as checking whether modules exist and reading
+ * POM files from a local repository. Such work mostly waits for the disk, so it is run on more
+ * threads than there are processors, to keep the disk busy instead of a single thread.
+ * <p>
+ * This is the implementation for Java 11 to 20: a bounded pool of daemon threads, sized by the
+ * system property {@code mdepunit.io.threads} and by default four threads per processor. Idle
+ * threads end after a while, so an idle executor holds no threads. The library is packaged as a
+ * multi-release JAR, whose Java 21 implementation of this class runs every task on a virtual
+ * thread instead.
+ */
+public final class IoExecutor {
+
+    /**
+     * The name of the system property holding the number of threads of the bounded pool.
+     */
+    public static final String THREADS_PROPERTY = "mdepunit.io.threads";
+
+    private static final int THREADS_PER_PROCESSOR = 4;
+    private static final long KEEP_ALIVE_SECONDS = 10;
+
+    private static final ExecutorService SHARED = create(threads());
+
+    private IoExecutor() {
+    }
+
+    /**
+     * Returns the executor shared by all file system bound work of the library. The executor is
+     * never shut down.
+     *
+     * @return the shared executor
+     */
+    public static ExecutorService shared() {
+        return SHARED;
+    }
+
+    /**
+     * Checks whether the tasks of the shared executor run on virtual threads.
+     *
+     * @return false, as this implementation runs tasks on a bounded pool of platform threads
+     */
+    public static boolean isVirtual() {
+        return false;
+    }
+
+    static int threads() {
+        return Math.max(1, Integer.getInteger(THREADS_PROPERTY,
+                Runtime.getRuntime().availableProcessors() * THREADS_PER_PROCESSOR));
+    }
+
+    static ExecutorService create(final int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "mdepunit-io-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
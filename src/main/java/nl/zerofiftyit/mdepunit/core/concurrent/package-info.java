@@ -0,0 +1,6 @@
+/**
+ * Core concurrency package for the POM analysis tool.
+ * Contains the executor that runs file system bound work, such as listing module directories and
+ * reading POM files from a local repository, concurrently.
+ */
+package nl.zerofiftyit.mdepunit.core.concurrent;
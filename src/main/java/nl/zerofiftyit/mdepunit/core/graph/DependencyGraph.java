@@ -0,0 +1,225 @@
+package nl.zerofiftyit.mdepunit.core.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The transitive dependency graph of a POM file, as built by a {@link GraphBuilder}.
+ * <p>
+ * Every node is an artifact version, so two versions of the same artifact are two nodes. The
+ * nodes are kept in the order they were reached, breadth first from the root, which makes the
+ * first node of an artifact the one nearest to the root, as in Maven.
+ * <p>
+ * A graph is immutable and can be shared between threads.
+ */
+public final class DependencyGraph {
+
+    private final GraphNode root;
+    private final Map<String, GraphNode> nodes;
+
+    DependencyGraph(final GraphNode root, final Map<String, GraphNode> nodes) {
+        this.root = root;
+        this.nodes = Collections.unmodifiableMap(nodes);
+    }
+
+    /**
+     * Retrieves the node of the analyzed POM file itself.
+     *
+     * @return the root of the graph
+     */
+    @SuppressWarnings("LombokGetterMayBeUsed")
+    public GraphNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Retrieves all nodes of the graph, the root included.
+     *
+     * @return an unmodifiable collection of the nodes, breadth first from the root
+     */
+    public Collection<GraphNode> getNodes() {
+        return nodes.values();
+    }
+
+    /**
+     * Retrieves the node of an artifact version.
+     *
+     * @param key {@code groupId:artifactId:version}
+     * @return the node, or {@code null} if the artifact version is not in the graph
+     */
+    public GraphNode getNode(final String key) {
+        return nodes.get(key);
+    }
+
+    /**
+     * Retrieves the number of nodes of the graph, the root included.
+     *
+     * @return the number of artifact versions in the graph
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Retrieves the nodes whose POM file was not found in the local repository.
+     *
+     * @return the unresolved nodes, breadth first from the root
+     */
+    public List<GraphNode> getUnresolved() {
+        return nodes.values().stream()
+                .filter(node -> !node.isResolved())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the artifacts that are in the graph with more than one version.
+     *
+     * @return the versions by {@code groupId:artifactId}, nearest to the root first, in the
+     *         order the artifacts were reached
+     */
+    public Map<String, List<GraphNode>> getVersionConflicts() {
+        Map<String, List<GraphNode>> versions = new LinkedHashMap<>();
+        for (GraphNode node : nodes.values()) {
+            versions.computeIfAbsent(node.getArtifactKey(), key -> new ArrayList<>(1)).add(node);
+        }
+        versions.values().removeIf(found -> found.size() < 2);
+        return versions;
+    }
+
+    /**
+     * Finds the transitive dependencies on an artifact: the nodes of the artifact that are not
+     * a direct dependency of the root.
+     *
+     * @param coordinates {@code groupId:artifactId} of the artifact
+     * @return the nodes of the artifact at depth 2 or more, nearest to the root first
+     * @throws IllegalArgumentException if the coordinates are not {@code groupId:artifactId}
+     */
+    public List<GraphNode> findTransitive(final String coordinates) {
+        requireArtifact(coordinates);
+        return nodes.values().stream()
+                .filter(node -> node.getDepth() > 1 && node.getArtifactKey().equals(coordinates))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks that the given text is the coordinates of an artifact regardless of its version.
+     *
+     * @param coordinates the text to check
+     * @return the given coordinates
+     * @throws IllegalArgumentException if the coordinates are not {@code groupId:artifactId}
+     */
+    public static String requireArtifact(final String coordinates) {
+        int separator = coordinates.indexOf(':');
+        if (separator < 0 || coordinates.indexOf(':', separator + 1) >= 0) {
+            throw new IllegalArgumentException("Expected groupId:artifactId, got "
+                    + coordinates);
+        }
+        return coordinates;
+    }
+
+    /**
+     * Finds the cycles of the graph: its strongly connected components of more than one node,
+     * and the nodes depending on themselves. The components are found with Tarjan's
+     * algorithm in a single depth-first pass, iteratively so deep graphs cannot overflow the
+     * stack.
+     *
+     * @return the nodes of every cycle
+     */
+    public List<List<GraphNode>> getCycles() {
+        return new Tarjan().components();
+    }
+
+    @Override
+    public String toString() {
+        return "DependencyGraph{root=" + root + ", nodes=" + size() + "}";
+    }
+
+    /**
+     * The state of a single run of Tarjan's strongly connected components algorithm.
+     */
+    private final class Tarjan {
+
+        private final Map<GraphNode, Integer> indices = new HashMap<>();
+        private final Map<GraphNode, Integer> lowLinks = new HashMap<>();
+        private final Deque<GraphNode> stack = new ArrayDeque<>();
+        private final Map<GraphNode, Boolean> onStack = new HashMap<>();
+        private final List<List<GraphNode>> cycles = new ArrayList<>();
+
+        List<List<GraphNode>> components() {
+            for (GraphNode node : nodes.values()) {
+                if (!indices.containsKey(node)) {
+                    visit(node);
+                }
+            }
+            return cycles;
+        }
+
+        private void visit(final GraphNode start) {
+            Deque<Frame> frames = new ArrayDeque<>();
+            enter(start);
+            frames.push(new Frame(start));
+            while (!frames.isEmpty()) {
+                Frame frame = frames.peek();
+                if (frame.next < frame.node.getDependencies().size()) {
+                    GraphNode dependency = frame.node.getDependencies().get(frame.next++);
+                    if (!indices.containsKey(dependency)) {
+                        enter(dependency);
+                        frames.push(new Frame(dependency));
+                    } else if (onStack.getOrDefault(dependency, false)) {
+                        lowLinks.merge(frame.node, indices.get(dependency), Math::min);
+                    }
+                    continue;
+                }
+                frames.pop();
+                if (!frames.isEmpty()) {
+                    lowLinks.merge(frames.peek().node, lowLinks.get(frame.node), Math::min);
+                }
+                if (lowLinks.get(frame.node).equals(indices.get(frame.node))) {
+                    pop(frame.node);
+                }
+            }
+        }
+
+        private void enter(final GraphNode node) {
+            indices.put(node, indices.size());
+            lowLinks.put(node, indices.get(node));
+            stack.push(node);
+            onStack.put(node, true);
+        }
+
+        private void pop(final GraphNode top) {
+            List<GraphNode> component = new ArrayList<>();
+            GraphNode node;
+            do {
+                node = stack.pop();
+                onStack.put(node, false);
+                component.add(node);
+            } while (node != top);
+            if (component.size() > 1 || top.getDependencies().contains(top)) {
+                Collections.reverse(component);
+                cycles.add(component);
+            }
+        }
+    }
+
+    /**
+     * A node being visited, with the position of the next dependency to visit.
+     */
+    private static final class Frame {
+
+        private final GraphNode node;
+        private int next;
+
+        Frame(final GraphNode node) {
+            this.node = node;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package nl.zerofiftyit.mdepunit.core.graph;
+
+import nl.zerofiftyit.mdepunit.core.concurrent.IoExecutor;
+import nl.zerofiftyit.mdepunit.core.parse.CachedPom;
+import nl.zerofiftyit.mdepunit.core.parse.DependencyIndex;
+import nl.zerofiftyit.mdepunit.core.parse.Interpolator;
+import nl.zerofiftyit.mdepunit.core.parse.ParentResolver;
+import nl.zerofiftyit.mdepunit.core.parse.PomCache;
+import nl.zerofiftyit.mdepunit.model.Dependency;
+import nl.zerofiftyit.mdepunit.model.DependencyScope;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Builds the transitive {@link DependencyGraph} of a POM file from the POM files in a local
+ * repository, offline and in the layout of {@code ~/.m2/repository}.
+ * <p>
+ * The graph is built breadth first. All POM files of one level of the graph are read
+ * concurrently, by default on the {@link IoExecutor}, each artifact version once: the
+ * dependencies read from a POM file are memoized by this builder, so graphs sharing artifacts,
+ * such as those of the services of one platform, read every POM file once. POM files are read
+ * with their parents through a {@link ParentResolver}, so versions and scopes managed by a
+ * parent are known.
+ * <p>
+ * The dependencies of the root are taken in every scope but {@code system}, those of other
+ * nodes in the {@code compile} and {@code runtime} scope only, and optional dependencies of
+ * other nodes are skipped, as in Maven. The {@code dependencyManagement} of the root takes
+ * precedence over the versions declared by other nodes. Exclusions apply to the nodes below the
+ * dependency declaring them, along the path a node is first reached by. A dependency whose
+ * version cannot be determined is left out of the graph.
+ * <p>
+ * The local repository is expected not to change while a builder is in use, as is the case
+ * for released artifacts. A builder is safe for concurrent use.
+ */
+public final class GraphBuilder {
+
+    private static final Set<DependencyScope> TRANSITIVE = Set.of(DependencyScope.COMPILE,
+            DependencyScope.RUNTIME);
+    private static final String WILDCARD = "*";
+
+    private static final Map<ParentResolver, GraphBuilder> CONFIGURED =
+            new ConcurrentHashMap<>();
+
+    private final ParentResolver resolver;
+    private final Executor executor;
+    private final Map<String, CompletableFuture<Descriptor>> descriptors =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code GraphBuilder} that reads POM files from the local repository of
+     * the given resolver on the shared {@link IoExecutor}.
+     *
+     * @param resolver the resolver of parents, configured with a local repository
+     * @throws IllegalArgumentException if the resolver has no local repository
+     */
+    public GraphBuilder(final ParentResolver resolver) {
+        this(resolver, IoExecutor.shared());
+    }
+
+    /**
+     * Constructs a new {@code GraphBuilder} that reads POM files from the local repository of
+     * the given resolver on the given executor.
+     *
+     * @param resolver the resolver of parents, configured with a local repository
+     * @param executor the executor the POM files are read on
+     * @throws IllegalArgumentException if the resolver has no local repository
+     */
+    public GraphBuilder(final ParentResolver resolver, final Executor executor) {
+        this.resolver = Objects.requireNonNull(resolver, "resolver");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        if (resolver.getLocalRepository() == null) {
+            throw new IllegalArgumentException("A dependency graph needs a local repository");
+        }
+    }
+
+    /**
+     * Returns the builder for the local repository named by the system property
+     * {@code mdepunit.local.repository}, sharing its memoized POM files with every analyzer
+     * using the same repository.
+     *
+     * @return the configured builder
+     * @throws IllegalStateException if the system property is not set
+     */
+    public static GraphBuilder configured() {
+        ParentResolver resolver = ParentResolver.configured();
+        if (resolver.getLocalRepository() == null) {
+            throw new IllegalStateException("Set the system property "
+                    + ParentResolver.SYSTEM_PROPERTY + " to build a dependency graph");
+        }
+        return CONFIGURED.computeIfAbsent(resolver, GraphBuilder::new);
+    }
+
+    /**
+     * Builds the dependency graph of the POM file at the given path.
+     *
+     * @param pomFile the path to the POM file
+     * @return the transitive dependency graph of the POM file
+     * @throws IOException if a POM file or parent cannot be read
+     */
+    public DependencyGraph build(final String pomFile) throws IOException {
+        return build(PomCache.shared().get(pomFile), Paths.get(pomFile));
+    }
+
+    /**
+     * Builds the dependency graph of a POM file that was parsed before.
+     *
+     * @param pom the parsed POM file
+     * @param pomFile the path to the POM file, to resolve its parents
+     * @return the transitive dependency graph of the POM file
+     * @throws IOException if a POM file or parent cannot be read
+     */
+    public DependencyGraph build(final CachedPom pom, final Path pomFile) throws IOException {
+        CachedPom effective = resolver.resolve(pom, pomFile);
+        Interpolator interpolator = effective.getInterpolator();
+        DependencyIndex index = effective.getDependencyIndex();
+        GraphNode root = new GraphNode(interpolator.resolve("project.groupId"),
+                interpolator.resolve("project.artifactId"),
+                interpolator.resolve("project.version"), null);
+        root.markResolved();
+
+        Map<String, GraphNode> nodes = new LinkedHashMap<>();
+        nodes.put(root.getKey(), root);
+        Map<GraphNode, Set<String>> exclusions = new LinkedHashMap<>();
+        List<GraphNode> level = new ArrayList<>();
+        for (Dependency dependency : index.getDependencies()) {
+            if (dependency.getDependencyScope() != DependencyScope.SYSTEM) {
+                String version = resolved(interpolator, dependency.getVersion() == null
+                        ? managedVersion(index, dependency) : dependency.getVersion());
+                link(root, dependency, version, Set.of(), nodes, exclusions, level);
+            }
+        }
+
+        while (!level.isEmpty()) {
+            List<CompletableFuture<Descriptor>> loading = new ArrayList<>(level.size());
+            for (GraphNode node : level) {
+                loading.add(descriptor(node));
+            }
+            List<GraphNode> next = new ArrayList<>();
+            for (int i = 0; i < level.size(); i++) {
+                GraphNode node = level.get(i);
+                Descriptor descriptor = join(loading.get(i));
+                if (descriptor == null) {
+                    continue;
+                }
+                node.markResolved();
+                for (Declared declared : descriptor.dependencies) {
+                    String managed = resolved(interpolator,
+                            managedVersion(index, declared.dependency));
+                    String version = managed == null ? declared.version : managed;
+                    link(node, declared.dependency, version, exclusions.get(node), nodes,
+                            exclusions, next);
+                }
+            }
+            level = next;
+        }
+        return new DependencyGraph(root, nodes);
+    }
+
+    /**
+     * Retrieves the number of artifact versions memoized by this builder.
+     *
+     * @return the number of POM files looked up so far
+     */
+    public int size() {
+        return descriptors.size();
+    }
+
+    @Override
+    public String toString() {
+        return "GraphBuilder{localRepository=" + resolver.getLocalRepository()
+                + ", artifacts=" + size() + "}";
+    }
+
+    private static void link(final GraphNode from, final Dependency dependency,
+                             final String version, final Set<String> excluded,
+                             final Map<String, GraphNode> nodes,
+                             final Map<GraphNode, Set<String>> exclusions,
+                             final List<GraphNode> next) {
+        if (version == null || isExcluded(dependency, excluded)) {
+            return;
+        }
+        String key = dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + version;
+        GraphNode node = nodes.get(key);
+        if (node == null) {
+            node = new GraphNode(dependency.getGroupId(), dependency.getArtifactId(), version,
+                    from);
+            nodes.put(key, node);
+            Set<String> inherited = new HashSet<>(excluded);
+            inherited.addAll(dependency.getExclusions());
+            exclusions.put(node, inherited);
+            next.add(node);
+        }
+        from.addDependency(node);
+    }
+
+    private static boolean isExcluded(final Dependency dependency, final Set<String> excluded) {
+        return excluded.contains(dependency.getGroupId() + ":" + dependency.getArtifactId())
+                || excluded.contains(dependency.getGroupId() + ":" + WILDCARD)
+                || excluded.contains(WILDCARD + ":" + dependency.getArtifactId())
+                || excluded.contains(WILDCARD + ":" + WILDCARD);
+    }
+
+    private static String managedVersion(final DependencyIndex index,
+                                         final Dependency dependency) {
+        List<Dependency> managed = index.findManaged(dependency.getKey());
+        return managed.isEmpty() ? null : managed.get(0).getVersion();
+    }
+
+    private static String resolved(final Interpolator interpolator, final String version) {
+        if (version == null) {
+            return null;
+        }
+        String interpolated = interpolator.interpolate(version);
+        return interpolated.contains("${") ? null : interpolated;
+    }
+
+    private CompletableFuture<Descriptor> descriptor(final GraphNode node) {
+        String key = node.getKey();
+        CompletableFuture<Descriptor> existing = descriptors.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<Descriptor> loaded = new CompletableFuture<>();
+        existing = descriptors.putIfAbsent(key, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        // registered outside of the map call: a load that failed already runs the callback on
+        // this thread, which must not update the map while it is updating the same key
+        loaded.whenComplete((descriptor, failure) -> {
+            if (failure != null) {
+                descriptors.remove(key, loaded);
+            }
+        });
+        try {
+            executor.execute(() -> {
+                try {
+                    loaded.complete(load(node));
+                } catch (Throwable failure) {
+                    loaded.completeExceptionally(failure);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loaded.completeExceptionally(e);
+        }
+        return loaded;
+    }
+
+    private Descriptor load(final GraphNode node) {
+        Path pomFile = resolver.locate(node.getGroupId(), node.getArtifactId(),
+                node.getVersion());
+        if (!Files.isRegularFile(pomFile)) {
+            return null;
+        }
+        try {
+            CachedPom pom = resolver.resolve(pomFile.toString());
+            Interpolator interpolator = pom.getInterpolator();
+            DependencyIndex index = pom.getDependencyIndex();
+            List<Declared> dependencies = new ArrayList<>();
+            for (Dependency dependency : index.getDependencies()) {
+                if (!dependency.isOptional() && TRANSITIVE.contains(scope(index, dependency))) {
+                    dependencies.add(new Declared(dependency, resolved(interpolator,
+                            dependency.getVersion() == null
+                                    ? managedVersion(index, dependency)
+                                    : dependency.getVersion())));
+                }
+            }
+            return new Descriptor(dependencies);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DependencyScope scope(final DependencyIndex index,
+                                         final Dependency dependency) {
+        if (dependency.getScope() == null) {
+            List<Dependency> managed = index.findManaged(dependency.getKey());
+            if (!managed.isEmpty() && managed.get(0).getScope() != null) {
+                return managed.get(0).getDependencyScope();
+            }
+        }
+        return dependency.getDependencyScope();
+    }
+
+    private static Descriptor join(final CompletableFuture<Descriptor> loading)
+            throws IOException {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The dependencies read from the POM file of an artifact version.
+     */
+    private static final class Descriptor {
+
+        private final List<Declared> dependencies;
+
+        Descriptor(final List<Declared> dependencies) {
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * A dependency with the version its declaring POM file resolved for it.
+     */
+    private static final class Declared {
+
+        private final Dependency dependency;
+        private final String version;
+
+        Declared(final Dependency dependency, final String version) {
+            this.dependency = dependency;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package nl.zerofiftyit.mdepunit.core.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An artifact in a {@link DependencyGraph}, identified by {@code groupId:artifactId:version}.
+ * <p>
+ * A node knows the node it was first reached from, so the path from the root of the graph to
+ * the node can be shown, and the nodes it depends on. The dependencies are added while the
+ * graph is built; a node is not modified after its graph is built.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class GraphNode {
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final int depth;
+    private final GraphNode via;
+    private final List<GraphNode> dependencies = new ArrayList<>();
+
+    private boolean resolved;
+
+    GraphNode(final String groupId, final String artifactId, final String version,
+              final GraphNode via) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.via = via;
+        this.depth = via == null ? 0 : via.depth + 1;
+    }
+
+    /**
+     * Retrieves the group id.
+     *
+     * @return the group id
+     */
+    public String getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * Retrieves the artifact id.
+     *
+     * @return the artifact id
+     */
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    /**
+     * Retrieves the version.
+     *
+     * @return the version
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the number of dependencies between the root of the graph and this node, along
+     * the path it was first reached by.
+     *
+     * @return 0 for the root, 1 for a direct dependency, more for a transitive dependency
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Retrieves the node this node was first reached from.
+     *
+     * @return the node declaring this node as a dependency, or {@code null} for the root
+     */
+    public GraphNode getVia() {
+        return via;
+    }
+
+    /**
+     * Retrieves the nodes this node depends on.
+     *
+     * @return an unmodifiable list of the dependencies, in the order they are declared
+     */
+    public List<GraphNode> getDependencies() {
+        return Collections.unmodifiableList(dependencies);
+    }
+
+    /**
+     * Checks whether the POM file of this node was found in the local repository. The
+     * dependencies of a node that is not resolved are unknown.
+     *
+     * @return true if the POM file of the node was read
+     */
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    /**
+     * Retrieves the path from the root of the graph to this node.
+     *
+     * @return the nodes from the root to this node, both included
+     */
+    public List<GraphNode> getPath() {
+        List<GraphNode> path = new ArrayList<>(depth + 1);
+        for (GraphNode node = this; node != null; node = node.via) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Retrieves the key identifying the artifact of this node, regardless of its version.
+     *
+     * @return {@code groupId:artifactId}
+     */
+    public String getArtifactKey() {
+        return groupId + ":" + artifactId;
+    }
+
+    /**
+     * Retrieves the key identifying this node in its graph.
+     *
+     * @return {@code groupId:artifactId:version}
+     */
+    public String getKey() {
+        return getArtifactKey() + ":" + version;
+    }
+
+    void addDependency(final GraphNode dependency) {
+        dependencies.add(dependency);
+    }
+
+    void markResolved() {
+        resolved = true;
+    }
+
+    @Override
+    public String toString() {
+        return getKey();
+    }
+}
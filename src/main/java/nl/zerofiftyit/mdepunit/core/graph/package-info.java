@@ -0,0 +1,6 @@
+/**
+ * Core dependency graph package for the POM analysis tool.
+ * Contains classes that build the transitive dependency graph of a POM file from the POM files
+ * in a local repository, and that find version conflicts, banned artifacts and cycles in it.
+ */
+package nl.zerofiftyit.mdepunit.core.graph;
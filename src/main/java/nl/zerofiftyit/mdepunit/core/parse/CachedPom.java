@@ -0,0 +1,124 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+
+import java.util.List;
+
+/**
+ * A parsed POM file as held by the {@link PomCache}. The {@code PomReader} flattens the POM
+ * into an element list and its {@link PathIndex} on first use, so these are computed once for
+ * every version of a file.
+ * <p>
+ * The size and last modified timestamp of the file at the moment it was parsed are stored
+ * to detect whether the cached entry is still up to date.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class CachedPom {
+
+    private final long size;
+    private final long lastModified;
+    private final String contentHash;
+    private final PomReader reader;
+
+    private volatile Interpolator interpolator;
+    private volatile DependencyIndex dependencyIndex;
+
+    /**
+     * Constructs a new {@code CachedPom} for a parsed POM file.
+     *
+     * @param size the size of the POM file in bytes when it was parsed
+     * @param lastModified the last modified timestamp of the POM file when it was parsed
+     * @param contentHash the hash of the content that was parsed, see {@link ContentHash}
+     * @param reader the {@code PomReader} holding the parsed POM file
+     */
+    CachedPom(final long size, final long lastModified, final String contentHash,
+              final PomReader reader) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.reader = reader;
+    }
+
+    /**
+     * Retrieves the {@code PomReader} holding the parsed POM file.
+     *
+     * @return the reader of the cached POM file
+     */
+    public PomReader getReader() {
+        return reader;
+    }
+
+    /**
+     * Retrieves the hash of the content of the POM file, by which results of checks on the
+     * file can be cached across runs.
+     *
+     * @return the SHA-256 hash of the parsed content, see {@link ContentHash}
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Retrieves the flattened elements of the POM file. The list is shared between all
+     * users of this entry and can therefore not be modified.
+     *
+     * @return an unmodifiable list of all elements of the POM file
+     */
+    public List<PomElement> getElements() {
+        return reader.getElements();
+    }
+
+    /**
+     * Retrieves the index over the elements of the POM file.
+     *
+     * @return the index used to select elements by path prefix or suffix
+     */
+    public PathIndex getIndex() {
+        return reader.getIndex();
+    }
+
+    /**
+     * Retrieves the {@link Interpolator} resolving the {@code ${...}} references in the values
+     * of the POM file. It is created on first use and shared by all users of this entry, so
+     * every reference is resolved once.
+     *
+     * @return the interpolator of the POM file
+     */
+    public Interpolator getInterpolator() {
+        Interpolator result = interpolator;
+        if (result == null) {
+            synchronized (this) {
+                result = interpolator;
+                if (result == null) {
+                    result = new Interpolator(getElements());
+                    interpolator = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the {@link DependencyIndex} of the POM file, to look up dependencies by their
+     * coordinates. It is built on first use and shared by all users of this entry.
+     *
+     * @return the index of the declared and managed dependencies of the POM file
+     */
+    public DependencyIndex getDependencyIndex() {
+        DependencyIndex result = dependencyIndex;
+        if (result == null) {
+            synchronized (this) {
+                result = dependencyIndex;
+                if (result == null) {
+                    result = DependencyIndex.of(getElements());
+                    dependencyIndex = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    boolean isUpToDate(final long currentSize, final long currentLastModified) {
+        return size == currentSize && lastModified == currentLastModified;
+    }
+}
@@ -0,0 +1,40 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the SHA-256 hashes by which POM files and their results are cached across runs.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    /**
+     * Computes the hash of the given bytes.
+     *
+     * @param content the bytes to hash, for example the content of a POM file
+     * @return the hash as 64 lowercase hexadecimal characters
+     */
+    public static String of(final byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Computes the hash of the UTF-8 encoding of the given text.
+     *
+     * @param text the text to hash
+     * @return the hash as 64 lowercase hexadecimal characters
+     */
+    public static String of(final String text) {
+        return of(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
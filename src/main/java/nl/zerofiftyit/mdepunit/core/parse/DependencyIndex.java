@@ -0,0 +1,227 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.Dependency;
+import nl.zerofiftyit.mdepunit.model.DependencyScope;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the dependencies of a POM file, to look up a dependency by its coordinates
+ * without scanning the elements of the file.
+ * <p>
+ * The dependencies under {@code dependencies} and those under {@code dependencyManagement} are
+ * indexed apart, both by {@code groupId:artifactId} and by their full key
+ * {@code groupId:artifactId:classifier:type}, see {@link Dependency#getKey()}. Dependencies of
+ * plugins and profiles are not indexed.
+ * <p>
+ * Both sections are partitioned by {@link DependencyScope} as well, so checks on the
+ * dependencies of one scope select a precomputed partition instead of filtering all
+ * dependencies. A dependency without scope is in {@link DependencyScope#COMPILE}, one with a
+ * scope that is not known, such as an uninterpolated property, in no partition.
+ * <p>
+ * The index is built in a single pass over the elements and is immutable afterwards, so it can
+ * be shared between threads.
+ */
+public final class DependencyIndex {
+
+    private static final String DEPENDENCIES = "dependencies.dependency";
+    private static final String MANAGED = "dependencyManagement.dependencies.dependency";
+    private static final int ARTIFACT_PARTS = 2;
+    private static final int KEY_PARTS = 4;
+
+    private final Section declared = new Section();
+    private final Section managed = new Section();
+    private final Map<DependencyScope, Section> declaredByScope = partitions();
+    private final Map<DependencyScope, Section> managedByScope = partitions();
+
+    private DependencyIndex() {
+    }
+
+    /**
+     * Builds the index over the given elements.
+     *
+     * @param elements the flattened elements of a POM file
+     * @return the index of the declared and managed dependencies
+     */
+    public static DependencyIndex of(final List<PomElement> elements) {
+        DependencyIndex index = new DependencyIndex();
+        for (PomElement element : elements) {
+            if (!(element.getValue() instanceof Map)) {
+                continue;
+            }
+            PomPath path = element.getPomPath();
+            PomPath list = path.getIndex() >= 0 ? path.getParent() : path;
+            if (list.rendersAs(DEPENDENCIES)) {
+                index.add(Dependency.of((Map<?, ?>) element.getValue(), false, path),
+                        index.declared, index.declaredByScope);
+            } else if (list.rendersAs(MANAGED)) {
+                index.add(Dependency.of((Map<?, ?>) element.getValue(), true, path),
+                        index.managed, index.managedByScope);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Retrieves the dependencies declared under {@code dependencies}.
+     *
+     * @return an unmodifiable list of the dependencies, in document order
+     */
+    public List<Dependency> getDependencies() {
+        return Collections.unmodifiableList(declared.all);
+    }
+
+    /**
+     * Retrieves the dependencies declared under {@code dependencyManagement}.
+     *
+     * @return an unmodifiable list of the managed dependencies, in document order
+     */
+    public List<Dependency> getManagedDependencies() {
+        return Collections.unmodifiableList(managed.all);
+    }
+
+    /**
+     * Finds the dependencies with the given coordinates under {@code dependencies}.
+     *
+     * @param coordinates {@code groupId:artifactId}, matching any classifier and type, or
+     *                    {@code groupId:artifactId:classifier:type}
+     * @return the matching dependencies, empty when there is none
+     * @throws IllegalArgumentException if the coordinates have another number of parts
+     */
+    public List<Dependency> find(final String coordinates) {
+        return declared.find(coordinates);
+    }
+
+    /**
+     * Finds the dependencies with the given coordinates under {@code dependencyManagement}.
+     *
+     * @param coordinates {@code groupId:artifactId}, matching any classifier and type, or
+     *                    {@code groupId:artifactId:classifier:type}
+     * @return the matching managed dependencies, empty when there is none
+     * @throws IllegalArgumentException if the coordinates have another number of parts
+     */
+    public List<Dependency> findManaged(final String coordinates) {
+        return managed.find(coordinates);
+    }
+
+    /**
+     * Retrieves the dependencies declared under {@code dependencies} with the given scope.
+     *
+     * @param scope the scope of the dependencies
+     * @return an unmodifiable list of the dependencies of the scope, in document order
+     */
+    public List<Dependency> getDependencies(final DependencyScope scope) {
+        return Collections.unmodifiableList(declaredByScope.get(scope).all);
+    }
+
+    /**
+     * Retrieves the dependencies declared under {@code dependencyManagement} with the given
+     * scope.
+     *
+     * @param scope the scope of the managed dependencies
+     * @return an unmodifiable list of the managed dependencies of the scope, in document order
+     */
+    public List<Dependency> getManagedDependencies(final DependencyScope scope) {
+        return Collections.unmodifiableList(managedByScope.get(scope).all);
+    }
+
+    /**
+     * Finds the dependencies with the given coordinates and scope under {@code dependencies}.
+     *
+     * @param coordinates {@code groupId:artifactId}, matching any classifier and type, or
+     *                    {@code groupId:artifactId:classifier:type}
+     * @param scope the scope of the dependencies
+     * @return the matching dependencies, empty when there is none
+     * @throws IllegalArgumentException if the coordinates have another number of parts
+     */
+    public List<Dependency> find(final String coordinates, final DependencyScope scope) {
+        return declaredByScope.get(scope).find(coordinates);
+    }
+
+    /**
+     * Finds the dependencies with the given coordinates and scope under
+     * {@code dependencyManagement}.
+     *
+     * @param coordinates {@code groupId:artifactId}, matching any classifier and type, or
+     *                    {@code groupId:artifactId:classifier:type}
+     * @param scope the scope of the managed dependencies
+     * @return the matching managed dependencies, empty when there is none
+     * @throws IllegalArgumentException if the coordinates have another number of parts
+     */
+    public List<Dependency> findManaged(final String coordinates, final DependencyScope scope) {
+        return managedByScope.get(scope).find(coordinates);
+    }
+
+    private void add(final Dependency dependency, final Section section,
+                     final Map<DependencyScope, Section> byScope) {
+        section.add(dependency);
+        if (dependency.getDependencyScope() != null) {
+            byScope.get(dependency.getDependencyScope()).add(dependency);
+        }
+    }
+
+    private static Map<DependencyScope, Section> partitions() {
+        Map<DependencyScope, Section> partitions = new EnumMap<>(DependencyScope.class);
+        for (DependencyScope scope : DependencyScope.values()) {
+            partitions.put(scope, new Section());
+        }
+        return partitions;
+    }
+
+    /**
+     * Checks that the given text is valid coordinates to find a dependency by.
+     *
+     * @param coordinates {@code groupId:artifactId} or {@code groupId:artifactId:classifier:type}
+     * @return the given coordinates
+     * @throws IllegalArgumentException if the coordinates have another number of parts
+     */
+    public static String requireCoordinates(final String coordinates) {
+        parts(coordinates);
+        return coordinates;
+    }
+
+    private static int parts(final String coordinates) {
+        int parts = 1;
+        for (int i = 0; i < coordinates.length(); i++) {
+            if (coordinates.charAt(i) == ':') {
+                parts++;
+            }
+        }
+        if (parts != ARTIFACT_PARTS && parts != KEY_PARTS) {
+            throw new IllegalArgumentException("Expected groupId:artifactId or"
+                    + " groupId:artifactId:classifier:type, got " + coordinates);
+        }
+        return parts;
+    }
+
+    /**
+     * The dependencies of one section of the POM file, by coordinates.
+     */
+    private static final class Section {
+
+        private final List<Dependency> all = new ArrayList<>();
+        private final Map<String, List<Dependency>> byArtifact = new HashMap<>();
+        private final Map<String, List<Dependency>> byKey = new HashMap<>();
+
+        void add(final Dependency dependency) {
+            all.add(dependency);
+            byArtifact.computeIfAbsent(dependency.getGroupId() + ":"
+                    + dependency.getArtifactId(), key -> new ArrayList<>(1)).add(dependency);
+            byKey.computeIfAbsent(dependency.getKey(), key -> new ArrayList<>(1))
+                    .add(dependency);
+        }
+
+        List<Dependency> find(final String coordinates) {
+            List<Dependency> found = (parts(coordinates) == ARTIFACT_PARTS ? byArtifact : byKey)
+                    .get(coordinates);
+            return found == null ? List.of() : Collections.unmodifiableList(found);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.Dependency;
+import nl.zerofiftyit.mdepunit.model.Duplicate;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds dependencies and plugins that are declared more than once in the same section of a
+ * POM file, which Maven only warns about.
+ * <p>
+ * A dependency is identified by {@code groupId:artifactId:classifier:type}, see
+ * {@link Dependency#getKey()}, and a plugin by {@code groupId:artifactId}, where a plugin
+ * without group id is in {@code org.apache.maven.plugins}, as in Maven. Each declaration is
+ * looked up by its key in a hash map of the declarations before it, so the duplicates are
+ * found in a single pass instead of comparing every pair of declarations.
+ */
+public final class Duplicates {
+
+    private static final String PLUGINS = "build.plugins.plugin";
+    private static final String MANAGED_PLUGINS = "build.pluginManagement.plugins.plugin";
+    private static final String DEFAULT_PLUGIN_GROUP = "org.apache.maven.plugins";
+
+    private Duplicates() {
+    }
+
+    /**
+     * Finds the dependencies of the given list that have the key of a dependency before them.
+     *
+     * @param dependencies the dependencies of one section, in document order
+     * @return the repeated declarations in document order, empty when there is none
+     */
+    public static List<Duplicate> ofDependencies(final List<Dependency> dependencies) {
+        Map<String, PomPath> first = new HashMap<>();
+        List<Duplicate> duplicates = new ArrayList<>();
+        for (Dependency dependency : dependencies) {
+            add(duplicates, first, dependency.getKey(), dependency.getPath());
+        }
+        return duplicates;
+    }
+
+    /**
+     * Finds the plugins under {@code build.plugins}, or under
+     * {@code build.pluginManagement.plugins}, that have the key of a plugin before them.
+     *
+     * @param elements the flattened elements of a POM file
+     * @param managed whether to check the plugins under {@code pluginManagement}
+     * @return the repeated declarations in document order, empty when there is none
+     */
+    public static List<Duplicate> ofPlugins(final List<PomElement> elements,
+                                            final boolean managed) {
+        String section = managed ? MANAGED_PLUGINS : PLUGINS;
+        Map<String, PomPath> first = new HashMap<>();
+        List<Duplicate> duplicates = new ArrayList<>();
+        for (PomElement element : elements) {
+            if (!(element.getValue() instanceof Map)) {
+                continue;
+            }
+            PomPath path = element.getPomPath();
+            if ((path.getIndex() >= 0 ? path.getParent() : path).rendersAs(section)) {
+                add(duplicates, first, pluginKey((Map<?, ?>) element.getValue()), path);
+            }
+        }
+        return duplicates;
+    }
+
+    private static void add(final List<Duplicate> duplicates, final Map<String, PomPath> first,
+                            final String key, final PomPath path) {
+        PomPath previous = first.putIfAbsent(key, path);
+        if (previous != null) {
+            duplicates.add(new Duplicate(key, previous, path));
+        }
+    }
+
+    private static String pluginKey(final Map<?, ?> plugin) {
+        String groupId = text(plugin.get("groupId"));
+        return (groupId == null ? DEFAULT_PLUGIN_GROUP : groupId) + ":"
+                + text(plugin.get("artifactId"));
+    }
+
+    private static String text(final Object value) {
+        return value instanceof String && !((String) value).isBlank()
+                ? ((String) value).trim() : null;
+    }
+}
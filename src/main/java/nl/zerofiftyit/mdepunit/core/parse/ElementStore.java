@@ -0,0 +1,450 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * A persistent store of flattened POM files in a directory, shared by every JVM that uses the
+ * same directory, such as the forks of a test run and the runs of later builds.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the content of a POM file and the
+ * {@link ParserEngine} that flattened it, so an entry never has to be invalidated: a changed
+ * file has a different key. An entry holds the elements in a compact binary form, with every
+ * name and value stored once, and is memory-mapped when it is loaded, so reading a stored POM
+ * file does not parse any XML.
+ * <p>
+ * Entries are written to a temporary file and moved into place atomically, so concurrent
+ * writers of the same entry never expose a partially written file to readers. Every entry ends
+ * with a checksum; an entry that is truncated, corrupt or of another format version is parsed
+ * again and replaced. Failing to write an entry does not fail the analysis.
+ * <p>
+ * The store is used by the shared {@link PomCache} when the system property
+ * {@code mdepunit.parse.cache.dir} names a directory, for example
+ * {@code -Dmdepunit.parse.cache.dir=target/mdepunit}.
+ */
+public final class ElementStore {
+
+    /**
+     * The name of the system property naming the directory of the store.
+     */
+    public static final String SYSTEM_PROPERTY = "mdepunit.parse.cache.dir";
+
+    private static final int MAGIC = 0x4D445055;
+    private static final int FORMAT_VERSION = 1;
+    private static final int CHECKSUM_BYTES = Long.BYTES;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte MAP = 2;
+    private static final byte LIST = 3;
+    private static final byte REFERENCE = 4;
+
+    private static final Map<Path, ElementStore> STORES = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong writeFailures = new AtomicLong();
+
+    /**
+     * Constructs a new {@code ElementStore} keeping its entries in the given directory. The
+     * directory is created when the first entry is written.
+     *
+     * @param directory the directory holding the entries of the store
+     */
+    public ElementStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the store in the directory configured by the {@code mdepunit.parse.cache.dir}
+     * system property. The same instance is returned for the same directory.
+     *
+     * @return the configured store, or {@code null} when the property is not set
+     */
+    public static ElementStore configured() {
+        String configured = System.getProperty(SYSTEM_PROPERTY);
+        if (configured == null || configured.isBlank()) {
+            return null;
+        }
+        return STORES.computeIfAbsent(Paths.get(configured.trim()).toAbsolutePath().normalize(),
+                ElementStore::new);
+    }
+
+    /**
+     * Reads the POM file at the given path with the default {@link ParserEngine}, from the
+     * store when its content was stored before.
+     *
+     * @param filePath the file path of the Maven POM file
+     * @return a reader holding the elements of the POM file
+     * @throws IOException if the POM file cannot be read or is not well-formed
+     */
+    public PomReader read(final String filePath) throws IOException {
+        return read(filePath, ParserEngine.defaultEngine());
+    }
+
+    /**
+     * Reads the POM file at the given path with the given engine, from the store when its
+     * content was stored before. Otherwise the file is parsed and its elements are stored.
+     *
+     * @param filePath the file path of the Maven POM file
+     * @param engine the engine used to parse the POM file
+     * @return a reader holding the elements of the POM file
+     * @throws IOException if the POM file cannot be read or is not well-formed
+     */
+    public PomReader read(final String filePath, final ParserEngine engine) throws IOException {
+        byte[] content = Files.readAllBytes(Paths.get(filePath));
+        return read(content, ContentHash.of(content), filePath, engine);
+    }
+
+    /**
+     * Reads the POM file with the given content, from the store when it was stored before.
+     *
+     * @param content the bytes of the POM file
+     * @param contentHash the hash of the content, see {@link ContentHash}
+     * @param filePath the file path of the Maven POM file, used in error messages
+     * @param engine the engine used to parse the POM file
+     * @return a reader holding the elements of the POM file
+     * @throws IOException if the content is not a well-formed POM file
+     */
+    PomReader read(final byte[] content, final String contentHash, final String filePath,
+                   final ParserEngine engine) throws IOException {
+        Path entry = directory.resolve(contentHash + "-"
+                + engine.name().toLowerCase(Locale.ROOT) + ".bin");
+
+        List<PomElement> stored = load(entry);
+        if (stored != null) {
+            hits.incrementAndGet();
+            return new PomReader(stored);
+        }
+        misses.incrementAndGet();
+
+        // the content that was hashed is parsed, so a file changing meanwhile cannot be stored
+        // under the key of its previous content
+        PomReader reader = new PomReader(content, filePath, engine);
+        store(entry, reader.getElements());
+        return reader;
+    }
+
+    /**
+     * Returns the number of reads that were served from the store.
+     *
+     * @return the number of store hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of reads that required the POM file to be parsed.
+     *
+     * @return the number of store misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of entries that could not be written.
+     *
+     * @return the number of failed writes
+     */
+    public long getWriteFailures() {
+        return writeFailures.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ElementStore{directory=" + directory + ", hits=" + getHits()
+                + ", misses=" + getMisses() + ", writeFailures=" + getWriteFailures() + "}";
+    }
+
+    private static List<PomElement> load(final Path entry) {
+        try (FileChannel channel = FileChannel.open(entry, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            // a missing, truncated or foreign entry is parsed again and replaced
+            return null;
+        }
+    }
+
+    private void store(final Path entry, final List<PomElement> elements) {
+        try {
+            byte[] bytes = encode(elements);
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, entry.getFileName().toString(),
+                    ".tmp");
+            try {
+                Files.write(temporary, bytes);
+                move(temporary, entry);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // the store only saves work, the entry is written again by a later run
+            writeFailures.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes elements in the binary form of an entry.
+     *
+     * @param elements the flattened elements of a POM file
+     * @return the bytes of the entry, ending with their checksum
+     * @throws IOException if the elements cannot be written
+     * @throws IllegalArgumentException if a value is not a string, map, list or null
+     */
+    static byte[] encode(final List<PomElement> elements) throws IOException {
+        return new Encoder(elements).encode();
+    }
+
+    /**
+     * Reads elements from the binary form of an entry.
+     *
+     * @param buffer the bytes of the entry
+     * @return the elements, or {@code null} if the checksum, format or version does not match
+     */
+    static List<PomElement> decode(final ByteBuffer buffer) {
+        return new Decoder(buffer).decode();
+    }
+
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes elements in the binary form of an entry. Every string and path is written once
+     * to a table, and a map or list that is the value of an element is written once as well;
+     * the value of its parent element refers to it.
+     */
+    private static final class Encoder {
+
+        private final List<PomElement> elements;
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final Map<PomPath, Integer> paths = new LinkedHashMap<>();
+        private final Map<Object, Integer> owners = new IdentityHashMap<>();
+
+        Encoder(final List<PomElement> elements) {
+            this.elements = elements;
+            for (int i = 0; i < elements.size(); i++) {
+                Object value = elements.get(i).getValue();
+                if (value instanceof Map || value instanceof List) {
+                    owners.putIfAbsent(value, i);
+                }
+            }
+        }
+
+        byte[] encode() throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+            for (int i = 0; i < elements.size(); i++) {
+                out.writeByte(kind(i));
+            }
+            for (int i = 0; i < elements.size(); i++) {
+                out.writeInt(path(elements.get(i).getPomPath()));
+                value(out, elements.get(i).getValue(), i);
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.size());
+            DataOutputStream header = new DataOutputStream(bytes);
+            header.writeInt(MAGIC);
+            header.writeInt(FORMAT_VERSION);
+            header.writeInt(strings.size());
+            for (String string : strings.keySet()) {
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                header.writeInt(utf8.length);
+                header.write(utf8);
+            }
+            header.writeInt(paths.size());
+            for (PomPath path : paths.keySet()) {
+                PomPath parent = path.getParent();
+                header.writeInt(parent == null ? -1 : paths.get(parent));
+                header.writeInt(path.getIndex());
+                header.writeInt(path.getIndex() < 0 ? string(path.getName()) : -1);
+            }
+            header.writeInt(elements.size());
+            body.writeTo(header);
+
+            CRC32 checksum = new CRC32();
+            checksum.update(bytes.toByteArray());
+            header.writeLong(checksum.getValue());
+            return bytes.toByteArray();
+        }
+
+        private byte kind(final int element) {
+            Object value = elements.get(element).getValue();
+            if (owners.get(value) == null || owners.get(value) != element) {
+                return NULL;
+            }
+            return value instanceof Map ? MAP : LIST;
+        }
+
+        private void value(final DataOutputStream out, final Object value, final int element)
+                throws IOException {
+            Integer owner = owners.get(value);
+            if (owner != null && owner != element) {
+                out.writeByte(REFERENCE);
+                out.writeInt(owner);
+            } else if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof String) {
+                out.writeByte(STRING);
+                out.writeInt(string((String) value));
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                out.writeByte(MAP);
+                out.writeInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    out.writeInt(string(entry.getKey().toString()));
+                    value(out, entry.getValue(), -1);
+                }
+            } else if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                out.writeByte(LIST);
+                out.writeInt(list.size());
+                for (Object item : list) {
+                    value(out, item, -1);
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported value type " + value.getClass());
+            }
+        }
+
+        private int string(final String string) {
+            return strings.computeIfAbsent(string, key -> strings.size());
+        }
+
+        private int path(final PomPath path) {
+            Integer id = paths.get(path);
+            if (id == null) {
+                if (path.getParent() != null) {
+                    path(path.getParent());
+                }
+                if (path.getIndex() < 0) {
+                    string(path.getName());
+                }
+                id = paths.size();
+                paths.put(path, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Reads elements from the binary form of an entry.
+     */
+    private static final class Decoder {
+
+        private final ByteBuffer buffer;
+        private String[] strings;
+        private Object[] containers;
+
+        Decoder(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        List<PomElement> decode() {
+            int end = buffer.limit() - CHECKSUM_BYTES;
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.duplicate().limit(end));
+            if (checksum.getValue() != buffer.getLong(end)
+                    || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] utf8 = new byte[buffer.getInt()];
+                buffer.get(utf8);
+                strings[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            PomPath[] paths = new PomPath[buffer.getInt()];
+            for (int i = 0; i < paths.length; i++) {
+                int parent = buffer.getInt();
+                int index = buffer.getInt();
+                int name = buffer.getInt();
+                if (index >= 0) {
+                    paths[i] = paths[parent].item(index);
+                } else {
+                    paths[i] = parent < 0 ? PomPath.of(strings[name])
+                            : paths[parent].child(strings[name]);
+                }
+            }
+
+            int size = buffer.getInt();
+            containers = new Object[size];
+            for (int i = 0; i < size; i++) {
+                byte kind = buffer.get();
+                if (kind == MAP) {
+                    containers[i] = new LinkedHashMap<String, Object>();
+                } else if (kind == LIST) {
+                    containers[i] = new ArrayList<>();
+                }
+            }
+            List<PomElement> elements = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                PomPath path = paths[buffer.getInt()];
+                elements.add(new PomElement(path, value(i)));
+            }
+            return elements;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object value(final int element) {
+            byte tag = buffer.get();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return strings[buffer.getInt()];
+                case REFERENCE:
+                    return containers[buffer.getInt()];
+                case MAP:
+                    Map<String, Object> map = element >= 0
+                            ? (Map<String, Object>) containers[element] : new LinkedHashMap<>();
+                    int entries = buffer.getInt();
+                    for (int i = 0; i < entries; i++) {
+                        String key = strings[buffer.getInt()];
+                        map.put(key, value(-1));
+                    }
+                    return map;
+                case LIST:
+                    List<Object> list = element >= 0
+                            ? (List<Object>) containers[element] : new ArrayList<>();
+                    int items = buffer.getInt();
+                    for (int i = 0; i < items; i++) {
+                        list.add(value(-1));
+                    }
+                    return list;
+                default:
+                    throw new IllegalStateException("Unknown value tag " + tag);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves {@code ${...}} references in the values of a parsed POM file, so values can be
+ * checked as Maven sees them instead of as they are written.
+ * <p>
+ * A reference names a property declared under {@code properties}, or an element of the
+ * project itself prefixed with {@code project.}, such as {@code ${project.version}} or
+ * {@code ${project.parent.groupId}}. As in Maven, {@code project.groupId} and
+ * {@code project.version} fall back to those of the parent, and {@code pom.} is accepted as an
+ * alias of {@code project.}. Properties and coordinates of parents are resolved when the
+ * interpolator is taken from an effective POM, see {@link ParentResolver}. A reference that
+ * cannot be resolved is kept as written.
+ * <p>
+ * Nothing is computed until the first value is interpolated: the referable values are then
+ * collected in one pass over the elements, and every reference is resolved once and memoized.
+ * A property that refers to itself, directly or through other properties, fails the
+ * interpolation with an {@link IllegalStateException}.
+ * <p>
+ * An interpolator is safe for concurrent use.
+ */
+public final class Interpolator {
+
+    private static final String START = "${";
+    private static final char END = '}';
+    private static final String PROPERTIES = "properties";
+    private static final String PROJECT = "project.";
+    private static final String POM = "pom.";
+    private static final List<String> INHERITED = List.of("groupId", "version");
+
+    private final List<PomElement> elements;
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+    private volatile Map<String, String> values;
+
+    /**
+     * Constructs a new {@code Interpolator} over the given elements.
+     *
+     * @param elements the flattened elements of a POM file
+     */
+    public Interpolator(final List<PomElement> elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Replaces every resolvable {@code ${...}} reference in the given text by its value.
+     *
+     * @param text the text to interpolate
+     * @return the interpolated text, or {@code text} itself when it holds no reference
+     * @throws IllegalStateException if a referenced property refers to itself
+     */
+    public String interpolate(final String text) {
+        if (text.indexOf(START) < 0) {
+            return text;
+        }
+        return interpolate(text, new LinkedHashSet<>());
+    }
+
+    /**
+     * Resolves the value of a single reference, such as {@code spring.version} or
+     * {@code project.version}.
+     *
+     * @param name the name of the reference, without the surrounding braces
+     * @return the interpolated value, or {@code null} when the name cannot be resolved
+     * @throws IllegalStateException if the property refers to itself
+     */
+    public String resolve(final String name) {
+        return resolve(name, new LinkedHashSet<>());
+    }
+
+    private String interpolate(final String text, final Set<String> chain) {
+        StringBuilder result = new StringBuilder(text.length());
+        int from = 0;
+        int start = text.indexOf(START);
+        while (start >= 0) {
+            int end = text.indexOf(END, start + START.length());
+            if (end < 0) {
+                break;
+            }
+            String value = resolve(text.substring(start + START.length(), end), chain);
+            result.append(text, from, start)
+                    .append(value == null ? text.substring(start, end + 1) : value);
+            from = end + 1;
+            start = text.indexOf(START, from);
+        }
+        return result.append(text, from, text.length()).toString();
+    }
+
+    private String resolve(final String reference, final Set<String> chain) {
+        String name = reference.startsWith(POM)
+                ? PROJECT + reference.substring(POM.length()) : reference;
+        String value = resolved.get(name);
+        if (value != null) {
+            return value;
+        }
+        String raw = values().get(name);
+        if (raw == null) {
+            return null;
+        }
+        if (!chain.add(name)) {
+            throw new IllegalStateException("Property " + name + " refers to itself: "
+                    + String.join(" -> ", chain) + " -> " + name);
+        }
+        value = interpolate(raw, chain);
+        chain.remove(name);
+        resolved.putIfAbsent(name, value);
+        return value;
+    }
+
+    private Map<String, String> values() {
+        Map<String, String> result = values;
+        if (result == null) {
+            synchronized (this) {
+                result = values;
+                if (result == null) {
+                    result = collect(elements);
+                    values = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, String> collect(final List<PomElement> elements) {
+        Map<String, String> properties = new HashMap<>();
+        Map<String, String> project = new HashMap<>();
+        for (PomElement element : elements) {
+            if (element.getValue() instanceof String) {
+                String value = ((String) element.getValue()).trim();
+                PomPath parent = element.getPomPath().getParent();
+                if (parent != null && parent.rendersAs(PROPERTIES)) {
+                    properties.put(element.getPomPath().getName(), value);
+                }
+                project.put(PROJECT + element.getPath(), value);
+            }
+        }
+        for (String inherited : INHERITED) {
+            String value = project.get(PROJECT + "parent." + inherited);
+            if (value != null) {
+                project.putIfAbsent(PROJECT + inherited, value);
+            }
+        }
+        // the elements of the project take precedence over properties of the same name
+        properties.putAll(project);
+        return properties;
+    }
+}
@@ -0,0 +1,441 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the parent chain of a POM file and merges it into an effective POM, so checks can
+ * take inherited configuration into account, such as the {@code dependencyManagement} of a
+ * parent.
+ * <p>
+ * A parent is looked up like Maven does, without network access: first at its
+ * {@code relativePath}, which defaults to {@code ../pom.xml}, when the POM file found there has
+ * the coordinates of the parent, and otherwise in the local repository, a plain directory laid
+ * out like {@code ~/.m2/repository}. The local repository is configured with the system property
+ * {@code mdepunit.local.repository}; without it, parents are only looked up at their relative
+ * path.
+ * <p>
+ * Every parent is parsed once and kept by the resolver for as long as its file does not change,
+ * so all modules of a reactor sharing a parent reuse the same parsed and merged chain. Concurrent
+ * resolutions of the same parent share a single parse.
+ * <p>
+ * The merge follows the inheritance rules of Maven for the parts that checks commonly rely on:
+ * values of the POM file take precedence over those of its parents, nested elements such as
+ * {@code properties} are merged per key, dependencies are merged by
+ * {@code groupId:artifactId:type:classifier} and plugins by {@code groupId:artifactId}. The
+ * {@code artifactId}, {@code packaging}, {@code modules}, {@code parent}, {@code prerequisites}
+ * and {@code profiles} of a parent are not inherited. Other lists are taken from the POM file
+ * declaring them last.
+ */
+public final class ParentResolver {
+
+    /**
+     * The name of the system property naming the local repository directory.
+     */
+    public static final String SYSTEM_PROPERTY = "mdepunit.local.repository";
+
+    private static final String DEFAULT_RELATIVE_PATH = "../pom.xml";
+    private static final String POM_FILE = "pom.xml";
+    private static final String GROUP_ID = "groupId";
+    private static final String ARTIFACT_ID = "artifactId";
+    private static final String PARENT = "parent";
+    private static final String DEPENDENCY = "dependency";
+    private static final String PLUGIN = "plugin";
+    private static final String DEFAULT_PLUGIN_GROUP = "org.apache.maven.plugins";
+    private static final Set<String> NOT_INHERITED = Set.of(ARTIFACT_ID, "packaging", "modules",
+            PARENT, "prerequisites", "profiles");
+
+    private static final Map<String, ParentResolver> CONFIGURED = new ConcurrentHashMap<>();
+
+    private final Path localRepository;
+    private final PomCache cache;
+    private final Map<Path, CachedPom> sources = new ConcurrentHashMap<>();
+    private final Map<Path, CompletableFuture<CachedPom>> loading = new ConcurrentHashMap<>();
+    private final Map<Path, Inheritance> parents = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code ParentResolver} that looks up parents in the given local
+     * repository, reading POM files through the shared {@link PomCache}.
+     *
+     * @param localRepository the local repository directory, or {@code null} to only look up
+     *                        parents at their relative path
+     */
+    public ParentResolver(final Path localRepository) {
+        this(localRepository, PomCache.shared());
+    }
+
+    /**
+     * Constructs a new {@code ParentResolver} that looks up parents in the given local
+     * repository, reading POM files through the given cache.
+     *
+     * @param localRepository the local repository directory, or {@code null} to only look up
+     *                        parents at their relative path
+     * @param cache the cache the POM files are read from
+     */
+    public ParentResolver(final Path localRepository, final PomCache cache) {
+        this.localRepository = localRepository == null
+                ? null : localRepository.toAbsolutePath().normalize();
+        this.cache = Objects.requireNonNull(cache, "cache");
+    }
+
+    /**
+     * Returns the resolver for the local repository named by the system property
+     * {@code mdepunit.local.repository}. The same instance is returned for as long as the
+     * property names the same directory, so parents are shared by all analyzers using it.
+     *
+     * @return the configured resolver
+     */
+    public static ParentResolver configured() {
+        String configured = System.getProperty(SYSTEM_PROPERTY, "").trim();
+        return CONFIGURED.computeIfAbsent(configured,
+                directory -> new ParentResolver(directory.isEmpty() ? null : Paths.get(directory)));
+    }
+
+    /**
+     * Resolves the effective POM of the POM file at the given path.
+     *
+     * @param pomFile the path to the POM file
+     * @return the POM file merged with all of its parents
+     * @throws IOException if a POM file cannot be read, a parent cannot be found, or the
+     *                     parent chain is cyclic
+     */
+    public CachedPom resolve(final String pomFile) throws IOException {
+        return resolve(cache.get(pomFile), Paths.get(pomFile));
+    }
+
+    /**
+     * Resolves the effective POM of a POM file that was parsed before.
+     *
+     * @param pom the parsed POM file
+     * @param pomFile the path to the POM file, to resolve the relative path of its parent
+     * @return the POM file merged with all of its parents, or {@code pom} itself when it has
+     *         no parent
+     * @throws IOException if a parent cannot be read or found, or the parent chain is cyclic
+     */
+    public CachedPom resolve(final CachedPom pom, final Path pomFile) throws IOException {
+        Path file = pomFile.toAbsolutePath().normalize();
+        Map<String, Object> tree = tree(pom);
+        Path parentFile = locateParent(file, tree);
+        if (parentFile == null) {
+            return pom;
+        }
+        Set<Path> chain = new HashSet<>();
+        chain.add(file.toRealPath());
+        Inheritance parent = inheritance(parentFile, chain);
+        return new CachedPom(-1, -1, ContentHash.of(pom.getContentHash() + '\n' + parent.hash),
+                new PomReader(merge(tree, parent.tree, "")));
+    }
+
+    /**
+     * Retrieves the POM file at the given path followed by all of its parents.
+     *
+     * @param pomFile the path to the POM file
+     * @return the real paths of the POM file and its parents, nearest parent first
+     * @throws IOException if a POM file cannot be read, a parent cannot be found, or the
+     *                     parent chain is cyclic
+     */
+    public List<Path> getChain(final String pomFile) throws IOException {
+        Path file = Paths.get(pomFile).toRealPath();
+        List<Path> chain = new ArrayList<>();
+        chain.add(file);
+        Path parentFile = locateParent(file, tree(cache.get(pomFile)));
+        if (parentFile != null) {
+            Set<Path> visited = new HashSet<>(chain);
+            for (Inheritance parent = inheritance(parentFile, visited); parent != null;
+                 parent = parent.parent) {
+                chain.add(parent.file);
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Retrieves the local repository directory parents are looked up in.
+     *
+     * @return the absolute local repository directory, or {@code null} if none is configured
+     */
+    @SuppressWarnings("LombokGetterMayBeUsed")
+    public Path getLocalRepository() {
+        return localRepository;
+    }
+
+    /**
+     * Retrieves the path of the POM file of an artifact in the local repository, in the layout
+     * of {@code ~/.m2/repository}. The file is not required to exist.
+     *
+     * @param groupId the group id of the artifact
+     * @param artifactId the artifact id of the artifact
+     * @param version the version of the artifact
+     * @return the path {@code groupId/as/directories/artifactId/version/artifactId-version.pom},
+     *         or {@code null} if no local repository is configured
+     */
+    public Path locate(final String groupId, final String artifactId, final String version) {
+        if (localRepository == null) {
+            return null;
+        }
+        return localRepository.resolve(groupId.replace('.', '/')).resolve(artifactId)
+                .resolve(version).resolve(artifactId + "-" + version + ".pom");
+    }
+
+    /**
+     * Retrieves the number of parents kept by this resolver.
+     *
+     * @return the number of distinct parent POM files resolved so far
+     */
+    public int size() {
+        return parents.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ParentResolver{localRepository=" + localRepository + ", parents=" + size() + "}";
+    }
+
+    private Inheritance inheritance(final Path pomFile, final Set<Path> chain)
+            throws IOException {
+        Path file = pomFile.toRealPath();
+        if (!chain.add(file)) {
+            throw new IOException("The parent chain of " + file + " is cyclic");
+        }
+        CachedPom source = source(file);
+        Map<String, Object> tree = tree(source);
+        Path parentFile = locateParent(file, tree);
+        Inheritance parent = parentFile == null ? null : inheritance(parentFile, chain);
+        return parents.compute(file, (key, kept) -> kept != null && kept.source == source
+                && kept.parent == parent ? kept : new Inheritance(file, source, parent, tree));
+    }
+
+    private CachedPom source(final Path file) throws IOException {
+        // parents are kept apart from the cache, so they survive its evictions, and a parent
+        // requested by many modules at once is parsed by one of them; the file is read outside
+        // of any lock of the maps, so parents in the same bin are read concurrently
+        CachedPom kept = upToDate(file);
+        if (kept != null) {
+            return kept;
+        }
+        CompletableFuture<CachedPom> load = new CompletableFuture<>();
+        CompletableFuture<CachedPom> running = loading.putIfAbsent(file, load);
+        if (running != null) {
+            return PomCache.await(running);
+        }
+        try {
+            // the parent may have been kept between the lookup and claiming the load
+            CachedPom read = upToDate(file);
+            if (read == null) {
+                read = cache.get(file.toString());
+                sources.put(file, read);
+            }
+            load.complete(read);
+            return read;
+        } catch (IOException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(file);
+        }
+    }
+
+    private CachedPom upToDate(final Path file) {
+        CachedPom kept = sources.get(file);
+        File current = file.toFile();
+        return kept != null && kept.isUpToDate(current.length(), current.lastModified())
+                ? kept : null;
+    }
+
+    private Path locateParent(final Path file, final Map<String, Object> tree)
+            throws IOException {
+        if (!(tree.get(PARENT) instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> parent = asMap(tree.get(PARENT));
+        String groupId = text(parent.get(GROUP_ID));
+        String artifactId = text(parent.get(ARTIFACT_ID));
+        String version = text(parent.get("version"));
+
+        String relativePath = Optional.ofNullable(text(parent.get("relativePath")))
+                .orElse(parent.containsKey("relativePath") ? "" : DEFAULT_RELATIVE_PATH);
+        if (!relativePath.isEmpty()) {
+            Path candidate = file.getParent().resolve(relativePath).normalize();
+            if (Files.isDirectory(candidate)) {
+                candidate = candidate.resolve(POM_FILE);
+            }
+            if (Files.isRegularFile(candidate)
+                    && hasCoordinates(tree(source(candidate.toRealPath())), groupId, artifactId)) {
+                return candidate;
+            }
+        }
+        if (groupId != null && artifactId != null && version != null) {
+            Path candidate = locate(groupId, artifactId, version);
+            if (candidate != null && Files.isRegularFile(candidate)) {
+                return candidate;
+            }
+        }
+        throw new NoSuchFileException(file.toString(), null, "Parent " + groupId + ":"
+                + artifactId + ":" + version + " is not found at its relative path"
+                + (localRepository == null ? "" : " or in the local repository "
+                + localRepository));
+    }
+
+    private static boolean hasCoordinates(final Map<String, Object> tree, final String groupId,
+                                          final String artifactId) {
+        String candidateGroupId = text(tree.get(GROUP_ID));
+        if (candidateGroupId == null && tree.get(PARENT) instanceof Map) {
+            candidateGroupId = text(asMap(tree.get(PARENT)).get(GROUP_ID));
+        }
+        return Objects.equals(groupId, candidateGroupId)
+                && Objects.equals(artifactId, text(tree.get(ARTIFACT_ID)));
+    }
+
+    private static Map<String, Object> tree(final CachedPom pom) {
+        Map<String, Object> tree = new LinkedHashMap<>();
+        for (PomElement element : pom.getElements()) {
+            if (element.getPomPath().getParent() == null) {
+                tree.put(element.getPath(), element.getValue());
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Merges a POM structure with the structure of its parent.
+     *
+     * @param child the structure of the POM file, taking precedence
+     * @param parent the structure of the parent
+     * @param path the path of both structures, empty for the project itself
+     * @return a new structure holding the values of both
+     */
+    static Map<String, Object> merge(final Map<String, Object> child,
+                                     final Map<String, Object> parent, final String path) {
+        Map<String, Object> merged = new LinkedHashMap<>(child);
+        parent.forEach((key, parentValue) -> {
+            if (!merged.containsKey(key)) {
+                if (!path.isEmpty() || !NOT_INHERITED.contains(key)) {
+                    merged.put(key, parentValue);
+                }
+            } else {
+                merged.put(key, mergeValue(key, merged.get(key), parentValue, path));
+            }
+        });
+        return merged;
+    }
+
+    private static Object mergeValue(final String key, final Object childValue,
+                                     final Object parentValue, final String path) {
+        if (DEPENDENCY.equals(key) && isList(path, "dependencies")
+                || PLUGIN.equals(key) && isList(path, "plugins")) {
+            return mergeItems(key, childValue, parentValue, path);
+        }
+        if (childValue instanceof Map && parentValue instanceof Map) {
+            return merge(asMap(childValue), asMap(parentValue),
+                    path.isEmpty() ? key : path + "." + key);
+        }
+        if ("".equals(childValue) && parentValue instanceof Map) {
+            // an empty element does not remove the nested elements of the parent
+            return parentValue;
+        }
+        return childValue;
+    }
+
+    private static boolean isList(final String path, final String name) {
+        return path.equals(name) || path.endsWith("." + name);
+    }
+
+    private static Object mergeItems(final String key, final Object childValue,
+                                     final Object parentValue, final String path) {
+        List<Object> merged = new ArrayList<>(items(childValue));
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < merged.size(); i++) {
+            positions.putIfAbsent(identity(key, merged.get(i)), i);
+        }
+        for (Object item : items(parentValue)) {
+            Integer position = positions.get(identity(key, item));
+            if (position == null) {
+                merged.add(item);
+            } else if (merged.get(position) instanceof Map && item instanceof Map) {
+                merged.set(position, merge(asMap(merged.get(position)), asMap(item),
+                        path + "." + key));
+            }
+        }
+        return merged.size() == 1 ? merged.get(0) : merged;
+    }
+
+    private static List<?> items(final Object value) {
+        if (value instanceof List) {
+            return (List<?>) value;
+        }
+        return value instanceof Map ? List.of(value) : List.of();
+    }
+
+    private static String identity(final String key, final Object item) {
+        if (!(item instanceof Map)) {
+            return String.valueOf(item);
+        }
+        Map<String, Object> element = asMap(item);
+        String artifactId = text(element.get(ARTIFACT_ID));
+        String groupId = text(element.get(GROUP_ID));
+        if (PLUGIN.equals(key)) {
+            return (groupId == null ? DEFAULT_PLUGIN_GROUP : groupId) + ":" + artifactId;
+        }
+        String type = text(element.get("type"));
+        String classifier = text(element.get("classifier"));
+        return groupId + ":" + artifactId + ":" + (type == null ? "jar" : type) + ":"
+                + (classifier == null ? "" : classifier);
+    }
+
+    /**
+     * Views a nested element of a POM structure as a structure of its own. The structures are
+     * built from the values of parsed {@link PomElement}s, whose nested elements are always maps
+     * from element names to values, so the cast is safe for any value that is a {@code Map}.
+     *
+     * @param value a nested element, known to be a {@code Map}
+     * @return the nested element as a structure
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(final Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    private static String text(final Object value) {
+        return value instanceof String && !((String) value).isBlank()
+                ? ((String) value).trim() : null;
+    }
+
+    /**
+     * A parent POM file merged with its own parents.
+     */
+    private static final class Inheritance {
+
+        private final Path file;
+        private final CachedPom source;
+        private final Inheritance parent;
+        private final Map<String, Object> tree;
+        private final String hash;
+
+        Inheritance(final Path file, final CachedPom source, final Inheritance parent,
+                    final Map<String, Object> ownTree) {
+            this.file = file;
+            this.source = source;
+            this.parent = parent;
+            this.tree = parent == null ? ownTree : merge(ownTree, parent.tree, "");
+            this.hash = parent == null ? source.getContentHash()
+                    : ContentHash.of(source.getContentHash() + '\n' + parent.hash);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import java.util.Locale;
+
+/**
+ * Defines the engines a {@link PomReader} can use to parse a Maven POM file.
+ * <p>
+ * The supported engines are:
+ * - JACKSON: Binds the whole document into a map structure and flattens it afterwards.
+ * - STAX: Pulls the document with StAX and flattens it while reading, in a single pass.
+ * </p>
+ * The engine used by default can be chosen with the system property {@code mdepunit.parser},
+ * for example {@code -Dmdepunit.parser=stax}.
+ */
+public enum ParserEngine {
+    /**
+     * Binds the whole document into a map structure and flattens it afterwards.
+     */
+    JACKSON,
+
+    /**
+     * Pulls the document with StAX and flattens it while reading, in a single pass.
+     */
+    STAX;
+
+    /**
+     * The name of the system property used to choose the default engine.
+     */
+    public static final String SYSTEM_PROPERTY = "mdepunit.parser";
+
+    /**
+     * Returns the engine configured by the {@code mdepunit.parser} system property, or
+     * {@code JACKSON} when the property is not set.
+     *
+     * @return the engine to use when none is given explicitly
+     * @throws IllegalArgumentException if the system property does not name an engine
+     */
+    public static ParserEngine defaultEngine() {
+        String configured = System.getProperty(SYSTEM_PROPERTY);
+        if (configured == null || configured.isBlank()) {
+            return JACKSON;
+        }
+        return valueOf(configured.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,219 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index over the flattened elements of a POM file, used to select elements by the start or
+ * the end of their path without scanning the whole document.
+ * <p>
+ * The elements are arranged in a tree in which every element is a child of the nearest
+ * preceding element whose {@link PomPath} is an ancestor of its own, so a subtree holds a
+ * contiguous range of the elements. Selecting by path prefix walks this tree down to the
+ * subtrees matching the prefix. Selecting by path suffix uses maps from the last segment of a
+ * path (its tag name or list index) to the elements ending with that segment, in document
+ * order, of which only the range of each matching subtree is visited. Both selections match
+ * exactly like {@code String.startsWith} and {@code String.endsWith} on the full path, and
+ * return the elements in document order.
+ */
+public final class PathIndex {
+
+    private final List<PomElement> elements;
+    private final Node root;
+    private final Map<String, List<Node>> byName;
+    private final Map<String, List<Node>> byListIndex;
+
+    private PathIndex(final List<PomElement> elements) {
+        this.elements = Collections.unmodifiableList(elements);
+        this.root = new Node(null, -1, null);
+        this.byName = new HashMap<>();
+        this.byListIndex = new HashMap<>();
+
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        for (int i = 0; i < elements.size(); i++) {
+            PomElement element = elements.get(i);
+            PomPath path = element.getPomPath();
+            while (!stack.get(stack.size() - 1).isAncestorOf(path)) {
+                stack.remove(stack.size() - 1).end = i;
+            }
+
+            Node node = new Node(element, i, path);
+            stack.get(stack.size() - 1).children.add(node);
+            Map<String, List<Node>> bySegment = path.getIndex() >= 0 ? byListIndex : byName;
+            bySegment.computeIfAbsent(path.getName(), key -> new ArrayList<>()).add(node);
+            stack.add(node);
+        }
+        stack.forEach(node -> node.end = elements.size());
+    }
+
+    /**
+     * Builds an index over the given elements. The list is expected to be in document order,
+     * as produced by {@link PomReader#getElements()}, and must not be modified afterwards.
+     *
+     * @param elements the flattened elements of a POM file
+     * @return an index over the given elements
+     */
+    public static PathIndex of(final List<PomElement> elements) {
+        return new PathIndex(elements);
+    }
+
+    /**
+     * Retrieves all indexed elements in document order.
+     *
+     * @return an unmodifiable list of all indexed elements
+     */
+    public List<PomElement> getElements() {
+        return elements;
+    }
+
+    /**
+     * Selects all elements of which the path starts with the given prefix.
+     *
+     * @param prefix the start of the paths to select, e.g. "dependencies.dependency"
+     * @return the matching elements in document order
+     */
+    public List<PomElement> withPrefix(final String prefix) {
+        List<PomElement> result = new ArrayList<>();
+        subtrees(prefix).forEach(node -> node.addSubtree(result));
+        return result;
+    }
+
+    /**
+     * Selects all elements of which the path ends with the given suffix.
+     *
+     * @param suffix the end of the paths to select, e.g. "version"
+     * @return the matching elements in document order
+     */
+    public List<PomElement> withSuffix(final String suffix) {
+        return matching("", suffix);
+    }
+
+    /**
+     * Selects all elements of which the path starts with the given prefix and ends with the
+     * given suffix.
+     *
+     * @param prefix the start of the paths to select, e.g. "dependencies.dependency"
+     * @param suffix the end of the paths to select, e.g. "version"
+     * @return the matching elements in document order
+     */
+    public List<PomElement> matching(final String prefix, final String suffix) {
+        List<Node> subtrees = subtrees(prefix);
+        if (subtrees.isEmpty()) {
+            return List.of();
+        }
+        List<Node> nodes = new ArrayList<>();
+        collect(byName, subtrees, suffix, nodes);
+        if (suffix.isEmpty() || suffix.endsWith("]")) {
+            collect(byListIndex, subtrees, suffix, nodes);
+        }
+        nodes.sort(Comparator.comparingInt(node -> node.ordinal));
+
+        List<PomElement> result = new ArrayList<>(nodes.size());
+        nodes.forEach(node -> result.add(node.element));
+        return result;
+    }
+
+    private static void collect(final Map<String, List<Node>> bySegment,
+                                final List<Node> subtrees, final String suffix,
+                                final List<Node> nodes) {
+        bySegment.forEach((segment, candidates) -> {
+            boolean allMatch = segment.endsWith(suffix);
+            if (!allMatch && !suffix.endsWith(segment)) {
+                return;
+            }
+            for (Node subtree : subtrees) {
+                for (int c = first(candidates, subtree.ordinal);
+                     c < candidates.size() && candidates.get(c).ordinal < subtree.end; c++) {
+                    Node node = candidates.get(c);
+                    if (allMatch || node.path.endsWith(suffix)) {
+                        nodes.add(node);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Finds the first of the given nodes, in document order, at or after the given ordinal.
+     *
+     * @param nodes the nodes in document order
+     * @param ordinal the position of an element in the document
+     * @return the index of the first node at or after the ordinal, or the number of nodes
+     */
+    private static int first(final List<Node> nodes, final int ordinal) {
+        int low = 0;
+        int high = nodes.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (nodes.get(middle).ordinal < ordinal) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Walks the tree down to the outermost elements of which the path starts with the given
+     * prefix, in document order.
+     *
+     * @param prefix the start of the paths to select
+     * @return the roots of the subtrees holding every element matching the prefix
+     */
+    private List<Node> subtrees(final String prefix) {
+        List<Node> subtrees = new ArrayList<>();
+        collect(root, prefix, subtrees);
+        return subtrees;
+    }
+
+    private static void collect(final Node node, final String prefix, final List<Node> subtrees) {
+        for (Node child : node.children) {
+            if (child.path.startsWith(prefix)) {
+                subtrees.add(child);
+            } else if (child.isAncestorOf(prefix)) {
+                collect(child, prefix, subtrees);
+            }
+        }
+    }
+
+    /**
+     * An element of the index tree.
+     */
+    private static final class Node {
+
+        private final PomElement element;
+        private final int ordinal;
+        private final PomPath path;
+        private final List<Node> children = new ArrayList<>();
+        private int end;
+
+        Node(final PomElement element, final int ordinal, final PomPath path) {
+            this.element = element;
+            this.ordinal = ordinal;
+            this.path = path;
+        }
+
+        boolean isAncestorOf(final PomPath other) {
+            return element == null
+                    || other.getDepth() > path.getDepth() && other.startsWith(path);
+        }
+
+        boolean isAncestorOf(final String prefix) {
+            return path.isAncestorOf(prefix);
+        }
+
+        void addSubtree(final List<PomElement> result) {
+            result.add(element);
+            children.forEach(child -> child.addSubtree(result));
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe cache of parsed POM files, shared by all analyzers of the running JVM.
+ * <p>
+ * Entries are keyed by the canonical path of the POM file. An entry is only reused when the
+ * size and last modified timestamp of the file did not change since it was parsed, otherwise
+ * the file is parsed again and the entry is replaced. The number of entries is bounded; when
+ * the limit is reached the least recently used entry is evicted. Threads requesting a file that
+ * is being parsed by another thread wait for that result instead of parsing it as well.
+ * <p>
+ * The hit, miss and eviction counters can be used to verify how often parsing was avoided.
+ * <p>
+ * A POM file that is not cached is read from the {@link ElementStore} configured with the
+ * system property {@code mdepunit.parse.cache.dir}, if any, so other JVMs can reuse the
+ * elements they flattened.
+ */
+public final class PomCache {
+
+    /**
+     * The maximum number of POM files held by the shared cache.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final PomCache SHARED = new PomCache(DEFAULT_MAX_ENTRIES);
+
+    private final int maxEntries;
+    private final Map<String, CachedPom> entries;
+    private final Map<String, CompletableFuture<CachedPom>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructs a new, empty {@code PomCache} holding at most the given number of POM files.
+     *
+     * @param maxEntries the maximum number of POM files to hold, must be at least one
+     * @throws IllegalArgumentException if {@code maxEntries} is smaller than one
+     */
+    public PomCache(final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1, got " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+    }
+
+    /**
+     * Returns the cache shared by all analyzers of the running JVM.
+     *
+     * @return the shared {@code PomCache} instance
+     */
+    public static PomCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the parsed POM file at the given path. The file is only parsed when it is not
+     * cached yet, or when its size or last modified timestamp changed since it was cached.
+     * Concurrent requests for the same file share a single parse.
+     *
+     * @param filePath the file path of the Maven POM file
+     * @return the cached, parsed POM file
+     * @throws IOException if the POM file cannot be read or is not accessible
+     */
+    public CachedPom get(final String filePath) throws IOException {
+        File file = new File(filePath);
+        String key = file.getCanonicalPath();
+        long size = file.length();
+        long lastModified = file.lastModified();
+
+        CachedPom cached = lookup(key, size, lastModified);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<CachedPom> load = new CompletableFuture<>();
+        CompletableFuture<CachedPom> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            // another thread is parsing the same file, so share its result
+            hits.incrementAndGet();
+            return await(running);
+        }
+        try {
+            // the file may have been stored between the lookup and claiming the load
+            CachedPom parsed = lookup(key, size, lastModified);
+            if (parsed == null) {
+                parsed = parse(file, filePath, size, lastModified);
+                store(key, parsed);
+            }
+            load.complete(parsed);
+            return parsed;
+        } catch (IOException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key);
+        }
+    }
+
+    private CachedPom lookup(final String key, final long size, final long lastModified) {
+        synchronized (entries) {
+            CachedPom cached = entries.get(key);
+            if (cached != null && cached.isUpToDate(size, lastModified)) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private CachedPom parse(final File file, final String filePath, final long size,
+                            final long lastModified) throws IOException {
+        // parse outside the lock, so slow files do not block lookups of other files
+        byte[] content = Files.readAllBytes(file.toPath());
+        String contentHash = ContentHash.of(content);
+        ElementStore store = ElementStore.configured();
+        ParserEngine engine = ParserEngine.defaultEngine();
+        CachedPom parsed = new CachedPom(size, lastModified, contentHash, store == null
+                ? new PomReader(content, filePath, engine)
+                : store.read(content, contentHash, filePath, engine));
+        misses.incrementAndGet();
+        return parsed;
+    }
+
+    private void store(final String key, final CachedPom parsed) {
+        synchronized (entries) {
+            entries.put(key, parsed);
+            if (entries.size() > maxEntries) {
+                String eldest = entries.keySet().iterator().next();
+                entries.remove(eldest);
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    static CachedPom await(final CompletableFuture<CachedPom> running)
+            throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of lookups that were served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that required the POM file to be parsed.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of entries removed because the cache reached its maximum size.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the number of POM files currently held by the cache.
+     *
+     * @return the number of cached entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Removes all entries and resets the hit, miss and eviction counters.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            hits.set(0);
+            misses.set(0);
+            evictions.set(0);
+        }
+    }
+
+    /**
+     * Returns a summary of the cache statistics, suitable for logging in a build.
+     *
+     * @return a string in the format "PomCache{size=.., hits=.., misses=.., evictions=..}"
+     */
+    @Override
+    public String toString() {
+        return "PomCache{"
+                + "size=" + size()
+                + ", hits=" + hits.get()
+                + ", misses=" + misses.get()
+                + ", evictions=" + evictions.get()
+                + '}';
+    }
+}
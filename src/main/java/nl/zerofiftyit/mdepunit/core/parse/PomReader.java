@@ -2,7 +2,9 @@ package nl.zerofiftyit.mdepunit.core.parse;
 
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -13,22 +15,92 @@ import java.util.Map;
  * A class for reading Maven POM (Project Object Model) files.
  * This class provides the ability to parse a given POM file into a structured
  * format and extract detailed information about its elements.
+ * <p>
+ * The file is parsed by one of the {@link ParserEngine}s. The Jackson engine stores the POM as
+ * a map structure that is flattened on request, the StAX engine flattens the POM while reading.
+ * <p>
+ * The flattened elements and their {@link PathIndex} are computed once, on first use, and
+ * shared by all callers of {@link #getElements()} and {@link #getIndex()}.
  */
 public final class PomReader {
 
+    // a mapper is expensive to create and safe for concurrent use once configured
+    private static final XmlMapper XML_MAPPER = new XmlMapper();
+
     private final Map<String, Object> pomData;
+    private final List<PomElement> streamedElements;
+
+    private volatile PathIndex index;
 
     /**
      * Constructs a new instance of the {@code PomReader} class and reads the
-     * Maven POM file from the specified file path. The POM is parsed and stored
-     * as a map structure for further analysis or processing.
+     * Maven POM file from the specified file path, using the default {@link ParserEngine}.
      *
      * @param filePath the file path of the Maven POM file to be read and parsed
      * @throws IOException if the POM file cannot be read or is not accessible
      */
     public PomReader(final String filePath) throws IOException {
-        XmlMapper xmlMapper = new XmlMapper();
-        pomData = xmlMapper.readValue(new File(filePath), Map.class);
+        this(filePath, ParserEngine.defaultEngine());
+    }
+
+    /**
+     * Constructs a new instance of the {@code PomReader} class and reads the
+     * Maven POM file from the specified file path with the given engine.
+     *
+     * @param filePath the file path of the Maven POM file to be read and parsed
+     * @param engine the engine used to parse the POM file
+     * @throws IOException if the POM file cannot be read or is not accessible
+     */
+    public PomReader(final String filePath, final ParserEngine engine) throws IOException {
+        if (engine == ParserEngine.STAX) {
+            pomData = null;
+            streamedElements = new StaxPomParser().parse(new File(filePath));
+        } else {
+            pomData = XML_MAPPER.readValue(new File(filePath), Map.class);
+            streamedElements = null;
+        }
+    }
+
+    /**
+     * Constructs a new instance of the {@code PomReader} class from the content of a Maven POM
+     * file that was read before, parsed with the given engine.
+     *
+     * @param content the bytes of the POM file
+     * @param name the name of the POM file, used in error messages
+     * @param engine the engine used to parse the POM file
+     * @throws IOException if the content is not a well-formed POM file
+     */
+    PomReader(final byte[] content, final String name, final ParserEngine engine)
+            throws IOException {
+        if (engine == ParserEngine.STAX) {
+            pomData = null;
+            streamedElements = new StaxPomParser().parse(new ByteArrayInputStream(content), name);
+        } else {
+            pomData = XML_MAPPER.readValue(content, Map.class);
+            streamedElements = null;
+        }
+    }
+
+    /**
+     * Constructs a new instance of the {@code PomReader} class holding elements that were
+     * flattened before, for example by a previous run.
+     *
+     * @param elements the flattened elements of the POM file, in the order of the engine
+     */
+    PomReader(final List<PomElement> elements) {
+        pomData = null;
+        streamedElements = elements;
+    }
+
+    /**
+     * Constructs a new instance of the {@code PomReader} class holding a POM structure that was
+     * composed before, for example by merging a POM file with its parents.
+     *
+     * @param pomData the POM structure, in the shape produced by the Jackson engine
+     */
+    PomReader(final Map<String, Object> pomData) {
+        this.pomData = pomData;
+        streamedElements = null;
     }
 
     /**
@@ -38,27 +110,67 @@ public final class PomReader {
      *
      * @return a list of PomElement objects representing all paths and their corresponding
      * values from the POM file. The set will be non-null and will include nested
-     * elements if present in the POM file.
+     * elements if present in the POM file. The list is a copy that may be modified
+     * by the caller.
      */
     public List<PomElement> getAllElements() {
+        return new ArrayList<>(getElements());
+    }
+
+    /**
+     * Retrieves all elements from the parsed Maven POM file, flattened once and shared
+     * between all callers. Prefer this method over {@link #getAllElements()} when the
+     * elements are only read.
+     *
+     * @return an unmodifiable list of all elements of the POM file, in document order
+     */
+    public List<PomElement> getElements() {
+        return getIndex().getElements();
+    }
+
+    /**
+     * Retrieves the {@link PathIndex} over all elements of the parsed Maven POM file, to select
+     * elements by path prefix or suffix without scanning the whole document. The index is
+     * built on first use and shared between all callers.
+     *
+     * @return an index over all elements of the POM file
+     */
+    public PathIndex getIndex() {
+        PathIndex result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = PathIndex.of(flatten());
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<PomElement> flatten() {
+        if (streamedElements != null) {
+            return streamedElements;
+        }
         List<PomElement> elements = new ArrayList<>();
-        traverseMap("", pomData, elements);
+        traverseMap(null, pomData, elements);
         return elements;
     }
 
-    private void traverseMap(final String path, final Object value,
+    private void traverseMap(final PomPath path, final Object value,
                              final List<PomElement> elements) {
         if (value instanceof Map) {
             Map<String, Object> map = (Map<String, Object>) value;
             map.forEach((key, val) -> {
-                String newPath = path.isEmpty() ? key : path + "." + key;
+                PomPath newPath = path == null ? PomPath.of(key) : path.child(key);
                 elements.add(new PomElement(newPath, val));
                 traverseMap(newPath, val, elements);
             });
         } else if (value instanceof List) {
             List<?> list = (List<?>) value;
             for (int i = 0; i < list.size(); i++) {
-                String newPath = path + "[" + i + "]";
+                PomPath newPath = path.item(i);
                 elements.add(new PomElement(newPath, list.get(i)));
                 traverseMap(newPath, list.get(i), elements);
             }
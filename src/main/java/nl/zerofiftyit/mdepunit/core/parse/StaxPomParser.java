@@ -0,0 +1,220 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses a Maven POM file into flattened {@code PomElement}s while pulling the document with
+ * StAX, without binding it into an intermediate map first.
+ * <p>
+ * The resulting paths and values are the same as those of the Jackson based traversal: child
+ * elements and attributes are keyed by their local name, repeated keys become a list with an
+ * index in the path, and text next to child elements is stored under an empty key. Elements are
+ * listed in document order, so a key that is repeated with other keys in between is listed in
+ * the order it appears in the file.
+ */
+final class StaxPomParser {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    /**
+     * Parses the given POM file into a list of flattened elements.
+     *
+     * @param file the Maven POM file to parse
+     * @return the flattened elements of the POM file, in document order
+     * @throws IOException if the file cannot be read or is not well-formed XML
+     */
+    List<PomElement> parse(final File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return parse(in, file.toString());
+        }
+    }
+
+    /**
+     * Parses the given POM content into a list of flattened elements.
+     *
+     * @param in the content of the Maven POM file
+     * @param name the name of the POM file, used in error messages
+     * @return the flattened elements of the POM file, in document order
+     * @throws IOException if the content cannot be read or is not well-formed XML
+     */
+    List<PomElement> parse(final InputStream in, final String name) throws IOException {
+        try {
+            XMLStreamReader reader = FACTORY.createXMLStreamReader(in);
+            try {
+                return parse(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse POM file " + name, e);
+        }
+    }
+
+    private static List<PomElement> parse(final XMLStreamReader reader)
+            throws XMLStreamException {
+        // every node gets a slot in document order, a repeated key also gets a slot for its list
+        List<Node> slots = new ArrayList<>();
+        Node current = null;
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (current == null) {
+                        current = new Node(null, null);
+                    } else {
+                        current.flushText(slots);
+                        current = current.addChild(reader.getLocalName(), slots);
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        current.addChild(reader.getAttributeLocalName(i), slots)
+                                .finish(reader.getAttributeValue(i));
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (current != null) {
+                        current.appendText(reader.getText());
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    current.finish(slots);
+                    current = current.parent;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        List<PomElement> elements = new ArrayList<>(slots.size());
+        for (Node node : slots) {
+            if (node != null) {
+                elements.add(new PomElement(node.createPath(), node.value));
+            }
+        }
+        return elements;
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * A single element, attribute or text value while the document is being read.
+     */
+    private static final class Node {
+
+        private final Node parent;
+        private final String key;
+
+        private int index = -1;
+        private int groupSlot = -1;
+        private Node group;
+        private Object value;
+        private PomPath path;
+
+        private Map<String, Object> children;
+        private Map<String, Node> firstByKey;
+        private StringBuilder text;
+
+        Node(final Node parent, final String key) {
+            this.parent = parent;
+            this.key = key;
+        }
+
+        Node addChild(final String childKey, final List<Node> slots) {
+            if (children == null) {
+                children = new LinkedHashMap<>();
+                firstByKey = new HashMap<>();
+            }
+
+            Node child = new Node(this, childKey);
+            Node first = firstByKey.get(childKey);
+
+            if (first == null) {
+                // reserve a slot for the list, in case the key turns out to be repeated
+                child.groupSlot = slots.size();
+                slots.add(null);
+                children.put(childKey, null);
+                firstByKey.put(childKey, child);
+            } else {
+                if (first.group == null) {
+                    List<Object> list = new ArrayList<>();
+                    list.add(first.value);
+                    first.group = new Node(this, childKey);
+                    first.group.value = list;
+                    first.index = 0;
+                    slots.set(first.groupSlot, first.group);
+                    children.put(childKey, list);
+                }
+                child.group = first.group;
+                child.index = ((List<?>) first.group.value).size();
+            }
+
+            slots.add(child);
+            return child;
+        }
+
+        void appendText(final String chunk) {
+            if (text == null) {
+                text = new StringBuilder(chunk);
+            } else {
+                text.append(chunk);
+            }
+        }
+
+        void flushText(final List<Node> slots) {
+            if (text != null && !text.toString().isBlank()) {
+                addChild("", slots).finish(text.toString());
+            }
+            text = null;
+        }
+
+        void finish(final List<Node> slots) {
+            if (children == null && parent != null) {
+                finish(text == null ? "" : text.toString());
+            } else {
+                flushText(slots);
+                finish(children == null ? new LinkedHashMap<>() : children);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void finish(final Object finalValue) {
+            value = finalValue;
+            if (group != null) {
+                ((List<Object>) group.value).add(finalValue);
+            } else if (parent != null) {
+                parent.children.put(key, finalValue);
+            }
+        }
+
+        PomPath createPath() {
+            if (index >= 0) {
+                path = group.path.item(index);
+            } else {
+                path = parent.parent == null ? PomPath.of(key) : parent.path.child(key);
+            }
+            return path;
+        }
+    }
+}
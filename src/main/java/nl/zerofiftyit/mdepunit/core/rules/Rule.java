@@ -0,0 +1,132 @@
+package nl.zerofiftyit.mdepunit.core.rules;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.Violation;
+import nl.zerofiftyit.mdepunit.model.ViolationType;
+
+/**
+ * A single rule of a {@link RuleSet}: a check of a given type on the elements below a node,
+ * which should or should not match.
+ * <p>
+ * Instances of this class are immutable and created through a {@link RuleBuilder}.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class Rule {
+
+    private static final String PROPERTIES_NODE = "properties";
+
+    private final String id;
+    private final String node;
+    private final boolean negated;
+    private final RuleType type;
+    private final String argument;
+
+    Rule(final String id, final String node, final boolean negated, final RuleType type,
+         final String argument) {
+        this.id = id;
+        this.node = node;
+        this.negated = negated;
+        this.type = type;
+        this.argument = argument;
+    }
+
+    /**
+     * Retrieves the identifier of this rule, which is unique within its rule set.
+     *
+     * @return the identifier of the rule
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the node below which this rule checks the elements.
+     *
+     * @return the node given to {@code checking(...)}
+     */
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * Checks whether this rule fails when an element matches, as declared with
+     * {@code shouldNot()}.
+     *
+     * @return true if the rule must not match any element
+     */
+    public boolean isNegated() {
+        return negated;
+    }
+
+    /**
+     * Retrieves the type of check of this rule.
+     *
+     * @return the type of the rule
+     */
+    public RuleType getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the tag name, value or property name the rule checks for.
+     *
+     * @return the argument of the check
+     */
+    public String getArgument() {
+        return argument;
+    }
+
+    String prefix() {
+        return type == RuleType.HAVE_PROPERTY ? PROPERTIES_NODE : node;
+    }
+
+    boolean matchesValue(final PomElement element) {
+        Object value = element.getValue();
+        return value != null && value.toString().contains(argument);
+    }
+
+    Violation violation() {
+        ViolationType violationType;
+        switch (type) {
+            case HAVE_TAG:
+                violationType = negated ? ViolationType.TAG_NOT_ALLOWED
+                        : ViolationType.TAG_REQUIRED;
+                break;
+            case HAVE_PROPERTY:
+                violationType = negated ? ViolationType.PROPERTY_NOT_ALLOWED
+                        : ViolationType.PROPERTY_REQUIRED;
+                break;
+            default:
+                violationType = negated ? ViolationType.VALUE_NOT_ALLOWED
+                        : ViolationType.VALUE_REQUIRED;
+                break;
+        }
+        return new Violation(id, violationType, node, argument, null, null);
+    }
+
+    Violation violation(final ViolationType violationType, final PomElement element) {
+        return new Violation(id, violationType, node, argument, element.getPomPath(),
+                element.getValue());
+    }
+
+    /**
+     * Identifies what this rule checks, regardless of its identifier, for caching its outcome.
+     *
+     * @return a text that differs for rules checking something else
+     */
+    String fingerprint() {
+        return type + (negated ? "!" : "=") + node.length() + ":" + node + argument.length()
+                + ":" + argument;
+    }
+
+    /**
+     * Describes this rule in the form it was declared.
+     *
+     * @return a description of the rule
+     */
+    @Override
+    public String toString() {
+        return id + ": checking(" + node + ")." + (negated ? "shouldNot()" : "should()") + "."
+                + type + "(" + argument + ")";
+    }
+}
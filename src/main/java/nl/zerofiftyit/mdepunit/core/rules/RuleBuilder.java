@@ -0,0 +1,99 @@
+package nl.zerofiftyit.mdepunit.core.rules;
+
+import lombok.NonNull;
+
+/**
+ * Declares a single rule of a {@link RuleSet}, in the same words as a fluent chain:
+ * {@code rule("id").checking("dependencies").shouldNot().containValue("SNAPSHOT")}.
+ * <p>
+ * Without {@code checking(...)} the rule checks all elements of the POM file, and without
+ * {@code should()} or {@code shouldNot()} the elements should match.
+ */
+public final class RuleBuilder {
+
+    private final RuleSetBuilder ruleSetBuilder;
+    private final String id;
+
+    private String node = "";
+    private boolean negated;
+
+    RuleBuilder(final RuleSetBuilder ruleSetBuilder, final String id) {
+        this.ruleSetBuilder = ruleSetBuilder;
+        this.id = id;
+    }
+
+    /**
+     * Sets the node below which the rule checks the elements.
+     *
+     * @param givenNode the start of the paths to check, e.g. "dependencies.dependency"
+     * @return this builder
+     */
+    public RuleBuilder checking(@NonNull final String givenNode) {
+        this.node = givenNode;
+        return this;
+    }
+
+    /**
+     * Declares that the check of the rule should match.
+     *
+     * @return this builder
+     */
+    public RuleBuilder should() {
+        negated = false;
+        return this;
+    }
+
+    /**
+     * Declares that the check of the rule should not match.
+     *
+     * @return this builder
+     */
+    public RuleBuilder shouldNot() {
+        negated = true;
+        return this;
+    }
+
+    /**
+     * Completes the rule with a check on a tag name.
+     *
+     * @param tagName the end of the paths to find
+     * @return the builder of the rule set, to declare the next rule
+     */
+    public RuleSetBuilder haveTag(@NonNull final String tagName) {
+        return add(RuleType.HAVE_TAG, tagName);
+    }
+
+    /**
+     * Completes the rule with a check on a value.
+     *
+     * @param value the text the value of an element should contain
+     * @return the builder of the rule set, to declare the next rule
+     */
+    public RuleSetBuilder containValue(@NonNull final String value) {
+        return add(RuleType.CONTAIN_VALUE, value);
+    }
+
+    /**
+     * Completes the rule with a check on a value, like the fluent {@code equalsValue}.
+     *
+     * @param value the text the value of an element should contain
+     * @return the builder of the rule set, to declare the next rule
+     */
+    public RuleSetBuilder equalsValue(@NonNull final String value) {
+        return add(RuleType.EQUALS_VALUE, value);
+    }
+
+    /**
+     * Completes the rule with a check on a property.
+     *
+     * @param propertyName the text the path of a property should contain
+     * @return the builder of the rule set, to declare the next rule
+     */
+    public RuleSetBuilder haveProperty(@NonNull final String propertyName) {
+        return add(RuleType.HAVE_PROPERTY, propertyName);
+    }
+
+    private RuleSetBuilder add(final RuleType type, final String argument) {
+        return ruleSetBuilder.add(new Rule(id, node, negated, type, argument));
+    }
+}
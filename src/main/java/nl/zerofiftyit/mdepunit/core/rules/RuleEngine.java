@@ -0,0 +1,173 @@
+package nl.zerofiftyit.mdepunit.core.rules;
+
+import nl.zerofiftyit.mdepunit.model.EvaluationMode;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
+import nl.zerofiftyit.mdepunit.model.Violation;
+import nl.zerofiftyit.mdepunit.model.ViolationType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates the rules of a {@link RuleSet} in a single pass over the elements of a POM file.
+ * <p>
+ * The rules are compiled once into groups, one for every distinct node the rules check. Within
+ * a group the tag rules are grouped by tag name, so every element is compared with every
+ * distinct node and tag name only once, however many rules share them.
+ */
+final class RuleEngine {
+
+    private final List<Rule> rules;
+    private final List<Group> groups;
+    private final int[] groupOfRule;
+
+    RuleEngine(final List<Rule> rules) {
+        this.rules = rules;
+        this.groupOfRule = new int[rules.size()];
+
+        Map<String, Group> byPrefix = new LinkedHashMap<>();
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            Group group = byPrefix.computeIfAbsent(rule.prefix(),
+                    prefix -> new Group(byPrefix.size(), prefix));
+            group.add(i, rule);
+            groupOfRule[i] = group.number;
+        }
+        this.groups = List.copyOf(byPrefix.values());
+    }
+
+    RuleSetResult evaluate(final List<PomElement> elements, final EvaluationMode mode) {
+        Evaluation evaluation = new Evaluation(mode == EvaluationMode.FAIL_FAST);
+        for (PomElement element : elements) {
+            PomPath path = element.getPomPath();
+            for (Group group : groups) {
+                if (evaluation.open[group.number] > 0 && path.startsWith(group.prefix)) {
+                    group.dispatch(element, path, evaluation);
+                }
+            }
+        }
+
+        List<RuleResult> results = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            results.add(evaluation.result(i));
+        }
+        return new RuleSetResult(results);
+    }
+
+    /**
+     * The rules of a rule set that check elements below the same node.
+     */
+    private final class Group {
+
+        private final int number;
+        private final String prefix;
+        private final Map<String, List<Integer>> tagRules = new LinkedHashMap<>();
+        private final List<Integer> valueRules = new ArrayList<>();
+        private final List<Integer> propertyRules = new ArrayList<>();
+        private int size;
+
+        Group(final int number, final String prefix) {
+            this.number = number;
+            this.prefix = prefix;
+        }
+
+        void add(final int ruleNumber, final Rule rule) {
+            switch (rule.getType()) {
+                case HAVE_TAG:
+                    tagRules.computeIfAbsent(rule.getArgument(), tag -> new ArrayList<>())
+                            .add(ruleNumber);
+                    break;
+                case HAVE_PROPERTY:
+                    propertyRules.add(ruleNumber);
+                    break;
+                default:
+                    valueRules.add(ruleNumber);
+                    break;
+            }
+            size++;
+        }
+
+        void dispatch(final PomElement element, final PomPath path,
+                      final Evaluation evaluation) {
+            tagRules.forEach((tag, ruleNumbers) -> {
+                if (path.endsWith(tag)) {
+                    ruleNumbers.forEach(ruleNumber -> evaluation.match(ruleNumber, element));
+                }
+            });
+            for (int ruleNumber : valueRules) {
+                if (!evaluation.decided[ruleNumber]
+                        && rules.get(ruleNumber).matchesValue(element)) {
+                    evaluation.match(ruleNumber, element);
+                }
+            }
+            if (!propertyRules.isEmpty()) {
+                // the path is only rendered for the elements below the properties
+                String rendered = element.getPath();
+                for (int ruleNumber : propertyRules) {
+                    if (!evaluation.decided[ruleNumber]
+                            && rendered.contains(rules.get(ruleNumber).getArgument())) {
+                        evaluation.match(ruleNumber, element);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of the rules during a single evaluation.
+     */
+    private final class Evaluation {
+
+        private final boolean[] matched = new boolean[rules.size()];
+        private final boolean[] decided = new boolean[rules.size()];
+        private final List<List<PomElement>> disallowed = new ArrayList<>(rules.size());
+        private final int[] open = new int[groups.size()];
+        private final boolean failFast;
+
+        Evaluation(final boolean failFast) {
+            this.failFast = failFast;
+            for (int i = 0; i < rules.size(); i++) {
+                disallowed.add(null);
+            }
+            for (Group group : groups) {
+                open[group.number] = group.size;
+            }
+        }
+
+        void match(final int ruleNumber, final PomElement element) {
+            if (decided[ruleNumber]) {
+                return;
+            }
+            matched[ruleNumber] = true;
+            Rule rule = rules.get(ruleNumber);
+            if (rule.isNegated() && rule.getType() == RuleType.HAVE_TAG) {
+                if (disallowed.get(ruleNumber) == null) {
+                    disallowed.set(ruleNumber, new ArrayList<>());
+                }
+                disallowed.get(ruleNumber).add(element);
+            }
+            // every disallowed element is reported, so the rule stays open unless failing fast
+            if (failFast || !rule.isNegated() || rule.getType() != RuleType.HAVE_TAG) {
+                decided[ruleNumber] = true;
+                open[groupOfRule[ruleNumber]]--;
+            }
+        }
+
+        RuleResult result(final int ruleNumber) {
+            Rule rule = rules.get(ruleNumber);
+            if (rule.isNegated() != matched[ruleNumber]) {
+                return new RuleResult(rule, List.of());
+            }
+            List<Violation> violations = new ArrayList<>();
+            violations.add(rule.violation());
+            if (disallowed.get(ruleNumber) != null) {
+                disallowed.get(ruleNumber).forEach(element -> violations.add(
+                        rule.violation(ViolationType.DISALLOWED_ELEMENT, element)));
+            }
+            return new RuleResult(rule, violations);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package nl.zerofiftyit.mdepunit.core.rules;
+
+import nl.zerofiftyit.mdepunit.model.Violation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of a single {@link Rule} of an evaluated {@link RuleSet}. The violations of the
+ * rule are only rendered to messages when they are asked for.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class RuleResult {
+
+    private final Rule rule;
+    private final List<Violation> violations;
+
+    RuleResult(final Rule rule, final List<Violation> violations) {
+        this.rule = rule;
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * Retrieves the rule this result belongs to.
+     *
+     * @return the evaluated rule
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Checks whether the rule passed.
+     *
+     * @return true if the rule found no errors
+     */
+    public boolean isPassed() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * Retrieves the violations of the rule.
+     *
+     * @return an unmodifiable list of violations, empty if the rule passed
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Retrieves the error messages of the rule, worded like those of the fluent analyzers.
+     *
+     * @return an unmodifiable list of error messages, empty if the rule passed
+     */
+    public List<String> getMessages() {
+        return violations.stream()
+                .map(Violation::getMessage)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Retrieves the error messages of the rule in the form of a {@code PomValidationException}
+     * message.
+     *
+     * @return the error report of the rule, or an empty string if the rule passed
+     */
+    public String getMessage() {
+        if (isPassed()) {
+            return "";
+        }
+        StringBuilder message = new StringBuilder("Error(s) occurred:\n");
+        violations.forEach(violation -> message.append(violation.getMessage()).append('\n'));
+        return message.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package nl.zerofiftyit.mdepunit.core.rules;
+
+import lombok.NonNull;
+import nl.zerofiftyit.mdepunit.core.cache.ResultCache;
+import nl.zerofiftyit.mdepunit.core.parse.CachedPom;
+import nl.zerofiftyit.mdepunit.core.parse.PomCache;
+import nl.zerofiftyit.mdepunit.model.EvaluationMode;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A set of rules that are declared up front and evaluated together against a POM file.
+ * <p>
+ * Where every fluent {@code checking(...)} chain scans the elements of the POM file on its own,
+ * a rule set visits every element once. The rules are grouped by the node they check, and an
+ * element is only handed to the rules of the groups whose node it is below. Rules that are
+ * decided, for example a required tag that has been found, are not checked again.
+ * <pre>
+ * RuleSet rules = RuleSet.builder()
+ *         .rule("versions").checking("dependencies.dependency").should().haveTag("version")
+ *         .rule("no snapshots").checking("dependencies").shouldNot().containValue("SNAPSHOT")
+ *         .build();
+ * rules.evaluate("pom.xml").validate();
+ * </pre>
+ * Instances of this class are immutable and safe for concurrent use.
+ */
+public final class RuleSet {
+
+    /**
+     * The prefix of the rule ids reserved for the results mDepUnit reports itself, such as a
+     * POM file that cannot be read. Declared rules cannot use it.
+     */
+    public static final String RESERVED_PREFIX = "mdepunit/";
+
+    private final List<Rule> rules;
+    private final RuleEngine engine;
+    private final String fingerprint;
+
+    RuleSet(final List<Rule> rules) {
+        this.rules = List.copyOf(rules);
+        this.engine = new RuleEngine(this.rules);
+        this.fingerprint = this.rules.stream()
+                .map(Rule::fingerprint)
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Starts the declaration of a new rule set.
+     *
+     * @return a builder for the rules of the set
+     */
+    public static RuleSetBuilder builder() {
+        return new RuleSetBuilder();
+    }
+
+    /**
+     * Retrieves the rules of this set in the order they were declared.
+     *
+     * @return an unmodifiable list of the rules
+     */
+    public List<Rule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    /**
+     * Evaluates all rules against the POM file at the given path. The parsed file is taken
+     * from the shared {@link PomCache}.
+     *
+     * @param pomFile the path of the POM file
+     * @return the result of every rule
+     * @throws IOException if the POM file cannot be read
+     */
+    public RuleSetResult evaluate(@NonNull final String pomFile) throws IOException {
+        return evaluate(PomCache.shared().get(pomFile));
+    }
+
+    /**
+     * Evaluates all rules against a parsed POM file, in the {@link EvaluationMode} configured
+     * by default. When a {@link ResultCache} is configured and the rules passed on a POM file
+     * with the same content before, they are not evaluated again.
+     *
+     * @param pom the parsed POM file
+     * @return the result of every rule
+     */
+    public RuleSetResult evaluate(@NonNull final CachedPom pom) {
+        return evaluate(pom, ResultCache.configured());
+    }
+
+    /**
+     * Evaluates all rules against a parsed POM file, in the {@link EvaluationMode} configured
+     * by default. When the rules passed on a POM file with the same content before, according
+     * to the given cache, they are not evaluated again.
+     *
+     * @param pom the parsed POM file
+     * @param cache the cache of passed checks, or {@code null} to always evaluate the rules
+     * @return the result of every rule
+     */
+    public RuleSetResult evaluate(@NonNull final CachedPom pom, final ResultCache cache) {
+        EvaluationMode mode = EvaluationMode.defaultMode();
+        String key = "rules " + mode + " " + fingerprint;
+        if (cache != null && cache.isPassed(pom.getContentHash(), key)) {
+            return new RuleSetResult(rules.stream()
+                    .map(rule -> new RuleResult(rule, List.of()))
+                    .collect(Collectors.toList()));
+        }
+        RuleSetResult result = evaluate(pom.getElements(), mode);
+        if (cache != null && result.isPassed()) {
+            cache.recordPassed(pom.getContentHash(), key);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates all rules against the given elements in a single pass, in the
+     * {@link EvaluationMode} configured by default.
+     *
+     * @param elements the flattened elements of a POM file, in document order
+     * @return the result of every rule
+     */
+    public RuleSetResult evaluate(@NonNull final List<PomElement> elements) {
+        return evaluate(elements, EvaluationMode.defaultMode());
+    }
+
+    /**
+     * Evaluates all rules against the given elements in a single pass. In
+     * {@link EvaluationMode#FAIL_FAST} a rule that disallows a tag stops at the first element
+     * carrying it, instead of reporting every such element.
+     *
+     * @param elements the flattened elements of a POM file, in document order
+     * @param mode how far the rules are evaluated once their outcome is known
+     * @return the result of every rule
+     */
+    public RuleSetResult evaluate(@NonNull final List<PomElement> elements,
+                                  @NonNull final EvaluationMode mode) {
+        return engine.evaluate(elements, mode);
+    }
+}
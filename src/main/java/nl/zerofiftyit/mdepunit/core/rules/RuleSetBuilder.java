@@ -0,0 +1,56 @@
+package nl.zerofiftyit.mdepunit.core.rules;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the rules of a {@link RuleSet}. Rules are evaluated and reported in the order
+ * they are declared.
+ */
+public final class RuleSetBuilder {
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final Set<String> ids = new HashSet<>();
+
+    RuleSetBuilder() {
+    }
+
+    /**
+     * Starts the declaration of a rule.
+     *
+     * @param id the identifier of the rule, used to report its result
+     * @return a builder for the rule
+     * @throws IllegalArgumentException if the identifier is blank, already used in this set or
+     *                                  starts with {@link RuleSet#RESERVED_PREFIX}
+     */
+    public RuleBuilder rule(@NonNull final String id) {
+        if (id.isBlank()) {
+            throw new IllegalArgumentException("Rule id must not be blank");
+        }
+        if (id.startsWith(RuleSet.RESERVED_PREFIX)) {
+            throw new IllegalArgumentException("Rule id '" + id + "' is reserved by mDepUnit");
+        }
+        if (!ids.add(id)) {
+            throw new IllegalArgumentException("Rule id '" + id + "' is already used");
+        }
+        return new RuleBuilder(this, id);
+    }
+
+    /**
+     * Creates the rule set with all declared rules.
+     *
+     * @return an immutable rule set
+     */
+    public RuleSet build() {
+        return new RuleSet(rules);
+    }
+
+    RuleSetBuilder add(final Rule rule) {
+        rules.add(rule);
+        return this;
+    }
+}
@@ -0,0 +1,66 @@
+package nl.zerofiftyit.mdepunit.core.rules;
+
+import nl.zerofiftyit.mdepunit.exception.PomValidationException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of all rules of an evaluated {@link RuleSet}, in the order they were declared.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class RuleSetResult {
+
+    private final List<RuleResult> results;
+
+    RuleSetResult(final List<RuleResult> results) {
+        this.results = List.copyOf(results);
+    }
+
+    /**
+     * Retrieves the result of every rule.
+     *
+     * @return an unmodifiable list of results, in the order the rules were declared
+     */
+    public List<RuleResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Retrieves the results of the rules that did not pass.
+     *
+     * @return the failed results, in the order the rules were declared
+     */
+    public List<RuleResult> getFailures() {
+        return results.stream()
+                .filter(result -> !result.isPassed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether all rules passed.
+     *
+     * @return true if no rule found errors
+     */
+    public boolean isPassed() {
+        return results.stream().allMatch(RuleResult::isPassed);
+    }
+
+    /**
+     * Validates the results of all rules. The message of the exception holds the identifier
+     * and the error report of every failed rule, in the form of {@code validate(reason)}.
+     *
+     * @throws PomValidationException if one or more rules did not pass
+     */
+    public void validate() {
+        List<RuleResult> failures = getFailures();
+        if (!failures.isEmpty()) {
+            throw new PomValidationException(failures.stream()
+                    .map(failure -> failure.getRule().getId() + "\n" + failure.getMessage())
+                    .collect(Collectors.joining()),
+                    failures.stream()
+                            .flatMap(failure -> failure.getViolations().stream())
+                            .collect(Collectors.toList()));
+        }
+    }
+}
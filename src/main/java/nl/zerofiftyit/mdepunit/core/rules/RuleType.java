@@ -0,0 +1,29 @@
+package nl.zerofiftyit.mdepunit.core.rules;
+
+/**
+ * Defines the checks a {@link Rule} can perform. Every type matches elements the same way as
+ * the method of the fluent analyzers with the same name.
+ */
+public enum RuleType {
+    /**
+     * Matches elements below the node of which the path ends with the argument.
+     */
+    HAVE_TAG,
+
+    /**
+     * Matches elements below the node of which the value contains the argument.
+     */
+    CONTAIN_VALUE,
+
+    /**
+     * Matches elements below the node of which the value contains the argument, like the
+     * fluent {@code equalsValue}.
+     */
+    EQUALS_VALUE,
+
+    /**
+     * Matches properties of which the path contains the argument. The node of the rule is not
+     * used, properties are always looked up below "properties".
+     */
+    HAVE_PROPERTY
+}
@@ -0,0 +1,6 @@
+/**
+ * Rule set package for the POM analysis tool.
+ * Contains classes to declare many rules up front and evaluate them together against a POM
+ * file in a single pass over its elements.
+ */
+package nl.zerofiftyit.mdepunit.core.rules;
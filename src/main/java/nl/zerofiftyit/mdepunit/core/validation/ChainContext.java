@@ -0,0 +1,210 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.graph.DependencyGraph;
+import nl.zerofiftyit.mdepunit.core.parse.DependencyIndex;
+import nl.zerofiftyit.mdepunit.core.parse.Interpolator;
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.Violation;
+import nl.zerofiftyit.mdepunit.model.ViolationType;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The state a {@link ChainPlan} shares with the {@link CheckExecutor}s of its checks: the
+ * analyzed POM file and what is looked up in it, the elements the next property or module check
+ * selects from, and the errors found so far.
+ */
+final class ChainContext {
+
+    private final String givenNode;
+    private final List<PomElement> pomElements;
+    private final PathIndex index;
+    private final ResultCaller resultCaller;
+    private final boolean failFast;
+    private final Path baseDirectory;
+
+    private List<PomElement> ownElements;
+    private Interpolator interpolator;
+    private DependencyIndex dependencyIndex;
+    private DependencyGraph dependencyGraph;
+
+    private boolean reported;
+    private int failures;
+    private int lastRescue = -1;
+
+    ChainContext(final String givenNode, final List<PomElement> pomElements,
+                 final PathIndex index, final ResultCaller resultCaller, final boolean failFast,
+                 final Path baseDirectory) {
+        this.givenNode = givenNode;
+        this.pomElements = pomElements;
+        this.index = index;
+        this.resultCaller = resultCaller;
+        this.failFast = failFast;
+        this.baseDirectory = baseDirectory;
+        this.ownElements = pomElements;
+    }
+
+    String getGivenNode() {
+        return givenNode;
+    }
+
+    List<PomElement> getPomElements() {
+        return pomElements;
+    }
+
+    PathIndex getIndex() {
+        return index;
+    }
+
+    boolean isFailFast() {
+        return failFast;
+    }
+
+    Path getBaseDirectory() {
+        return baseDirectory;
+    }
+
+    /**
+     * Retrieves the elements a property or module check selects from: all elements, the
+     * properties found by the previous property check, or the elements selected up to a
+     * module node.
+     *
+     * @return the elements of the next property or module check
+     */
+    List<PomElement> getOwnElements() {
+        return ownElements;
+    }
+
+    void setOwnElements(final List<PomElement> elements) {
+        this.ownElements = elements;
+    }
+
+    /**
+     * Checks whether the given elements are all elements of the POM file, so they can be
+     * selected through the index.
+     *
+     * @param elements the elements to select from
+     * @return true if the elements can be selected through the index
+     */
+    boolean isIndexed(final List<PomElement> elements) {
+        return index != null && elements == index.getElements();
+    }
+
+    Interpolator getInterpolator() {
+        return interpolator;
+    }
+
+    void setInterpolator(final Interpolator valueInterpolator) {
+        this.interpolator = valueInterpolator;
+    }
+
+    /**
+     * Retrieves the dependency index of the POM file, built from its elements when no index was
+     * given.
+     *
+     * @return the dependency index
+     */
+    DependencyIndex getDependencyIndex() {
+        if (dependencyIndex == null) {
+            dependencyIndex = DependencyIndex.of(pomElements);
+        }
+        return dependencyIndex;
+    }
+
+    void setDependencyIndex(final DependencyIndex dependencies) {
+        this.dependencyIndex = dependencies;
+    }
+
+    DependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    void setDependencyGraph(final DependencyGraph graph) {
+        this.dependencyGraph = graph;
+    }
+
+    /**
+     * Sets the position of the last {@code or()} or negated {@code and()} of the executed steps,
+     * the last step that can undo an error.
+     *
+     * @param position the position of the last rescue, or -1 if there is none
+     */
+    void setLastRescue(final int position) {
+        this.lastRescue = position;
+    }
+
+    /**
+     * Checks whether an error of the check at the given position can no longer be undone.
+     *
+     * @param position the position of a check
+     * @return true if no {@code or()} or negated {@code and()} follows the check
+     */
+    boolean isBeyondRescue(final int position) {
+        return position > lastRescue;
+    }
+
+    /**
+     * Checks whether a fail-fast chain stops before the step at the given position.
+     *
+     * @param position the position of a step
+     * @return true if the chain has failed and the failure can no longer be undone
+     */
+    boolean isStopped(final int position) {
+        return failFast && failures > 0 && isBeyondRescue(position);
+    }
+
+    int getFailures() {
+        return failures;
+    }
+
+    /**
+     * Sets the failures of the chain so far aside, so the check after an {@code or()} is
+     * counted on its own and a fail-fast chain does not stop before executing it.
+     *
+     * @return the failures set aside, to be added back with {@link #resumeFailures(int)}
+     */
+    int suspendFailures() {
+        int suspended = failures;
+        failures = 0;
+        return suspended;
+    }
+
+    void resumeFailures(final int suspended) {
+        failures += suspended;
+    }
+
+    Violation violation(final ViolationType type, final String argument,
+                        final PomElement offending) {
+        return offending == null
+                ? Violation.of(type, givenNode, argument)
+                : new Violation(null, type, givenNode, argument, offending.getPomPath(),
+                        offending.getValue());
+    }
+
+    void report(final Violation violation) {
+        reported = true;
+        resultCaller.report(violation);
+    }
+
+    /**
+     * Completes a check, counting it as a failure when it reported a violation.
+     */
+    void checkForErrors() {
+        if (reported) {
+            failures++;
+            reported = false;
+        }
+        resultCaller.checkForErrors();
+    }
+
+    void clearErrors() {
+        resultCaller.clearErrors();
+        failures = 0;
+    }
+
+    boolean hasViolations() {
+        return !resultCaller.getViolations().isEmpty();
+    }
+}
@@ -0,0 +1,335 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.cache.ResultCache;
+import nl.zerofiftyit.mdepunit.core.graph.DependencyGraph;
+import nl.zerofiftyit.mdepunit.core.parse.DependencyIndex;
+import nl.zerofiftyit.mdepunit.core.parse.Interpolator;
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
+import nl.zerofiftyit.mdepunit.model.EvaluationMode;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The steps of a single fluent chain, recorded while the chain is declared and executed when
+ * it is validated.
+ * <p>
+ * Checks like {@code haveTag} and {@code containValue} narrow the selected elements for the
+ * next check. Consecutive checks of this kind are fused and executed in a single pass over the
+ * elements, testing the paths of an element against all checks before the more expensive
+ * values, and without building the list of every intermediate check. A pass stops as soon as
+ * no check can change its outcome anymore, and the elements selected by the last check are
+ * only collected when a later step needs them.
+ * <p>
+ * Errors recorded before an {@code and()} of a negated chain are cleared by that
+ * {@code and()}, so the checks before it are only executed as far as they narrow the
+ * elements for later checks; their messages are not created.
+ * <p>
+ * An {@code or()} short-circuits: when the chain so far has passed, the check after the
+ * {@code or()} is not executed at all, and when that check passes, the errors of the chain so
+ * far are dropped. The check after an {@code or()} selects from the same elements as the check
+ * before it. The chain is read from left to right, so {@code a.or().b.and().c} means
+ * {@code (a or b) and c}. In {@link EvaluationMode#FAIL_FAST} a chain stops at the first error
+ * that no later {@code or()} or negated {@code and()} can undo.
+ * <p>
+ * Modules are resolved relative to the directory of the analyzed POM file, see
+ * {@link ModuleLocator}. With a {@link ResultCache}, a chain that passed on the same POM
+ * content before is not executed again. With an {@link Interpolator}, value checks compare
+ * against values with their {@code ${...}} references resolved. With a {@link DependencyGraph},
+ * graph checks check the transitive dependencies; their outcome is never cached, as it depends
+ * on the local repository as well.
+ * <p>
+ * The plan records the steps and controls how their outcomes are joined. The checks themselves
+ * are executed by a {@link CheckExecutor} per {@link PlanStep.Family}, and the tag and value
+ * checks by {@link FilterChecks}.
+ */
+public final class ChainPlan {
+
+    private final ChainContext context;
+    private final FilterChecks filters;
+    private final Map<PlanStep.Family, CheckExecutor> executors =
+            new EnumMap<>(PlanStep.Family.class);
+    private final List<PlanStep> steps = new ArrayList<>();
+
+    private FilterChecks.Selection beforeLastCheck;
+    private ResultCache resultCache;
+    private String contentHash;
+    private boolean executed;
+    private List<PlanStep> skipped = List.of();
+    private int silentUntil;
+
+    ChainPlan(final String givenNode, final List<PomElement> pomElements, final PathIndex index,
+              final ResultCaller resultCaller, final EvaluationMode mode) {
+        this(givenNode, pomElements, index, resultCaller, mode, Paths.get(""));
+    }
+
+    ChainPlan(final String givenNode, final List<PomElement> pomElements, final PathIndex index,
+              final ResultCaller resultCaller, final EvaluationMode mode,
+              final Path baseDirectory) {
+        this.context = new ChainContext(givenNode, pomElements, index, resultCaller,
+                mode == EvaluationMode.FAIL_FAST, baseDirectory);
+        this.filters = new FilterChecks(context);
+    }
+
+    /**
+     * Creates a plan without elements, which only records how checks are joined.
+     *
+     * @param resultCaller the {@code ResultCaller} collecting the errors of the chain
+     * @return an empty plan
+     */
+    public static ChainPlan of(final ResultCaller resultCaller) {
+        return new ChainPlan("", List.of(), null, resultCaller, EvaluationMode.COMPLETE);
+    }
+
+    /**
+     * Records an {@code and()} between two checks.
+     *
+     * @param negated whether the chain is negated
+     */
+    public void and(final boolean negated) {
+        add(PlanStep.Kind.AND, null, negated);
+    }
+
+    /**
+     * Records an {@code or()} between two checks.
+     *
+     * @param negated whether the chain is negated
+     */
+    public void or(final boolean negated) {
+        add(PlanStep.Kind.OR, null, negated);
+    }
+
+    /**
+     * Executes all steps recorded since the previous execution, adding the errors found to the
+     * {@code ResultCaller} of the chain. An {@code and()} or {@code or()} at the end of the
+     * chain is kept until the check after it has been recorded.
+     */
+    public void execute() {
+        int end = steps.size();
+        while (end > 0 && steps.get(end - 1).isConnective()) {
+            end--;
+        }
+        if (end == 0) {
+            return;
+        }
+        List<PlanStep> plan = new ArrayList<>(skipped);
+        plan.addAll(steps.subList(0, end));
+        steps.subList(0, end).clear();
+        skipped = List.of();
+
+        String fingerprint = executed || !isCacheable(plan) ? null : fingerprint(plan);
+        executed = true;
+        if (fingerprint != null && resultCache.isPassed(contentHash, fingerprint)) {
+            // kept to be executed with later steps, which need the elements selected by it
+            skipped = plan;
+            return;
+        }
+        run(plan);
+        if (fingerprint != null && !context.hasViolations()) {
+            resultCache.recordPassed(contentHash, fingerprint);
+        }
+    }
+
+    /**
+     * Lets this plan skip its first execution when the same chain passed on a POM file with
+     * the same content before, and record the chain when it passes. Chains checking whether
+     * modules exist depend on the file system and are always executed.
+     *
+     * @param cache the cache of passed checks, or {@code null} to execute every chain
+     * @param pomContentHash the hash of the content of the analyzed POM file
+     */
+    void useResultCache(final ResultCache cache, final String pomContentHash) {
+        this.resultCache = cache;
+        this.contentHash = pomContentHash;
+    }
+
+    /**
+     * Lets the value checks of this plan compare against interpolated values. Values without a
+     * reference are compared as they are, so checks on them do not resolve anything.
+     *
+     * @param valueInterpolator the interpolator of the analyzed POM file, or {@code null} to
+     *                          compare values as written
+     */
+    void useInterpolator(final Interpolator valueInterpolator) {
+        context.setInterpolator(valueInterpolator);
+    }
+
+    /**
+     * Lets dependency checks of this plan look up dependencies in the given index, instead of
+     * building one from the elements of the plan.
+     *
+     * @param dependencies the dependency index of the analyzed POM file
+     */
+    void useDependencyIndex(final DependencyIndex dependencies) {
+        context.setDependencyIndex(dependencies);
+    }
+
+    /**
+     * Lets the dependency graph checks of this plan check the given graph.
+     *
+     * @param graph the transitive dependency graph of the analyzed POM file
+     */
+    void useDependencyGraph(final DependencyGraph graph) {
+        context.setDependencyGraph(graph);
+    }
+
+    private boolean isCacheable(final List<PlanStep> plan) {
+        return resultCache != null && plan.stream().noneMatch(step ->
+                step.isModuleCheck() || step.isGraphCheck());
+    }
+
+    private String fingerprint(final List<PlanStep> plan) {
+        String givenNode = context.getGivenNode();
+        StringBuilder fingerprint = new StringBuilder("chain ")
+                .append(context.isFailFast() ? EvaluationMode.FAIL_FAST : EvaluationMode.COMPLETE)
+                .append(context.getInterpolator() == null ? "" : " interpolated")
+                .append(' ').append(givenNode.length()).append(':').append(givenNode);
+        for (PlanStep step : plan) {
+            String argument = String.valueOf(step.argument());
+            fingerprint.append(' ').append(step.kind()).append(step.negated() ? '!' : '=')
+                    .append(argument.length()).append(':').append(argument);
+            if (step.scope() != null) {
+                fingerprint.append('@').append(step.scope());
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    private void run(final List<PlanStep> plan) {
+        silentUntil = -1;
+        int lastRescue = -1;
+        int firstOr = plan.size();
+        for (int i = 0; i < plan.size(); i++) {
+            if (plan.get(i).clearsErrors()) {
+                silentUntil = i;
+            }
+            if (plan.get(i).kind() == PlanStep.Kind.OR) {
+                firstOr = Math.min(firstOr, i);
+            }
+            if (plan.get(i).clearsErrors() || plan.get(i).kind() == PlanStep.Kind.OR) {
+                lastRescue = i;
+            }
+        }
+        context.setLastRescue(lastRescue);
+        if (firstOr < silentUntil) {
+            // whether the check after an or() is executed depends on the outcome before it
+            silentUntil = -1;
+        }
+
+        int i = 0;
+        while (i < plan.size() && !context.isStopped(i)) {
+            PlanStep step = plan.get(i);
+            if (step.kind() == PlanStep.Kind.OR) {
+                i = or(plan, i);
+            } else if (step.isFilter()) {
+                int runEnd = endOfRun(plan, i);
+                executeFilters(plan, i, runEnd);
+                i = runEnd;
+            } else {
+                execute(step, i);
+                i++;
+            }
+        }
+    }
+
+    void add(final PlanStep.Kind kind, final String argument, final boolean negated) {
+        add(new PlanStep(kind, argument, negated));
+    }
+
+    void add(final PlanStep step) {
+        steps.add(step);
+    }
+
+    List<PomElement> getSelected() {
+        return filters.getSelected();
+    }
+
+    private int or(final List<PlanStep> plan, final int or) {
+        int term = or + 1;
+        if (context.getFailures() == 0) {
+            // the chain so far has passed, so the check after the or() cannot change that
+            return term + 1;
+        }
+        int failed = context.suspendFailures();
+        beforeLastCheck.restore();
+        if (plan.get(term).isFilter()) {
+            executeFilters(plan, term, term + 1);
+        } else {
+            execute(plan.get(term), term);
+        }
+        if (context.getFailures() == 0) {
+            context.clearErrors();
+        } else {
+            context.resumeFailures(failed);
+        }
+        return term + 1;
+    }
+
+    private static int endOfRun(final List<PlanStep> plan, final int start) {
+        int end = start;
+        while (end < plan.size()
+                && (plan.get(end).isFilter() || plan.get(end).kind() == PlanStep.Kind.AND)) {
+            end++;
+            if (plan.get(end - 1).kind() == PlanStep.Kind.CONTAIN_MODULE_NODE) {
+                // the module list of the chain is taken from the elements selected so far
+                break;
+            }
+        }
+        return end;
+    }
+
+    private void executeFilters(final List<PlanStep> plan, final int start, final int end) {
+        List<FilterChecks.Stage> declared = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            if (plan.get(i).isFilter()) {
+                declared.add(filters.stage(plan.get(i), i, i < silentUntil));
+            }
+        }
+        beforeLastCheck = filters.pass(declared);
+
+        int stage = 0;
+        for (int i = start; i < end && !context.isStopped(i); i++) {
+            PlanStep step = plan.get(i);
+            if (step.isFilter()) {
+                declared.get(stage++).report();
+            } else {
+                execute(step, i);
+            }
+        }
+        if (plan.get(end - 1).kind() == PlanStep.Kind.CONTAIN_MODULE_NODE) {
+            context.setOwnElements(filters.getSelected());
+        }
+    }
+
+    private void execute(final PlanStep step, final int position) {
+        if (step.kind() == PlanStep.Kind.AND) {
+            if (step.negated()) {
+                context.clearErrors();
+            }
+            return;
+        }
+        beforeLastCheck = filters.selection();
+        executors.computeIfAbsent(step.kind().family(), this::executor)
+                .execute(step, position, position < silentUntil);
+    }
+
+    private CheckExecutor executor(final PlanStep.Family family) {
+        switch (family) {
+            case PROPERTY:
+                return new PropertyChecks(context);
+            case DEPENDENCY:
+                return new DependencyChecks(context);
+            case DUPLICATE:
+                return new DuplicateChecks(context);
+            case GRAPH:
+                return new GraphChecks(context);
+            default:
+                return new ModuleChecks(context);
+        }
+    }
+}
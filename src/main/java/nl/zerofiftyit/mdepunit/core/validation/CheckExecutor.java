@@ -0,0 +1,19 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+/**
+ * Executes the checks of one {@link PlanStep.Family} for a {@link ChainPlan}, reporting their
+ * violations to the {@link ChainContext} of the chain. The plan decides which checks are
+ * executed, and how their outcomes are joined.
+ */
+interface CheckExecutor {
+
+    /**
+     * Executes a check of the chain.
+     *
+     * @param step the check to execute
+     * @param position the position of the check within the executed steps
+     * @param silent whether a later negated {@code and()} clears the errors of the check, so
+     *               it only has to select the elements for later checks
+     */
+    void execute(PlanStep step, int position, boolean silent);
+}
@@ -2,21 +2,21 @@ package nl.zerofiftyit.mdepunit.core.validation;
 
 import lombok.NonNull;
 import nl.zerofiftyit.mdepunit.api.DefaultAnalyzer;
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
 import nl.zerofiftyit.mdepunit.dsl.Statement;
+import nl.zerofiftyit.mdepunit.model.EvaluationMode;
 import nl.zerofiftyit.mdepunit.model.NegateNext;
 import nl.zerofiftyit.mdepunit.model.PomElement;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 public class DefaultAnalyzerImpl implements DefaultAnalyzer {
 
-    private final String givenNode;
-    private List<PomElement> pomElements;
     private final ResultCaller resultCaller;
     private final NegateNext negateNext;
-    private final List<String> errorMessages;
+    private final ChainPlan plan;
 
     /**
      * Constructs an instance of DefaultAnalyzer with the given parameters.
@@ -30,20 +30,54 @@ public class DefaultAnalyzerImpl implements DefaultAnalyzer {
      * @param negateNext a utility flag indicating whether the next operation
      *                   should be negated during the analysis.
      * @param errorMessages a list to capture and store any error messages
-     *                      encountered throughout the analysis.
+     *                      encountered throughout the analysis. The checks of the analyzer
+     *                      report their errors as violations to the {@code resultCaller}.
      */
     public DefaultAnalyzerImpl(final String givenNode, final List<PomElement> pomElements,
                                final ResultCaller resultCaller, final NegateNext negateNext,
                                final List<String> errorMessages) {
-        this.givenNode = givenNode;
-        this.pomElements = pomElements;
+        this(givenNode, pomElements, null, resultCaller, negateNext, Paths.get(""));
+    }
+
+    /**
+     * Constructs an instance of DefaultAnalyzer that selects from all elements of a POM
+     * through the given index, instead of scanning the whole element list.
+     *
+     * @param givenNode the name of the node to be analyzed, typically representing
+     *                  a specific segment of a POM (Project Object Model) structure.
+     * @param index the index over all elements of the POM to analyze.
+     * @param resultCaller a utility class responsible for handling and validating
+     *                     error states during the analysis process.
+     * @param negateNext a utility flag indicating whether the next operation
+     *                   should be negated during the analysis.
+     * @param errorMessages a list to capture and store any error messages
+     *                      encountered throughout the analysis. The checks of the analyzer
+     *                      report their errors as violations to the {@code resultCaller}.
+     */
+    public DefaultAnalyzerImpl(final String givenNode, final PathIndex index,
+                               final ResultCaller resultCaller, final NegateNext negateNext,
+                               final List<String> errorMessages) {
+        this(givenNode, index.getElements(), index, resultCaller, negateNext, Paths.get(""));
+    }
+
+    DefaultAnalyzerImpl(final String givenNode, final PathIndex index,
+                        final ResultCaller resultCaller, final NegateNext negateNext,
+                        final Path baseDirectory) {
+        this(givenNode, index.getElements(), index, resultCaller, negateNext, baseDirectory);
+    }
+
+    private DefaultAnalyzerImpl(final String givenNode, final List<PomElement> pomElements,
+                                final PathIndex index, final ResultCaller resultCaller,
+                                final NegateNext negateNext, final Path baseDirectory) {
         this.resultCaller = resultCaller;
         this.negateNext = negateNext;
-        this.errorMessages = errorMessages;
+        this.plan = new ChainPlan(givenNode, pomElements, index, resultCaller,
+                EvaluationMode.defaultMode(), baseDirectory);
     }
 
     /**
      * Checks if the given tag name exists within the given node of the analyzed POM elements.
+     * The check is executed when the chain is validated.
      *
      * @param tagName The name of the tag to look for within the given node, e.g., "version" or
      *                "artifactId".
@@ -51,85 +85,46 @@ public class DefaultAnalyzerImpl implements DefaultAnalyzer {
      */
     @Override
     public Statement<DefaultAnalyzerImpl> haveTag(@NonNull final String tagName) {
-        List<PomElement> elements = pomElements.stream()
-                .filter(element -> element.getPath().startsWith(givenNode))
-                .filter(element -> element.getPath().endsWith(tagName))
-                .collect(Collectors.toList());
-
-        boolean hasTag = !elements.isEmpty();
-
-        // XNOR: true when both operands are the same (both true or both false)
-        boolean expectationMismatch = !(negateNext.isNegateNext() ^ hasTag);
-
-        if (expectationMismatch) {
-            if (negateNext.isNegateNext()) {
-                errorMessages.add(String.format(
-                        "%s found in %s where it is not allowed. \nFound disallowed value: ",
-                        tagName, givenNode));
-                elements.forEach(element -> errorMessages.add(
-                        "- " + element.getValue().toString()));
-            } else {
-                errorMessages.add(String.format(
-                        "No %s found in %s where it is required", tagName, givenNode));
-            }
-        }
-
-        resultCaller.checkForErrors();
-        pomElements = elements;
-
-        return new Statement<>(this, resultCaller, negateNext);
+        return record(PlanStep.Kind.HAVE_TAG, tagName);
     }
 
     /**
      * Checks if the given value exists within the given node of the analyzed POM elements.
      * This method searches for the specified value in all elements under the given node.
+     * The check is executed when the chain is validated.
      *
      * @param value The value to search for within the given node.
      * @return a {@code ResultCaller} for validating the result and handling errors.
      */
     @Override
     public Statement<DefaultAnalyzerImpl> containValue(@NonNull final String value) {
-        return filterValue(element -> {
-            Object elementValue = element.getValue();
-            return elementValue != null && elementValue.toString().contains(value);
-        }, value);
+        return record(PlanStep.Kind.CONTAIN_VALUE, value);
     }
 
     @Override
     public final Statement<DefaultAnalyzerImpl> equalsValue(@NonNull final String value) {
-        return filterValue(element -> {
-            Object elementValue = element.getValue();
-            return elementValue != null && elementValue.toString().contains(value);
-        }, value);
+        return record(PlanStep.Kind.CONTAIN_VALUE, value);
     }
 
-    private Statement<DefaultAnalyzerImpl> filterValue(final Predicate<PomElement> valuePredicate,
-                                                       final String value) {
-
-        List<PomElement> elements = pomElements.stream()
-                .filter(element -> element.getPath().startsWith(givenNode))
-                .filter(valuePredicate)
-                .collect(Collectors.toList());
-
-        boolean containsValue = !elements.isEmpty();
-
-        // XNOR: true when both operands are the same (both true or both false)
-        boolean expectationMismatch = negateNext.isNegateNext() == containsValue;
+    protected final List<PomElement> getPomElements() {
+        return plan.getSelected();
+    }
 
-        if (expectationMismatch) {
-            String template = negateNext.isNegateNext()
-                ? "Value '%s' found in %s where it is not allowed"
-                : "Value '%s' not found in %s where it is required";
-            errorMessages.add(String.format(template, value, givenNode));
-        }
+    final ChainPlan plan() {
+        return plan;
+    }
 
-        resultCaller.checkForErrors();
-        pomElements = elements;
+    final boolean isNegated() {
+        return negateNext.isNegateNext();
+    }
 
-        return new Statement<>(this, resultCaller, negateNext);
+    final <T> Statement<T> statement(final T analyzer) {
+        return new Statement<>(analyzer, resultCaller, negateNext, plan);
     }
 
-    protected final List<PomElement> getPomElements() {
-        return pomElements;
+    private Statement<DefaultAnalyzerImpl> record(final PlanStep.Kind kind,
+                                                  final String argument) {
+        plan.add(kind, argument, isNegated());
+        return statement(this);
     }
 }
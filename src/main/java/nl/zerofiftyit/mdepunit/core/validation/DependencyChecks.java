@@ -0,0 +1,57 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.parse.DependencyIndex;
+import nl.zerofiftyit.mdepunit.model.Dependency;
+import nl.zerofiftyit.mdepunit.model.Violation;
+import nl.zerofiftyit.mdepunit.model.ViolationType;
+
+import java.util.List;
+
+/**
+ * Executes {@code haveDependency} checks, in all scopes or in one, by looking up the
+ * dependencies in the {@link DependencyIndex} of the POM file. The managed dependencies are
+ * checked when the chain starts from {@code dependencyManagement}.
+ */
+final class DependencyChecks implements CheckExecutor {
+
+    static final String MANAGEMENT_NODE = "dependencyManagement";
+
+    private final ChainContext context;
+
+    DependencyChecks(final ChainContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void execute(final PlanStep step, final int position, final boolean silent) {
+        if (silent) {
+            return;
+        }
+        String givenNode = context.getGivenNode();
+        List<Dependency> found = dependencies(context.getDependencyIndex(), step,
+                givenNode.startsWith(MANAGEMENT_NODE));
+        String argument = step.scope() == null ? step.argument()
+                : (step.argument() == null ? "*" : step.argument()) + " (" + step.scope() + ")";
+
+        if (step.negated() == !found.isEmpty()) {
+            context.report(step.negated()
+                    ? new Violation(null, ViolationType.DEPENDENCY_NOT_ALLOWED, givenNode,
+                            argument, found.get(0).getPath(), found.get(0))
+                    : context.violation(ViolationType.DEPENDENCY_REQUIRED, argument, null));
+        }
+        context.checkForErrors();
+    }
+
+    private static List<Dependency> dependencies(final DependencyIndex index,
+                                                 final PlanStep step, final boolean managed) {
+        if (step.scope() == null) {
+            return managed ? index.findManaged(step.argument()) : index.find(step.argument());
+        }
+        if (step.argument() == null) {
+            return managed ? index.getManagedDependencies(step.scope())
+                    : index.getDependencies(step.scope());
+        }
+        return managed ? index.findManaged(step.argument(), step.scope())
+                : index.find(step.argument(), step.scope());
+    }
+}
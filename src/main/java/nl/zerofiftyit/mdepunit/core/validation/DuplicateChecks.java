@@ -0,0 +1,58 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.parse.DependencyIndex;
+import nl.zerofiftyit.mdepunit.core.parse.Duplicates;
+import nl.zerofiftyit.mdepunit.model.Duplicate;
+import nl.zerofiftyit.mdepunit.model.Violation;
+import nl.zerofiftyit.mdepunit.model.ViolationType;
+
+import java.util.List;
+
+/**
+ * Executes the checks for duplicate dependency and plugin declarations. Dependencies are taken
+ * from the {@link DependencyIndex} of the POM file, plugins from its elements, each in a single
+ * pass.
+ */
+final class DuplicateChecks implements CheckExecutor {
+
+    private static final String PLUGIN_MANAGEMENT_NODE = "build.pluginManagement";
+
+    private final ChainContext context;
+
+    DuplicateChecks(final ChainContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void execute(final PlanStep step, final int position, final boolean silent) {
+        if (silent) {
+            return;
+        }
+        String givenNode = context.getGivenNode();
+        boolean dependencies = step.kind() == PlanStep.Kind.NO_DUPLICATE_DEPENDENCIES;
+        List<Duplicate> duplicates;
+        if (dependencies) {
+            DependencyIndex index = context.getDependencyIndex();
+            duplicates = Duplicates.ofDependencies(
+                    givenNode.startsWith(DependencyChecks.MANAGEMENT_NODE)
+                            ? index.getManagedDependencies()
+                            : index.getDependencies());
+        } else {
+            duplicates = Duplicates.ofPlugins(context.getPomElements(),
+                    givenNode.startsWith(PLUGIN_MANAGEMENT_NODE));
+        }
+
+        if (step.negated() && duplicates.isEmpty()) {
+            context.report(Violation.of(ViolationType.DUPLICATE_REQUIRED, givenNode,
+                    dependencies ? "dependency" : "plugin"));
+        } else if (!step.negated()) {
+            ViolationType type = dependencies
+                    ? ViolationType.DUPLICATE_DEPENDENCY : ViolationType.DUPLICATE_PLUGIN;
+            for (Duplicate duplicate : duplicates) {
+                context.report(new Violation(null, type, givenNode, duplicate.getKey(),
+                        duplicate.getRepeated(), duplicate.getFirst()));
+            }
+        }
+        context.checkForErrors();
+    }
+}
@@ -0,0 +1,270 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.parse.Interpolator;
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.ViolationType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Executes the checks that narrow the selected elements, {@code haveTag}, {@code containValue}
+ * and the module node of a module chain, fused into a single pass over the elements.
+ * <p>
+ * The paths of an element are tested against all checks of a pass before the more expensive
+ * values. A pass stops as soon as no check can change its outcome anymore, and the elements
+ * selected by the last check are only collected when a later step asks for them.
+ */
+final class FilterChecks {
+
+    private final ChainContext context;
+
+    private List<PomElement> selected;
+    private List<Stage> pendingStages = List.of();
+
+    FilterChecks(final ChainContext context) {
+        this.context = context;
+        this.selected = context.getPomElements();
+    }
+
+    /**
+     * Creates the stage of a check within the next pass.
+     *
+     * @param step the check
+     * @param position the position of the check within the executed steps
+     * @param silent whether a later negated {@code and()} clears the errors of the check
+     * @return the stage, to report the outcome of the check after the pass
+     */
+    Stage stage(final PlanStep step, final int position, final boolean silent) {
+        return new Stage(step, position, silent);
+    }
+
+    /**
+     * Executes the given checks in a single pass over the selected elements, together with the
+     * checks whose elements have not been collected yet.
+     *
+     * @param declared the stages of the checks to execute, in the order of the chain
+     * @return the elements the last of the checks selected from
+     */
+    Selection pass(final List<Stage> declared) {
+        List<Stage> stages = new ArrayList<>(pendingStages);
+        stages.addAll(declared);
+
+        scan(stages);
+        // the selected elements are only collected when a later step asks for them
+        List<Stage> filters = stages.stream().map(Stage::asFilter).collect(Collectors.toList());
+        Selection beforeLastCheck = new Selection(selected,
+                filters.subList(0, filters.size() - 1), context.getOwnElements());
+        pendingStages = filters;
+        return beforeLastCheck;
+    }
+
+    /**
+     * Captures the elements the next check selects from.
+     *
+     * @return the current selection
+     */
+    Selection selection() {
+        return new Selection(selected, pendingStages, context.getOwnElements());
+    }
+
+    List<PomElement> getSelected() {
+        if (!pendingStages.isEmpty()) {
+            List<Stage> stages = pendingStages;
+            pendingStages = List.of();
+            List<PomElement> result = new ArrayList<>();
+            for (PomElement element : candidates(stages.get(0))) {
+                if (passesAll(stages, element)) {
+                    result.add(element);
+                }
+            }
+            selected = result;
+        }
+        return selected;
+    }
+
+    private void scan(final List<Stage> stages) {
+        for (PomElement element : candidates(stages.get(0))) {
+            if (!isWanted(stages, 0, stages.size()) || isDecidedFailure(stages)) {
+                return;
+            }
+            // paths are cheap to test, so every path is tested before the first value
+            int passed = 0;
+            while (passed < stages.size() && stages.get(passed).matchesPath(element)) {
+                passed++;
+            }
+            for (int s = 0; s < passed && isWanted(stages, s, passed); s++) {
+                Stage stage = stages.get(s);
+                if (!stage.matchesValue(element)) {
+                    break;
+                }
+                stage.accept(element);
+            }
+        }
+    }
+
+    private static boolean isWanted(final List<Stage> stages, final int from, final int to) {
+        for (int s = from; s < to; s++) {
+            if (stages.get(s).isWanted()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isDecidedFailure(final List<Stage> stages) {
+        if (!context.isFailFast()) {
+            return false;
+        }
+        // the stages before the failing one must be decided as well to report them correctly
+        for (Stage stage : stages) {
+            if (stage.isFailed() && context.isBeyondRescue(stage.position)) {
+                return true;
+            }
+            if (stage.isWanted()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean passesAll(final List<Stage> stages, final PomElement element) {
+        for (Stage stage : stages) {
+            if (!stage.matchesPath(element) || !stage.matchesValue(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<PomElement> candidates(final Stage first) {
+        PathIndex index = context.getIndex();
+        if (index == null || selected != index.getElements()) {
+            return selected;
+        }
+        return first.step.kind() == PlanStep.Kind.HAVE_TAG
+                ? index.matching(context.getGivenNode(), first.step.argument())
+                : index.withPrefix(context.getGivenNode());
+    }
+
+    /**
+     * The elements a check selects from, kept to select the check after an {@code or()} from
+     * the same elements.
+     */
+    final class Selection {
+
+        private final List<PomElement> selected;
+        private final List<Stage> pendingStages;
+        private final List<PomElement> ownElements;
+
+        private Selection(final List<PomElement> selected, final List<Stage> pendingStages,
+                          final List<PomElement> ownElements) {
+            this.selected = selected;
+            this.pendingStages = pendingStages;
+            this.ownElements = ownElements;
+        }
+
+        void restore() {
+            FilterChecks.this.selected = selected;
+            FilterChecks.this.pendingStages = pendingStages;
+            context.setOwnElements(ownElements);
+        }
+    }
+
+    /**
+     * A tag or value check within a fused pass over the elements.
+     */
+    final class Stage {
+
+        private final PlanStep step;
+        private final int position;
+        private final boolean silent;
+        private final List<PomElement> disallowed;
+        private boolean found;
+        private PomElement first;
+
+        private Stage(final PlanStep step, final int position, final boolean silent) {
+            this.step = step;
+            this.position = position;
+            this.silent = silent;
+            // a negated tag check reports every element it finds
+            boolean reportsAll = !silent && step.negated()
+                    && step.kind() == PlanStep.Kind.HAVE_TAG;
+            this.disallowed = reportsAll ? new ArrayList<>() : null;
+        }
+
+        Stage asFilter() {
+            return silent ? this : new Stage(step, position, true);
+        }
+
+        boolean matchesPath(final PomElement element) {
+            return element.getPomPath().startsWith(context.getGivenNode())
+                    && (step.kind() != PlanStep.Kind.HAVE_TAG
+                        || element.getPomPath().endsWith(step.argument()));
+        }
+
+        boolean matchesValue(final PomElement element) {
+            if (step.kind() == PlanStep.Kind.HAVE_TAG) {
+                return true;
+            }
+            Object value = element.getValue();
+            if (value == null) {
+                return false;
+            }
+            String text = value.toString();
+            Interpolator interpolator = context.getInterpolator();
+            return (interpolator == null ? text : interpolator.interpolate(text))
+                    .contains(step.argument());
+        }
+
+        boolean isWanted() {
+            return !silent && (!found || disallowed != null && !context.isFailFast());
+        }
+
+        boolean isFailed() {
+            return !silent && found && step.negated();
+        }
+
+        void accept(final PomElement element) {
+            found = true;
+            if (first == null) {
+                first = element;
+            }
+            if (disallowed != null && (!context.isFailFast() || disallowed.isEmpty())) {
+                disallowed.add(element);
+            }
+        }
+
+        /**
+         * Reports the outcome of the check after its pass.
+         */
+        void report() {
+            if (silent) {
+                return;
+            }
+            if (step.kind() == PlanStep.Kind.HAVE_TAG) {
+                // XNOR: true when both operands are the same (both true or both false)
+                if (!(step.negated() ^ found)) {
+                    if (step.negated()) {
+                        context.report(context.violation(ViolationType.TAG_NOT_ALLOWED,
+                                step.argument(), null));
+                        disallowed.forEach(element -> context.report(context.violation(
+                                ViolationType.DISALLOWED_ELEMENT, step.argument(), element)));
+                    } else {
+                        context.report(context.violation(ViolationType.TAG_REQUIRED,
+                                step.argument(), null));
+                    }
+                }
+            } else if (step.negated() == found) {
+                context.report(step.negated()
+                        ? context.violation(ViolationType.VALUE_NOT_ALLOWED, step.argument(),
+                                first)
+                        : context.violation(ViolationType.VALUE_REQUIRED, step.argument(),
+                                null));
+            }
+            context.checkForErrors();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.graph.DependencyGraph;
+import nl.zerofiftyit.mdepunit.core.graph.GraphNode;
+import nl.zerofiftyit.mdepunit.model.Violation;
+import nl.zerofiftyit.mdepunit.model.ViolationType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Executes the checks of the transitive {@link DependencyGraph}: version conflicts, banned
+ * transitive artifacts and dependency cycles.
+ */
+final class GraphChecks implements CheckExecutor {
+
+    private final ChainContext context;
+
+    GraphChecks(final ChainContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void execute(final PlanStep step, final int position, final boolean silent) {
+        if (silent) {
+            return;
+        }
+        DependencyGraph graph = context.getDependencyGraph();
+        if (graph == null) {
+            throw new IllegalStateException("No dependency graph to check, analyze the POM file"
+                    + " withDependencyGraph()");
+        }
+        String givenNode = context.getGivenNode();
+        List<Violation> found = new ArrayList<>();
+        String expected;
+        if (step.kind() == PlanStep.Kind.HAVE_VERSION_CONFLICTS) {
+            expected = "version conflict";
+            graph.getVersionConflicts().forEach((artifact, versions) ->
+                    found.add(new Violation(null, ViolationType.VERSION_CONFLICT, givenNode,
+                            artifact, null, versions.stream().map(GraphNode::getVersion)
+                                    .collect(Collectors.toList()))));
+        } else if (step.kind() == PlanStep.Kind.HAVE_TRANSITIVE_DEPENDENCY) {
+            expected = "transitive dependency '" + step.argument() + "'";
+            for (GraphNode node : graph.findTransitive(step.argument())) {
+                found.add(new Violation(null, ViolationType.TRANSITIVE_NOT_ALLOWED, givenNode,
+                        node.getKey(), null, path(node.getPath())));
+            }
+        } else {
+            expected = "dependency cycle";
+            for (List<GraphNode> cycle : graph.getCycles()) {
+                List<GraphNode> closed = new ArrayList<>(cycle);
+                closed.add(cycle.get(0));
+                found.add(new Violation(null, ViolationType.CYCLE_NOT_ALLOWED, givenNode,
+                        cycle.get(0).getKey(), null, path(closed)));
+            }
+        }
+
+        if (!step.negated() && found.isEmpty()) {
+            context.report(Violation.of(ViolationType.GRAPH_REQUIRED, givenNode, expected));
+        } else if (step.negated()) {
+            found.forEach(context::report);
+        }
+        context.checkForErrors();
+    }
+
+    private static String path(final List<GraphNode> nodes) {
+        return nodes.stream().map(GraphNode::getKey).collect(Collectors.joining(" -> "));
+    }
+}
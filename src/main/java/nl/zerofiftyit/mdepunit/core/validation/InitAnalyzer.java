@@ -1,13 +1,24 @@
 package nl.zerofiftyit.mdepunit.core.validation;
 
+import lombok.NonNull;
 import nl.zerofiftyit.mdepunit.api.CheckPom;
-import nl.zerofiftyit.mdepunit.core.parse.PomReader;
+import nl.zerofiftyit.mdepunit.core.cache.ResultCache;
+import nl.zerofiftyit.mdepunit.core.graph.DependencyGraph;
+import nl.zerofiftyit.mdepunit.core.graph.GraphBuilder;
+import nl.zerofiftyit.mdepunit.core.parse.CachedPom;
+import nl.zerofiftyit.mdepunit.core.parse.ParentResolver;
+import nl.zerofiftyit.mdepunit.core.parse.PomCache;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSetResult;
 import nl.zerofiftyit.mdepunit.dsl.Inclusion;
 import nl.zerofiftyit.mdepunit.model.NegateNext;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The {@code PomAnalyzer} class provides functionality for analyzing and
@@ -17,22 +28,45 @@ import java.util.List;
  * <p>
  * It supports operations for extracting POM content and performing
  * validations as defined by the {@code CheckPom} interface. The class is
- * immutable and safe for concurrent use.
+ * immutable and safe for concurrent use: every {@code checking(...)} chain gets a negation
+ * and an error buffer of its own, so one analyzer can be shared by tests running in parallel.
+ * A single chain is meant to be declared and validated by one thread.
  * <p>
  * Instances of {@code PomAnalyzer} are created through static factory
  * methods, which allow analysis of default or custom POM file paths.
+ * Parsed POM files are taken from the shared {@link PomCache}, so analyzing
+ * the same unchanged file again does not parse it a second time. When a
+ * {@link ResultCache} is configured, checks that passed on the same POM content
+ * before are not evaluated again.
+ * <p>
+ * By default only the literal POM file is analyzed. {@link #withParents()} analyzes the POM
+ * file merged with its parent chain instead, as resolved by the {@link ParentResolver}, and
+ * {@link #withInterpolation()} compares values with their {@code ${...}} references resolved.
+ * {@link #withDependencyGraph()} builds the transitive dependency graph, so it can be checked
+ * for version conflicts, banned artifacts and cycles.
  *
  */
 public final class InitAnalyzer implements CheckPom {
 
-    private final List<String> errorMessages;
-    private final PomReader pomReader;
-    private final NegateNext negateNext;
+    private final CachedPom pom;
+    private final Path pomFile;
+    private final boolean interpolated;
+    private final DependencyGraph graph;
 
     private InitAnalyzer(final String pomFile) throws IOException {
-        this.errorMessages = new ArrayList<>();
-        this.negateNext = new NegateNext();
-        pomReader = new PomReader(pomFile);
+        this(PomCache.shared().get(pomFile), Paths.get(pomFile));
+    }
+
+    InitAnalyzer(final CachedPom pom, final Path pomFile) {
+        this(pom, pomFile, false, null);
+    }
+
+    private InitAnalyzer(final CachedPom pom, final Path pomFile, final boolean interpolated,
+                         final DependencyGraph graph) {
+        this.interpolated = interpolated;
+        this.graph = graph;
+        this.pom = pom;
+        this.pomFile = pomFile.toAbsolutePath();
     }
 
     /**
@@ -63,6 +97,112 @@ public final class InitAnalyzer implements CheckPom {
         return new InitAnalyzer(pomPath);
     }
 
+    /**
+     * Discovers all modules of the multi-module project of the POM file located at the
+     * default path "pom.xml", so the same checks can be applied to each of them.
+     *
+     * @return a {@code ReactorAnalyzer} holding the root POM file and all nested modules
+     * @throws IOException if a POM file cannot be read, or a module has no POM file
+     */
+    public static ReactorAnalyzer analyzeReactor() throws IOException {
+        return analyzeReactor("pom.xml");
+    }
+
+    /**
+     * Discovers all modules of the multi-module project of the specified root POM file, so
+     * the same checks can be applied to each of them. The POM files of the modules are read on
+     * the shared {@code IoExecutor} and checked on the common fork-join pool.
+     *
+     * @param rootPomPath the path to the root POM file of the project
+     * @return a {@code ReactorAnalyzer} holding the root POM file and all nested modules
+     * @throws IOException if a POM file cannot be read, or a module has no POM file
+     */
+    public static ReactorAnalyzer analyzeReactor(final String rootPomPath) throws IOException {
+        return analyzeReactor(rootPomPath, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Discovers all modules of the multi-module project of the specified root POM file, so
+     * the same checks can be applied to each of them.
+     *
+     * @param rootPomPath the path to the root POM file of the project
+     * @param pool the pool the modules are checked on
+     * @return a {@code ReactorAnalyzer} holding the root POM file and all nested modules
+     * @throws IOException if a POM file cannot be read, or a module has no POM file
+     */
+    public static ReactorAnalyzer analyzeReactor(@NonNull final String rootPomPath,
+                                                 @NonNull final ForkJoinPool pool)
+            throws IOException {
+        return ReactorAnalyzer.discover(rootPomPath, pool);
+    }
+
+    /**
+     * Returns an analyzer of the effective POM: the analyzed POM file merged with its parent
+     * chain, so checks see inherited elements such as the {@code dependencyManagement} of a
+     * parent. Parents are resolved by the resolver configured with the system property
+     * {@code mdepunit.local.repository}, and parsed once for all POM files sharing them.
+     *
+     * @return an analyzer of the POM file merged with all of its parents
+     * @throws IOException if a parent cannot be read or found, or the parent chain is cyclic
+     */
+    public InitAnalyzer withParents() throws IOException {
+        return withParents(ParentResolver.configured());
+    }
+
+    /**
+     * Returns an analyzer of the effective POM, with the parent chain resolved by the given
+     * resolver.
+     *
+     * @param resolver the resolver that looks up and caches the parents
+     * @return an analyzer of the POM file merged with all of its parents
+     * @throws IOException if a parent cannot be read or found, or the parent chain is cyclic
+     */
+    public InitAnalyzer withParents(@NonNull final ParentResolver resolver) throws IOException {
+        return new InitAnalyzer(resolver.resolve(pom, pomFile), pomFile, interpolated, graph);
+    }
+
+    /**
+     * Returns an analyzer whose value checks, such as {@code containValue}, compare against
+     * values with their {@code ${...}} references resolved, so {@code ${spring.version}}
+     * matches the version the property holds. References are resolved against the properties
+     * and coordinates of the analyzed POM; combine with {@link #withParents()} to resolve them
+     * against the parent chain as well. Only values holding a reference are resolved, each
+     * reference once.
+     *
+     * @return an analyzer comparing interpolated values
+     */
+    public InitAnalyzer withInterpolation() {
+        return new InitAnalyzer(pom, pomFile, true, graph);
+    }
+
+    /**
+     * Returns an analyzer that can check the transitive dependency graph of the POM file, with
+     * {@code haveVersionConflicts}, {@code haveTransitiveDependency} and
+     * {@code haveDependencyCycles}. The graph is built from the local repository named by the
+     * system property {@code mdepunit.local.repository}, offline; POM files read for one graph
+     * are reused for the next.
+     *
+     * @return an analyzer holding the dependency graph of the POM file
+     * @throws IOException if a POM file or parent in the graph cannot be read
+     * @throws IllegalStateException if no local repository is configured
+     */
+    public InitAnalyzer withDependencyGraph() throws IOException {
+        return withDependencyGraph(GraphBuilder.configured());
+    }
+
+    /**
+     * Returns an analyzer that can check the transitive dependency graph of the POM file, as
+     * built by the given builder.
+     *
+     * @param builder the builder reading the POM files of the graph
+     * @return an analyzer holding the dependency graph of the POM file
+     * @throws IOException if a POM file or parent in the graph cannot be read
+     */
+    public InitAnalyzer withDependencyGraph(@NonNull final GraphBuilder builder)
+            throws IOException {
+        return new InitAnalyzer(pom, pomFile, interpolated, builder.build(pom, pomFile));
+    }
+
     /**
      * Analyzes the provided POM structure from the given node and returns an
      * {@code Inclusion} object containing a {@code PomAnalyzer} instance for
@@ -71,31 +211,53 @@ public final class InitAnalyzer implements CheckPom {
      *
      * @param givenNode the initial node within the POM structure where analysis should begin
      * @return an {@code Inclusion<PomAnalyzer>} instance that wraps a {@code PomAnalyzer}
-     *         configured to analyze the specified POM node with the current state of
-     *         negation and error handling logic
+     *         configured to analyze the specified POM node, with a negation and error
+     *         messages of its own
      */
     @Override
     public Inclusion<PomAnalyzer> checking(final String givenNode) {
+        List<String> errorMessages = new ArrayList<>();
+        NegateNext negateNext = new NegateNext();
         ResultCaller resultCaller = new ResultCaller(errorMessages);
-        return new Inclusion<>(
-                new PomAnalyzer(givenNode, pomReader.getAllElements(), resultCaller, negateNext,
-                        errorMessages), negateNext
-        );
+        PomAnalyzer analyzer = new PomAnalyzer(givenNode, pom.getIndex(), resultCaller,
+                negateNext, errorMessages);
+        analyzer.plan().useResultCache(ResultCache.configured(), pom.getContentHash());
+        analyzer.plan().useDependencyIndex(pom.getDependencyIndex());
+        if (interpolated) {
+            analyzer.plan().useInterpolator(pom.getInterpolator());
+        }
+        analyzer.plan().useDependencyGraph(graph);
+        return new Inclusion<>(analyzer, negateNext);
     }
 
     /**
      * Provides an {@code Inclusion<ModuleAnalyzer>} instance for analyzing
      * and validating modules defined in a Maven POM file. This method enables
      * checking whether modules exist, ensuring they contain a `pom.xml` file,
-     * and performing additional validations on the specified modules.
+     * and performing additional validations on the specified modules. Modules are
+     * resolved relative to the directory of the analyzed POM file.
      *
      * @return an {@code Inclusion<ModuleAnalyzer>} instance, allowing for further
      *         validation, checks, or operations related to the defined modules.
      */
     @Override
     public Inclusion<ModuleAnalyzer> checkingModule() {
-        ResultCaller resultCaller = new ResultCaller(errorMessages);
-        return new Inclusion<>(new ModuleAnalyzer("modules.module", pomReader.getAllElements(),
-                resultCaller, negateNext, errorMessages), negateNext);
+        NegateNext negateNext = new NegateNext();
+        ResultCaller resultCaller = new ResultCaller(new ArrayList<>());
+        ModuleAnalyzer analyzer = new ModuleAnalyzer("modules.module", pom.getIndex(),
+                resultCaller, negateNext, pomFile.getParent());
+        analyzer.plan().useResultCache(ResultCache.configured(), pom.getContentHash());
+        return new Inclusion<>(analyzer, negateNext);
+    }
+
+    /**
+     * Evaluates all rules of the given {@code RuleSet} against the POM file in a single pass
+     * over its elements, instead of one scan for every {@code checking(...)} chain.
+     *
+     * @param ruleSet the rules to evaluate
+     * @return the result of every rule of the set
+     */
+    public RuleSetResult checking(@NonNull final RuleSet ruleSet) {
+        return ruleSet.evaluate(pom);
     }
 }
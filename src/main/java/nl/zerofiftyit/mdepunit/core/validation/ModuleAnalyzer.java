@@ -1,20 +1,16 @@
 package nl.zerofiftyit.mdepunit.core.validation;
 
 import lombok.NonNull;
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
 import nl.zerofiftyit.mdepunit.dsl.Statement;
 import nl.zerofiftyit.mdepunit.model.NegateNext;
 import nl.zerofiftyit.mdepunit.model.PomElement;
 
-import java.io.File;
+import java.nio.file.Path;
 import java.util.List;
 
 public final class ModuleAnalyzer extends DefaultAnalyzerImpl {
 
-    private List<PomElement> pomElements;
-    private final ResultCaller resultCaller;
-    private final NegateNext negateNext;
-    private final List<String> errorMessages;
-
     /**
      * Constructs a new instance of {@code ModuleAnalyzer} with the specified parameters.
      * This class is responsible for analyzing modules and their associated POM elements,
@@ -32,11 +28,40 @@ public final class ModuleAnalyzer extends DefaultAnalyzerImpl {
                           final ResultCaller resultCaller, final NegateNext negateNext,
                           final List<String> errorMessages) {
         super(givenNode, pomElements, resultCaller, negateNext, errorMessages);
+    }
 
-        this.pomElements = pomElements;
-        this.resultCaller = resultCaller;
-        this.negateNext = negateNext;
-        this.errorMessages = errorMessages;
+    /**
+     * Constructs a new instance of {@code ModuleAnalyzer} that selects from all elements of the
+     * POM through the given index.
+     *
+     * @param givenNode the identifier or context node for this analyzer
+     * @param index the index over all {@code PomElement} instances of a POM file
+     * @param resultCaller an instance of {@code ResultCaller} for managing and validating errors
+     * @param negateNext an instance of {@code NegateNext} specifying if the next
+     *                   operation should negate its behavior
+     * @param errorMessages a list to accumulate error messages during the analysis
+     */
+    public ModuleAnalyzer(final String givenNode, final PathIndex index,
+                          final ResultCaller resultCaller, final NegateNext negateNext,
+                          final List<String> errorMessages) {
+        super(givenNode, index, resultCaller, negateNext, errorMessages);
+    }
+
+    /**
+     * Constructs a new instance of {@code ModuleAnalyzer} that resolves modules relative to the
+     * directory of the analyzed POM file, instead of the working directory.
+     *
+     * @param givenNode the identifier or context node for this analyzer
+     * @param index the index over all {@code PomElement} instances of a POM file
+     * @param resultCaller an instance of {@code ResultCaller} for managing and validating errors
+     * @param negateNext an instance of {@code NegateNext} specifying if the next
+     *                   operation should negate its behavior
+     * @param pomDirectory the directory of the analyzed POM file
+     */
+    ModuleAnalyzer(final String givenNode, final PathIndex index,
+                   final ResultCaller resultCaller, final NegateNext negateNext,
+                   final Path pomDirectory) {
+        super(givenNode, index, resultCaller, negateNext, pomDirectory);
     }
 
     /**
@@ -44,6 +69,7 @@ public final class ModuleAnalyzer extends DefaultAnalyzerImpl {
      * Adds an error message if the module is not a directory or does not include the `pom.xml`
      * file.
      * Uses the {@code ResultCaller} for error validation after the check.
+     * The module is resolved relative to the directory of the analyzed POM file.
      * For example,
      * <pre>
      * &lt;modules&gt;
@@ -67,40 +93,21 @@ public final class ModuleAnalyzer extends DefaultAnalyzerImpl {
      * @return a {@code Statement<ModuleAnalyzer>} instance for further method chaining.
      */
     public Statement<ModuleAnalyzer> moduleExists(@NonNull final String moduleName) {
-        final boolean moduleFound =
-                new File(moduleName).isDirectory() || new File(moduleName + "/pom.xml").exists();
-
-        boolean expectationMismatch = negateNext.isNegateNext() == moduleFound;
-
-        if (expectationMismatch) {
-            String template = negateNext.isNegateNext()
-                ? "Module '%s' directory or pom file found, but not expected"
-                : "Module '%s' directory or pom file not found while expected";
-            errorMessages.add(String.format(template, moduleName));
-        }
-        resultCaller.checkForErrors();
-
-        return new Statement<>(this, resultCaller, negateNext);
+        plan().add(PlanStep.Kind.MODULE_EXISTS, moduleName, isNegated());
+        return statement(this);
     }
 
     /**
      * Validates the existence of all registered modules listed in the POM elements
-     * and checks if they are properly structured with a `pom.xml` file.
+     * and checks if they are properly structured with a `pom.xml` file. Modules sharing a
+     * parent directory are resolved with a single listing of that directory.
      *
      * @return a {@code Statement<ModuleAnalyzer>} instance allowing for further method chaining
      * within the {@code ModuleAnalyzer} class.
      */
     public Statement<ModuleAnalyzer> allRegisteredModulesExist() {
-
-        pomElements.stream()
-                .filter(element -> element.getPath().equals("module"))
-                .map(PomElement::getValue)
-                .map(Object::toString)
-                .forEach(this::moduleExists);
-
-        resultCaller.checkForErrors(); // todo miss niet nodig want in module exists
-
-        return new Statement<>(this, resultCaller, negateNext);
+        plan().add(PlanStep.Kind.ALL_MODULES_EXIST, null, isNegated());
+        return statement(this);
     }
 
     /**
@@ -111,10 +118,7 @@ public final class ModuleAnalyzer extends DefaultAnalyzerImpl {
      *         within the {@code ModuleAnalyzer} class.
      */
     public Statement<ModuleAnalyzer> containModuleNode(@NonNull final String moduleName) {
-
-        super.containValue(moduleName);
-        pomElements = super.getPomElements();
-
-        return new Statement<>(this, resultCaller, negateNext);
+        plan().add(PlanStep.Kind.CONTAIN_MODULE_NODE, moduleName, isNegated());
+        return statement(this);
     }
 }
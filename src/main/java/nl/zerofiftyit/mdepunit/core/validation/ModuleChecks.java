@@ -0,0 +1,63 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.model.ViolationType;
+
+import java.util.List;
+
+/**
+ * Executes the checks whether modules exist. Modules are resolved relative to the directory of
+ * the analyzed POM file through a single {@link ModuleLocator}, so a chain lists every parent
+ * directory once.
+ */
+final class ModuleChecks implements CheckExecutor {
+
+    private final ChainContext context;
+
+    private ModuleLocator moduleLocator;
+
+    ModuleChecks(final ChainContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void execute(final PlanStep step, final int position, final boolean silent) {
+        if (silent) {
+            return;
+        }
+        if (step.kind() == PlanStep.Kind.MODULE_EXISTS) {
+            moduleExists(step.argument(), step.negated());
+        } else {
+            allRegisteredModulesExist(step.negated(), position);
+        }
+    }
+
+    private void moduleExists(final String moduleName, final boolean negated) {
+        final boolean moduleFound = moduleLocator().exists(moduleName);
+
+        if (negated == moduleFound) {
+            context.report(context.violation(negated ? ViolationType.MODULE_NOT_ALLOWED
+                    : ViolationType.MODULE_REQUIRED, moduleName, null));
+        }
+        context.checkForErrors();
+    }
+
+    private void allRegisteredModulesExist(final boolean negated, final int position) {
+        List<String> modules = ReactorAnalyzer.moduleNames(context.getOwnElements());
+        moduleLocator().prefetch(modules);
+        for (String module : modules) {
+            moduleExists(module, negated);
+            if (context.isStopped(position)) {
+                return;
+            }
+        }
+
+        context.checkForErrors();
+    }
+
+    private ModuleLocator moduleLocator() {
+        if (moduleLocator == null) {
+            moduleLocator = new ModuleLocator(context.getBaseDirectory());
+        }
+        return moduleLocator;
+    }
+}
@@ -0,0 +1,118 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.concurrent.IoExecutor;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves whether the modules of a POM file exist, relative to the directory of that POM file.
+ * <p>
+ * Instead of querying the file system for every module, the directory holding a module is
+ * listed once and the names in the listing are kept, so all modules sharing a parent directory
+ * are resolved with a single directory read. A module exists when the listing of its parent
+ * directory holds an entry with its name, which is either the module directory or the POM file
+ * the module names.
+ * <p>
+ * When many parent directories are involved, for example on a slow network file system, they
+ * can be listed concurrently on the {@link IoExecutor} by setting the system property
+ * {@code mdepunit.modules.concurrent} to {@code true}.
+ */
+final class ModuleLocator {
+
+    /**
+     * The name of the system property that enables listing parent directories concurrently.
+     */
+    static final String CONCURRENT_PROPERTY = "mdepunit.modules.concurrent";
+
+    private final Path baseDirectory;
+    private final boolean concurrent;
+    private final Map<Path, Set<String>> listings = new ConcurrentHashMap<>();
+
+    ModuleLocator(final Path baseDirectory) {
+        this(baseDirectory, Boolean.getBoolean(CONCURRENT_PROPERTY));
+    }
+
+    ModuleLocator(final Path baseDirectory, final boolean concurrent) {
+        this.baseDirectory = baseDirectory.toAbsolutePath();
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * Lists the parent directories of all given modules that were not listed yet, concurrently
+     * when enabled, so checking the modules afterwards does not access the file system.
+     *
+     * @param modules the names of the modules that will be checked
+     */
+    void prefetch(final Collection<String> modules) {
+        Set<Path> directories = modules.stream()
+                .map(module -> resolve(module).getParent())
+                .filter(Objects::nonNull)
+                .filter(directory -> !listings.containsKey(directory))
+                .collect(Collectors.toSet());
+        if (!concurrent || directories.size() < 2) {
+            directories.forEach(this::listing);
+            return;
+        }
+        CompletableFuture.allOf(directories.stream()
+                .map(directory -> CompletableFuture.runAsync(() -> listing(directory),
+                        IoExecutor.shared()))
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    /**
+     * Checks whether the given module exists relative to the base directory.
+     *
+     * @param module the name of the module as declared in the POM file
+     * @return true if the module directory or POM file exists
+     */
+    boolean exists(final String module) {
+        Path path = resolve(module);
+        Path directory = path.getParent();
+        if (directory == null) {
+            // the root of the file system has no parent to list
+            return Files.isDirectory(path);
+        }
+        return listing(directory).contains(path.getFileName().toString());
+    }
+
+    int getListedDirectories() {
+        return listings.size();
+    }
+
+    private Path resolve(final String module) {
+        return baseDirectory.resolve(module).normalize();
+    }
+
+    private Set<String> listing(final Path directory) {
+        Set<String> names = listings.get(directory);
+        if (names == null) {
+            // listed outside of the map, so slow directories do not block each other
+            names = list(directory);
+            listings.putIfAbsent(directory, names);
+        }
+        return names;
+    }
+
+    private static Set<String> list(final Path directory) {
+        Set<String> names = new HashSet<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            entries.forEach(entry -> names.add(entry.getFileName().toString()));
+        } catch (IOException e) {
+            // a directory that cannot be listed holds no modules, as with java.io.File
+            return Set.of();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,59 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.model.Violation;
+
+import java.util.List;
+
+/**
+ * The outcome of the checks of a {@link ReactorAnalyzer} for a single module.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class ModuleResult {
+
+    private final ReactorModule module;
+    private final String message;
+    private final List<Violation> violations;
+
+    ModuleResult(final ReactorModule module, final String message,
+                 final List<Violation> violations) {
+        this.module = module;
+        this.message = message;
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * Retrieves the module this result belongs to.
+     *
+     * @return the checked module
+     */
+    public ReactorModule getModule() {
+        return module;
+    }
+
+    /**
+     * Checks whether the module passed all checks.
+     *
+     * @return true if the checks of the module did not fail
+     */
+    public boolean isPassed() {
+        return message == null;
+    }
+
+    /**
+     * Retrieves the error report of the module, as it would be thrown by {@code validate()}.
+     *
+     * @return the error report, or {@code null} if the module passed
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Retrieves the violations of the module.
+     *
+     * @return an unmodifiable list of violations, empty if the module passed
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+}
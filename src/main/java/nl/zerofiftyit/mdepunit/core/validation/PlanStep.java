@@ -0,0 +1,129 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.model.DependencyScope;
+
+/**
+ * A single step of a {@link ChainPlan}: a check, or the {@code and()} or {@code or()} joining
+ * two checks. The negation of the chain is captured when the step is recorded.
+ */
+final class PlanStep {
+
+    /**
+     * The families of checks, each executed by its own {@link CheckExecutor}.
+     */
+    enum Family {
+        FILTER,
+        PROPERTY,
+        DEPENDENCY,
+        DUPLICATE,
+        GRAPH,
+        MODULE,
+        CONNECTIVE
+    }
+
+    /**
+     * The kinds of steps a fluent chain consists of.
+     */
+    enum Kind {
+        HAVE_TAG(Family.FILTER),
+        CONTAIN_VALUE(Family.FILTER),
+        HAVE_PROPERTY(Family.PROPERTY),
+        HAVE_DEPENDENCY(Family.DEPENDENCY),
+        NO_DUPLICATE_DEPENDENCIES(Family.DUPLICATE),
+        NO_DUPLICATE_PLUGINS(Family.DUPLICATE),
+        HAVE_VERSION_CONFLICTS(Family.GRAPH),
+        HAVE_TRANSITIVE_DEPENDENCY(Family.GRAPH),
+        HAVE_DEPENDENCY_CYCLES(Family.GRAPH),
+        CONTAIN_MODULE_NODE(Family.FILTER),
+        MODULE_EXISTS(Family.MODULE),
+        ALL_MODULES_EXIST(Family.MODULE),
+        AND(Family.CONNECTIVE),
+        OR(Family.CONNECTIVE);
+
+        private final Family family;
+
+        Kind(final Family family) {
+            this.family = family;
+        }
+
+        Family family() {
+            return family;
+        }
+    }
+
+    private final Kind kind;
+    private final String argument;
+    private final boolean negated;
+    private final DependencyScope scope;
+
+    PlanStep(final Kind kind, final String argument, final boolean negated) {
+        this(kind, argument, negated, null);
+    }
+
+    PlanStep(final Kind kind, final String argument, final boolean negated,
+             final DependencyScope scope) {
+        this.kind = kind;
+        this.argument = argument;
+        this.negated = negated;
+        this.scope = scope;
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    String argument() {
+        return argument;
+    }
+
+    boolean negated() {
+        return negated;
+    }
+
+    /**
+     * Retrieves the scope a dependency check is limited to.
+     *
+     * @return the scope, or {@code null} for a step that is not limited to a scope
+     */
+    DependencyScope scope() {
+        return scope;
+    }
+
+    /**
+     * Checks whether this step narrows the selected elements, so it can be fused with the
+     * filters next to it into a single pass.
+     *
+     * @return true for a tag or value check
+     */
+    boolean isFilter() {
+        return kind.family() == Family.FILTER;
+    }
+
+    /**
+     * Checks whether this step checks the dependency graph, whose outcome depends on the local
+     * repository as well as on the POM file.
+     *
+     * @return true for a check of the dependency graph
+     */
+    boolean isGraphCheck() {
+        return kind.family() == Family.GRAPH;
+    }
+
+    /**
+     * Checks whether this step checks whether modules exist, whose outcome depends on the file
+     * system as well as on the POM file.
+     *
+     * @return true for a check of the modules
+     */
+    boolean isModuleCheck() {
+        return kind.family() == Family.MODULE;
+    }
+
+    boolean isConnective() {
+        return kind.family() == Family.CONNECTIVE;
+    }
+
+    boolean clearsErrors() {
+        return kind == Kind.AND && negated;
+    }
+}
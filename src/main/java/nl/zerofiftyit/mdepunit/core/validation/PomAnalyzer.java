@@ -1,19 +1,18 @@
 package nl.zerofiftyit.mdepunit.core.validation;
 
+import lombok.NonNull;
+import nl.zerofiftyit.mdepunit.core.graph.DependencyGraph;
+import nl.zerofiftyit.mdepunit.core.parse.DependencyIndex;
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
 import nl.zerofiftyit.mdepunit.dsl.Statement;
+import nl.zerofiftyit.mdepunit.model.DependencyScope;
 import nl.zerofiftyit.mdepunit.model.NegateNext;
 import nl.zerofiftyit.mdepunit.model.PomElement;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public final class PomAnalyzer extends DefaultAnalyzerImpl {
 
-    private List<PomElement> pomElements;
-    private final ResultCaller resultCaller;
-    private final NegateNext negateNext;
-    private final List<String> errorMessages;
-
     /**
      * Constructs a new instance of the {@code PomAnalyzer} class, which extends the functionality
      * of {@code DefaultAnalyzer} with additional convenience methods for analyzing and validating.
@@ -28,17 +27,29 @@ public final class PomAnalyzer extends DefaultAnalyzerImpl {
                        final ResultCaller resultCaller, final NegateNext negateNext,
                        final List<String> errorMessages) {
         super(givenNode, pomElements, resultCaller, negateNext, errorMessages);
-        this.pomElements = pomElements;
-        this.resultCaller = resultCaller;
-        this.negateNext = negateNext;
-        this.errorMessages = errorMessages;
+    }
+
+    /**
+     * Constructs a new instance of the {@code PomAnalyzer} class that selects from all elements
+     * of the POM through the given index.
+     *
+     * @param givenNode the initial node within the POM structure where analysis should begin
+     * @param index the index over all {@code PomElement} objects of the POM to analyze
+     * @param resultCaller a {@code ResultCaller} instance used for validation and error management
+     * @param negateNext a {@code NegateNext} utility class controlling conditional negation logic
+     * @param errorMessages a set of error messages for recording validation errors during analysis
+     */
+    public PomAnalyzer(final String givenNode, final PathIndex index,
+                       final ResultCaller resultCaller, final NegateNext negateNext,
+                       final List<String> errorMessages) {
+        super(givenNode, index, resultCaller, negateNext, errorMessages);
     }
 
     /**
      * Checks whether the Maven POM contains a specific property.
      * Depending on the current state of `should` or `shouldNot`, it determines
      * if the property is expected to exist or not and records an error message if the condition
-     * is violated.
+     * is violated. The check is executed when the chain is validated.
      * <p>
      * Example usage:
      * XML:
@@ -55,26 +66,176 @@ public final class PomAnalyzer extends DefaultAnalyzerImpl {
      * @param propertyName the name of the property to check for in the POM.
      * @return the current instance of {@code ResultCaller}, allowing further method chaining.
      */
-    public Statement<PomAnalyzer> haveProperty(final String propertyName) {
-        List<PomElement> properties = pomElements.stream()
-                .filter(element -> element.getPath().startsWith("properties"))
-                .filter(element -> element.getPath().contains(propertyName))
-                .collect(Collectors.toList());
+    public Statement<PomAnalyzer> haveProperty(@NonNull final String propertyName) {
+        plan().add(PlanStep.Kind.HAVE_PROPERTY, propertyName, isNegated());
+        return statement(this);
+    }
+
+    /**
+     * Checks whether the POM declares a dependency with the given group and artifact id, of any
+     * classifier and type. The dependencies under {@code dependencies} are checked, or those
+     * under {@code dependencyManagement} when the chain starts from that node. The dependency
+     * is looked up by its coordinates, without scanning the elements of the POM.
+     * <p>
+     * For example:
+     * <pre>{@code
+     * checking("dependencies").shouldNot().haveDependency("junit", "junit").validate();
+     * }</pre>
+     *
+     * @param groupId the group id of the dependency
+     * @param artifactId the artifact id of the dependency
+     * @return a {@code Statement<PomAnalyzer>} instance for further method chaining
+     */
+    public Statement<PomAnalyzer> haveDependency(@NonNull final String groupId,
+                                                 @NonNull final String artifactId) {
+        return haveDependency(groupId + ":" + artifactId);
+    }
+
+    /**
+     * Checks whether the POM declares a dependency with the given coordinates, see
+     * {@link #haveDependency(String, String)}.
+     *
+     * @param coordinates {@code groupId:artifactId}, matching any classifier and type, or
+     *                    {@code groupId:artifactId:classifier:type}, where a dependency without
+     *                    classifier has an empty classifier and one without type the type
+     *                    {@code jar}
+     * @return a {@code Statement<PomAnalyzer>} instance for further method chaining
+     * @throws IllegalArgumentException if the coordinates have another number of parts
+     */
+    public Statement<PomAnalyzer> haveDependency(@NonNull final String coordinates) {
+        plan().add(PlanStep.Kind.HAVE_DEPENDENCY, DependencyIndex.requireCoordinates(coordinates),
+                isNegated());
+        return statement(this);
+    }
+
+    /**
+     * Checks whether the POM declares a dependency with the given coordinates in the given
+     * scope, where a dependency without scope is in {@link DependencyScope#COMPILE}. The
+     * dependency is looked up in the partition of the scope, without filtering all
+     * dependencies.
+     * <p>
+     * For example, to require that lombok is never on the compile classpath:
+     * <pre>{@code
+     * checking("dependencies").shouldNot()
+     *         .haveDependencyInScope("org.projectlombok:lombok", DependencyScope.COMPILE)
+     *         .validate();
+     * }</pre>
+     *
+     * @param coordinates {@code groupId:artifactId} or {@code groupId:artifactId:classifier:type},
+     *                    see {@link #haveDependency(String)}
+     * @param scope the scope the dependency is declared in
+     * @return a {@code Statement<PomAnalyzer>} instance for further method chaining
+     * @throws IllegalArgumentException if the coordinates have another number of parts
+     */
+    public Statement<PomAnalyzer> haveDependencyInScope(@NonNull final String coordinates,
+                                                        @NonNull final DependencyScope scope) {
+        plan().add(new PlanStep(PlanStep.Kind.HAVE_DEPENDENCY,
+                DependencyIndex.requireCoordinates(coordinates), isNegated(), scope));
+        return statement(this);
+    }
 
-        boolean hasProperty = !properties.isEmpty();
+    /**
+     * Checks whether the POM declares any dependency in the given scope, for example to
+     * disallow dependencies in {@link DependencyScope#SYSTEM}.
+     *
+     * @param scope the scope to look for dependencies in
+     * @return a {@code Statement<PomAnalyzer>} instance for further method chaining
+     */
+    public Statement<PomAnalyzer> haveDependencyInScope(@NonNull final DependencyScope scope) {
+        plan().add(new PlanStep(PlanStep.Kind.HAVE_DEPENDENCY, null, isNegated(), scope));
+        return statement(this);
+    }
 
-        boolean expectationMismatch = negateNext.isNegateNext() == hasProperty;
+    /**
+     * Checks that no dependency is declared twice with the same
+     * {@code groupId:artifactId:classifier:type}, which Maven only warns about. The
+     * dependencies under {@code dependencies} are checked, or those under
+     * {@code dependencyManagement} when the chain starts from that node. Every repeated
+     * declaration is reported with the position of the first one.
+     * <p>
+     * The duplicates are found in a single pass over the dependencies, see
+     * {@link nl.zerofiftyit.mdepunit.core.parse.Duplicates}.
+     * For example:
+     * <pre>{@code
+     * checking("dependencies").should().noDuplicateDependencies().validate();
+     * }</pre>
+     *
+     * @return a {@code Statement<PomAnalyzer>} instance for further method chaining
+     */
+    public Statement<PomAnalyzer> noDuplicateDependencies() {
+        plan().add(PlanStep.Kind.NO_DUPLICATE_DEPENDENCIES, null, isNegated());
+        return statement(this);
+    }
 
-        if (expectationMismatch) {
-            String template = negateNext.isNegateNext()
-                ? "Property '%s' found where not allowed"
-                : "Required property '%s' not found";
-            errorMessages.add(String.format(template, propertyName));
-        }
+    /**
+     * Checks that no plugin is declared twice with the same {@code groupId:artifactId}, where
+     * a plugin without group id is in {@code org.apache.maven.plugins}. The plugins under
+     * {@code build.plugins} are checked, or those under {@code build.pluginManagement} when the
+     * chain starts from that node. Every repeated declaration is reported with the position of
+     * the first one.
+     * <p>
+     * For example:
+     * <pre>{@code
+     * checking("build").should().noDuplicatePlugins().validate();
+     * }</pre>
+     *
+     * @return a {@code Statement<PomAnalyzer>} instance for further method chaining
+     */
+    public Statement<PomAnalyzer> noDuplicatePlugins() {
+        plan().add(PlanStep.Kind.NO_DUPLICATE_PLUGINS, null, isNegated());
+        return statement(this);
+    }
 
-        resultCaller.checkForErrors();
-        pomElements = properties;
+    /**
+     * Checks whether an artifact is in the transitive dependency graph with more than one
+     * version. The graph is built when the POM file is analyzed
+     * {@link InitAnalyzer#withDependencyGraph() withDependencyGraph()}; every conflicting
+     * artifact is reported with its versions.
+     * <p>
+     * For example:
+     * <pre>{@code
+     * analyzePom().withDependencyGraph()
+     *         .checking("dependencies").shouldNot().haveVersionConflicts().validate();
+     * }</pre>
+     *
+     * @return a {@code Statement<PomAnalyzer>} instance for further method chaining
+     * @throws IllegalStateException at validation, if the POM file is analyzed without graph
+     */
+    public Statement<PomAnalyzer> haveVersionConflicts() {
+        plan().add(PlanStep.Kind.HAVE_VERSION_CONFLICTS, null, isNegated());
+        return statement(this);
+    }
+
+    /**
+     * Checks whether an artifact is a transitive dependency: in the dependency graph, but not
+     * as a direct dependency. Every version found is reported with the path it is reached by.
+     * <p>
+     * For example, to ban {@code commons-logging} from the dependency graph:
+     * <pre>{@code
+     * analyzePom().withDependencyGraph()
+     *         .checking("dependencies").shouldNot()
+     *         .haveTransitiveDependency("commons-logging:commons-logging").validate();
+     * }</pre>
+     *
+     * @param coordinates {@code groupId:artifactId} of the artifact
+     * @return a {@code Statement<PomAnalyzer>} instance for further method chaining
+     * @throws IllegalArgumentException if the coordinates are not {@code groupId:artifactId}
+     */
+    public Statement<PomAnalyzer> haveTransitiveDependency(@NonNull final String coordinates) {
+        plan().add(PlanStep.Kind.HAVE_TRANSITIVE_DEPENDENCY,
+                DependencyGraph.requireArtifact(coordinates), isNegated());
+        return statement(this);
+    }
 
-        return new Statement<>(this, resultCaller, negateNext);
+    /**
+     * Checks whether the dependency graph has a cycle, found as a strongly connected component
+     * of the graph. Every cycle is reported with the artifact versions it consists of.
+     *
+     * @return a {@code Statement<PomAnalyzer>} instance for further method chaining
+     * @throws IllegalStateException at validation, if the POM file is analyzed without graph
+     */
+    public Statement<PomAnalyzer> haveDependencyCycles() {
+        plan().add(PlanStep.Kind.HAVE_DEPENDENCY_CYCLES, null, isNegated());
+        return statement(this);
     }
 }
@@ -0,0 +1,47 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.ViolationType;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Executes {@code haveProperty} checks. The properties found are the elements the next
+ * property or module check of the chain selects from.
+ */
+final class PropertyChecks implements CheckExecutor {
+
+    private static final String PROPERTIES_NODE = "properties";
+
+    private final ChainContext context;
+
+    PropertyChecks(final ChainContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void execute(final PlanStep step, final int position, final boolean silent) {
+        List<PomElement> ownElements = context.getOwnElements();
+        List<PomElement> properties = (context.isIndexed(ownElements)
+                ? context.getIndex().withPrefix(PROPERTIES_NODE)
+                : ownElements.stream()
+                        .filter(element -> element.getPomPath().startsWith(PROPERTIES_NODE))
+                        .collect(Collectors.toList()))
+                .stream()
+                .filter(element -> element.getPath().contains(step.argument()))
+                .collect(Collectors.toList());
+        context.setOwnElements(properties);
+
+        if (silent) {
+            return;
+        }
+        if (step.negated() == !properties.isEmpty()) {
+            context.report(step.negated()
+                    ? context.violation(ViolationType.PROPERTY_NOT_ALLOWED, step.argument(),
+                            properties.get(0))
+                    : context.violation(ViolationType.PROPERTY_REQUIRED, step.argument(), null));
+        }
+        context.checkForErrors();
+    }
+}
@@ -0,0 +1,238 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import lombok.NonNull;
+import nl.zerofiftyit.mdepunit.core.concurrent.IoExecutor;
+import nl.zerofiftyit.mdepunit.core.parse.CachedPom;
+import nl.zerofiftyit.mdepunit.core.parse.PomCache;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import nl.zerofiftyit.mdepunit.exception.PomValidationException;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Analyzes all modules of a multi-module project. Starting from the root POM file, the modules
+ * listed under {@code modules.module} are discovered recursively, and the POM files of the
+ * modules are read and parsed concurrently on the {@link IoExecutor}, as reading them mostly
+ * waits for the disk. The same checks are then applied to every module concurrently on a
+ * fork-join pool, and reported per module.
+ * <p>
+ * A module is resolved against the directory of the POM file declaring it. When it names a
+ * file, that file is the POM file of the module, otherwise the {@code pom.xml} in the named
+ * directory is. A module reached twice, for example through two aggregators, is analyzed once.
+ * The modules are kept in reactor order: a POM file is followed by its modules, in the order
+ * they are declared.
+ * <p>
+ * Parsed POM files are taken from the shared {@link PomCache}.
+ */
+public final class ReactorAnalyzer {
+
+    private static final String MODULES = "modules.module";
+    private static final String POM_FILE = "pom.xml";
+
+    private final List<ReactorModule> modules;
+    private final ForkJoinPool pool;
+
+    private ReactorAnalyzer(final List<ReactorModule> modules, final ForkJoinPool pool) {
+        this.modules = List.copyOf(modules);
+        this.pool = pool;
+    }
+
+    /**
+     * Discovers all modules of the project of the given root POM file.
+     *
+     * @param rootPom the path to the root POM file
+     * @param pool the pool used to check the modules
+     * @return an analyzer holding every discovered module
+     * @throws IOException if a POM file cannot be read, or a module has no POM file
+     */
+    static ReactorAnalyzer discover(final String rootPom, final ForkJoinPool pool)
+            throws IOException {
+        Path root = Paths.get(rootPom).toAbsolutePath().normalize();
+        Set<Path> visited = ConcurrentHashMap.newKeySet();
+        visited.add(root);
+        try {
+            return new ReactorAnalyzer(
+                    new Discovery(root, root.getParent(), visited).start().join(), pool);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves all discovered modules, including the root POM file itself.
+     *
+     * @return an unmodifiable list of modules, in reactor order
+     */
+    @SuppressWarnings("LombokGetterMayBeUsed")
+    public List<ReactorModule> getModules() {
+        return modules;
+    }
+
+    /**
+     * Applies the given checks to every module. The checks receive an analyzer of the module
+     * and are expected to end with {@code validate()}; a module passes when they complete
+     * without a {@link PomValidationException}.
+     * <p>
+     * For example:
+     * <pre>{@code
+     * analyzeReactor().check(pom -> pom.checking("dependencies.dependency")
+     *         .shouldNot().haveTag("version").validate());
+     * }</pre>
+     *
+     * @param checks the checks to apply to the analyzer of every module
+     * @return the result of every module, in reactor order
+     */
+    public ReactorResult check(@NonNull final Consumer<InitAnalyzer> checks) {
+        List<ForkJoinTask<ModuleResult>> tasks = modules.stream()
+                .map(module -> pool.submit(() -> check(module, checks)))
+                .collect(Collectors.toList());
+        return new ReactorResult(tasks.stream()
+                .map(ForkJoinTask::join)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Evaluates all rules of the given {@code RuleSet} against every module.
+     *
+     * @param ruleSet the rules to evaluate
+     * @return the result of every module, in reactor order
+     */
+    public ReactorResult check(@NonNull final RuleSet ruleSet) {
+        return check(analyzer -> analyzer.checking(ruleSet).validate());
+    }
+
+    private static ModuleResult check(final ReactorModule module,
+                                      final Consumer<InitAnalyzer> checks) {
+        try {
+            checks.accept(new InitAnalyzer(module.getPom(), module.getPomFile()));
+            return new ModuleResult(module, null, List.of());
+        } catch (PomValidationException e) {
+            return new ModuleResult(module, e.getMessage(), e.getViolations());
+        }
+    }
+
+    /**
+     * Retrieves the modules declared by a POM file, in the order they are declared.
+     *
+     * @param elements the flattened elements of the POM file
+     * @return the declared module names
+     */
+    static List<String> moduleNames(final List<PomElement> elements) {
+        List<String> names = new ArrayList<>();
+        for (PomElement element : elements) {
+            PomPath path = element.getPomPath();
+            boolean module = path.rendersAs(MODULES)
+                    || path.getIndex() >= 0 && path.getParent().rendersAs(MODULES);
+            if (module && element.getValue() instanceof String) {
+                names.add((String) element.getValue());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Reads a POM file and, concurrently, the POM files of its modules. The file system is
+     * only accessed on the {@link IoExecutor}, and no task waits for another one, so the
+     * discovery cannot exhaust the bounded pool of the executor.
+     */
+    private static final class Discovery {
+
+        private final Path pomFile;
+        private final Path rootDirectory;
+        private final Set<Path> visited;
+
+        Discovery(final Path pomFile, final Path rootDirectory, final Set<Path> visited) {
+            this.pomFile = pomFile;
+            this.rootDirectory = rootDirectory;
+            this.visited = visited;
+        }
+
+        CompletableFuture<List<ReactorModule>> start() {
+            return CompletableFuture.supplyAsync(this::read, IoExecutor.shared())
+                    .thenCompose(this::complete);
+        }
+
+        private Read read() {
+            CachedPom pom = parse();
+            Path directory = pomFile.getParent();
+            List<Discovery> children = new ArrayList<>();
+            for (String name : moduleNames(pom.getElements())) {
+                Path child = resolve(directory.resolve(name).normalize(), name);
+                if (visited.add(child)) {
+                    children.add(new Discovery(child, rootDirectory, visited));
+                }
+            }
+            return new Read(pom, children);
+        }
+
+        private CompletableFuture<List<ReactorModule>> complete(final Read read) {
+            List<CompletableFuture<List<ReactorModule>>> children = read.children.stream()
+                    .map(Discovery::start)
+                    .collect(Collectors.toList());
+            return CompletableFuture.allOf(children.toArray(CompletableFuture[]::new))
+                    .thenApply(done -> {
+                        List<ReactorModule> result = new ArrayList<>();
+                        result.add(new ReactorModule(name(), pomFile, read.pom));
+                        children.forEach(child -> result.addAll(child.join()));
+                        return result;
+                    });
+        }
+
+        private CachedPom parse() {
+            try {
+                return PomCache.shared().get(pomFile.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Path resolve(final Path module, final String name) {
+            Path child = Files.isDirectory(module) ? module.resolve(POM_FILE) : module;
+            if (!Files.isRegularFile(child)) {
+                throw new UncheckedIOException(new NoSuchFileException(child.toString(), null,
+                        "Module '" + name + "' of " + pomFile + " has no pom file"));
+            }
+            return child;
+        }
+
+        private String name() {
+            String relative = rootDirectory.relativize(pomFile.getParent()).toString();
+            return relative.isEmpty() ? "." : relative.replace(File.separatorChar, '/');
+        }
+    }
+
+    /**
+     * A parsed POM file and the discoveries of its modules that were not reached before.
+     */
+    private static final class Read {
+
+        private final CachedPom pom;
+        private final List<Discovery> children;
+
+        Read(final CachedPom pom, final List<Discovery> children) {
+            this.pom = pom;
+            this.children = children;
+        }
+    }
+}
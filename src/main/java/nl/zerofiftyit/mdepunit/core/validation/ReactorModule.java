@@ -0,0 +1,50 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.parse.CachedPom;
+
+import java.nio.file.Path;
+
+/**
+ * A module of a multi-module project, as discovered by the {@link ReactorAnalyzer}.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class ReactorModule {
+
+    private final String name;
+    private final Path pomFile;
+    private final CachedPom pom;
+
+    ReactorModule(final String name, final Path pomFile, final CachedPom pom) {
+        this.name = name;
+        this.pomFile = pomFile;
+        this.pom = pom;
+    }
+
+    /**
+     * Retrieves the name of the module: the directory of its POM file relative to the directory
+     * of the root POM file, with "/" as separator.
+     *
+     * @return the name of the module, "." for the root POM file
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the location of the POM file of the module.
+     *
+     * @return the absolute, normalized path of the POM file
+     */
+    public Path getPomFile() {
+        return pomFile;
+    }
+
+    CachedPom getPom() {
+        return pom;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,66 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.exception.PomValidationException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of the checks of a {@link ReactorAnalyzer} for all modules, in reactor order.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class ReactorResult {
+
+    private final List<ModuleResult> results;
+
+    ReactorResult(final List<ModuleResult> results) {
+        this.results = List.copyOf(results);
+    }
+
+    /**
+     * Retrieves the result of every module.
+     *
+     * @return an unmodifiable list of results, in reactor order
+     */
+    public List<ModuleResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Retrieves the results of the modules that did not pass.
+     *
+     * @return the failed results, in reactor order
+     */
+    public List<ModuleResult> getFailures() {
+        return results.stream()
+                .filter(result -> !result.isPassed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether all modules passed.
+     *
+     * @return true if no module failed its checks
+     */
+    public boolean isPassed() {
+        return results.stream().allMatch(ModuleResult::isPassed);
+    }
+
+    /**
+     * Validates the results of all modules. The message of the exception holds the name and
+     * the error report of every failed module.
+     *
+     * @throws PomValidationException if one or more modules did not pass
+     */
+    public void validate() {
+        List<ModuleResult> failures = getFailures();
+        if (!failures.isEmpty()) {
+            throw new PomValidationException(failures.stream()
+                    .map(failure -> failure.getModule().getName() + "\n" + failure.getMessage())
+                    .collect(Collectors.joining()),
+                    failures.stream()
+                            .flatMap(failure -> failure.getViolations().stream())
+                            .collect(Collectors.toList()));
+        }
+    }
+}
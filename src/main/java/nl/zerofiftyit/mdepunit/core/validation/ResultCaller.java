@@ -2,7 +2,10 @@ package nl.zerofiftyit.mdepunit.core.validation;
 
 import lombok.NonNull;
 import nl.zerofiftyit.mdepunit.exception.PomValidationException;
+import nl.zerofiftyit.mdepunit.model.Violation;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -13,24 +16,30 @@ import java.util.List;
  * <p>
  * This class is always its methods are always terminator of an analysis.
  * Without it won't display the potential errors.
+ * <p>
+ * Errors are kept as {@link Violation} instances. Their text is only rendered when a
+ * {@code PomValidationException} is thrown, so errors that are cleared again cost no
+ * string building.
  */
 public final class ResultCaller {
 
+    private static final String ERRORS_OCCURRED = "Error(s) occurred:\n";
+
     private final List<String> errorMessages;
-    private final StringBuilder stringBuilder;
+    private final List<Violation> pending = new ArrayList<>();
+    private final List<List<Violation>> reports = new ArrayList<>();
 
-    private boolean hasErrors;
+    private String reasons;
 
     /**
      * Constructs a {@code ResultCaller} instance with the provided list of error messages.
-     * This constructor initializes an internal {@code StringBuilder} used for assembling
-     * error details when validation methods are invoked.
+     * Messages added to the list as text are collected together with the violations reported
+     * to this instance.
      *
      * @param errorMessages the list of error messages to be managed by this instance
      */
     public ResultCaller(final List<String> errorMessages) {
         this.errorMessages = errorMessages;
-        this.stringBuilder = new StringBuilder();
     }
 
     /**
@@ -44,8 +53,8 @@ public final class ResultCaller {
      * @throws PomValidationException if validation fails due to the presence of error messages.
      */
     public void validate() {
-        if (hasErrors) {
-            throw new PomValidationException(stringBuilder.toString());
+        if (!reports.isEmpty()) {
+            throw new PomValidationException(render(), getViolations());
         }
     }
     /**
@@ -57,29 +66,47 @@ public final class ResultCaller {
      * @throws PomValidationException if validation fails due to the presence of error messages
      */
     public void validate(@NonNull final String reason) {
-        stringBuilder.insert(0, reason + "\n");
+        reasons = reasons == null ? reason : reason + "\n" + reasons;
         validate();
     }
 
     /**
-     * Appends all error messages to the internal string builder if any error messages
-     * are present in the instance.
-     * <p>
-     * This method does not clear the list of error messages or throw an exception.
-     * It simply collects and formats the errors into the internal string builder.
+     * Reports a violation of the check that is being executed. The violation is collected by
+     * the next call to {@link #checkForErrors()}.
+     *
+     * @param violation the violation found by the check
+     */
+    public void report(@NonNull final Violation violation) {
+        pending.add(violation);
+    }
+
+    /**
+     * Collects the violations reported since the previous call, and the error messages added
+     * as text, as the errors of a single check.
      * <p>
-     * This method is typically used internally to prepare error messages for
-     * further operations such as validation or displaying errors.
+     * This method does not throw an exception, and it does not render any message. The
+     * messages are rendered when validation fails.
      */
     public void checkForErrors() {
         if (!errorMessages.isEmpty()) {
-            hasErrors = true;
-            stringBuilder.append("Error(s) occurred:\n");
-            errorMessages.stream()
-                    .map(errorMessage -> errorMessage + "\n")
-                    .forEach(stringBuilder::append);
+            errorMessages.forEach(message -> pending.add(Violation.message(message)));
             errorMessages.clear();
         }
+        if (!pending.isEmpty()) {
+            reports.add(List.copyOf(pending));
+            pending.clear();
+        }
+    }
+
+    /**
+     * Retrieves the violations collected so far, in the order they were reported.
+     *
+     * @return an unmodifiable list of the violations
+     */
+    public List<Violation> getViolations() {
+        List<Violation> violations = new ArrayList<>();
+        reports.forEach(violations::addAll);
+        return Collections.unmodifiableList(violations);
     }
 
     /**
@@ -87,7 +114,20 @@ public final class ResultCaller {
      */
     public void clearErrors() {
         errorMessages.clear();
-        stringBuilder.setLength(0);
-        hasErrors = false;
+        pending.clear();
+        reports.clear();
+        reasons = null;
+    }
+
+    private String render() {
+        StringBuilder message = new StringBuilder();
+        if (reasons != null) {
+            message.append(reasons).append('\n');
+        }
+        for (List<Violation> report : reports) {
+            message.append(ERRORS_OCCURRED);
+            report.forEach(violation -> message.append(violation.getMessage()).append('\n'));
+        }
+        return message.toString();
     }
 }
@@ -1,16 +1,43 @@
 package nl.zerofiftyit.mdepunit.dsl;
 
-import lombok.RequiredArgsConstructor;
+import nl.zerofiftyit.mdepunit.core.validation.ChainPlan;
 import nl.zerofiftyit.mdepunit.core.validation.ResultCaller;
-import nl.zerofiftyit.mdepunit.exception.PomValidationException;
 import nl.zerofiftyit.mdepunit.model.NegateNext;
 
-@RequiredArgsConstructor
 public final class Statement<T> {
 
     private final T value;
     private final ResultCaller resultCaller;
     private final NegateNext negateNext;
+    private final ChainPlan plan;
+
+    /**
+     * Creates a statement that joins checks of its own, without a recorded chain.
+     *
+     * @param value the analyzer to continue the chain with
+     * @param resultCaller the {@code ResultCaller} collecting the errors of the chain
+     * @param negateNext the negation of the chain
+     */
+    public Statement(final T value, final ResultCaller resultCaller, final NegateNext negateNext) {
+        this(value, resultCaller, negateNext, ChainPlan.of(resultCaller));
+    }
+
+    /**
+     * Creates a statement that continues the given chain. The recorded steps of the chain are
+     * executed when the statement is validated.
+     *
+     * @param value the analyzer to continue the chain with
+     * @param resultCaller the {@code ResultCaller} collecting the errors of the chain
+     * @param negateNext the negation of the chain
+     * @param plan the steps recorded for the chain so far
+     */
+    public Statement(final T value, final ResultCaller resultCaller, final NegateNext negateNext,
+                     final ChainPlan plan) {
+        this.value = value;
+        this.resultCaller = resultCaller;
+        this.negateNext = negateNext;
+        this.plan = plan;
+    }
 
     /**
      * Allows for a and condition to apply to validations.
@@ -18,11 +45,7 @@ public final class Statement<T> {
      * @return the value of type {@code T} associated with this statement
      */
     public T and() {
-        if (!negateNext.isNegateNext()) {
-            return value;
-        }
-
-        resultCaller.clearErrors();
+        plan.and(negateNext.isNegateNext());
 
         return value;
     }
@@ -33,30 +56,25 @@ public final class Statement<T> {
      * @return the value of type {@code T} associated with this statement
      */
     public T or() {
-        if (!negateNext.isNegateNext()) {
-            return value;
-        }
-
-        try {
-            resultCaller.validate();
-        } catch (PomValidationException e) {
-            // do nothing
-        }
+        plan.or(negateNext.isNegateNext());
 
         return value;
     }
 
     /**
-     * Validates the current instance by checking for any accumulated error messages.
+     * Executes the checks of the chain and validates the current instance by checking for any
+     * accumulated error messages.
      * If error messages are present, invokes the error display mechanism.
      * <p>
      * This method is typically used to ensure the integrity of the instance
      * based on predefined validation rules. It throws an exception
      * with details about the validation errors if any are found.
      *
-     * @throws PomValidationException if validation fails due to the presence of error messages.
+     * @throws nl.zerofiftyit.mdepunit.exception.PomValidationException if validation fails due to
+     *         the presence of error messages.
      */
     public void validate() {
+        plan.execute();
         resultCaller.validate();
     }
 
@@ -66,9 +84,11 @@ public final class Statement<T> {
      * performing the validation check.
      *
      * @param reason the reason for validation, which will be included in any error message
-     * @throws PomValidationException if validation fails due to the presence of error messages
+     * @throws nl.zerofiftyit.mdepunit.exception.PomValidationException if validation fails due to
+     *         the presence of error messages
      */
     public void validate(final String reason) {
+        plan.execute();
         resultCaller.validate(reason);
     }
 }
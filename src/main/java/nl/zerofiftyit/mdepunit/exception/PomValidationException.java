@@ -1,5 +1,9 @@
 package nl.zerofiftyit.mdepunit.exception;
 
+import nl.zerofiftyit.mdepunit.model.Violation;
+
+import java.util.List;
+
 /**
  * Exception thrown when POM validation fails.
  * This exception is used to indicate errors during the validation of Maven POM files,
@@ -7,12 +11,37 @@ package nl.zerofiftyit.mdepunit.exception;
  */
 public class PomValidationException extends RuntimeException {
 
+    private final transient List<Violation> violations;
+
     /**
      * Constructs a new PomValidationException with the specified error message.
      *
      * @param message the error message detailing the validation failure
      */
     public PomValidationException(final String message) {
+        this(message, List.of());
+    }
+
+    /**
+     * Constructs a new PomValidationException with the specified error message and the
+     * violations it was rendered from.
+     *
+     * @param message the error message detailing the validation failure
+     * @param violations the violations that caused the validation failure
+     */
+    public PomValidationException(final String message, final List<Violation> violations) {
         super(message);
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * Retrieves the violations that caused the validation failure.
+     *
+     * @return an unmodifiable list of violations, empty if the exception was created from a
+     *         message only
+     */
+    @SuppressWarnings("LombokGetterMayBeUsed")
+    public List<Violation> getViolations() {
+        return violations;
     }
 }
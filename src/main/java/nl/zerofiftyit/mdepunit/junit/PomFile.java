@@ -0,0 +1,25 @@
+package nl.zerofiftyit.mdepunit.junit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the POM file whose analyzer is injected into a parameter of a {@link PomRules} test,
+ * instead of the POM file of the test class. Useful to check the modules of a multi-module
+ * project from one test class.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PomFile {
+
+    /**
+     * The POM file to analyze, relative to the working directory.
+     *
+     * @return the path of the POM file
+     */
+    String value();
+}
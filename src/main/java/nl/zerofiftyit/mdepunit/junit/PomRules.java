@@ -0,0 +1,34 @@
+package nl.zerofiftyit.mdepunit.junit;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test class whose tests check POM files. Tests and lifecycle methods of the class can
+ * declare a parameter of type {@link nl.zerofiftyit.mdepunit.core.validation.InitAnalyzer},
+ * which is injected with the analyzer of the POM file named by this annotation, or by
+ * {@link PomFile} on the parameter.
+ * <p>
+ * Every POM file is parsed once per test run and the analyzer is shared by all test classes,
+ * see {@link PomRulesExtension}. The time of every test is collected and printed as a summary
+ * when the run ends.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(PomRulesExtension.class)
+public @interface PomRules {
+
+    /**
+     * The POM file injected into parameters without {@link PomFile}, relative to the working
+     * directory.
+     *
+     * @return the path of the POM file, {@code pom.xml} by default
+     */
+    String value() default "pom.xml";
+}
@@ -0,0 +1,101 @@
+package nl.zerofiftyit.mdepunit.junit;
+
+import nl.zerofiftyit.mdepunit.core.validation.InitAnalyzer;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * The JUnit Jupiter extension behind {@link PomRules}, which takes parsing POM files off the
+ * path of every single test.
+ * <p>
+ * The analyzer of a POM file is created on first use and kept in the store of the root
+ * context, so it is shared by all test classes of the test run, including those running in
+ * parallel; concurrent first uses of the same file share a single parse. A parameter of type
+ * {@link InitAnalyzer} is injected with the analyzer of the file named by {@link PomFile}, or
+ * else by the nearest enclosing {@link PomRules}, or else {@code pom.xml}.
+ * <p>
+ * The time of every test is aggregated per test method, together with the time spent parsing,
+ * and printed as a summary when the test run ends.
+ */
+public final class PomRulesExtension implements ParameterResolver, BeforeTestExecutionCallback,
+        AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(PomRulesExtension.class);
+    private static final String DEFAULT_POM = "pom.xml";
+    private static final String START = "start";
+
+    @Override
+    public boolean supportsParameter(final ParameterContext parameterContext,
+                                     final ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == InitAnalyzer.class;
+    }
+
+    @Override
+    public Object resolveParameter(final ParameterContext parameterContext,
+                                   final ExtensionContext extensionContext) {
+        Path pomFile = Paths.get(parameterContext.findAnnotation(PomFile.class)
+                .map(PomFile::value)
+                .orElseGet(() -> pomFile(extensionContext)))
+                .toAbsolutePath().normalize();
+        ExtensionContext.Store store = extensionContext.getRoot().getStore(NAMESPACE);
+        PomRulesSummary summary = summary(store);
+        return store.getOrComputeIfAbsent(pomFile, key -> analyze(key, summary),
+                InitAnalyzer.class);
+    }
+
+    @Override
+    public void beforeTestExecution(final ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(final ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START, Long.class);
+        if (start != null) {
+            summary(context.getRoot().getStore(NAMESPACE)).tested(
+                    context.getRequiredTestClass().getSimpleName() + "."
+                            + context.getRequiredTestMethod().getName(),
+                    System.nanoTime() - start, context.getExecutionException().isPresent());
+        }
+    }
+
+    private static InitAnalyzer analyze(final Path pomFile, final PomRulesSummary summary) {
+        long start = System.nanoTime();
+        try {
+            InitAnalyzer analyzer = InitAnalyzer.analyzePom(pomFile.toString());
+            summary.parsed(pomFile, System.nanoTime() - start);
+            return analyzer;
+        } catch (IOException e) {
+            throw new ParameterResolutionException("Cannot read POM file " + pomFile, e);
+        }
+    }
+
+    private static String pomFile(final ExtensionContext context) {
+        Optional<ExtensionContext> current = Optional.of(context);
+        while (current.isPresent()) {
+            Optional<PomRules> rules = AnnotationSupport.findAnnotation(
+                    current.get().getElement(), PomRules.class);
+            if (rules.isPresent()) {
+                return rules.get().value();
+            }
+            current = current.get().getParent();
+        }
+        return DEFAULT_POM;
+    }
+
+    private static PomRulesSummary summary(final ExtensionContext.Store store) {
+        return store.getOrComputeIfAbsent(PomRulesSummary.class, key -> new PomRulesSummary(),
+                PomRulesSummary.class);
+    }
+}
@@ -0,0 +1,108 @@
+package nl.zerofiftyit.mdepunit.junit;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The time spent on the POM files and tests of a test run, collected by the
+ * {@link PomRulesExtension} and printed when the store of the root context is closed at the
+ * end of the run. Safe for concurrent use.
+ */
+final class PomRulesSummary implements ExtensionContext.Store.CloseableResource {
+
+    private static final int SLOWEST = 5;
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final Map<Path, Long> parsed = new ConcurrentHashMap<>();
+    private final Map<String, Timing> rules = new ConcurrentHashMap<>();
+
+    /**
+     * Records the time it took to parse a POM file.
+     *
+     * @param pomFile the parsed POM file
+     * @param nanos the time spent, in nanoseconds
+     */
+    void parsed(final Path pomFile, final long nanos) {
+        parsed.merge(pomFile, nanos, Long::sum);
+    }
+
+    /**
+     * Records the time a test took, aggregated with earlier executions of the same test method.
+     *
+     * @param rule the test method, as {@code Class.method}
+     * @param nanos the time spent, in nanoseconds
+     * @param failed whether the test failed
+     */
+    void tested(final String rule, final long nanos, final boolean failed) {
+        rules.merge(rule, new Timing(1, nanos, failed ? 1 : 0), Timing::plus);
+    }
+
+    @Override
+    public void close() {
+        if (!rules.isEmpty() || !parsed.isEmpty()) {
+            System.out.println(this);
+        }
+    }
+
+    /**
+     * Describes the tests and POM files of the run, with the slowest test methods.
+     *
+     * @return a summary such as
+     *         {@code mDepUnit rules: 12 tests in 8.4 ms, 0 failed; 1 POM files parsed in 31.0 ms}
+     */
+    @Override
+    public String toString() {
+        Timing total = rules.values().stream().reduce(new Timing(0, 0, 0), Timing::plus);
+        StringBuilder summary = new StringBuilder("mDepUnit rules: ")
+                .append(total.count).append(" tests in ").append(millis(total.nanos))
+                .append(", ").append(total.failures).append(" failed; ")
+                .append(parsed.size()).append(" POM files parsed in ")
+                .append(millis(parsed.values().stream().mapToLong(Long::longValue).sum()));
+        List<Map.Entry<String, Timing>> slowest = rules.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Timing> rule)
+                        -> rule.getValue().nanos).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(SLOWEST)
+                .collect(Collectors.toList());
+        for (Map.Entry<String, Timing> rule : slowest) {
+            summary.append("\n  ").append(millis(rule.getValue().nanos)).append("  ")
+                    .append(rule.getKey());
+            if (rule.getValue().count > 1) {
+                summary.append(" (").append(rule.getValue().count).append(" tests)");
+            }
+        }
+        return summary.toString();
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * The aggregated executions of one test method.
+     */
+    private static final class Timing {
+
+        private final int count;
+        private final long nanos;
+        private final int failures;
+
+        Timing(final int count, final long nanos, final int failures) {
+            this.count = count;
+            this.nanos = nanos;
+            this.failures = failures;
+        }
+
+        Timing plus(final Timing other) {
+            return new Timing(count + other.count, nanos + other.nanos,
+                    failures + other.failures);
+        }
+    }
+}
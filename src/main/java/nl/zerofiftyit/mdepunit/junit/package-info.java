@@ -0,0 +1,6 @@
+/**
+ * JUnit Jupiter package for the POM analysis tool.
+ * Contains the {@code @PomRules} extension, which parses every POM file once per test run and
+ * injects its analyzer into the tests that check it.
+ */
+package nl.zerofiftyit.mdepunit.junit;
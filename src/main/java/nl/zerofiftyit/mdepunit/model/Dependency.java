@@ -0,0 +1,197 @@
+package nl.zerofiftyit.mdepunit.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A dependency declared in a POM file, either under {@code dependencies} or under
+ * {@code dependencyManagement}, with its coordinates as written.
+ * <p>
+ * A dependency is identified by its key {@code groupId:artifactId:classifier:type}, as Maven
+ * does: a missing type is {@code jar} and a missing classifier is empty. Instances of this
+ * class are immutable.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class Dependency {
+
+    private static final String DEFAULT_TYPE = "jar";
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String classifier;
+    private final String type;
+    private final String scope;
+    private final DependencyScope dependencyScope;
+    private final boolean optional;
+    private final boolean managed;
+    private final PomPath path;
+    private final List<String> exclusions;
+
+    private Dependency(final Map<?, ?> element, final boolean managed, final PomPath path) {
+        this.groupId = text(element.get("groupId"));
+        this.artifactId = text(element.get("artifactId"));
+        this.version = text(element.get("version"));
+        this.classifier = Objects.requireNonNullElse(text(element.get("classifier")), "");
+        this.type = Objects.requireNonNullElse(text(element.get("type")), DEFAULT_TYPE);
+        this.scope = text(element.get("scope"));
+        this.dependencyScope = DependencyScope.of(scope);
+        this.optional = Boolean.parseBoolean(text(element.get("optional")));
+        this.managed = managed;
+        this.path = path;
+        this.exclusions = exclusions(element.get("exclusions"));
+    }
+
+    /**
+     * Creates a dependency from the value of a {@code dependency} element.
+     *
+     * @param element the child elements of the {@code dependency} element by name
+     * @param managed whether the dependency is declared under {@code dependencyManagement}
+     * @param path the path of the {@code dependency} element
+     * @return the dependency
+     */
+    public static Dependency of(final Map<?, ?> element, final boolean managed,
+                                final PomPath path) {
+        return new Dependency(element, managed, path);
+    }
+
+    /**
+     * Retrieves the group id.
+     *
+     * @return the group id, or {@code null} if not declared
+     */
+    public String getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * Retrieves the artifact id.
+     *
+     * @return the artifact id, or {@code null} if not declared
+     */
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    /**
+     * Retrieves the version as written, without interpolation.
+     *
+     * @return the version, or {@code null} if not declared
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the classifier.
+     *
+     * @return the classifier, empty if not declared
+     */
+    public String getClassifier() {
+        return classifier;
+    }
+
+    /**
+     * Retrieves the type.
+     *
+     * @return the type, {@code jar} if not declared
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the scope as written.
+     *
+     * @return the scope, or {@code null} if not declared
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    /**
+     * Retrieves the scope of the dependency, where a dependency without scope has the scope
+     * {@link DependencyScope#COMPILE}.
+     *
+     * @return the scope, or {@code null} when the declared scope is not a known scope
+     */
+    public DependencyScope getDependencyScope() {
+        return dependencyScope;
+    }
+
+    /**
+     * Checks whether the dependency is declared optional.
+     *
+     * @return true if {@code optional} is {@code true}
+     */
+    public boolean isOptional() {
+        return optional;
+    }
+
+    /**
+     * Checks whether the dependency is declared under {@code dependencyManagement}.
+     *
+     * @return true for a managed dependency
+     */
+    public boolean isManaged() {
+        return managed;
+    }
+
+    /**
+     * Retrieves the artifacts excluded from the transitive dependencies of this dependency.
+     *
+     * @return an unmodifiable list of {@code groupId:artifactId}, where either part may be the
+     *         wildcard {@code *}, empty if nothing is excluded
+     */
+    public List<String> getExclusions() {
+        return exclusions;
+    }
+
+    /**
+     * Retrieves the path of the {@code dependency} element in the POM file.
+     *
+     * @return the path of the dependency
+     */
+    public PomPath getPath() {
+        return path;
+    }
+
+    /**
+     * Retrieves the key identifying the dependency within its section.
+     *
+     * @return {@code groupId:artifactId:classifier:type}
+     */
+    public String getKey() {
+        return groupId + ":" + artifactId + ":" + classifier + ":" + type;
+    }
+
+    @Override
+    public String toString() {
+        return getKey() + (version == null ? "" : ":" + version);
+    }
+
+    private static List<String> exclusions(final Object value) {
+        if (!(value instanceof Map)) {
+            return List.of();
+        }
+        Object exclusion = ((Map<?, ?>) value).get("exclusion");
+        List<?> items = exclusion instanceof List
+                ? (List<?>) exclusion : Collections.singletonList(exclusion);
+        List<String> excluded = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof Map) {
+                excluded.add(text(((Map<?, ?>) item).get("groupId")) + ":"
+                        + text(((Map<?, ?>) item).get("artifactId")));
+            }
+        }
+        return Collections.unmodifiableList(excluded);
+    }
+
+    private static String text(final Object value) {
+        return value instanceof String && !((String) value).isBlank()
+                ? ((String) value).trim() : null;
+    }
+}
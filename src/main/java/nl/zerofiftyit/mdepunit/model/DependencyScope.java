@@ -12,6 +12,8 @@ package nl.zerofiftyit.mdepunit.model;
  * - RUNTIME: Specifies dependencies required during execution but not for compilation.
  * - PROVIDED: Specifies dependencies required at compile time but expected to be provided at
  *   runtime by the runtime environment.
+ * - SYSTEM: Like PROVIDED, but taken from a path on the local system instead of a repository.
+ * - IMPORT: Only valid in dependencyManagement, importing the managed dependencies of a BOM.
  * </p>
  * The {@code toString()} method returns the name of the scope in lowercase.
  */
@@ -34,7 +36,37 @@ public enum DependencyScope {
     /**
      * Specifies dependencies required at compile time but expected to be provided at runtime.
      */
-    PROVIDED;
+    PROVIDED,
+
+    /**
+     * Specifies dependencies provided by a path on the local system instead of a repository.
+     */
+    SYSTEM,
+
+    /**
+     * Imports the managed dependencies of a POM, only valid in dependency management.
+     */
+    IMPORT;
+
+    /**
+     * Retrieves the scope with the given name as written in a POM file. A dependency without
+     * scope has the scope {@link #COMPILE}, as in Maven.
+     *
+     * @param scope the scope as written, or {@code null} when no scope is declared
+     * @return the scope, or {@code null} when the name is not a known scope, for example
+     *         an uninterpolated property
+     */
+    public static DependencyScope of(final String scope) {
+        if (scope == null || scope.isBlank()) {
+            return COMPILE;
+        }
+        for (DependencyScope value : values()) {
+            if (value.name().equalsIgnoreCase(scope.trim())) {
+                return value;
+            }
+        }
+        return null;
+    }
 
     @Override
     public String toString() {
@@ -0,0 +1,60 @@
+package nl.zerofiftyit.mdepunit.model;
+
+/**
+ * A dependency or plugin that is declared more than once in the same section of a POM file,
+ * with the positions of its first declaration and of the repeated one. Instances of this
+ * class are immutable.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class Duplicate {
+
+    private final String key;
+    private final PomPath first;
+    private final PomPath repeated;
+
+    /**
+     * Constructs a new duplicate.
+     *
+     * @param key the key the declarations share
+     * @param first the path of the first declaration
+     * @param repeated the path of the repeated declaration
+     */
+    public Duplicate(final String key, final PomPath first, final PomPath repeated) {
+        this.key = key;
+        this.first = first;
+        this.repeated = repeated;
+    }
+
+    /**
+     * Retrieves the key the declarations share, such as
+     * {@code groupId:artifactId:classifier:type} for a dependency.
+     *
+     * @return the key of the duplicate
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Retrieves the path of the first declaration.
+     *
+     * @return the path of the first declaration
+     */
+    public PomPath getFirst() {
+        return first;
+    }
+
+    /**
+     * Retrieves the path of the repeated declaration.
+     *
+     * @return the path of the repeated declaration
+     */
+    public PomPath getRepeated() {
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return key + " at " + first + " and " + repeated;
+    }
+}
@@ -0,0 +1,47 @@
+package nl.zerofiftyit.mdepunit.model;
+
+import java.util.Locale;
+
+/**
+ * Defines how far the checks of a chain or rule set are evaluated once their outcome is known.
+ * <p>
+ * The supported modes are:
+ * - COMPLETE: Every violation is reported, for example every element carrying a disallowed tag.
+ * - FAIL_FAST: Scanning stops at the first violation that decides the outcome, and only that
+ *   violation is reported.
+ * </p>
+ * The mode used by default can be chosen with the system property {@code mdepunit.evaluation},
+ * for example {@code -Dmdepunit.evaluation=fail_fast}.
+ */
+public enum EvaluationMode {
+    /**
+     * Every violation is reported, for example every element carrying a disallowed tag.
+     */
+    COMPLETE,
+
+    /**
+     * Scanning stops at the first violation that decides the outcome, and only that violation
+     * is reported.
+     */
+    FAIL_FAST;
+
+    /**
+     * The name of the system property used to choose the default mode.
+     */
+    public static final String SYSTEM_PROPERTY = "mdepunit.evaluation";
+
+    /**
+     * Returns the mode configured by the {@code mdepunit.evaluation} system property, or
+     * {@code COMPLETE} when the property is not set.
+     *
+     * @return the mode to use when none is given explicitly
+     * @throws IllegalArgumentException if the system property does not name a mode
+     */
+    public static EvaluationMode defaultMode() {
+        String configured = System.getProperty(SYSTEM_PROPERTY);
+        if (configured == null || configured.isBlank()) {
+            return COMPLETE;
+        }
+        return valueOf(configured.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
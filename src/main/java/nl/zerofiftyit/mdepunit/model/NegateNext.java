@@ -12,7 +12,8 @@ package nl.zerofiftyit.mdepunit.model;
  * negation is enabled or disabled.
  * </p>
  * Instances of this class are designed for simple and stateless operations
- * around the "negate next" flag.
+ * around the "negate next" flag. Every chain of checks has an instance of its
+ * own, so the negation of one chain never affects another.
  */
 @SuppressWarnings("LombokGetterMayBeUsed")
 public final class NegateNext {
@@ -0,0 +1,42 @@
+package nl.zerofiftyit.mdepunit.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single segment of a {@link PomPath}: a tag name, or a list index rendered as "[i]".
+ * <p>
+ * Segments are interned in a table shared by the running JVM, so every distinct name is held
+ * once no matter how many paths use it, and two segments are equal only when they are the same
+ * instance with the same id.
+ */
+final class PathSegment {
+
+    private static final ConcurrentMap<String, PathSegment> TABLE = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id;
+    private final String name;
+
+    private PathSegment(final int id, final String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    static PathSegment intern(final String name) {
+        PathSegment segment = TABLE.get(name);
+        if (segment != null) {
+            return segment;
+        }
+        return TABLE.computeIfAbsent(name, key -> new PathSegment(NEXT_ID.getAndIncrement(), key));
+    }
+
+    int id() {
+        return id;
+    }
+
+    String name() {
+        return name;
+    }
+}
@@ -3,12 +3,15 @@ package nl.zerofiftyit.mdepunit.model;
 /**
  * Represents a POM (Project Object Model) element with a specific path and value.
  * This class is immutable and designed to encapsulate a simple mapping between
- * a path string and its corresponding value within a POM structure.
+ * a path and its corresponding value within a POM structure.
+ * <p>
+ * The path is held as a {@link PomPath}, which shares its parent segments with the paths of
+ * other elements. It is only rendered to a string when {@link #getPath()} is called.
  */
 @SuppressWarnings("LombokGetterMayBeUsed")
 public final class PomElement {
 
-    private final String path;
+    private final PomPath path;
     private final Object value;
 
     /**
@@ -18,16 +21,35 @@ public final class PomElement {
      * @param value the value associated with this element
      */
     public PomElement(final String path, final Object value) {
+        this(PomPath.parse(path), value);
+    }
+
+    /**
+     * Constructs a new PomElement with the specified path and value.
+     *
+     * @param path the path representing the location of this element in the POM structure
+     * @param value the value associated with this element
+     */
+    public PomElement(final PomPath path, final Object value) {
         this.path = path;
         this.value = value;
     }
 
     /**
-     * Retrieves the path associated with this POM element.
+     * Retrieves the path associated with this POM element, rendered as a string.
      *
      * @return the path as a string
      */
     public String getPath() {
+        return path.toString();
+    }
+
+    /**
+     * Retrieves the path associated with this POM element, without rendering it.
+     *
+     * @return the path as a chain of segments
+     */
+    public PomPath getPomPath() {
         return path;
     }
 
@@ -0,0 +1,312 @@
+package nl.zerofiftyit.mdepunit.model;
+
+import java.util.Objects;
+
+/**
+ * Represents the location of an element within a POM structure as a chain of segments.
+ * <p>
+ * Every path points to its parent path, so paths sharing a prefix share the objects of that
+ * prefix. The segments are interned, see {@link PathSegment}, and list indices are stored as
+ * integers. A path is only rendered to a string such as {@code dependencies.dependency[0].version}
+ * when {@link #toString()} is called. The string based comparisons of this class give the same
+ * result as comparing rendered strings, without rendering them.
+ * </p>
+ * Instances of this class are immutable.
+ */
+public final class PomPath {
+
+    private final PomPath parent;
+    private final PathSegment segment;
+    private final int index;
+    private final int depth;
+    private final int length;
+
+    private PomPath(final PomPath parent, final PathSegment segment, final int index) {
+        this.parent = parent;
+        this.segment = segment;
+        this.index = index;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+        int separator = parent == null || index >= 0 ? 0 : 1;
+        this.length = (parent == null ? 0 : parent.length) + separator + segment.name().length();
+    }
+
+    /**
+     * Creates a path of a single, top level segment with the given name.
+     *
+     * @param name the name of the segment, e.g. "dependencies"
+     * @return a path without a parent
+     */
+    public static PomPath of(final String name) {
+        return new PomPath(null, PathSegment.intern(name), -1);
+    }
+
+    /**
+     * Creates a path from its string rendering, for example
+     * {@code dependencies.dependency[0].version}. Names are split at every ".", so a name
+     * containing dots becomes several segments; the rendering of the result always equals the
+     * given string.
+     *
+     * @param path the rendered path
+     * @return a path that renders as the given string
+     */
+    public static PomPath parse(final String path) {
+        PomPath result = null;
+        int start = 0;
+        boolean namePending = true;
+        int i = 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            int end = c == '[' ? indexEnd(path, i) : -1;
+            if (c == '.' || end > 0) {
+                if (namePending) {
+                    result = appendName(result, path.substring(start, i));
+                }
+                if (end > 0) {
+                    result = appendItem(result, Integer.parseInt(path.substring(i + 1, end)));
+                    i = end;
+                }
+                namePending = c == '.';
+                start = i + 1;
+            } else {
+                namePending = true;
+            }
+            i++;
+        }
+        if (namePending) {
+            result = appendName(result, path.substring(start));
+        }
+        // text that cannot be split into segments is kept as a single segment
+        return result.toString().equals(path) ? result : of(path);
+    }
+
+    private static int indexEnd(final String path, final int open) {
+        int i = open + 1;
+        while (i < path.length() && Character.isDigit(path.charAt(i))) {
+            i++;
+        }
+        boolean valid = i > open + 1 && i < path.length() && path.charAt(i) == ']'
+                && (path.charAt(open + 1) != '0' || i == open + 2);
+        return valid ? i : -1;
+    }
+
+    private static PomPath appendName(final PomPath path, final String name) {
+        return path == null ? of(name) : path.child(name);
+    }
+
+    private static PomPath appendItem(final PomPath path, final int itemIndex) {
+        return new PomPath(path, PathSegment.intern("[" + itemIndex + "]"), itemIndex);
+    }
+
+    /**
+     * Creates the path of a named child of this path.
+     *
+     * @param name the name of the child, e.g. "groupId"
+     * @return the path of the child
+     */
+    public PomPath child(final String name) {
+        return new PomPath(this, PathSegment.intern(name), -1);
+    }
+
+    /**
+     * Creates the path of an item of the list at this path.
+     *
+     * @param itemIndex the zero based position of the item in the list
+     * @return the path of the item, rendered with a "[i]" suffix
+     */
+    public PomPath item(final int itemIndex) {
+        return appendItem(this, itemIndex);
+    }
+
+    /**
+     * Retrieves the path this path is a child or item of.
+     *
+     * @return the parent path, or {@code null} for a top level path
+     */
+    public PomPath getParent() {
+        return parent;
+    }
+
+    /**
+     * Retrieves the name of the last segment; "[i]" when this path is a list item.
+     *
+     * @return the name of the last segment
+     */
+    public String getName() {
+        return segment.name();
+    }
+
+    /**
+     * Retrieves the list index of the last segment.
+     *
+     * @return the zero based list index, or -1 when the last segment is a name
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Retrieves the number of segments before the last segment of this path.
+     *
+     * @return zero for a top level path, one for its children, and so on
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Retrieves the length of the rendered path.
+     *
+     * @return the number of characters returned by {@link #toString()}
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Checks whether the other path equals this path or one of its ancestors,
+     * comparing segment by segment.
+     *
+     * @param other the path that might be an ancestor
+     * @return true if this path starts with all segments of the other path
+     */
+    public boolean startsWith(final PomPath other) {
+        PomPath current = this;
+        while (current != null && current.depth > other.depth) {
+            current = current.parent;
+        }
+        return other.equals(current);
+    }
+
+    /**
+     * Checks whether the rendered path starts with the given string.
+     *
+     * @param prefix the expected start of the rendered path
+     * @return true if the rendered path starts with {@code prefix}
+     */
+    public boolean startsWith(final String prefix) {
+        return prefix.length() <= length && matchForward(prefix) == prefix.length();
+    }
+
+    /**
+     * Checks whether the rendered path ends with the given string.
+     *
+     * @param suffix the expected end of the rendered path
+     * @return true if the rendered path ends with {@code suffix}
+     */
+    public boolean endsWith(final String suffix) {
+        return suffix.length() <= length && matchBackward(suffix, suffix.length()) == 0;
+    }
+
+    /**
+     * Checks whether the given string starts with the rendered path, followed by a "." or "["
+     * separator. In that case the string can only match paths below this path.
+     *
+     * @param descendant the string to check
+     * @return true if {@code descendant} continues after the rendered path with a separator
+     */
+    public boolean isAncestorOf(final String descendant) {
+        if (descendant.length() <= length || matchForward(descendant) != length) {
+            return false;
+        }
+        char separator = descendant.charAt(length);
+        return separator == '.' || separator == '[';
+    }
+
+    /**
+     * Checks whether the rendered path equals the given string.
+     *
+     * @param path the string to compare with
+     * @return true if the rendered path equals {@code path}
+     */
+    public boolean rendersAs(final String path) {
+        return path.length() == length && matchForward(path) == length;
+    }
+
+    private int matchForward(final String other) {
+        int position = parent == null ? 0 : parent.matchForward(other);
+        if (position < 0 || position == other.length()) {
+            return position;
+        }
+        if (parent != null && index < 0) {
+            if (other.charAt(position) != '.') {
+                return -1;
+            }
+            position++;
+        }
+        String name = segment.name();
+        int count = Math.min(name.length(), other.length() - position);
+        return other.regionMatches(position, name, 0, count) ? position + count : -1;
+    }
+
+    private int matchBackward(final String other, final int end) {
+        String name = segment.name();
+        int count = Math.min(name.length(), end);
+        if (!other.regionMatches(end - count, name, name.length() - count, count)) {
+            return -1;
+        }
+        int remaining = end - count;
+        if (remaining == 0 || parent == null) {
+            return remaining;
+        }
+        if (index < 0) {
+            if (other.charAt(remaining - 1) != '.') {
+                return -1;
+            }
+            remaining--;
+        }
+        return remaining == 0 ? 0 : parent.matchBackward(other, remaining);
+    }
+
+    /**
+     * Compares this path with another object, segment by segment.
+     *
+     * @param o the object to compare with
+     * @return true if {@code o} is a {@code PomPath} with the same segments
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PomPath)) {
+            return false;
+        }
+        PomPath other = (PomPath) o;
+        return depth == other.depth
+                && index == other.index
+                && segment == other.segment
+                && (parent == null || parent.equals(other.parent));
+    }
+
+    /**
+     * Computes a hash code from the segments of this path.
+     *
+     * @return the hash code of this path
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(parent, segment.id());
+    }
+
+    /**
+     * Renders this path as a string, for example {@code dependencies.dependency[0].version}.
+     *
+     * @return the rendered path
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        render(builder);
+        return builder.toString();
+    }
+
+    private void render(final StringBuilder builder) {
+        if (parent != null) {
+            parent.render(builder);
+            if (index < 0) {
+                builder.append('.');
+            }
+        }
+        builder.append(segment.name());
+    }
+}
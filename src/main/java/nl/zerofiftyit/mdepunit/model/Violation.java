@@ -0,0 +1,138 @@
+package nl.zerofiftyit.mdepunit.model;
+
+/**
+ * A violation of a check, captured as the references the check had at hand: the selected
+ * node, the argument of the check and the offending element, if any.
+ * <p>
+ * Nothing is formatted when a violation is created. Its message is rendered by
+ * {@link #getMessage()}, which only happens when a validation actually fails, so checks that
+ * are cleared or passed afterwards cost no string building. Instances of this class are
+ * immutable.
+ */
+@SuppressWarnings("LombokGetterMayBeUsed")
+public final class Violation {
+
+    private final String ruleId;
+    private final ViolationType type;
+    private final String selector;
+    private final String argument;
+    private final PomPath path;
+    private final Object value;
+
+    /**
+     * Constructs a new violation.
+     *
+     * @param ruleId the identifier of the rule in a rule set, or {@code null} for a fluent chain
+     * @param type the kind of violation
+     * @param selector the node the check selected from
+     * @param argument the tag name, value, property or module the check looked for
+     * @param path the path of the offending element, or {@code null} if none was found
+     * @param value the value of the offending element, or {@code null} if none was found
+     */
+    public Violation(final String ruleId, final ViolationType type, final String selector,
+                     final String argument, final PomPath path, final Object value) {
+        this.ruleId = ruleId;
+        this.type = type;
+        this.selector = selector;
+        this.argument = argument;
+        this.path = path;
+        this.value = value;
+    }
+
+    /**
+     * Creates a violation of a check that has no offending element, for example a required tag
+     * that is missing.
+     *
+     * @param type the kind of violation
+     * @param selector the node the check selected from
+     * @param argument the tag name, value, property or module the check looked for
+     * @return the violation
+     */
+    public static Violation of(final ViolationType type, final String selector,
+                               final String argument) {
+        return new Violation(null, type, selector, argument, null, null);
+    }
+
+    /**
+     * Creates a violation that consists of the given message only.
+     *
+     * @param message the message of the violation
+     * @return the violation
+     */
+    public static Violation message(final String message) {
+        return of(ViolationType.MESSAGE, null, message);
+    }
+
+    /**
+     * Retrieves the identifier of the rule that was violated.
+     *
+     * @return the identifier of the rule in a rule set, or {@code null} for a fluent chain
+     */
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * Retrieves the kind of violation.
+     *
+     * @return the type of the violation
+     */
+    public ViolationType getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the node the check selected from.
+     *
+     * @return the selector of the check
+     */
+    public String getSelector() {
+        return selector;
+    }
+
+    /**
+     * Retrieves the tag name, value, property or module the check looked for.
+     *
+     * @return the argument of the check
+     */
+    public String getArgument() {
+        return argument;
+    }
+
+    /**
+     * Retrieves the path of the offending element.
+     *
+     * @return the path, or {@code null} if the violation has no offending element
+     */
+    public PomPath getPath() {
+        return path;
+    }
+
+    /**
+     * Retrieves the value of the offending element, as it was parsed.
+     *
+     * @return the value, or {@code null} if the violation has no offending element
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Renders the message of this violation.
+     *
+     * @return the message, worded like the messages of the fluent analyzers
+     */
+    public String getMessage() {
+        return type.render(argument, selector, value, path);
+    }
+
+    /**
+     * Returns the message of this violation.
+     *
+     * @return the rendered message
+     */
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
@@ -0,0 +1,116 @@
+package nl.zerofiftyit.mdepunit.model;
+
+/**
+ * Defines the kinds of {@link Violation} a check can report, each with the wording of its
+ * message. The message is only formatted when the violation is rendered.
+ */
+public enum ViolationType {
+    /**
+     * A required tag was not found below the selected node.
+     */
+    TAG_REQUIRED("No %1$s found in %2$s where it is required"),
+
+    /**
+     * A disallowed tag was found below the selected node. Every offending element follows as a
+     * {@link #DISALLOWED_ELEMENT}.
+     */
+    TAG_NOT_ALLOWED("%1$s found in %2$s where it is not allowed. \nFound disallowed value: "),
+
+    /**
+     * An element carrying a disallowed tag.
+     */
+    DISALLOWED_ELEMENT("- %3$s"),
+
+    /**
+     * A required value was not found below the selected node.
+     */
+    VALUE_REQUIRED("Value '%1$s' not found in %2$s where it is required"),
+
+    /**
+     * A disallowed value was found below the selected node.
+     */
+    VALUE_NOT_ALLOWED("Value '%1$s' found in %2$s where it is not allowed"),
+
+    /**
+     * A required property was not found.
+     */
+    PROPERTY_REQUIRED("Required property '%1$s' not found"),
+
+    /**
+     * A disallowed property was found.
+     */
+    PROPERTY_NOT_ALLOWED("Property '%1$s' found where not allowed"),
+
+    /**
+     * A required dependency was not found in the selected section.
+     */
+    DEPENDENCY_REQUIRED("Dependency '%1$s' not found in %2$s where it is required"),
+
+    /**
+     * A disallowed dependency was found in the selected section.
+     */
+    DEPENDENCY_NOT_ALLOWED("Dependency '%1$s' found in %2$s where it is not allowed"),
+
+    /**
+     * A dependency was declared more than once in the selected section.
+     */
+    DUPLICATE_DEPENDENCY("Dependency '%1$s' declared more than once in %2$s, at %3$s and %4$s"),
+
+    /**
+     * A plugin was declared more than once in the selected section.
+     */
+    DUPLICATE_PLUGIN("Plugin '%1$s' declared more than once in %2$s, at %3$s and %4$s"),
+
+    /**
+     * No dependency or plugin was declared more than once, while a duplicate was expected.
+     */
+    DUPLICATE_REQUIRED("No duplicate %1$s found in %2$s where it is required"),
+
+    /**
+     * An artifact was found in the dependency graph with more than one version.
+     */
+    VERSION_CONFLICT("Versions %3$s of '%1$s' found in the dependency graph of %2$s"),
+
+    /**
+     * A disallowed artifact was found as a transitive dependency.
+     */
+    TRANSITIVE_NOT_ALLOWED("Transitive dependency '%1$s' found in the dependency graph of %2$s"
+            + " where it is not allowed, via %3$s"),
+
+    /**
+     * A cycle was found in the dependency graph.
+     */
+    CYCLE_NOT_ALLOWED("Dependency cycle found in the dependency graph of %2$s: %3$s"),
+
+    /**
+     * A version conflict, transitive dependency or cycle was expected in the dependency graph,
+     * but not found.
+     */
+    GRAPH_REQUIRED("No %1$s found in the dependency graph of %2$s where it is required"),
+
+    /**
+     * A required module directory or pom file was not found.
+     */
+    MODULE_REQUIRED("Module '%1$s' directory or pom file not found while expected"),
+
+    /**
+     * A disallowed module directory or pom file was found.
+     */
+    MODULE_NOT_ALLOWED("Module '%1$s' directory or pom file found, but not expected"),
+
+    /**
+     * A message that was given as text.
+     */
+    MESSAGE("%1$s");
+
+    private final String template;
+
+    ViolationType(final String template) {
+        this.template = template;
+    }
+
+    String render(final String argument, final String selector, final Object value,
+                  final PomPath path) {
+        return String.format(template, argument, selector, value, path);
+    }
+}
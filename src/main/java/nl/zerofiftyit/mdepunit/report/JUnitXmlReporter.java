@@ -0,0 +1,123 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import nl.zerofiftyit.mdepunit.core.rules.RuleResult;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSetResult;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a JUnit XML report: a {@code testsuite} per POM file, with a {@code testcase} per
+ * rule that holds a {@code failure} when the rule did not pass. A POM file that could not be
+ * read is a {@code testsuite} with a single {@code testcase} in error.
+ * <p>
+ * The counts of a {@code testsuite} are known once its POM file is evaluated, so every suite is
+ * written completely when it is reported; the enclosing {@code testsuites} carries no totals,
+ * which would only be known at the end.
+ */
+final class JUnitXmlReporter implements Reporter {
+
+    private static final XMLOutputFactory XML = XMLOutputFactory.newFactory();
+    private static final String TESTCASE = "testcase";
+    private static final String NEWLINE = "\n";
+
+    private final OutputStream out;
+    private final XMLStreamWriter xml;
+
+    JUnitXmlReporter(final OutputStream out) throws IOException {
+        this.out = out;
+        try {
+            this.xml = XML.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            xml.writeCharacters(NEWLINE);
+            xml.writeStartElement("testsuites");
+            xml.writeAttribute("name", "mDepUnit");
+            xml.writeCharacters(NEWLINE);
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot start JUnit XML report", e);
+        }
+    }
+
+    @Override
+    public void report(final String pomFile, final RuleSetResult result) throws IOException {
+        try {
+            startSuite(pomFile, result.getResults().size(), result.getFailures().size(), 0);
+            for (RuleResult rule : result.getResults()) {
+                startCase(pomFile, rule.getRule().getId());
+                if (!rule.isPassed()) {
+                    xml.writeStartElement("failure");
+                    xml.writeAttribute("type", rule.getViolations().get(0).getType().name());
+                    xml.writeAttribute("message", rule.getViolations().get(0).getMessage()
+                            .strip());
+                    xml.writeCharacters(rule.getMessage());
+                    xml.writeEndElement();
+                }
+                xml.writeEndElement();
+                xml.writeCharacters(NEWLINE);
+            }
+            endSuite();
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot report " + pomFile, e);
+        }
+    }
+
+    @Override
+    public void reportError(final String pomFile, final String error) throws IOException {
+        try {
+            startSuite(pomFile, 1, 0, 1);
+            startCase(pomFile, "read");
+            xml.writeStartElement("error");
+            xml.writeAttribute("message", error);
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeCharacters(NEWLINE);
+            endSuite();
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot report " + pomFile, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot complete JUnit XML report", e);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void startSuite(final String pomFile, final int tests, final int failures,
+                            final int errors) throws XMLStreamException {
+        xml.writeCharacters("  ");
+        xml.writeStartElement("testsuite");
+        xml.writeAttribute("name", pomFile);
+        xml.writeAttribute("tests", Integer.toString(tests));
+        xml.writeAttribute("failures", Integer.toString(failures));
+        xml.writeAttribute("errors", Integer.toString(errors));
+        xml.writeCharacters(NEWLINE);
+    }
+
+    private void startCase(final String pomFile, final String name) throws XMLStreamException {
+        xml.writeCharacters("    ");
+        xml.writeStartElement(TESTCASE);
+        xml.writeAttribute("classname", pomFile);
+        xml.writeAttribute("name", name);
+    }
+
+    private void endSuite() throws XMLStreamException, IOException {
+        xml.writeCharacters("  ");
+        xml.writeEndElement();
+        xml.writeCharacters(NEWLINE);
+        xml.flush();
+        out.flush();
+    }
+}
@@ -0,0 +1,82 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import nl.zerofiftyit.mdepunit.core.rules.RuleResult;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSetResult;
+import nl.zerofiftyit.mdepunit.model.Violation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a JSON Lines report: a line per rule and POM file,
+ * <pre>
+ * {"pom":"a/pom.xml","rule":"versions","passed":false,"violations":[{"type":"TAG_NOT_ALLOWED",
+ *     "message":"...","path":"dependencies.dependency[0].version","value":"1.0"}]}
+ * </pre>
+ * and a line {@code {"pom":"b/pom.xml","error":"..."}} per POM file that could not be read.
+ */
+final class JsonLinesReporter implements Reporter {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JsonGenerator json;
+
+    JsonLinesReporter(final OutputStream out) throws IOException {
+        this.json = JSON.createGenerator(out, JsonEncoding.UTF8);
+        this.json.setPrettyPrinter(new MinimalPrettyPrinter(""));
+    }
+
+    @Override
+    public void report(final String pomFile, final RuleSetResult result) throws IOException {
+        for (RuleResult rule : result.getResults()) {
+            json.writeStartObject();
+            json.writeStringField("pom", pomFile);
+            json.writeStringField("rule", rule.getRule().getId());
+            json.writeBooleanField("passed", rule.isPassed());
+            json.writeArrayFieldStart("violations");
+            for (Violation violation : rule.getViolations()) {
+                writeViolation(json, violation);
+            }
+            json.writeEndArray();
+            endLine();
+        }
+        json.flush();
+    }
+
+    @Override
+    public void reportError(final String pomFile, final String error) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("pom", pomFile);
+        json.writeStringField("error", error);
+        endLine();
+        json.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        json.close();
+    }
+
+    private void endLine() throws IOException {
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeViolation(final JsonGenerator json, final Violation violation)
+            throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", violation.getType().name());
+        json.writeStringField("message", violation.getMessage());
+        if (violation.getPath() != null) {
+            json.writeStringField("path", violation.getPath().toString());
+        }
+        if (violation.getValue() != null) {
+            json.writeStringField("value", String.valueOf(violation.getValue()));
+        }
+        json.writeEndObject();
+    }
+}
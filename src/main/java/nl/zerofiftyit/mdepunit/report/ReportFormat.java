@@ -0,0 +1,80 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import lombok.NonNull;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * The machine-readable formats a {@link Reporter} can write.
+ */
+public enum ReportFormat {
+
+    /**
+     * JSON Lines: one JSON object per rule and POM file, or per POM file that could not be read.
+     */
+    JSON_LINES("jsonl"),
+
+    /**
+     * JUnit XML: a {@code testsuite} per POM file with a {@code testcase} per rule, as read by
+     * most CI servers.
+     */
+    JUNIT_XML("junit"),
+
+    /**
+     * SARIF 2.1.0: a {@code result} per failed rule and POM file, as read by code scanning
+     * dashboards.
+     */
+    SARIF("sarif");
+
+    private final String shortName;
+
+    ReportFormat(final String shortName) {
+        this.shortName = shortName;
+    }
+
+    /**
+     * Looks up a format by its short name.
+     *
+     * @param name {@code jsonl}, {@code junit} or {@code sarif}, in any case
+     * @return the format with the given name
+     * @throws IllegalArgumentException if no format has the given name
+     */
+    public static ReportFormat of(@NonNull final String name) {
+        for (ReportFormat format : values()) {
+            if (format.shortName.equals(name.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown report format '" + name
+                + "', expected jsonl, junit or sarif");
+    }
+
+    /**
+     * Starts a report in this format. The reporter writes UTF-8 to the given stream and closes
+     * it when the reporter is closed.
+     *
+     * @param out the stream to write the report to
+     * @param ruleSet the rules whose results are reported, as SARIF describes them up front
+     * @return a reporter writing to the given stream
+     * @throws IOException if the start of the report cannot be written
+     */
+    public Reporter open(@NonNull final OutputStream out, @NonNull final RuleSet ruleSet)
+            throws IOException {
+        switch (this) {
+            case JSON_LINES:
+                return new JsonLinesReporter(out);
+            case JUNIT_XML:
+                return new JUnitXmlReporter(out);
+            default:
+                return new SarifReporter(out, ruleSet);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return shortName;
+    }
+}
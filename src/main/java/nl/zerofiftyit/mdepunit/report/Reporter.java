@@ -0,0 +1,37 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import nl.zerofiftyit.mdepunit.core.rules.RuleSetResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes the results of a rule set for one POM file after another, as they come in. Every
+ * result is written and flushed before the call returns and nothing is kept of it afterwards,
+ * so a report over thousands of POM files takes constant memory and can be read while it is
+ * being written.
+ * <p>
+ * Reporters are created by a {@link ReportFormat} and are not safe for concurrent use; the
+ * listener of a {@code PomScanner} is called one result at a time, so it can report directly.
+ * {@link #close()} completes the document and closes the stream written to.
+ */
+public interface Reporter extends Closeable {
+
+    /**
+     * Writes the result of all rules evaluated against a POM file.
+     *
+     * @param pomFile the POM file, as it should appear in the report
+     * @param result the result of every rule
+     * @throws IOException if the report cannot be written
+     */
+    void report(String pomFile, RuleSetResult result) throws IOException;
+
+    /**
+     * Writes that a POM file could not be read or parsed, so no rules were evaluated.
+     *
+     * @param pomFile the POM file, as it should appear in the report
+     * @param error the reason the file could not be evaluated
+     * @throws IOException if the report cannot be written
+     */
+    void reportError(String pomFile, String error) throws IOException;
+}
@@ -0,0 +1,135 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import nl.zerofiftyit.mdepunit.core.rules.Rule;
+import nl.zerofiftyit.mdepunit.core.rules.RuleResult;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSetResult;
+import nl.zerofiftyit.mdepunit.model.Violation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a SARIF 2.1.0 report with a single run. The rules of the rule set are described in
+ * the tool section up front, and the {@code results} array of the run stays open while POM
+ * files are reported: a {@code result} per rule that did not pass on a POM file, located at
+ * the POM file and at the paths of its violations. A POM file that could not be read is a
+ * {@code result} of the rule {@code mdepunit/pom-not-readable}, an id declared rules cannot
+ * use. {@link #close()} closes the array and the document.
+ */
+final class SarifReporter implements Reporter {
+
+    static final String NOT_READABLE = RuleSet.RESERVED_PREFIX + "pom-not-readable";
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final String VERSION = "2.1.0";
+    private static final String SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    private static final String INFORMATION_URI = "https://github.com/crittje-zerofifty/m-dep-unit";
+    private static final String LEVEL = "error";
+
+    private final JsonGenerator json;
+    private final Map<String, Integer> ruleIndexes = new HashMap<>();
+
+    SarifReporter(final OutputStream out, final RuleSet ruleSet) throws IOException {
+        this.json = JSON.createGenerator(out, JsonEncoding.UTF8);
+        json.writeStartObject();
+        json.writeStringField("$schema", SCHEMA);
+        json.writeStringField("version", VERSION);
+        json.writeArrayFieldStart("runs");
+        json.writeStartObject();
+        json.writeObjectFieldStart("tool");
+        json.writeObjectFieldStart("driver");
+        json.writeStringField("name", "mDepUnit");
+        json.writeStringField("informationUri", INFORMATION_URI);
+        json.writeArrayFieldStart("rules");
+        List<Rule> rules = ruleSet.getRules();
+        for (Rule rule : rules) {
+            writeRule(rule.getId(), rule.toString());
+        }
+        writeRule(NOT_READABLE, "The POM file can be read and parsed");
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndObject();
+        json.writeArrayFieldStart("results");
+        json.flush();
+    }
+
+    @Override
+    public void report(final String pomFile, final RuleSetResult result) throws IOException {
+        for (RuleResult failure : result.getFailures()) {
+            startResult(failure.getRule().getId(), String.join("\n", failure.getMessages()));
+            json.writeArrayFieldStart("locations");
+            json.writeStartObject();
+            writePhysicalLocation(pomFile);
+            json.writeArrayFieldStart("logicalLocations");
+            for (Violation violation : failure.getViolations()) {
+                if (violation.getPath() != null) {
+                    json.writeStartObject();
+                    json.writeStringField("fullyQualifiedName",
+                            violation.getPath().toString());
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.flush();
+    }
+
+    @Override
+    public void reportError(final String pomFile, final String error) throws IOException {
+        startResult(NOT_READABLE, error);
+        json.writeArrayFieldStart("locations");
+        json.writeStartObject();
+        writePhysicalLocation(pomFile);
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeEndObject();
+        json.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeEndObject();
+        json.close();
+    }
+
+    private void writeRule(final String id, final String description) throws IOException {
+        ruleIndexes.put(id, ruleIndexes.size());
+        json.writeStartObject();
+        json.writeStringField("id", id);
+        json.writeObjectFieldStart("shortDescription");
+        json.writeStringField("text", description);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private void startResult(final String ruleId, final String message) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("ruleId", ruleId);
+        json.writeNumberField("ruleIndex", ruleIndexes.get(ruleId));
+        json.writeStringField("level", LEVEL);
+        json.writeObjectFieldStart("message");
+        json.writeStringField("text", message);
+        json.writeEndObject();
+    }
+
+    private void writePhysicalLocation(final String pomFile) throws IOException {
+        json.writeObjectFieldStart("physicalLocation");
+        json.writeObjectFieldStart("artifactLocation");
+        json.writeStringField("uri", pomFile.replace('\\', '/'));
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Report package for the POM analysis tool.
+ * Contains reporters that write the results of rule sets to machine-readable formats, such as
+ * JSON Lines, JUnit XML and SARIF, while the POM files are evaluated.
+ */
+package nl.zerofiftyit.mdepunit.report;
@@ -0,0 +1,47 @@
+package nl.zerofiftyit.mdepunit.core.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The executor for file system bound work, such as checking whether modules exist and reading
+ * POM files from a local repository. Such work mostly waits for the disk, so it is run on more
+ * threads than there are processors, to keep the disk busy instead of a single thread.
+ * <p>
+ * This is the implementation for Java 21 and later, taken from the multi-release JAR: every
+ * task runs on a virtual thread of its own, so the number of concurrent reads is not bounded
+ * by a pool and waiting for the disk does not hold a platform thread. The system property
+ * {@code mdepunit.io.threads} only applies to the Java 11 implementation.
+ */
+public final class IoExecutor {
+
+    /**
+     * The name of the system property holding the number of threads of the bounded pool.
+     */
+    public static final String THREADS_PROPERTY = "mdepunit.io.threads";
+
+    private static final ExecutorService SHARED = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("mdepunit-io-", 1).factory());
+
+    private IoExecutor() {
+    }
+
+    /**
+     * Returns the executor shared by all file system bound work of the library. The executor is
+     * never shut down.
+     *
+     * @return the shared executor
+     */
+    public static ExecutorService shared() {
+        return SHARED;
+    }
+
+    /**
+     * Checks whether the tasks of the shared executor run on virtual threads.
+     *
+     * @return true, as this implementation runs every task on a virtual thread
+     */
+    public static boolean isVirtual() {
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+package nl.zerofiftyit.mdepunit.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class PomScanTest {
+
+    @TempDir
+    Path tree;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    void testFailedPomFilesAreReported() throws IOException {
+        Path rules = rules();
+        write("pom.xml", PomScannerTest.PASSING);
+        write("a/pom.xml", PomScannerTest.FAILING);
+        write("b/pom.xml", PomScannerTest.MALFORMED);
+
+        int exitCode = run("--rules", rules.toString(), "--threads", "2", tree.toString());
+
+        assertEquals(PomScan.FAILED, exitCode);
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("FAIL " + Path.of("a", "pom.xml") + System.lineSeparator()
+                + "  versions: version found in dependencies.dependency where it is not"
+                + " allowed."), output);
+        assertTrue(output.contains("ERROR " + Path.of("b", "pom.xml") + ": "), output);
+        assertFalse(output.contains("PASS"), output);
+        assertTrue(output.contains("Scanned 3 POM files in "), output);
+        assertEquals("", err.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testPassedPomFilesAreOnlyReportedWhenVerbose() throws IOException {
+        Path rules = rules();
+        write("pom.xml", PomScannerTest.PASSING);
+
+        int exitCode = run("--verbose", "--rules", rules.toString(), tree.toString());
+
+        assertEquals(PomScan.PASSED, exitCode);
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("PASS pom.xml"));
+    }
+
+    @Test
+    void testInvalidArgumentsPrintTheUsage() throws IOException {
+        Path rules = rules();
+
+        assertEquals(PomScan.INVALID, run(tree.toString()));
+        assertEquals(PomScan.INVALID, run("--rules", rules.toString(), "--threads"));
+        assertEquals(PomScan.INVALID, run("--rules", rules.toString(), "--threads", "x"));
+        assertEquals(PomScan.INVALID, run("--rules", rules.toString(), "--threads", "0"));
+        String errors = err.toString(StandardCharsets.UTF_8);
+        assertTrue(errors.startsWith("No rule file given" + System.lineSeparator()
+                + "Usage: PomScan --rules <file>"), errors);
+        assertTrue(errors.contains("Missing value of --threads"), errors);
+        assertEquals(PomScan.INVALID, run("--rules", rules.toString(),
+                tree.resolve("missing").toString()));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Cannot scan: "));
+    }
+
+    @Test
+    void testResultsAreWrittenToAReport() throws IOException {
+        Path rules = rules();
+        write("pom.xml", PomScannerTest.PASSING);
+        write("a/pom.xml", PomScannerTest.FAILING);
+        write("b/pom.xml", PomScannerTest.MALFORMED);
+        Path report = Files.createTempFile("report", ".jsonl");
+        report.toFile().deleteOnExit();
+
+        int exitCode = run("--rules", rules.toString(), "--format", "jsonl", "--output",
+                report.toString(), tree.toString());
+
+        assertEquals(PomScan.FAILED, exitCode);
+        List<String> lines = Files.readAllLines(report);
+        assertEquals(3, lines.size());
+        assertTrue(lines.contains("{\"pom\":\"pom.xml\",\"rule\":\"versions\",\"passed\":true,"
+                + "\"violations\":[]}"), lines.toString());
+        assertEquals(1, lines.stream().filter(line -> line.contains("\"error\":")).count());
+    }
+
+    @Test
+    void testAReportNeedsAFormatAndAnOutputFile() throws IOException {
+        Path rules = rules();
+
+        assertEquals(PomScan.INVALID, run("--rules", rules.toString(), "--format", "jsonl",
+                tree.toString()));
+        assertEquals(PomScan.INVALID, run("--rules", rules.toString(), "--output", "report",
+                tree.toString()));
+        assertEquals(PomScan.INVALID, run("--rules", rules.toString(), "--format", "html",
+                "--output", "report", tree.toString()));
+        String errors = err.toString(StandardCharsets.UTF_8);
+        assertTrue(errors.contains("No output file given for the jsonl report"), errors);
+        assertTrue(errors.contains("No report format given for report"), errors);
+        assertTrue(errors.contains("Unknown report format 'html'"), errors);
+        assertEquals(PomScan.INVALID, run("--rules", rules.toString(), "--format", "sarif",
+                "--output", tree.toString(), tree.toString()));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Cannot scan: "));
+    }
+
+    @Test
+    void testAReportThatCannotBeWrittenStopsTheScan() throws IOException {
+        Path full = Path.of("/dev/full");
+        assumeTrue(Files.isWritable(full));
+        Path rules = rules();
+        write("pom.xml", PomScannerTest.PASSING);
+
+        assertEquals(PomScan.INVALID, run("--rules", rules.toString(), "--format", "jsonl",
+                "--output", full.toString(), tree.toString()));
+        assertTrue(err.toString(StandardCharsets.UTF_8).startsWith("Cannot scan: "));
+    }
+
+    private int run(final String... args) {
+        return PomScan.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    private Path rules() throws IOException {
+        Path rules = Files.createTempFile("rules", ".txt");
+        rules.toFile().deleteOnExit();
+        Files.writeString(rules, "versions: checking(dependencies.dependency).shouldNot()"
+                + ".haveTag(version)\n");
+        return rules;
+    }
+
+    private void write(final String file, final String content) throws IOException {
+        Path path = tree.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+    }
+}
@@ -0,0 +1,165 @@
+package nl.zerofiftyit.mdepunit.cli;
+
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PomScannerTest {
+
+    static final String PASSING = "<project><dependencies><dependency><groupId>g</groupId>"
+            + "<artifactId>a</artifactId></dependency></dependencies></project>";
+    static final String FAILING = "<project><dependencies><dependency><groupId>g</groupId>"
+            + "<artifactId>a</artifactId><version>1</version></dependency></dependencies>"
+            + "</project>";
+    static final String MALFORMED = "<project><dependencies>";
+
+    private static final RuleSet RULES = RuleSet.builder()
+            .rule("versions").checking("dependencies.dependency").shouldNot().haveTag("version")
+            .build();
+
+    @TempDir
+    Path tree;
+
+    @Test
+    void testEveryPomFileOfTheTreeIsScanned() throws IOException {
+        write("pom.xml", PASSING);
+        write("a/pom.xml", FAILING);
+        write("a/other.xml", FAILING);
+        write("b/c/pom.xml", MALFORMED);
+        write("target/pom.xml", FAILING);
+        write(".git/pom.xml", FAILING);
+        write("node_modules/x/pom.xml", FAILING);
+        List<ScanResult> results = new ArrayList<>();
+
+        ScanSummary summary = new PomScanner(RULES, 4).scan(tree, results::add);
+
+        assertEquals(Set.of("pom.xml", "a/pom.xml", "b/c/pom.xml"), results.stream()
+                .map(result -> tree.relativize(result.getPomFile()).toString()
+                        .replace('\\', '/'))
+                .collect(Collectors.toSet()));
+        ScanResult failed = results.stream()
+                .filter(result -> result.getPomFile().endsWith("a/pom.xml"))
+                .findFirst().orElseThrow();
+        assertFalse(failed.isPassed());
+        assertFalse(failed.isError());
+        assertNull(failed.getError());
+        assertEquals("versions", failed.getResult().getFailures().get(0).getRule().getId());
+        ScanResult error = results.stream().filter(ScanResult::isError).findFirst()
+                .orElseThrow();
+        assertTrue(error.getPomFile().endsWith("b/c/pom.xml"));
+        assertNull(error.getResult());
+        assertFalse(error.isPassed());
+        assertEquals(3, summary.getFiles());
+        assertEquals(1, summary.getPassed());
+        assertEquals(1, summary.getFailed());
+        assertEquals(1, summary.getErrors());
+        assertFalse(summary.isPassed());
+        assertTrue(summary.getElapsedNanos() > 0);
+        assertTrue(summary.getFilesPerSecond() > 0);
+        assertTrue(summary.toString().startsWith("Scanned 3 POM files in "), summary.toString());
+        assertTrue(summary.toString().endsWith(": 1 passed, 1 failed, 1 errors"));
+    }
+
+    @Test
+    void testResultsArePassedOnOneAtATime() throws IOException {
+        for (int i = 0; i < 300; i++) {
+            write("module" + i + "/pom.xml", i % 10 == 0 ? FAILING : PASSING);
+        }
+        Set<Path> seen = new HashSet<>();
+
+        ScanSummary summary = new PomScanner(RULES, 8).scan(tree,
+                result -> assertTrue(seen.add(result.getPomFile())));
+
+        assertEquals(300, seen.size());
+        assertEquals(270, summary.getPassed());
+        assertEquals(30, summary.getFailed());
+    }
+
+    @Test
+    void testAFailingListenerStopsTheScan() throws IOException {
+        write("pom.xml", PASSING);
+        PomScanner testable = new PomScanner(RULES, 1);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> testable.scan(tree, result -> {
+                    throw new IllegalStateException("listener");
+                }));
+        assertEquals("listener", exception.getMessage());
+        assertThrows(AssertionError.class, () -> testable.scan(tree, result -> fail()));
+    }
+
+    @Test
+    void testOnlyDirectoriesCanBeScanned() throws IOException {
+        write("pom.xml", PASSING);
+        PomScanner testable = new PomScanner(RULES, 1);
+
+        assertThrows(NotDirectoryException.class,
+                () -> testable.scan(tree.resolve("pom.xml"), result -> { }));
+        assertThrows(NotDirectoryException.class,
+                () -> testable.scan(tree.resolve("missing"), result -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new PomScanner(RULES, 0));
+        assertEquals(0, new ScanSummary(0, 0, 0, 0).getFilesPerSecond());
+        assertTrue(new ScanSummary(1, 0, 0, 1).isPassed());
+        assertFalse(new ScanSummary(1, 0, 1, 1).isPassed());
+    }
+
+    @Test
+    @SuppressWarnings("DataFlowIssue")
+    void testNullArgumentsAreRejected() {
+        PomScanner testable = new PomScanner(RULES, 1);
+
+        assertThrows(NullPointerException.class, () -> new PomScanner(null, 1));
+        assertThrows(NullPointerException.class, () -> testable.scan(null, result -> { }));
+        assertThrows(NullPointerException.class, () -> testable.scan(tree, null));
+    }
+
+    @Test
+    void testAnInterruptedScanStops() throws Exception {
+        write("pom.xml", PASSING);
+        CountDownLatch reported = new CountDownLatch(1);
+        AtomicReference<Throwable> outcome = new AtomicReference<>();
+        Thread scan = new Thread(() -> {
+            try {
+                new PomScanner(RULES, 1).scan(tree, result -> {
+                    reported.countDown();
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (IOException e) {
+                outcome.set(e);
+            }
+        });
+        scan.start();
+        assertTrue(reported.await(10, TimeUnit.SECONDS));
+
+        scan.interrupt();
+        scan.join(10_000);
+
+        assertInstanceOf(InterruptedIOException.class, outcome.get());
+    }
+
+    private void write(final String file, final String content) throws IOException {
+        Path path = tree.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+    }
+}
@@ -0,0 +1,57 @@
+package nl.zerofiftyit.mdepunit.cli;
+
+import nl.zerofiftyit.mdepunit.core.rules.Rule;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleFileTest {
+
+    @Test
+    void testEveryLineDeclaresARule(@TempDir final Path directory) throws IOException {
+        Path file = directory.resolve("rules.txt");
+        Files.writeString(file, "# rules\n"
+                + "versions: checking(dependencies.dependency).shouldNot().haveTag(version)\n"
+                + "\n"
+                + "  snapshots :checking(dependencies).shouldNot().containValue(-SNAPSHOT)  \n"
+                + "java: checking(properties).should().equalsValue(17)\n"
+                + "encoding: should().haveProperty(project.build.sourceEncoding)\n");
+
+        RuleSet rules = RuleFile.read(file);
+
+        assertEquals(List.of(
+                "versions: checking(dependencies.dependency).shouldNot().HAVE_TAG(version)",
+                "snapshots: checking(dependencies).shouldNot().CONTAIN_VALUE(-SNAPSHOT)",
+                "java: checking(properties).should().EQUALS_VALUE(17)",
+                "encoding: checking().should().HAVE_PROPERTY(project.build.sourceEncoding)"),
+                rules.getRules().stream().map(Rule::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testALineThatIsNoRuleIsRejected() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> RuleFile.parse(List.of("# rules", "versions: haveTag(version)"),
+                        "rules.txt"));
+        assertEquals("Line 2 of rules.txt is not a rule: versions: haveTag(version)",
+                exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> RuleFile.parse(List.of(
+                "a: should().haveTag(x)", "a: should().haveTag(y)"), "rules.txt"));
+        assertThrows(IllegalArgumentException.class, () -> RuleFile.parse(List.of(
+                "mdepunit/pom-not-readable: should().haveTag(x)"), "rules.txt"));
+    }
+
+    @Test
+    @SuppressWarnings("DataFlowIssue")
+    void testNullArgumentsAreRejected() {
+        assertThrows(NullPointerException.class, () -> RuleFile.read(null));
+        assertThrows(NullPointerException.class, () -> RuleFile.parse(null, "rules.txt"));
+    }
+}
@@ -0,0 +1,104 @@
+package nl.zerofiftyit.mdepunit.core.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ResultCache testable;
+
+    @BeforeEach
+    void setUp() {
+        testable = new ResultCache(tempDir.resolve("results"), "1.0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(ResultCache.SYSTEM_PROPERTY);
+    }
+
+    @Test
+    void testARecordedPassIsAHit() {
+        assertFalse(testable.isPassed("hash", "checks"));
+
+        testable.recordPassed("hash", "checks");
+        testable.recordPassed("hash", "checks");
+
+        assertTrue(testable.isPassed("hash", "checks"));
+        assertTrue(new ResultCache(tempDir.resolve("results"), "1.0").isPassed("hash", "checks"));
+        assertEquals(1, testable.getHits());
+        assertEquals(1, testable.getMisses());
+        assertEquals(0, testable.getWriteFailures());
+        assertEquals("mDepUnit result cache: 1 hits, 1 misses", testable.toString());
+    }
+
+    @Test
+    void testAnotherPomChecksOrVersionIsAMiss() {
+        testable.recordPassed("hash", "checks");
+
+        assertFalse(testable.isPassed("other", "checks"));
+        assertFalse(testable.isPassed("hash", "other"));
+        assertFalse(new ResultCache(tempDir.resolve("results"), "2.0").isPassed("hash", "checks"));
+    }
+
+    @Test
+    void testAFailedWriteIsCounted() throws IOException {
+        Files.writeString(tempDir.resolve("file"), "");
+        ResultCache cache = new ResultCache(tempDir.resolve("file"), "1.0");
+
+        cache.recordPassed("hash", "checks");
+
+        assertEquals(1, cache.getWriteFailures());
+        assertFalse(cache.isPassed("hash", "checks"));
+    }
+
+    @Test
+    void testTheCacheIsOnlyConfiguredForAVersionedLibrary() {
+        assertNull(ResultCache.configured());
+        System.setProperty(ResultCache.SYSTEM_PROPERTY, " ");
+        assertNull(ResultCache.configured("1.0"));
+
+        System.setProperty(ResultCache.SYSTEM_PROPERTY, tempDir.toString());
+
+        assertNull(ResultCache.configured(null));
+        assertNotNull(ResultCache.configured("1.0"));
+        assertSame(ResultCache.configured("1.0"), ResultCache.configured("1.0"));
+    }
+
+    @Test
+    void testTheCacheIsNotConfiguredForASnapshotLibrary() {
+        System.setProperty(ResultCache.SYSTEM_PROPERTY, tempDir.toString());
+
+        assertNull(ResultCache.configured("0.0.1-SNAPSHOT"));
+        assertNotNull(ResultCache.configured("0.0.1"));
+    }
+
+    @Test
+    void testTheSummaryIsOnlyPrintedWhenTheCacheWasUsed() {
+        PrintStream out = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed));
+        try {
+            testable.printSummary();
+            testable.isPassed("hash", "checks");
+            testable.printSummary();
+        } finally {
+            System.setOut(out);
+        }
+
+        assertEquals("mDepUnit result cache: 0 hits, 1 misses", printed.toString().trim());
+    }
+}
@@ -0,0 +1,19 @@
+package nl.zerofiftyit.mdepunit.core.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// runs in the java21 profile against the packaged multi-release JAR
+class IoExecutorIT {
+
+    @Test
+    void testTheJava21ImplementationRunsTasksOnVirtualThreads() throws Exception {
+        Thread thread = IoExecutor.shared().submit(Thread::currentThread).get();
+
+        assertTrue(IoExecutor.isVirtual());
+        assertTrue(thread.isDaemon());
+        assertTrue(thread.getName().startsWith("mdepunit-io-"));
+        assertSame(IoExecutor.shared(), IoExecutor.shared());
+    }
+}
@@ -0,0 +1,76 @@
+package nl.zerofiftyit.mdepunit.core.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IoExecutorTest {
+
+    @Test
+    void testTasksRunConcurrentlyOnDaemonThreads() throws Exception {
+        int tasks = 4;
+        CountDownLatch started = new CountDownLatch(tasks);
+        List<Callable<Thread>> waiting = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            waiting.add(() -> {
+                started.countDown();
+                // only returns when all tasks run at the same time
+                assertTrue(started.await(10, TimeUnit.SECONDS));
+                return Thread.currentThread();
+            });
+        }
+
+        for (Future<Thread> result : IoExecutor.create(tasks).invokeAll(waiting)) {
+            assertTrue(result.get().isDaemon());
+            assertTrue(result.get().getName().startsWith("mdepunit-io-"));
+        }
+        assertSame(IoExecutor.shared(), IoExecutor.shared());
+        assertFalse(IoExecutor.isVirtual());
+    }
+
+    @Test
+    void testThePoolIsBounded() throws Exception {
+        ExecutorService executor = IoExecutor.create(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger most = new AtomicInteger();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            tasks.add(() -> {
+                most.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                return running.decrementAndGet();
+            });
+        }
+
+        executor.invokeAll(tasks);
+
+        assertTrue(most.get() <= 2);
+        executor.shutdown();
+    }
+
+    @Test
+    void testTheNumberOfThreadsIsConfigurable() {
+        String previous = System.getProperty(IoExecutor.THREADS_PROPERTY);
+        try {
+            System.setProperty(IoExecutor.THREADS_PROPERTY, "3");
+            assertEquals(3, IoExecutor.threads());
+            System.setProperty(IoExecutor.THREADS_PROPERTY, "0");
+            assertEquals(1, IoExecutor.threads());
+            System.clearProperty(IoExecutor.THREADS_PROPERTY);
+            assertEquals(Runtime.getRuntime().availableProcessors() * 4, IoExecutor.threads());
+        } finally {
+            if (previous != null) {
+                System.setProperty(IoExecutor.THREADS_PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package nl.zerofiftyit.mdepunit.core.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    @Test
+    void testEveryStronglyConnectedComponentIsACycle() {
+        Map<String, GraphNode> nodes = new LinkedHashMap<>();
+        GraphNode root = node(nodes, "root", null);
+        GraphNode a = node(nodes, "a", root);
+        GraphNode b = node(nodes, "b", a);
+        GraphNode c = node(nodes, "c", b);
+        GraphNode self = node(nodes, "self", root);
+        GraphNode leaf = node(nodes, "leaf", c);
+        link(root, a, self);
+        link(a, b);
+        link(b, c, leaf);
+        link(c, a);
+        link(self, self);
+
+        DependencyGraph graph = new DependencyGraph(root, nodes);
+
+        assertEquals(List.of(List.of("g:a:1", "g:b:1", "g:c:1"), List.of("g:self:1")),
+                graph.getCycles().stream()
+                        .map(cycle -> cycle.stream().map(GraphNode::getKey)
+                                .collect(Collectors.toList()))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testDeepGraphsDoNotOverflowTheStack() {
+        int length = 100_000;
+        Map<String, GraphNode> nodes = new LinkedHashMap<>();
+        GraphNode root = node(nodes, "root", null);
+        GraphNode previous = root;
+        for (int i = 0; i < length; i++) {
+            GraphNode node = node(nodes, "n" + i, previous);
+            link(previous, node);
+            previous = node;
+        }
+        link(previous, nodes.get("g:n0:1"));
+
+        List<List<GraphNode>> cycles = new DependencyGraph(root, nodes).getCycles();
+
+        assertEquals(1, cycles.size());
+        assertEquals(length, cycles.get(0).size());
+        assertEquals("g:n0:1", cycles.get(0).get(0).getKey());
+        assertEquals(length, previous.getDepth());
+        assertEquals(length + 1, previous.getPath().size());
+    }
+
+    private static GraphNode node(final Map<String, GraphNode> nodes, final String artifactId,
+                                  final GraphNode via) {
+        GraphNode node = new GraphNode("g", artifactId, "1", via);
+        nodes.put(node.getKey(), node);
+        return node;
+    }
+
+    private static void link(final GraphNode from, final GraphNode... to) {
+        for (GraphNode node : to) {
+            from.addDependency(node);
+        }
+    }
+}
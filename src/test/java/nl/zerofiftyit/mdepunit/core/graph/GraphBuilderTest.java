@@ -0,0 +1,264 @@
+package nl.zerofiftyit.mdepunit.core.graph;
+
+import nl.zerofiftyit.mdepunit.core.parse.ParentResolver;
+import nl.zerofiftyit.mdepunit.core.parse.PomCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphBuilderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path repository;
+    private PomCache cache;
+    private GraphBuilder testable;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = tempDir.resolve("repository");
+        cache = new PomCache(256);
+        testable = new GraphBuilder(new ParentResolver(repository, cache), new ForkJoinPool(4));
+
+        artifact("g", "parent", "1", "<dependencyManagement><dependencies>"
+                + dependency("g", "c", "1", "") + "</dependencies></dependencyManagement>");
+        artifact("g", "a", "1", "<parent><groupId>g</groupId><artifactId>parent</artifactId>"
+                + "<version>1</version></parent><dependencies>"
+                + dependency("g", "c", null, "")
+                + dependency("g", "optional", "1", "<optional>true</optional>")
+                + dependency("g", "tested", "1", "<scope>test</scope>")
+                + dependency("commons-logging", "commons-logging", "1.2", "")
+                + "</dependencies>");
+        artifact("g", "b", "1", "<dependencies>"
+                + dependency("g", "c", "2", "<scope>runtime</scope>")
+                + dependency("g", "x", "1", "<exclusions><exclusion>"
+                + "<groupId>commons-logging</groupId><artifactId>*</artifactId>"
+                + "</exclusion></exclusions>")
+                + "</dependencies>");
+        artifact("g", "c", "1", "<dependencies>" + dependency("g", "a", "1", "")
+                + "</dependencies>");
+        artifact("g", "c", "2", "");
+        artifact("commons-logging", "commons-logging", "1.2", "");
+        artifact("g", "x", "1", "<dependencies>"
+                + dependency("commons-logging", "commons-logging", "1.1", "")
+                + "</dependencies>");
+    }
+
+    @Test
+    void testTheTransitiveGraphIsBuiltFromTheLocalRepository() throws IOException {
+        DependencyGraph graph = testable.build(root("").toString());
+
+        assertEquals("g:app:1.0", graph.getRoot().getKey());
+        assertEquals(List.of("g:app:1.0", "g:a:1", "g:b:1", "g:t:1", "g:c:1",
+                        "commons-logging:commons-logging:1.2", "g:c:2", "g:x:1"),
+                keys(List.copyOf(graph.getNodes())));
+        assertEquals(List.of("g:c:1", "commons-logging:commons-logging:1.2"),
+                keys(graph.getNode("g:a:1").getDependencies()));
+        assertEquals(List.of("g:t:1"), keys(graph.getUnresolved()));
+        assertEquals(2, graph.getNode("g:c:1").getDepth());
+        assertEquals(List.of("g:app:1.0", "g:a:1", "g:c:1"),
+                keys(graph.getNode("g:c:1").getPath()));
+        assertNull(graph.getNode("g:optional:1"));
+        assertNull(graph.getNode("commons-logging:commons-logging:1.1"));
+        assertEquals(8, graph.size());
+        assertEquals("DependencyGraph{root=g:app:1.0, nodes=8}", graph.toString());
+    }
+
+    @Test
+    void testConflictsBannedArtifactsAndCyclesAreFound() throws IOException {
+        DependencyGraph graph = testable.build(root("").toString());
+
+        Map<String, List<GraphNode>> conflicts = graph.getVersionConflicts();
+        assertEquals(List.of("g:c"), List.copyOf(conflicts.keySet()));
+        assertEquals(List.of("g:c:1", "g:c:2"), keys(conflicts.get("g:c")));
+        assertEquals(List.of("commons-logging:commons-logging:1.2"),
+                keys(graph.findTransitive("commons-logging:commons-logging")));
+        assertTrue(graph.findTransitive("g:a").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> graph.findTransitive("g:a:1"));
+        assertThrows(IllegalArgumentException.class, () -> graph.findTransitive("g"));
+        assertEquals(List.of(List.of("g:a:1", "g:c:1")),
+                graph.getCycles().stream().map(GraphBuilderTest::keys)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testTheManagementOfTheRootDecidesTransitiveVersions() throws IOException {
+        artifact("g", "c", "3", "");
+        DependencyGraph graph = testable.build(root("<dependencyManagement><dependencies>"
+                + dependency("g", "c", "${c.version}", "")
+                + "</dependencies></dependencyManagement>").toString());
+
+        assertTrue(graph.getVersionConflicts().isEmpty());
+        assertNotNull(graph.getNode("g:c:3"));
+        assertTrue(graph.getCycles().isEmpty());
+    }
+
+    @Test
+    void testPomFilesAreReadOnceForAllGraphs() throws IOException {
+        testable.build(root("").toString());
+        long misses = cache.getMisses();
+        int artifacts = testable.size();
+
+        DependencyGraph graph = testable.build(root("").toString());
+
+        assertEquals(8, graph.size());
+        assertEquals(artifacts, testable.size());
+        assertEquals(misses, cache.getMisses());
+        assertTrue(testable.toString().contains("artifacts=" + artifacts));
+    }
+
+    @Test
+    void testDependenciesWithoutKnownVersionAreLeftOut() throws IOException {
+        DependencyGraph graph = testable.build(root("", dependency("g", "unknown", null, "")
+                + dependency("g", "property", "${missing}", "")).toString());
+
+        assertEquals(List.of("g:app:1.0"), keys(List.copyOf(graph.getNodes())));
+        assertTrue(graph.getCycles().isEmpty());
+    }
+
+    @Test
+    void testManagedScopesAndWildcardExclusionsApply() throws IOException {
+        artifact("m", "lib", "1", "<dependencyManagement><dependencies>"
+                + dependency("m", "managed-test", "1", "<scope>test</scope>")
+                + dependency("m", "managed-plain", "1", "")
+                + "</dependencies></dependencyManagement><dependencies>"
+                + dependency("m", "managed-test", null, "")
+                + dependency("m", "managed-plain", null, "")
+                + dependency("x", "any", "1", "")
+                + dependency("y", "excluded", "1", "")
+                + dependency("z", "kept", "1", "")
+                + "</dependencies>");
+        DependencyGraph graph = testable.build(root("", dependency("m", "lib", "1",
+                "<exclusions><exclusion><groupId>x</groupId><artifactId>*</artifactId>"
+                        + "</exclusion><exclusion><groupId>*</groupId>"
+                        + "<artifactId>excluded</artifactId></exclusion></exclusions>"))
+                .toString());
+
+        assertEquals(List.of("m:managed-plain:1", "z:kept:1"),
+                keys(graph.getNode("m:lib:1").getDependencies()));
+        assertEquals(List.of("m:managed-plain:1", "z:kept:1"), keys(graph.getUnresolved()));
+
+        graph = testable.build(root("", dependency("m", "lib", "1", "<exclusions><exclusion>"
+                + "<groupId>*</groupId><artifactId>*</artifactId></exclusion></exclusions>"))
+                .toString());
+        assertTrue(graph.getNode("m:lib:1").getDependencies().isEmpty());
+    }
+
+    @Test
+    void testAMalformedPomFileFailsTheBuild() throws IOException {
+        Path broken = repository.resolve("g/a/1/a-1.pom");
+        Files.writeString(broken, "<project>");
+
+        assertThrows(IOException.class, () -> testable.build(root("").toString()));
+    }
+
+    @Test
+    void testAnUnreadablePomFileFailsTheBuildOnADirectExecutor() throws IOException {
+        Files.writeString(repository.resolve("g/a/1/a-1.pom"), "<project>");
+        GraphBuilder builder = new GraphBuilder(new ParentResolver(repository, cache),
+                Runnable::run);
+
+        assertThrows(IOException.class, () -> builder.build(root("").toString()));
+        assertThrows(IOException.class, () -> builder.build(root("").toString()));
+        assertEquals(2, builder.size());
+
+        GraphBuilder rejecting = new GraphBuilder(new ParentResolver(repository, cache),
+                command -> {
+                    throw new RejectedExecutionException();
+                });
+        assertThrows(CompletionException.class, () -> rejecting.build(root("").toString()));
+        assertEquals(0, rejecting.size());
+    }
+
+    @Test
+    void testALocalRepositoryIsRequired() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GraphBuilder(new ParentResolver(null)));
+        assertThrows(NullPointerException.class, () -> new GraphBuilder(null));
+        String previous = System.getProperty(ParentResolver.SYSTEM_PROPERTY);
+        try {
+            System.clearProperty(ParentResolver.SYSTEM_PROPERTY);
+            assertThrows(IllegalStateException.class, GraphBuilder::configured);
+            System.setProperty(ParentResolver.SYSTEM_PROPERTY, repository.toString());
+            assertSame(GraphBuilder.configured(), GraphBuilder.configured());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(ParentResolver.SYSTEM_PROPERTY);
+            } else {
+                System.setProperty(ParentResolver.SYSTEM_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    void testLargeGraphsReadEveryArtifactOnce() throws IOException {
+        int width = 600;
+        StringBuilder dependencies = new StringBuilder();
+        for (int i = 0; i < width; i++) {
+            artifact("wide", "n" + i, "1", "<dependencies>"
+                    + dependency("wide", "common", "1", "") + "</dependencies>");
+            dependencies.append(dependency("wide", "n" + i, "1", ""));
+        }
+        artifact("wide", "common", "1", "");
+        GraphBuilder builder = new GraphBuilder(new ParentResolver(repository,
+                new PomCache(width * 2)));
+
+        DependencyGraph graph = builder.build(root("", dependencies.toString()).toString());
+
+        assertEquals(width + 2, graph.size());
+        assertEquals(width + 1, builder.size());
+        assertEquals(2, graph.getNode("wide:common:1").getDepth());
+        assertTrue(graph.getUnresolved().isEmpty());
+        assertTrue(graph.getCycles().isEmpty());
+    }
+
+    private Path root(final String content) throws IOException {
+        return root(content, dependency("g", "a", "1", "")
+                + dependency("g", "b", "${b.version}", "")
+                + dependency("g", "t", "1", "<scope>test</scope>")
+                + dependency("g", "sys", "1", "<scope>system</scope>"));
+    }
+
+    private Path root(final String content, final String dependencies) throws IOException {
+        Path root = tempDir.resolve("pom.xml");
+        Files.writeString(root, "<project><groupId>g</groupId><artifactId>app</artifactId>"
+                + "<version>1.0</version><properties><b.version>1</b.version>"
+                + "<c.version>3</c.version></properties>" + content
+                + "<dependencies>" + dependencies + "</dependencies></project>");
+        return root;
+    }
+
+    private void artifact(final String groupId, final String artifactId, final String version,
+                          final String content) throws IOException {
+        Path pom = repository.resolve(groupId).resolve(artifactId).resolve(version)
+                .resolve(artifactId + "-" + version + ".pom");
+        Files.createDirectories(pom.getParent());
+        Files.writeString(pom, "<project><groupId>" + groupId + "</groupId><artifactId>"
+                + artifactId + "</artifactId><version>" + version + "</version>" + content
+                + "</project>");
+    }
+
+    private static String dependency(final String groupId, final String artifactId,
+                                     final String version, final String content) {
+        return "<dependency><groupId>" + groupId + "</groupId><artifactId>" + artifactId
+                + "</artifactId>" + (version == null ? "" : "<version>" + version + "</version>")
+                + content + "</dependency>";
+    }
+
+    private static List<String> keys(final List<GraphNode> nodes) {
+        return nodes.stream().map(GraphNode::getKey).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,172 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.Dependency;
+import nl.zerofiftyit.mdepunit.model.DependencyScope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyIndexTest {
+
+    private static final String POM = "<project>\n"
+            + "  <dependencyManagement><dependencies>\n"
+            + "    <dependency><groupId>org.junit</groupId><artifactId>junit-bom</artifactId>"
+            + "<version>5.10.0</version><type>pom</type><scope>import</scope></dependency>\n"
+            + "  </dependencies></dependencyManagement>\n"
+            + "  <dependencies>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId>"
+            + "<version>1.0</version></dependency>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId>"
+            + "<classifier>tests</classifier><type>test-jar</type><scope>test</scope>"
+            + "<optional>true</optional></dependency>\n"
+            + "  </dependencies>\n"
+            + "  <build><plugins><plugin><artifactId>p</artifactId><dependencies>"
+            + "<dependency><groupId>g</groupId><artifactId>plugin-only</artifactId></dependency>"
+            + "</dependencies></plugin></plugins></build>\n"
+            + "</project>";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDependenciesAreFoundByCoordinates() throws IOException {
+        for (ParserEngine engine : ParserEngine.values()) {
+            DependencyIndex testable = index(POM, engine);
+
+            assertEquals(2, testable.find("g:a").size());
+            assertEquals(1, testable.find("g:a::jar").size());
+            assertEquals(1, testable.find("g:a:tests:test-jar").size());
+            assertTrue(testable.find("g:a:tests:jar").isEmpty());
+            assertTrue(testable.find("g:plugin-only").isEmpty());
+            assertTrue(testable.find("org.junit:junit-bom").isEmpty());
+            assertEquals(1, testable.findManaged("org.junit:junit-bom::pom").size());
+            assertTrue(testable.findManaged("g:a").isEmpty());
+        }
+    }
+
+    @Test
+    void testDependenciesKeepTheirDeclaration() throws IOException {
+        DependencyIndex testable = index(POM, ParserEngine.JACKSON);
+
+        Dependency main = testable.getDependencies().get(0);
+        Dependency tests = testable.getDependencies().get(1);
+        Dependency bom = testable.getManagedDependencies().get(0);
+
+        assertEquals("g:a::jar:1.0", main.toString());
+        assertEquals("dependencies.dependency[0]", main.getPath().toString());
+        assertNull(main.getScope());
+        assertFalse(main.isOptional());
+        assertFalse(main.isManaged());
+        assertEquals("g:a:tests:test-jar", tests.toString());
+        assertEquals("test", tests.getScope());
+        assertTrue(tests.isOptional());
+        assertEquals("g", tests.getGroupId());
+        assertEquals("a", tests.getArtifactId());
+        assertEquals("tests", tests.getClassifier());
+        assertEquals("test-jar", tests.getType());
+        assertNull(tests.getVersion());
+        assertTrue(bom.isManaged());
+        assertEquals("5.10.0", bom.getVersion());
+        assertEquals("dependencyManagement.dependencies.dependency", bom.getPath().toString());
+    }
+
+    @Test
+    void testDependenciesArePartitionedByScope() throws IOException {
+        DependencyIndex testable = index(POM.replace("<dependencies>\n",
+                "<dependencies>\n    <dependency><groupId>g</groupId><artifactId>s</artifactId>"
+                        + "<scope> System </scope></dependency>\n"
+                        + "    <dependency><groupId>g</groupId><artifactId>p</artifactId>"
+                        + "<scope>${scope}</scope></dependency>\n"), ParserEngine.STAX);
+
+        assertEquals(List.of("g:a::jar:1.0"), keys(testable.getDependencies(
+                DependencyScope.COMPILE)));
+        assertEquals(List.of("g:a:tests:test-jar"), keys(testable.getDependencies(
+                DependencyScope.TEST)));
+        assertEquals(List.of("g:s::jar"), keys(testable.getDependencies(
+                DependencyScope.SYSTEM)));
+        assertTrue(testable.getDependencies(DependencyScope.PROVIDED).isEmpty());
+        assertEquals(4, testable.getDependencies().size());
+        assertEquals(DependencyScope.SYSTEM, testable.find("g:s").get(0).getDependencyScope());
+        assertNull(testable.find("g:p").get(0).getDependencyScope());
+        assertEquals(1, testable.find("g:a", DependencyScope.TEST).size());
+        assertTrue(testable.find("g:a:tests:test-jar", DependencyScope.COMPILE).isEmpty());
+        assertEquals(1, testable.getManagedDependencies(DependencyScope.IMPORT).size());
+        assertEquals(1, testable.findManaged("org.junit:junit-bom", DependencyScope.IMPORT)
+                .size());
+        assertTrue(testable.findManaged("org.junit:junit-bom", DependencyScope.COMPILE)
+                .isEmpty());
+    }
+
+    @Test
+    void testExclusionsAreKeptAsCoordinates() throws IOException {
+        DependencyIndex testable = index("<project><dependencies>"
+                + "<dependency><groupId>g</groupId><artifactId>one</artifactId><exclusions>"
+                + "<exclusion><groupId>x</groupId><artifactId>*</artifactId></exclusion>"
+                + "</exclusions></dependency>"
+                + "<dependency><groupId>g</groupId><artifactId>two</artifactId><exclusions>"
+                + "<exclusion><groupId>x</groupId><artifactId>y</artifactId></exclusion>"
+                + "<exclusion><groupId>*</groupId><artifactId>*</artifactId></exclusion>"
+                + "</exclusions></dependency>"
+                + "<dependency><groupId>g</groupId><artifactId>none</artifactId>"
+                + "<exclusions><other/></exclusions></dependency>"
+                + "</dependencies></project>", ParserEngine.JACKSON);
+
+        assertEquals(List.of("x:*"), testable.find("g:one").get(0).getExclusions());
+        assertEquals(List.of("x:y", "*:*"), testable.find("g:two").get(0).getExclusions());
+        assertTrue(testable.find("g:none").get(0).getExclusions().isEmpty());
+    }
+
+    @Test
+    void testTheIndexCannotBeModified() throws IOException {
+        DependencyIndex testable = index(POM, ParserEngine.JACKSON);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> testable.getDependencies().clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> testable.getManagedDependencies().clear());
+        assertThrows(UnsupportedOperationException.class, () -> testable.find("g:a").clear());
+    }
+
+    @Test
+    void testCoordinatesNeedTwoOrFourParts() throws IOException {
+        DependencyIndex testable = index("<project/>", ParserEngine.JACKSON);
+
+        for (String coordinates : List.of("g", "g:a:b", "g:a:b:c:d")) {
+            assertThrows(IllegalArgumentException.class, () -> testable.find(coordinates));
+            assertThrows(IllegalArgumentException.class,
+                    () -> DependencyIndex.requireCoordinates(coordinates));
+        }
+        assertEquals("g:a", DependencyIndex.requireCoordinates("g:a"));
+        assertTrue(testable.getDependencies().isEmpty());
+    }
+
+    @Test
+    void testTheIndexOfACachedPomIsShared() throws IOException {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, POM);
+        CachedPom cached = new PomCache(1).get(pom.toString());
+
+        assertSame(cached.getDependencyIndex(), cached.getDependencyIndex());
+        assertEquals(List.of("g:a::jar:1.0", "g:a:tests:test-jar"),
+                cached.getDependencyIndex().getDependencies().stream()
+                        .map(Dependency::toString).collect(Collectors.toList()));
+    }
+
+    private static List<String> keys(final List<Dependency> dependencies) {
+        return dependencies.stream().map(Dependency::toString).collect(Collectors.toList());
+    }
+
+    private DependencyIndex index(final String content, final ParserEngine engine)
+            throws IOException {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, content);
+        return DependencyIndex.of(new PomReader(pom.toString(), engine).getElements());
+    }
+}
@@ -0,0 +1,95 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.Duplicate;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicatesTest {
+
+    private static final String POM = "<project>\n"
+            + "  <dependencies>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId></dependency>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId>"
+            + "<classifier>tests</classifier></dependency>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId>"
+            + "<type>jar</type><version>2</version></dependency>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId></dependency>\n"
+            + "  </dependencies>\n"
+            + "  <build>\n"
+            + "    <pluginManagement><plugins>\n"
+            + "      <plugin><artifactId>maven-jar-plugin</artifactId></plugin>\n"
+            + "    </plugins></pluginManagement>\n"
+            + "    <plugins>\n"
+            + "      <plugin><artifactId>maven-jar-plugin</artifactId></plugin>\n"
+            + "      <plugin><groupId>org.apache.maven.plugins</groupId>"
+            + "<artifactId>maven-jar-plugin</artifactId></plugin>\n"
+            + "      <plugin><groupId>other</groupId>"
+            + "<artifactId>maven-jar-plugin</artifactId></plugin>\n"
+            + "    </plugins>\n"
+            + "  </build>\n"
+            + "</project>";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRepeatedDependenciesAreFoundWithBothPositions() throws IOException {
+        for (ParserEngine engine : ParserEngine.values()) {
+            List<Duplicate> duplicates = Duplicates.ofDependencies(
+                    DependencyIndex.of(elements(POM, engine)).getDependencies());
+
+            assertEquals(List.of(
+                    "g:a::jar at dependencies.dependency[0] and dependencies.dependency[2]",
+                    "g:a::jar at dependencies.dependency[0] and dependencies.dependency[3]"),
+                    render(duplicates), engine.name());
+        }
+    }
+
+    @Test
+    void testRepeatedPluginsAreFoundPerSection() throws IOException {
+        for (ParserEngine engine : ParserEngine.values()) {
+            assertEquals(List.of("org.apache.maven.plugins:maven-jar-plugin at "
+                            + "build.plugins.plugin[0] and build.plugins.plugin[1]"),
+                    render(Duplicates.ofPlugins(elements(POM, engine), false)), engine.name());
+            assertTrue(Duplicates.ofPlugins(elements(POM, engine), true).isEmpty());
+        }
+    }
+
+    @Test
+    void testThousandsOfDeclarationsAreCheckedInOnePass() throws IOException {
+        StringBuilder pom = new StringBuilder("<project><dependencies>");
+        for (int i = 0; i < 5_000; i++) {
+            pom.append("<dependency><groupId>g</groupId><artifactId>a").append(i % 4_000)
+                    .append("</artifactId></dependency>");
+        }
+        pom.append("</dependencies></project>");
+
+        List<Duplicate> duplicates = Duplicates.ofDependencies(
+                DependencyIndex.of(elements(pom.toString(), ParserEngine.STAX))
+                        .getDependencies());
+
+        assertEquals(1_000, duplicates.size());
+        assertEquals("g:a0::jar at dependencies.dependency[0] and dependencies.dependency[4000]",
+                duplicates.get(0).toString());
+    }
+
+    private static List<String> render(final List<Duplicate> duplicates) {
+        return duplicates.stream().map(Duplicate::toString).collect(Collectors.toList());
+    }
+
+    private List<PomElement> elements(final String content, final ParserEngine engine)
+            throws IOException {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, content);
+        return new PomReader(pom.toString(), engine).getElements();
+    }
+}
@@ -0,0 +1,243 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.PomPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElementStoreTest {
+
+    private static final String POM = "<project>\n"
+            + "  <modelVersion>4.0.0</modelVersion>\n"
+            + "  <properties><java.version>11</java.version><empty/></properties>\n"
+            + "  <modules><module>a</module><module>b</module></modules>\n"
+            + "  <dependencies>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId></dependency>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>b</artifactId>"
+            + "<scope>test</scope></dependency>\n"
+            + "  </dependencies>\n"
+            + "  <description lang=\"en\">A project é</description>\n"
+            + "</project>";
+
+    @TempDir
+    Path tempDir;
+
+    private Path storeDirectory;
+    private Path pomPath;
+    private ElementStore testable;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storeDirectory = tempDir.resolve("store");
+        pomPath = tempDir.resolve("pom.xml");
+        Files.writeString(pomPath, POM);
+        testable = new ElementStore(storeDirectory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(ElementStore.SYSTEM_PROPERTY);
+    }
+
+    @Test
+    void testStoredElementsEqualTheParsedElements() throws IOException {
+        for (ParserEngine engine : ParserEngine.values()) {
+            List<PomElement> parsed = testable.read(pomPath.toString(), engine).getElements();
+
+            List<PomElement> stored = new ElementStore(storeDirectory)
+                    .read(pomPath.toString(), engine).getElements();
+
+            assertEquals(parsed.size(), stored.size());
+            for (int i = 0; i < parsed.size(); i++) {
+                assertEquals(parsed.get(i).getPomPath(), stored.get(i).getPomPath());
+                assertEquals(parsed.get(i).getValue(), stored.get(i).getValue());
+            }
+        }
+    }
+
+    @Test
+    void testTheProjectPomIsStoredWithoutLoss() throws IOException {
+        for (ParserEngine engine : ParserEngine.values()) {
+            List<PomElement> parsed = new PomReader("pom.xml", engine).getElements();
+
+            testable.read("pom.xml", engine);
+            List<PomElement> stored = testable.read("pom.xml", engine).getElements();
+
+            assertEquals(render(parsed), render(stored));
+        }
+        assertEquals(2, testable.getHits());
+    }
+
+    @Test
+    void testTheSecondReadIsServedFromTheStore() throws IOException {
+        testable.read(pomPath.toString());
+        testable.read(pomPath.toString());
+
+        assertEquals(1, testable.getHits());
+        assertEquals(1, testable.getMisses());
+        assertEquals(0, testable.getWriteFailures());
+        assertTrue(testable.toString().contains("hits=1, misses=1"));
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testAChangedPomIsParsedAgain() throws IOException {
+        testable.read(pomPath.toString());
+        Files.writeString(pomPath, POM.replace("4.0.0", "4.1.0"));
+
+        PomReader reader = testable.read(pomPath.toString());
+
+        assertEquals(2, testable.getMisses());
+        assertTrue(reader.getElements().stream().anyMatch(e -> "4.1.0".equals(e.getValue())));
+    }
+
+    @Test
+    void testACorruptEntryIsParsedAgainAndReplaced() throws IOException {
+        testable.read(pomPath.toString());
+        Path entry = entry();
+        byte[] bytes = Files.readAllBytes(entry);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(entry, bytes);
+
+        testable.read(pomPath.toString());
+        testable.read(pomPath.toString());
+
+        assertEquals(2, testable.getMisses());
+        assertEquals(1, testable.getHits());
+    }
+
+    @Test
+    void testATruncatedEntryIsParsedAgain() throws IOException {
+        testable.read(pomPath.toString());
+        Files.write(entry(), new byte[3]);
+
+        testable.read(pomPath.toString());
+
+        assertEquals(2, testable.getMisses());
+    }
+
+    @Test
+    void testAnUnwritableStoreStillReadsThePom() throws IOException {
+        Files.writeString(storeDirectory, "not a directory");
+
+        PomReader reader = testable.read(pomPath.toString());
+
+        assertFalse(reader.getElements().isEmpty());
+        assertEquals(1, testable.getWriteFailures());
+    }
+
+    @Test
+    void testConcurrentWritersProduceAValidEntry() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<List<PomElement>>> readers = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                readers.add(() -> new ElementStore(storeDirectory).read(pomPath.toString())
+                        .getElements());
+            }
+            String expected = render(new PomReader(pomPath.toString()).getElements());
+            for (Future<List<PomElement>> result : executor.invokeAll(readers)) {
+                assertEquals(expected, render(result.get()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        testable.read(pomPath.toString());
+        assertEquals(1, testable.getHits());
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testTheConfiguredStoreIsUsedByThePomCache() throws IOException {
+        assertNull(ElementStore.configured());
+        System.setProperty(ElementStore.SYSTEM_PROPERTY, " ");
+        assertNull(ElementStore.configured());
+
+        System.setProperty(ElementStore.SYSTEM_PROPERTY, storeDirectory.toString());
+        ElementStore configured = ElementStore.configured();
+        new PomCache(1).get(pomPath.toString());
+        new PomCache(1).get(pomPath.toString());
+
+        assertSame(configured, ElementStore.configured());
+        assertEquals(1, configured.getHits());
+    }
+
+    @Test
+    void testAnUnreadablePomFails() {
+        assertThrows(IOException.class,
+                () -> testable.read(tempDir.resolve("missing.xml").toString()));
+    }
+
+    @Test
+    void testValuesThatAreNoElementAreStoredInline() throws IOException {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("list", new ArrayList<>(List.of("x", "y")));
+        nested.put("none", null);
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("nested", nested);
+        List<PomElement> elements = List.of(new PomElement("root", value),
+                new PomElement(PomPath.of("root").item(0), null));
+
+        List<PomElement> decoded = ElementStore.decode(ByteBuffer.wrap(
+                ElementStore.encode(elements)));
+
+        assertEquals(value, decoded.get(0).getValue());
+        assertEquals("root[0]", decoded.get(1).getPath());
+        assertNull(decoded.get(1).getValue());
+    }
+
+    @Test
+    void testOnlyXmlValuesCanBeStored() {
+        List<PomElement> elements = List.of(new PomElement("count", 1));
+
+        assertThrows(IllegalArgumentException.class, () -> ElementStore.encode(elements));
+    }
+
+    @Test
+    void testAnEntryOfAnotherFormatIsNotRead() throws IOException {
+        byte[] bytes = ElementStore.encode(List.of(new PomElement("a", "b")));
+        bytes[0] = 'X';
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, 0, bytes.length - Long.BYTES);
+        ByteBuffer.wrap(bytes).putLong(bytes.length - Long.BYTES, checksum.getValue());
+
+        assertNull(ElementStore.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    private Path entry() throws IOException {
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private static String render(final List<PomElement> elements) {
+        return elements.stream()
+                .map(element -> element.getPath() + "=" + element.getValue())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,116 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterpolatorTest {
+
+    private static final String POM = "<project>\n"
+            + "  <parent><groupId>org.example</groupId><version>2.0</version></parent>\n"
+            + "  <artifactId>app</artifactId>\n"
+            + "  <properties>\n"
+            + "    <spring.version>6.1.0</spring.version>\n"
+            + "    <spring.boot>${spring.version}-boot</spring.boot>\n"
+            + "    <label>${project.artifactId}:${pom.version}</label>\n"
+            + "    <artifactId>property</artifactId>\n"
+            + "    <a>${b}</a><b>${c}</b><c>${a}</c>\n"
+            + "  </properties>\n"
+            + "</project>";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPropertiesAndCoordinatesAreResolved() throws IOException {
+        Interpolator testable = interpolator(POM);
+
+        assertEquals("6.1.0", testable.resolve("spring.version"));
+        assertEquals("6.1.0-boot", testable.resolve("spring.boot"));
+        assertEquals("app:2.0", testable.resolve("label"));
+        assertEquals("org.example", testable.resolve("project.groupId"));
+        assertEquals("org.example", testable.resolve("project.parent.groupId"));
+        assertEquals("property", testable.resolve("artifactId"));
+        assertNull(testable.resolve("unknown"));
+    }
+
+    @Test
+    void testReferencesWithinTextAreReplaced() throws IOException {
+        Interpolator testable = interpolator(POM);
+
+        assertEquals("spring 6.1.0 on app, ${unknown} and ${open",
+                testable.interpolate("spring ${spring.version} on ${project.artifactId},"
+                        + " ${unknown} and ${open"));
+        String plain = "no references";
+        assertSame(plain, testable.interpolate(plain));
+    }
+
+    @Test
+    void testACycleOfPropertiesFails() throws IOException {
+        Interpolator testable = interpolator(POM);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> testable.interpolate("${a}"));
+        assertEquals("Property a refers to itself: a -> b -> c -> a", exception.getMessage());
+    }
+
+    @Test
+    void testAPropertyUsedTwiceInOneValueIsNoCycle() throws IOException {
+        Interpolator testable = interpolator("<project><properties><v>1</v>"
+                + "<range>[${v},${v}]</range></properties></project>");
+
+        assertEquals("[1,1]", testable.resolve("range"));
+    }
+
+    @Test
+    void testOwnCoordinatesTakePrecedenceOverThoseOfTheParent() throws IOException {
+        Interpolator testable = interpolator("<project><parent><version>1</version></parent>"
+                + "<version>2</version></project>");
+
+        assertEquals("2", testable.resolve("project.version"));
+        assertNull(testable.resolve("project.groupId"));
+    }
+
+    @Test
+    void testReferencesAreResolvedConcurrently() throws Exception {
+        Interpolator testable = interpolator(POM);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> interpolations = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                interpolations.add(() -> testable.interpolate("${spring.boot}"));
+            }
+            for (Future<String> result : executor.invokeAll(interpolations)) {
+                assertEquals("6.1.0-boot", result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testTheInterpolatorOfACachedPomIsShared() throws IOException {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, POM);
+        CachedPom cached = new PomCache(1).get(pom.toString());
+
+        assertSame(cached.getInterpolator(), cached.getInterpolator());
+    }
+
+    private Interpolator interpolator(final String content) throws IOException {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, content);
+        return new Interpolator(new PomReader(pom.toString()).getElements());
+    }
+}
@@ -0,0 +1,390 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParentResolverTest {
+
+    private static final String ROOT = "<project>\n"
+            + "  <groupId>org.example</groupId><artifactId>root</artifactId><version>1</version>\n"
+            + "  <packaging>pom</packaging>\n"
+            + "  <modules><module>child</module></modules>\n"
+            + "  <properties><java.version>11</java.version><encoding>UTF-8</encoding>"
+            + "</properties>\n"
+            + "  <dependencyManagement><dependencies>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId>"
+            + "<version>1.0</version></dependency>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>b</artifactId>"
+            + "<version>2.0</version></dependency>\n"
+            + "  </dependencies></dependencyManagement>\n"
+            + "  <build><plugins>\n"
+            + "    <plugin><artifactId>maven-compiler-plugin</artifactId>"
+            + "<version>3.13.0</version></plugin>\n"
+            + "  </plugins></build>\n"
+            + "</project>";
+
+    private static final String CHILD = "<project>\n"
+            + "  <parent><groupId>org.example</groupId><artifactId>root</artifactId>"
+            + "<version>1</version></parent>\n"
+            + "  <artifactId>child</artifactId>\n"
+            + "  <properties><java.version>17</java.version></properties>\n"
+            + "  <dependencyManagement><dependencies>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId>"
+            + "<scope>test</scope></dependency>\n"
+            + "  </dependencies></dependencyManagement>\n"
+            + "  <dependencies>\n"
+            + "    <dependency><groupId>g</groupId><artifactId>a</artifactId></dependency>\n"
+            + "  </dependencies>\n"
+            + "  <build><plugins>\n"
+            + "    <plugin><groupId>org.apache.maven.plugins</groupId>"
+            + "<artifactId>maven-compiler-plugin</artifactId>"
+            + "<configuration><release>17</release></configuration></plugin>\n"
+            + "  </plugins></build>\n"
+            + "</project>";
+
+    @TempDir
+    Path project;
+
+    private PomCache cache;
+    private ParentResolver testable;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PomCache(PomCache.DEFAULT_MAX_ENTRIES);
+        testable = new ParentResolver(project.resolve("repository"), cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(ParentResolver.SYSTEM_PROPERTY);
+    }
+
+    @Test
+    void testTheParentAtTheRelativePathIsMergedIntoTheEffectivePom() throws IOException {
+        Path child = writeReactor();
+
+        Map<String, Object> effective = render(testable.resolve(child.toString()));
+
+        assertEquals("child", effective.get("artifactId"));
+        assertEquals("org.example", effective.get("groupId"));
+        assertEquals("1", effective.get("version"));
+        assertEquals("17", effective.get("properties.java.version"));
+        assertEquals("UTF-8", effective.get("properties.encoding"));
+        assertFalse(effective.containsKey("packaging"));
+        assertFalse(effective.containsKey("modules"));
+        assertEquals("test", effective.get(
+                "dependencyManagement.dependencies.dependency[0].scope"));
+        assertEquals("1.0", effective.get(
+                "dependencyManagement.dependencies.dependency[0].version"));
+        assertEquals("b", effective.get(
+                "dependencyManagement.dependencies.dependency[1].artifactId"));
+        assertEquals("a", effective.get("dependencies.dependency.artifactId"));
+        assertEquals("3.13.0", effective.get("build.plugins.plugin.version"));
+        assertEquals("17", effective.get("build.plugins.plugin.configuration.release"));
+    }
+
+    @Test
+    void testAPomWithoutParentIsItsOwnEffectivePom() throws IOException {
+        writeReactor();
+        Path root = project.resolve("pom.xml");
+
+        CachedPom pom = cache.get(root.toString());
+
+        assertSame(pom, testable.resolve(pom, root));
+        assertEquals(List.of(root.toRealPath()), testable.getChain(root.toString()));
+        assertEquals(0, testable.size());
+    }
+
+    @Test
+    void testTheEffectivePomHashCoversTheParents() throws IOException {
+        Path child = writeReactor();
+        String before = testable.resolve(child.toString()).getContentHash();
+
+        Files.writeString(project.resolve("pom.xml"), ROOT.replace("2.0", "2.0.1"));
+
+        assertNotEquals(cache.get(child.toString()).getContentHash(), before);
+        assertNotEquals(before, testable.resolve(child.toString()).getContentHash());
+    }
+
+    @Test
+    void testAParentIsParsedOnceForAllModules() throws Exception {
+        StringBuilder modules = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            Files.createDirectories(project.resolve("module" + i));
+            Files.writeString(project.resolve("module" + i + "/pom.xml"),
+                    CHILD.replace("<artifactId>child", "<artifactId>module" + i));
+            modules.append("<module>module").append(i).append("</module>");
+        }
+        Files.writeString(project.resolve("pom.xml"), ROOT.replace("<module>child</module>",
+                modules));
+        PomCache small = new PomCache(1);
+        ParentResolver resolver = new ParentResolver(null, small);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<CachedPom>> resolutions = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                String pom = project.resolve("module" + i + "/pom.xml").toString();
+                resolutions.add(() -> resolver.resolve(pom));
+            }
+            for (Future<CachedPom> result : executor.invokeAll(resolutions)) {
+                assertEquals("UTF-8", render(result.get()).get("properties.encoding"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, resolver.size());
+        // one parse for every module and one for the shared parent, despite evictions
+        assertEquals(21, small.getMisses());
+    }
+
+    @Test
+    void testAParentIsFoundInTheLocalRepository() throws IOException {
+        Path repository = project.resolve("repository");
+        Path grandParent = repository.resolve("org/example/base/3/base-3.pom");
+        Files.createDirectories(grandParent.getParent());
+        Files.writeString(grandParent, "<project><groupId>org.example</groupId>"
+                + "<artifactId>base</artifactId><version>3</version>"
+                + "<properties><base>yes</base></properties></project>");
+        Path child = writeReactor();
+        Files.writeString(project.resolve("pom.xml"), ROOT.replace("<packaging>",
+                "<parent><groupId>org.example</groupId><artifactId>base</artifactId>"
+                        + "<version>3</version></parent><packaging>"));
+
+        assertEquals("yes", render(testable.resolve(child.toString())).get("properties.base"));
+        assertEquals(List.of(child.toRealPath(), project.resolve("pom.xml").toRealPath(),
+                grandParent.toRealPath()), testable.getChain(child.toString()));
+        assertTrue(testable.toString().contains("parents=2"));
+    }
+
+    @Test
+    void testAParentWithOtherCoordinatesAtTheRelativePathIsLookedUpInTheRepository()
+            throws IOException {
+        Path child = writeReactor();
+        Files.writeString(project.resolve("pom.xml"), ROOT.replace("root", "other"));
+        Path parent = project.resolve("repository/org/example/root/1/root-1.pom");
+        Files.createDirectories(parent.getParent());
+        Files.writeString(parent, ROOT.replace("UTF-8", "ASCII"));
+
+        assertEquals("ASCII", render(testable.resolve(child.toString()))
+                .get("properties.encoding"));
+    }
+
+    @Test
+    void testAnEmptyRelativePathOnlyUsesTheRepository() throws IOException {
+        Path child = writeReactor();
+        Files.writeString(child, CHILD.replace("</parent>", "<relativePath/></parent>"));
+
+        NoSuchFileException exception = assertThrows(NoSuchFileException.class,
+                () -> testable.resolve(child.toString()));
+        assertTrue(exception.getMessage().contains("org.example:root:1"));
+    }
+
+    @Test
+    void testARelativePathCanNameADirectory() throws IOException {
+        Path child = writeReactor();
+        Files.createDirectories(project.resolve("nested/deeper"));
+        Files.move(child, project.resolve("nested/deeper/pom.xml"));
+        Path moved = project.resolve("nested/deeper/pom.xml");
+        Files.writeString(moved, CHILD.replace("</parent>",
+                "<relativePath>../..</relativePath></parent>"));
+
+        assertEquals("UTF-8", render(testable.resolve(moved.toString()))
+                .get("properties.encoding"));
+    }
+
+    @Test
+    void testTheGroupIdOfAParentAtTheRelativePathMayBeInherited() throws IOException {
+        Path child = writeReactor();
+        Files.writeString(project.resolve("pom.xml"), "<project><parent>"
+                + "<groupId>org.example</groupId><artifactId>base</artifactId>"
+                + "<relativePath/></parent><artifactId>root</artifactId></project>");
+
+        NoSuchFileException exception = assertThrows(NoSuchFileException.class,
+                () -> testable.resolve(child.toString()));
+        assertTrue(exception.getMessage().contains("org.example:base:null"));
+    }
+
+    @Test
+    void testACyclicParentChainFails() throws IOException {
+        Path child = writeReactor();
+        Files.writeString(project.resolve("pom.xml"), "<project><parent>"
+                + "<groupId>org.example</groupId><artifactId>child</artifactId>"
+                + "<relativePath>child</relativePath></parent>"
+                + "<groupId>org.example</groupId><artifactId>root</artifactId></project>");
+
+        IOException exception = assertThrows(IOException.class,
+                () -> testable.resolve(child.toString()));
+        assertTrue(exception.getMessage().contains("cyclic"));
+    }
+
+    @Test
+    void testTheConfiguredResolverIsSharedPerRepository() {
+        ParentResolver withoutRepository = ParentResolver.configured();
+        System.setProperty(ParentResolver.SYSTEM_PROPERTY, project.toString());
+
+        assertSame(ParentResolver.configured(), ParentResolver.configured());
+        assertNotSame(withoutRepository, ParentResolver.configured());
+        assertTrue(ParentResolver.configured().toString().contains(project.toString()));
+    }
+
+    @Test
+    void testListsWithoutIdentityAreTakenFromTheChild() {
+        Map<String, Object> child = new LinkedHashMap<>();
+        child.put("modules", Map.of("module", List.of("x", "y")));
+        child.put("dependencies", "");
+        child.put("description", "");
+        Map<String, Object> parent = new LinkedHashMap<>();
+        parent.put("modules", Map.of("module", List.of("z")));
+        parent.put("dependencies", Map.of("dependency", List.of("text", Map.of())));
+        parent.put("description", "parent");
+
+        Map<String, Object> merged = ParentResolver.merge(Map.of("build", child),
+                Map.of("build", parent), "");
+
+        Map<String, Object> build = child(merged, "build");
+        Map<String, Object> modules = child(build, "modules");
+        assertEquals(List.of("x", "y"), modules.get("module"));
+        assertEquals(parent.get("dependencies"), build.get("dependencies"));
+        assertEquals("", build.get("description"));
+    }
+
+    @Test
+    void testDependenciesAreMergedByTheirFullCoordinates() {
+        Map<String, Object> child = Map.of("dependencies", Map.of("dependency", List.of(
+                Map.of("groupId", "g", "artifactId", "a", "type", "pom"),
+                Map.of("groupId", "g", "artifactId", "a", "classifier", "tests"),
+                "text")));
+        Map<String, Object> parent = Map.of("dependencies", Map.of("dependency", List.of(
+                Map.of("groupId", "g", "artifactId", "a", "version", "1"),
+                Map.of("groupId", "g", "artifactId", "a", "classifier", "tests",
+                        "version", "2"),
+                "text")));
+
+        Map<String, Object> merged = ParentResolver.merge(child, parent, "");
+
+        List<Map<String, Object>> dependencies = child(child(merged, "dependencies"), "dependency");
+        assertEquals(4, dependencies.size());
+        assertFalse(dependencies.get(0).containsKey("version"));
+        assertEquals("2", dependencies.get(1).get("version"));
+        assertEquals("1", dependencies.get(3).get("version"));
+    }
+
+    @Test
+    void testOnlyListsOfDependenciesAndPluginsAreMergedByIdentity() {
+        Map<String, Object> child = new LinkedHashMap<>();
+        child.put("dependency", Map.of("artifactId", "a"));
+        child.put("mydependencies", Map.of("dependency", Map.of("artifactId", "a")));
+        child.put("plugin", Map.of("artifactId", "a"));
+        child.put("plugins", Map.of("plugin", ""));
+        child.put("name", Map.of("first", "x"));
+        Map<String, Object> parent = new LinkedHashMap<>();
+        parent.put("dependency", Map.of("groupId", "g"));
+        parent.put("mydependencies", Map.of("dependency", Map.of("artifactId", "b")));
+        parent.put("plugin", "text");
+        parent.put("plugins", Map.of("plugin", Map.of("artifactId", "p")));
+        parent.put("name", "parent");
+
+        Map<String, Object> merged = ParentResolver.merge(child, parent, "");
+
+        assertEquals(Map.of("artifactId", "a", "groupId", "g"), merged.get("dependency"));
+        assertEquals(Map.of("dependency", Map.of("artifactId", "a")),
+                merged.get("mydependencies"));
+        assertEquals(Map.of("artifactId", "a"), merged.get("plugin"));
+        assertEquals(Map.of("plugin", Map.of("artifactId", "p")), merged.get("plugins"));
+        assertEquals(Map.of("first", "x"), merged.get("name"));
+    }
+
+    @Test
+    void testAChangedGrandParentIsMergedAgain() throws IOException {
+        Path grandParent = project.resolve("repository/org/example/base/3/base-3.pom");
+        Files.createDirectories(grandParent.getParent());
+        Files.writeString(grandParent, "<project><properties><base>yes</base></properties>"
+                + "</project>");
+        Path child = writeReactor();
+        Files.writeString(project.resolve("pom.xml"), ROOT.replace("<packaging>",
+                "<parent><groupId>org.example</groupId><artifactId>base</artifactId>"
+                        + "<version>3</version></parent><packaging>"));
+        testable.resolve(child.toString());
+
+        Files.writeString(grandParent, "<project><properties><base>changed</base></properties>"
+                + "</project>");
+
+        assertEquals("changed", render(testable.resolve(child.toString()))
+                .get("properties.base"));
+        assertEquals(2, testable.size());
+    }
+
+    @Test
+    void testAParentThatCannotBeParsedFails() throws IOException {
+        Path child = writeReactor();
+        Files.writeString(project.resolve("pom.xml"), "<project>");
+
+        assertThrows(IOException.class, () -> testable.resolve(child.toString()));
+    }
+
+    @Test
+    void testAParentIsOnlyMatchedAtTheRelativePathByItsCoordinates() throws IOException {
+        Path child = writeReactor();
+        ParentResolver withoutRepository = new ParentResolver(null, cache);
+        for (String root : List.of("<project><artifactId>root</artifactId></project>",
+                ROOT.replace("org.example", "org.other"))) {
+            Files.writeString(project.resolve("pom.xml"), root);
+
+            NoSuchFileException exception = assertThrows(NoSuchFileException.class,
+                    () -> withoutRepository.resolve(child.toString()));
+            assertTrue(exception.getMessage().endsWith("is not found at its relative path"));
+        }
+        Files.writeString(child, "<project><parent/></project>");
+        assertFalse(render(testable.resolve(child.toString())).containsKey("groupId"));
+        Files.writeString(child, "<project><parent><version>1</version></parent></project>");
+        assertThrows(NoSuchFileException.class, () -> testable.resolve(child.toString()));
+        Files.writeString(child, "<project><parent><groupId>g</groupId></parent></project>");
+        assertThrows(NoSuchFileException.class, () -> testable.resolve(child.toString()));
+    }
+
+    @Test
+    void testTheNullCacheIsRejected() {
+        assertThrows(NullPointerException.class, () -> new ParentResolver(project, null));
+    }
+
+    private Path writeReactor() throws IOException {
+        Files.writeString(project.resolve("pom.xml"), ROOT);
+        Path child = project.resolve("child/pom.xml");
+        Files.createDirectories(child.getParent());
+        Files.writeString(child, CHILD);
+        return child;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T child(final Map<String, Object> node, final String name) {
+        return (T) node.get(name);
+    }
+
+    private static Map<String, Object> render(final CachedPom pom) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (PomElement element : pom.getElements()) {
+            values.put(element.getPath(), element.getValue());
+        }
+        return values;
+    }
+}
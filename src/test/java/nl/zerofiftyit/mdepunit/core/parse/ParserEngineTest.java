@@ -0,0 +1,40 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParserEngineTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(ParserEngine.SYSTEM_PROPERTY);
+    }
+
+    @Test
+    void testDefaultEngineWithoutPropertyIsJackson() {
+        assertEquals(ParserEngine.JACKSON, ParserEngine.defaultEngine());
+    }
+
+    @Test
+    void testDefaultEngineWithBlankPropertyIsJackson() {
+        System.setProperty(ParserEngine.SYSTEM_PROPERTY, " ");
+
+        assertEquals(ParserEngine.JACKSON, ParserEngine.defaultEngine());
+    }
+
+    @Test
+    void testDefaultEngineFromProperty() {
+        System.setProperty(ParserEngine.SYSTEM_PROPERTY, " stax ");
+
+        assertEquals(ParserEngine.STAX, ParserEngine.defaultEngine());
+    }
+
+    @Test
+    void testDefaultEngineWithUnknownPropertyThrows() {
+        System.setProperty(ParserEngine.SYSTEM_PROPERTY, "dom");
+
+        assertThrows(IllegalArgumentException.class, ParserEngine::defaultEngine);
+    }
+}
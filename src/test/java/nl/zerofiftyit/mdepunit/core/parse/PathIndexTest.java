@@ -0,0 +1,110 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathIndexTest {
+
+    @Test
+    void testIndexMatchesLinearScanForProjectPom() throws IOException {
+        assertMatchesLinearScan(new PomReader("pom.xml").getAllElements());
+    }
+
+    @Test
+    void testIndexMatchesLinearScanForUnorderedElements() {
+        List<PomElement> elements = new ArrayList<>();
+        elements.add(new PomElement("properties.spring.version", "1"));
+        elements.add(new PomElement("properties", "{}"));
+        elements.add(new PomElement("properties.spring", "2"));
+        elements.add(new PomElement("mix.", "text"));
+        elements.add(new PomElement("mix.[0]", "text"));
+        elements.add(new PomElement("modules.module", "[a, b]"));
+        elements.add(new PomElement("modules.module[0]", "a"));
+        elements.add(new PomElement("modules.module[1]", "b"));
+        elements.add(new PomElement("modules.module", "duplicate"));
+        elements.add(new PomElement("dependencies.dependency", "[{}]"));
+        elements.add(new PomElement("dependencies.dependency[0].version", "1"));
+        elements.add(new PomElement("dependencies.dependency[0].exclusions.exclusion[1]", "2"));
+        elements.add(new PomElement("", "root text"));
+
+        assertMatchesLinearScan(elements);
+    }
+
+    @Test
+    void testWithPrefixReturnsSubtreesInDocumentOrder() throws IOException {
+        PathIndex index = new PomReader("pom.xml").getIndex();
+
+        List<PomElement> result = index.withPrefix("dependencies.dependency");
+
+        assertFalse(result.isEmpty());
+        assertEquals("dependencies.dependency", result.get(0).getPath());
+        assertTrue(result.stream().allMatch(e -> e.getPath().startsWith("dependencies.dependency")));
+    }
+
+    @Test
+    void testMatchingSelectsByPrefixAndSuffix() throws IOException {
+        PathIndex index = new PomReader("pom.xml").getIndex();
+
+        List<String> result = index.matching("dependencies.dependency", "scope").stream()
+                .map(PomElement::getPath)
+                .collect(Collectors.toList());
+
+        assertFalse(result.isEmpty());
+        assertTrue(result.stream().allMatch(path -> path.matches("dependencies\\.dependency\\[\\d+]\\.scope")));
+    }
+
+    @Test
+    void testGetElementsCannotBeModified() {
+        PathIndex index = PathIndex.of(new ArrayList<>(List.of(new PomElement("a", "b"))));
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> index.getElements().add(new PomElement("c", "d")));
+    }
+
+    private static void assertMatchesLinearScan(final List<PomElement> elements) {
+        PathIndex index = PathIndex.of(elements);
+
+        for (String prefix : fragments(elements)) {
+            assertEquals(linear(elements, prefix, ""), index.withPrefix(prefix),
+                    "prefix " + prefix);
+            for (String suffix : List.of("", "version", "n", "]", "1]", "module")) {
+                assertEquals(linear(elements, prefix, suffix), index.matching(prefix, suffix),
+                        "prefix " + prefix + ", suffix " + suffix);
+            }
+        }
+        for (String suffix : fragments(elements)) {
+            assertEquals(linear(elements, "", suffix), index.withSuffix(suffix),
+                    "suffix " + suffix);
+            assertEquals(linear(elements, "dependencies", suffix),
+                    index.matching("dependencies", suffix), "suffix " + suffix);
+        }
+    }
+
+    private static Set<String> fragments(final List<PomElement> elements) {
+        Set<String> fragments = new LinkedHashSet<>(List.of("", "x", "[", "]", ".", "1]", "version"));
+        for (PomElement element : elements) {
+            String path = element.getPath();
+            for (int i = 0; i <= path.length(); i++) {
+                fragments.add(path.substring(0, i));
+                fragments.add(path.substring(i));
+            }
+        }
+        return fragments;
+    }
+
+    private static List<PomElement> linear(final List<PomElement> elements, final String prefix,
+                                           final String suffix) {
+        return elements.stream()
+                .filter(e -> e.getPath().startsWith(prefix) && e.getPath().endsWith(suffix))
+                .collect(Collectors.toList());
+    }
+}
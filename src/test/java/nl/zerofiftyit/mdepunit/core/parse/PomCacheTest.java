@@ -0,0 +1,194 @@
+package nl.zerofiftyit.mdepunit.core.parse;
+
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PomCacheTest {
+
+    private static final String SIMPLE_POM = "<project>\n"
+            + "  <modelVersion>4.0.0</modelVersion>\n"
+            + "  <artifactId>test</artifactId>\n"
+            + "</project>";
+
+    @TempDir
+    Path tempDir;
+
+    private PomCache testable;
+    private Path pomPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testable = new PomCache(2);
+        pomPath = tempDir.resolve("pom.xml");
+        Files.write(pomPath, SIMPLE_POM.getBytes());
+    }
+
+    @Test
+    void testGetTwiceReturnsCachedEntry() throws IOException {
+        CachedPom first = testable.get(pomPath.toString());
+        CachedPom second = testable.get(pomPath.toString());
+
+        assertSame(first, second);
+        assertEquals(1, testable.getHits());
+        assertEquals(1, testable.getMisses());
+        assertEquals(1, testable.size());
+    }
+
+    @Test
+    void testGetWithDifferentNotationOfSamePathReturnsCachedEntry() throws IOException {
+        CachedPom first = testable.get(pomPath.toString());
+        CachedPom second = testable.get(tempDir.resolve(".").resolve("pom.xml").toString());
+
+        assertSame(first, second);
+        assertEquals(1, testable.getHits());
+    }
+
+    @Test
+    void testGetAfterFileChangedParsesAgain() throws IOException {
+        CachedPom first = testable.get(pomPath.toString());
+        Files.write(pomPath, SIMPLE_POM.replace("test", "changed").getBytes());
+
+        CachedPom second = testable.get(pomPath.toString());
+
+        assertNotSame(first, second);
+        assertEquals(0, testable.getHits());
+        assertEquals(2, testable.getMisses());
+        assertEquals(1, testable.size());
+        assertTrue(second.getElements().stream()
+                .anyMatch(e -> e.getPath().equals("artifactId") && "changed".equals(e.getValue())));
+    }
+
+    @Test
+    void testGetEvictsLeastRecentlyUsedEntry() throws IOException {
+        Path second = tempDir.resolve("second.xml");
+        Path third = tempDir.resolve("third.xml");
+        Files.write(second, SIMPLE_POM.getBytes());
+        Files.write(third, SIMPLE_POM.getBytes());
+
+        CachedPom first = testable.get(pomPath.toString());
+        testable.get(second.toString());
+        testable.get(pomPath.toString());
+        testable.get(third.toString());
+
+        assertEquals(2, testable.size());
+        assertEquals(1, testable.getEvictions());
+        assertSame(first, testable.get(pomPath.toString()));
+        testable.get(second.toString());
+        assertEquals(4, testable.getMisses());
+    }
+
+    @Test
+    void testConcurrentRequestsForAFileShareOneParse() throws Exception {
+        Files.writeString(pomPath, largePom("</project>"));
+
+        List<Future<CachedPom>> results = requestConcurrently(16);
+
+        CachedPom expected = testable.get(pomPath.toString());
+        for (Future<CachedPom> result : results) {
+            assertSame(expected, result.get());
+        }
+        assertEquals(1, testable.getMisses());
+        assertEquals(16, testable.getHits());
+    }
+
+    @Test
+    void testConcurrentRequestsForAMalformedFileAllFail() throws Exception {
+        Files.writeString(pomPath, largePom(""));
+
+        for (Future<CachedPom> result : requestConcurrently(16)) {
+            Exception exception = assertThrows(ExecutionException.class, result::get);
+            assertInstanceOf(IOException.class, exception.getCause());
+        }
+        assertEquals(0, testable.size());
+    }
+
+    @Test
+    void testGetWithNonExistingFileThrowsIOException() {
+        assertThrows(IOException.class, () -> testable.get(tempDir.resolve("missing.xml").toString()));
+        assertEquals(0, testable.size());
+    }
+
+    @Test
+    void testCachedElementsCannotBeModified() throws IOException {
+        CachedPom cached = testable.get(pomPath.toString());
+
+        assertFalse(cached.getElements().isEmpty());
+        assertNotNull(cached.getReader());
+        assertThrows(UnsupportedOperationException.class,
+                () -> cached.getElements().add(new PomElement("path", "value")));
+    }
+
+    @Test
+    void testClearRemovesEntriesAndResetsCounters() throws IOException {
+        testable.get(pomPath.toString());
+        testable.get(pomPath.toString());
+
+        testable.clear();
+
+        assertEquals(0, testable.size());
+        assertEquals(0, testable.getHits());
+        assertEquals(0, testable.getMisses());
+        assertEquals(0, testable.getEvictions());
+    }
+
+    @Test
+    void testToStringContainsStatistics() throws IOException {
+        testable.get(pomPath.toString());
+        testable.get(pomPath.toString());
+
+        assertEquals("PomCache{size=1, hits=1, misses=1, evictions=0}", testable.toString());
+    }
+
+    @Test
+    void testConstructorWithInvalidSizeThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new PomCache(0));
+    }
+
+    @Test
+    void testSharedReturnsSameInstance() {
+        assertSame(PomCache.shared(), PomCache.shared());
+    }
+
+    private List<Future<CachedPom>> requestConcurrently(final int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        try {
+            List<Callable<CachedPom>> requests = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                requests.add(() -> {
+                    start.await();
+                    return testable.get(pomPath.toString());
+                });
+            }
+            return executor.invokeAll(requests);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String largePom(final String end) {
+        // large enough that all requests arrive while the first one is still parsing
+        StringBuilder pom = new StringBuilder("<project><dependencies>");
+        for (int i = 0; i < 20_000; i++) {
+            pom.append("<dependency><groupId>g</groupId><artifactId>a").append(i)
+                    .append("</artifactId></dependency>");
+        }
+        return pom.append("</dependencies>").append(end).toString();
+    }
+}
@@ -9,11 +9,16 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static java.util.stream.Collectors.toList;
 
 class PomReaderTest {
 
@@ -156,4 +161,123 @@ class PomReaderTest {
         assertTrue(elements.stream().anyMatch(e -> e.getPath().contains("dependencies.dependency") && e.getPath().endsWith("artifactId") && "dep1".equals(e.getValue().toString())),
                 "Elements should contain dependency with artifactId dep1");
     }
+
+    @Test
+    void testStaxEngineReturnsSameElementsAsJacksonForSamplePom() throws IOException {
+        assertSameElements(pomFilePath);
+    }
+
+    @Test
+    void testStaxEngineReturnsSameElementsAsJacksonForProjectPom() throws IOException {
+        assertSameElements("pom.xml");
+    }
+
+    @Test
+    void testStaxEngineReturnsSameElementsAsJacksonForMixedContent(@TempDir Path tempDir)
+            throws IOException {
+        Path pomPath = tempDir.resolve("mixed-pom.xml");
+        String content = "<?xml version=\"1.0\"?>\n<!-- comment -->\n"
+                + "<project xmlns=\"x\" xmlns:xsi=\"y\" xsi:schemaLocation=\"z\" a=\"1\">\n"
+                + "  <leaf>  padded  </leaf>\n"
+                + "  <blank>   </blank>\n"
+                + "  <empty/>\n"
+                + "  <attrs k=\"v\">text</attrs>\n"
+                + "  <attrsOnly k=\"v\">  </attrsOnly>\n"
+                + "  <cdata>t<!-- c --><![CDATA[<cd>]]>&amp;</cdata>\n"
+                + "  <mixed> pre <q>1</q> <q>2</q> <r/> </mixed>\n"
+                + "  <list><item><n>1</n></item><item>2</item><item/></list>\n"
+                + "  <nested><a><b/><b/></a><a><b>x</b></a></nested>\n"
+                + "  <spring.version>1.0</spring.version>\n"
+                + "  tail\n"
+                + "</project>";
+        Files.write(pomPath, content.getBytes());
+
+        assertSameElements(pomPath.toString());
+    }
+
+    @Test
+    void testStaxEngineWithRootTextOnly(@TempDir Path tempDir) throws IOException {
+        Path pomPath = tempDir.resolve("text-pom.xml");
+        Files.write(pomPath, "<project>text</project>".getBytes());
+
+        assertSameElements(pomPath.toString());
+    }
+
+    @Test
+    void testStaxEngineListsRepeatedKeysInDocumentOrder(@TempDir Path tempDir) throws IOException {
+        Path pomPath = tempDir.resolve("repeated-pom.xml");
+        Files.write(pomPath, "<project><a>1</a><b/><a>2</a></project>".getBytes());
+
+        List<String> elements = render(new PomReader(pomPath.toString(), ParserEngine.STAX)
+                .getAllElements());
+
+        assertEquals(List.of("a=[1, 2]", "a[0]=1", "b=", "a[1]=2"), elements);
+    }
+
+    @Test
+    void testGetElementsIsFlattenedOnceAndShared() throws IOException {
+        PomReader pomReader = new PomReader(pomFilePath);
+
+        List<PomElement> elements = pomReader.getElements();
+
+        assertSame(elements, pomReader.getElements());
+        assertSame(elements, pomReader.getIndex().getElements());
+        assertSame(pomReader.getIndex(), pomReader.getIndex());
+        assertThrows(UnsupportedOperationException.class, () -> elements.remove(0));
+    }
+
+    @Test
+    void testGetAllElementsReturnsModifiableCopy() throws IOException {
+        PomReader pomReader = new PomReader(pomFilePath, ParserEngine.STAX);
+
+        List<PomElement> elements = pomReader.getAllElements();
+        elements.clear();
+
+        assertNotSame(pomReader.getElements(), elements);
+        assertFalse(pomReader.getAllElements().isEmpty());
+    }
+
+    @Test
+    void testGetIndexFromConcurrentThreadsReturnsSameIndex() throws Exception {
+        PomReader pomReader = new PomReader(pomFilePath);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<PathIndex>> results = executor.invokeAll(
+                    Collections.nCopies(8, pomReader::getIndex));
+
+            for (Future<PathIndex> result : results) {
+                assertSame(pomReader.getIndex(), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testStaxEngineWithInvalidPomFileShouldThrowIOException() {
+        assertThrows(IOException.class, () -> new PomReader("non-existent-pom.xml", ParserEngine.STAX));
+    }
+
+    @Test
+    void testStaxEngineWithCorruptedPomFileShouldThrowIOException(@TempDir Path tempDir)
+            throws IOException {
+        Path corruptedPomPath = tempDir.resolve("corrupted-pom.xml");
+        Files.write(corruptedPomPath, "<project>This is not valid XML</project".getBytes());
+
+        assertThrows(IOException.class,
+                () -> new PomReader(corruptedPomPath.toString(), ParserEngine.STAX));
+    }
+
+    private static void assertSameElements(final String path) throws IOException {
+        List<String> expected = render(new PomReader(path, ParserEngine.JACKSON).getAllElements());
+        List<String> actual = render(new PomReader(path, ParserEngine.STAX).getAllElements());
+
+        assertEquals(expected, actual);
+    }
+
+    private static List<String> render(final List<PomElement> elements) {
+        return elements.stream()
+                .map(e -> e.getPath() + "=" + e.getValue())
+                .collect(toList());
+    }
 }
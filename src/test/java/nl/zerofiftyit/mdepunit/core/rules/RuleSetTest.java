@@ -0,0 +1,264 @@
+package nl.zerofiftyit.mdepunit.core.rules;
+
+import nl.zerofiftyit.mdepunit.core.cache.ResultCache;
+import nl.zerofiftyit.mdepunit.core.parse.CachedPom;
+import nl.zerofiftyit.mdepunit.core.parse.PomCache;
+import nl.zerofiftyit.mdepunit.core.parse.PomReader;
+import nl.zerofiftyit.mdepunit.core.validation.PomAnalyzer;
+import nl.zerofiftyit.mdepunit.core.validation.ResultCaller;
+import nl.zerofiftyit.mdepunit.dsl.Statement;
+import nl.zerofiftyit.mdepunit.exception.PomValidationException;
+import nl.zerofiftyit.mdepunit.model.EvaluationMode;
+import nl.zerofiftyit.mdepunit.model.NegateNext;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleSetTest {
+
+    private List<PomElement> elements;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        elements = new PomReader("pom.xml").getElements();
+    }
+
+    @Test
+    void testResultsMatchFluentAnalyzers() {
+        List<String> nodes = List.of("", "dependencies", "dependencies.dependency", "build.plugins",
+                "properties", "modules", "dependencies.dependency[0]");
+        List<String> arguments = List.of("version", "artifactId", "scope", "test", "jackson",
+                "lombok.version", "SNAPSHOT", "module", "Id", "[0]", "unknown");
+
+        RuleSetBuilder builder = RuleSet.builder();
+        List<Rule> declared = new ArrayList<>();
+        for (String node : nodes) {
+            for (String argument : arguments) {
+                for (RuleType type : RuleType.values()) {
+                    for (boolean negated : List.of(false, true)) {
+                        RuleBuilder rule = builder.rule(declared.size() + "").checking(node);
+                        if (negated) {
+                            rule.shouldNot();
+                        } else {
+                            rule.should();
+                        }
+                        apply(rule, type, argument);
+                        declared.add(new Rule(declared.size() + "", node, negated, type, argument));
+                    }
+                }
+            }
+        }
+
+        RuleSetResult result = builder.build().evaluate(elements);
+
+        assertEquals(declared.size(), result.getResults().size());
+        for (int i = 0; i < declared.size(); i++) {
+            Rule rule = declared.get(i);
+            assertEquals(fluentMessage(rule), result.getResults().get(i).getMessage(),
+                    rule.toString());
+        }
+    }
+
+    @Test
+    void testFailuresAreReportedInDeclarationOrder() {
+        RuleSetResult result = RuleSet.builder()
+                .rule("first").checking("dependencies").should().haveTag("classifier")
+                .rule("passing").checking("dependencies").should().haveTag("artifactId")
+                .rule("second").checking("properties").shouldNot().haveProperty("java.version")
+                .build()
+                .evaluate(elements);
+
+        assertFalse(result.isPassed());
+        assertEquals(List.of("first", "second"), result.getFailures().stream()
+                .map(failure -> failure.getRule().getId())
+                .collect(Collectors.toList()));
+        assertEquals("", result.getResults().get(1).getMessage());
+
+        PomValidationException exception = assertThrows(PomValidationException.class,
+                result::validate);
+        assertEquals(2, exception.getViolations().size());
+        assertEquals("first\nError(s) occurred:\n"
+                + "No classifier found in dependencies where it is required\n"
+                + "second\nError(s) occurred:\n"
+                + "Property 'java.version' found where not allowed\n", exception.getMessage());
+    }
+
+    @Test
+    void testNegatedTagRuleReportsEveryDisallowedValue() {
+        List<PomElement> given = List.of(
+                new PomElement("dependencies.dependency[0].scope", "test"),
+                new PomElement("dependencies.dependency[1].scope", "provided"));
+
+        RuleResult result = RuleSet.builder()
+                .rule("no scope").checking("dependencies").shouldNot().haveTag("scope")
+                .build()
+                .evaluate(given)
+                .getResults().get(0);
+
+        assertEquals(List.of("scope found in dependencies where it is not allowed. "
+                + "\nFound disallowed value: ", "- test", "- provided"), result.getMessages());
+        assertEquals("no scope", result.getViolations().get(2).getRuleId());
+        assertEquals("dependencies.dependency[1].scope",
+                result.getViolations().get(2).getPath().toString());
+        assertEquals("provided", result.getViolations().get(2).getValue());
+    }
+
+    @Test
+    void testFailFastNegatedTagRuleReportsFirstDisallowedValue() {
+        List<PomElement> given = List.of(
+                new PomElement("dependencies.dependency[0].scope", "test"),
+                new PomElement("dependencies.dependency[1].scope", "provided"));
+
+        RuleResult result = RuleSet.builder()
+                .rule("no scope").checking("dependencies").shouldNot().haveTag("scope")
+                .rule("scope").checking("dependencies").should().haveTag("scope")
+                .build()
+                .evaluate(given, EvaluationMode.FAIL_FAST)
+                .getResults().get(0);
+
+        assertEquals(List.of("scope found in dependencies where it is not allowed. "
+                + "\nFound disallowed value: ", "- test"), result.getMessages());
+    }
+
+    @Test
+    void testPassingRuleSetValidates() throws IOException {
+        RuleSet ruleSet = RuleSet.builder()
+                .rule("model").checking("modelVersion").containValue("4.0.0")
+                .rule("any version").haveTag("version")
+                .build();
+
+        RuleSetResult result = ruleSet.evaluate("pom.xml");
+
+        assertTrue(result.isPassed());
+        assertTrue(result.getFailures().isEmpty());
+        assertDoesNotThrow(result::validate);
+        assertEquals("", ruleSet.getRules().get(1).getNode());
+    }
+
+    @Test
+    void testRulesCannotBeModified() {
+        RuleSet ruleSet = RuleSet.builder().rule("a").haveTag("b").build();
+
+        assertThrows(UnsupportedOperationException.class, () -> ruleSet.getRules().clear());
+        assertEquals("a: checking().should().HAVE_TAG(b)", ruleSet.getRules().get(0).toString());
+    }
+
+    @Test
+    void testRuleIdMustBeUniqueAndNotBlank() {
+        RuleSetBuilder builder = RuleSet.builder();
+        builder.rule("id").haveTag("tag");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.rule("id"));
+        assertThrows(IllegalArgumentException.class, () -> builder.rule(" "));
+    }
+
+    @Test
+    void testReservedRuleIdsAreRejected() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> RuleSet.builder().rule(RuleSet.RESERVED_PREFIX + "pom-not-readable"));
+
+        assertEquals("Rule id 'mdepunit/pom-not-readable' is reserved by mDepUnit",
+                exception.getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("DataFlowIssue")
+    void testNullArgumentsAreRejected() {
+        RuleSet ruleSet = RuleSet.builder().build();
+        RuleBuilder rule = RuleSet.builder().rule("id");
+
+        assertThrows(NullPointerException.class, () -> RuleSet.builder().rule(null));
+        assertThrows(NullPointerException.class, () -> rule.checking(null));
+        assertThrows(NullPointerException.class, () -> rule.haveTag(null));
+        assertThrows(NullPointerException.class, () -> rule.containValue(null));
+        assertThrows(NullPointerException.class, () -> rule.equalsValue(null));
+        assertThrows(NullPointerException.class, () -> rule.haveProperty(null));
+        assertThrows(NullPointerException.class, () -> ruleSet.evaluate((String) null));
+        assertThrows(NullPointerException.class, () -> ruleSet.evaluate((List<PomElement>) null));
+        assertThrows(NullPointerException.class,
+                () -> ruleSet.evaluate(List.of(), null));
+    }
+
+    private static void apply(final RuleBuilder rule, final RuleType type, final String argument) {
+        switch (type) {
+            case HAVE_TAG:
+                rule.haveTag(argument);
+                break;
+            case CONTAIN_VALUE:
+                rule.containValue(argument);
+                break;
+            case EQUALS_VALUE:
+                rule.equalsValue(argument);
+                break;
+            default:
+                rule.haveProperty(argument);
+                break;
+        }
+    }
+
+    private String fluentMessage(final Rule rule) {
+        List<String> errorMessages = new ArrayList<>();
+        ResultCaller resultCaller = new ResultCaller(errorMessages);
+        NegateNext negateNext = new NegateNext();
+        if (rule.isNegated()) {
+            negateNext.applyNegateNext();
+        }
+        PomAnalyzer analyzer = new PomAnalyzer(rule.getNode(), elements, resultCaller, negateNext,
+                errorMessages);
+        Statement<?> statement;
+        switch (rule.getType()) {
+            case HAVE_TAG:
+                statement = analyzer.haveTag(rule.getArgument());
+                break;
+            case CONTAIN_VALUE:
+                statement = analyzer.containValue(rule.getArgument());
+                break;
+            case EQUALS_VALUE:
+                statement = analyzer.equalsValue(rule.getArgument());
+                break;
+            default:
+                statement = analyzer.haveProperty(rule.getArgument());
+                break;
+        }
+        try {
+            statement.validate();
+            return "";
+        } catch (PomValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Test
+    void testRulesThatPassedBeforeAreNotEvaluatedAgain(@TempDir final Path tempDir)
+            throws IOException {
+        ResultCache cache = new ResultCache(tempDir, "1.0");
+        CachedPom pom = new PomCache(1).get("pom.xml");
+        RuleSet passing = RuleSet.builder()
+                .rule("model").checking("modelVersion").should().containValue("4.0.0")
+                .build();
+        RuleSet failing = RuleSet.builder()
+                .rule("model").checking("modelVersion").should().containValue("5.0.0")
+                .build();
+
+        assertTrue(passing.evaluate(pom, cache).isPassed());
+        RuleSetResult cached = passing.evaluate(pom, cache);
+        assertFalse(failing.evaluate(pom, cache).isPassed());
+        assertFalse(failing.evaluate(pom, cache).isPassed());
+
+        assertTrue(cached.isPassed());
+        assertEquals(passing.getRules(), cached.getResults().stream()
+                .map(RuleResult::getRule).collect(Collectors.toList()));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertTrue(passing.evaluate(pom).isPassed());
+    }
+}
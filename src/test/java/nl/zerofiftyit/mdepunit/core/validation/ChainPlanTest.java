@@ -0,0 +1,378 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.cache.ResultCache;
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
+import nl.zerofiftyit.mdepunit.core.parse.PomReader;
+import nl.zerofiftyit.mdepunit.exception.PomValidationException;
+import nl.zerofiftyit.mdepunit.model.EvaluationMode;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.Violation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ChainPlanTest {
+
+    private static final List<String> NODES = List.of("", "dependencies",
+            "dependencies.dependency", "build.plugins", "properties", "modules");
+    private static final List<String> ARGUMENTS = List.of("version", "artifactId", "scope",
+            "test", "jackson", "java.version", "SNAPSHOT", "[0]", "unknown");
+    private static final List<PlanStep.Kind> CHECKS = List.of(PlanStep.Kind.HAVE_TAG,
+            PlanStep.Kind.CONTAIN_VALUE, PlanStep.Kind.HAVE_PROPERTY,
+            PlanStep.Kind.CONTAIN_MODULE_NODE, PlanStep.Kind.MODULE_EXISTS,
+            PlanStep.Kind.ALL_MODULES_EXIST);
+
+    private static final List<PomElement> DEPENDENCIES = List.of(
+            new PomElement("dependencies.dependency", List.of()),
+            new PomElement("dependencies.dependency[0].artifactId", "a"),
+            new PomElement("dependencies.dependency[0].version", "1.0"),
+            new PomElement("dependencies.dependency[1].artifactId", "b"),
+            new PomElement("dependencies.dependency[1].version", "2.0"));
+
+    private List<PomElement> elements;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        elements = new PomReader("pom.xml").getElements();
+    }
+
+    @Test
+    void testNothingIsExecutedBeforeTheChainIsExecuted() {
+        ResultCaller resultCaller = mock(ResultCaller.class);
+        ChainPlan plan = new ChainPlan("dependencies", elements, null, resultCaller,
+                EvaluationMode.COMPLETE);
+
+        plan.add(PlanStep.Kind.HAVE_TAG, "classifier", false);
+        plan.and(true);
+        plan.add(PlanStep.Kind.MODULE_EXISTS, "unknown", false);
+
+        verifyNoInteractions(resultCaller);
+
+        plan.execute();
+
+        verify(resultCaller).clearErrors();
+        verify(resultCaller).report(any(Violation.class));
+        verify(resultCaller).checkForErrors();
+    }
+
+    @Test
+    void testChecksBeforeNegatedAndCreateNoMessages() {
+        ResultCaller resultCaller = mock(ResultCaller.class);
+        ChainPlan plan = new ChainPlan("dependencies.dependency", elements, null, resultCaller,
+                EvaluationMode.COMPLETE);
+
+        plan.add(PlanStep.Kind.HAVE_TAG, "classifier", true);
+        plan.add(PlanStep.Kind.ALL_MODULES_EXIST, null, true);
+        plan.and(true);
+        plan.add(PlanStep.Kind.CONTAIN_VALUE, "SNAPSHOT", true);
+        plan.execute();
+
+        verify(resultCaller, times(1)).checkForErrors();
+        verify(resultCaller).clearErrors();
+        verify(resultCaller, never()).validate();
+    }
+
+    @Test
+    void testExecuteTwiceOnlyExecutesNewSteps() {
+        ResultCaller resultCaller = mock(ResultCaller.class);
+        ChainPlan plan = new ChainPlan("", elements, null, resultCaller, EvaluationMode.COMPLETE);
+
+        plan.add(PlanStep.Kind.HAVE_TAG, "version", false);
+        plan.execute();
+        plan.execute();
+
+        verify(resultCaller, times(1)).checkForErrors();
+    }
+
+    @Test
+    void testSelectedElementsAreNarrowedByAllFusedChecks() {
+        PathIndex index = PathIndex.of(elements);
+        ChainPlan plan = new ChainPlan("dependencies.dependency", index.getElements(), index,
+                new ResultCaller(new ArrayList<>()), EvaluationMode.COMPLETE);
+
+        plan.add(PlanStep.Kind.HAVE_TAG, "artifactId", false);
+        plan.add(PlanStep.Kind.CONTAIN_VALUE, "lombok", false);
+        plan.execute();
+
+        List<PomElement> selected = plan.getSelected();
+        assertEquals(1, selected.size());
+        assertEquals("lombok", selected.get(0).getValue());
+        assertSame(selected, plan.getSelected());
+    }
+
+    @Test
+    void testFusedChainsReportTheSameAsStepByStepExecution() {
+        PathIndex index = PathIndex.of(elements);
+        Random random = new Random(42);
+
+        for (int chain = 0; chain < 2000; chain++) {
+            String node = NODES.get(random.nextInt(NODES.size()));
+            List<PlanStep> steps = new ArrayList<>();
+            int length = 1 + random.nextInt(5);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    steps.add(new PlanStep(random.nextBoolean()
+                            ? PlanStep.Kind.AND : PlanStep.Kind.OR, null, random.nextBoolean()));
+                }
+                steps.add(new PlanStep(CHECKS.get(random.nextInt(CHECKS.size())),
+                        ARGUMENTS.get(random.nextInt(ARGUMENTS.size())), random.nextBoolean()));
+            }
+            boolean indexed = random.nextBoolean();
+
+            assertEquals(run(node, steps, indexed ? index : null, false),
+                    run(node, steps, indexed ? index : null, true), node + " " + render(steps));
+        }
+    }
+
+    @Test
+    void testOrSkipsTheRightSideWhenTheLeftSidePasses() {
+        ResultCaller resultCaller = mock(ResultCaller.class);
+        ChainPlan plan = new ChainPlan("dependencies.dependency", DEPENDENCIES, null,
+                resultCaller, EvaluationMode.COMPLETE);
+
+        plan.add(PlanStep.Kind.HAVE_TAG, "artifactId", false);
+        plan.or(false);
+        plan.add(PlanStep.Kind.MODULE_EXISTS, "unknown", false);
+        plan.execute();
+
+        verify(resultCaller, times(1)).checkForErrors();
+        verify(resultCaller, never()).report(any(Violation.class));
+    }
+
+    @Test
+    void testOrPassesWhenTheRightSidePasses() {
+        assertEquals("", validate(EvaluationMode.COMPLETE,
+                new PlanStep(PlanStep.Kind.HAVE_TAG, "classifier", false),
+                new PlanStep(PlanStep.Kind.OR, null, false),
+                new PlanStep(PlanStep.Kind.HAVE_TAG, "version", false)));
+    }
+
+    @Test
+    void testOrReportsBothSidesWhenBothFail() {
+        assertEquals("Error(s) occurred:\n"
+                + "No classifier found in dependencies.dependency where it is required\n"
+                + "Error(s) occurred:\n"
+                + "Value 'SNAPSHOT' not found in dependencies.dependency where it is required\n",
+                validate(EvaluationMode.COMPLETE,
+                        new PlanStep(PlanStep.Kind.HAVE_TAG, "classifier", false),
+                        new PlanStep(PlanStep.Kind.OR, null, true),
+                        new PlanStep(PlanStep.Kind.CONTAIN_VALUE, "SNAPSHOT", false)));
+    }
+
+    @Test
+    void testOrIsReadFromLeftToRight() {
+        assertEquals("Error(s) occurred:\n"
+                + "No scope found in dependencies.dependency where it is required\n",
+                validate(EvaluationMode.COMPLETE,
+                        new PlanStep(PlanStep.Kind.HAVE_TAG, "classifier", false),
+                        new PlanStep(PlanStep.Kind.OR, null, false),
+                        new PlanStep(PlanStep.Kind.HAVE_TAG, "version", false),
+                        new PlanStep(PlanStep.Kind.AND, null, false),
+                        new PlanStep(PlanStep.Kind.HAVE_TAG, "scope", false)));
+    }
+
+    @Test
+    void testFailFastReportsTheFirstDisallowedElementOnly() {
+        assertEquals("Error(s) occurred:\n"
+                + "version found in dependencies.dependency where it is not allowed. \n"
+                + "Found disallowed value: \n- 1.0\n",
+                validate(EvaluationMode.FAIL_FAST,
+                        new PlanStep(PlanStep.Kind.HAVE_TAG, "version", true)));
+        assertEquals("Error(s) occurred:\n"
+                + "version found in dependencies.dependency where it is not allowed. \n"
+                + "Found disallowed value: \n- 1.0\n- 2.0\n",
+                validate(EvaluationMode.COMPLETE,
+                        new PlanStep(PlanStep.Kind.HAVE_TAG, "version", true)));
+    }
+
+    @Test
+    void testFailFastStopsTheChainAtTheFirstDecidingError() {
+        assertEquals("Error(s) occurred:\n"
+                + "Value 'a' found in dependencies.dependency where it is not allowed\n",
+                validate(EvaluationMode.FAIL_FAST,
+                        new PlanStep(PlanStep.Kind.CONTAIN_VALUE, "a", true),
+                        new PlanStep(PlanStep.Kind.AND, null, false),
+                        new PlanStep(PlanStep.Kind.HAVE_TAG, "classifier", false),
+                        new PlanStep(PlanStep.Kind.AND, null, false),
+                        new PlanStep(PlanStep.Kind.MODULE_EXISTS, "unknown", false)));
+    }
+
+    @Test
+    void testFailFastContinuesWhenALaterOrCanUndoTheError() {
+        assertEquals("", validate(EvaluationMode.FAIL_FAST,
+                new PlanStep(PlanStep.Kind.HAVE_TAG, "classifier", false),
+                new PlanStep(PlanStep.Kind.AND, null, false),
+                new PlanStep(PlanStep.Kind.HAVE_TAG, "scope", false),
+                new PlanStep(PlanStep.Kind.OR, null, false),
+                new PlanStep(PlanStep.Kind.MODULE_EXISTS, "src", false)));
+    }
+
+    @Test
+    void testFailFastFailsWhenBothSidesOfAnOrFail() {
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            assertEquals("Error(s) occurred:\n"
+                    + "No nope found in dependencies.dependency where it is required\n"
+                    + "Error(s) occurred:\n"
+                    + "No nope2 found in dependencies.dependency where it is required\n",
+                    validate(mode,
+                            new PlanStep(PlanStep.Kind.HAVE_TAG, "nope", false),
+                            new PlanStep(PlanStep.Kind.OR, null, false),
+                            new PlanStep(PlanStep.Kind.HAVE_TAG, "nope2", false)), mode.name());
+            assertEquals("", validate(mode,
+                    new PlanStep(PlanStep.Kind.HAVE_TAG, "nope", false),
+                    new PlanStep(PlanStep.Kind.OR, null, false),
+                    new PlanStep(PlanStep.Kind.MODULE_EXISTS, "src", false)), mode.name());
+        }
+    }
+
+    @Test
+    void testFailFastStopsAtTheFirstMissingModule(@TempDir final Path project)
+            throws IOException {
+        Files.createDirectories(project.resolve("present"));
+        List<PomElement> modules = List.of(new PomElement("modules.module[0]", "present"),
+                new PomElement("modules.module[1]", "unknown-a"),
+                new PomElement("modules.module[2]", "unknown-b"));
+        ResultCaller resultCaller = new ResultCaller(new ArrayList<>());
+        ChainPlan plan = new ChainPlan("", modules, null, resultCaller,
+                EvaluationMode.FAIL_FAST, project);
+
+        plan.add(PlanStep.Kind.ALL_MODULES_EXIST, null, false);
+        plan.execute();
+
+        PomValidationException exception = assertThrows(PomValidationException.class,
+                resultCaller::validate);
+        assertEquals("Error(s) occurred:\n"
+                + "Module 'unknown-a' directory or pom file not found while expected\n",
+                exception.getMessage());
+    }
+
+    @Test
+    void testAChainThatPassedBeforeIsNotExecutedAgain(@TempDir final Path tempDir) {
+        ResultCache cache = new ResultCache(tempDir, "1.0");
+        ResultCaller resultCaller = mock(ResultCaller.class);
+        for (int run = 0; run < 2; run++) {
+            ChainPlan plan = new ChainPlan("dependencies.dependency", DEPENDENCIES, null,
+                    resultCaller, EvaluationMode.COMPLETE);
+            plan.useResultCache(cache, "hash");
+            plan.add(PlanStep.Kind.HAVE_TAG, "version", false);
+            plan.execute();
+        }
+
+        verify(resultCaller, times(1)).checkForErrors();
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testAFailedChainIsExecutedAgain(@TempDir final Path tempDir) {
+        ResultCache cache = new ResultCache(tempDir, "1.0");
+        for (int run = 0; run < 2; run++) {
+            ResultCaller resultCaller = new ResultCaller(new ArrayList<>());
+            ChainPlan plan = new ChainPlan("dependencies.dependency", DEPENDENCIES, null,
+                    resultCaller, EvaluationMode.COMPLETE);
+            plan.useResultCache(cache, "hash");
+            plan.add(PlanStep.Kind.HAVE_TAG, "classifier", false);
+            plan.execute();
+
+            assertEquals(1, resultCaller.getViolations().size());
+        }
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void testStepsAfterASkippedChainSelectFromItsElements(@TempDir final Path tempDir) {
+        ResultCache cache = new ResultCache(tempDir, "1.0");
+        List<String> messages = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            ResultCaller resultCaller = new ResultCaller(new ArrayList<>());
+            ChainPlan plan = new ChainPlan("dependencies.dependency", DEPENDENCIES, null,
+                    resultCaller, EvaluationMode.COMPLETE);
+            plan.useResultCache(cache, "hash");
+
+            plan.add(PlanStep.Kind.CONTAIN_VALUE, "a", false);
+            plan.and(false);
+            plan.execute();
+            plan.add(PlanStep.Kind.CONTAIN_VALUE, "2.0", false);
+            plan.execute();
+            resultCaller.getViolations().forEach(violation ->
+                    messages.add(violation.getMessage()));
+        }
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, messages.size());
+        assertEquals("Value '2.0' not found in dependencies.dependency where it is required",
+                messages.get(1));
+        assertEquals(messages.get(0), messages.get(1));
+    }
+
+    @Test
+    void testModuleChecksAreNeverCached(@TempDir final Path tempDir) {
+        ResultCache cache = new ResultCache(tempDir, "1.0");
+        ChainPlan plan = new ChainPlan("", elements, null, new ResultCaller(new ArrayList<>()),
+                EvaluationMode.COMPLETE);
+        plan.useResultCache(cache, "hash");
+
+        plan.add(PlanStep.Kind.MODULE_EXISTS, "src", false);
+        plan.execute();
+
+        assertEquals(0, cache.getHits() + cache.getMisses());
+    }
+
+    private static String validate(final EvaluationMode mode, final PlanStep... steps) {
+        ResultCaller resultCaller = new ResultCaller(new ArrayList<>());
+        ChainPlan plan = new ChainPlan("dependencies.dependency", DEPENDENCIES, null,
+                resultCaller, mode);
+        for (PlanStep step : steps) {
+            plan.add(step.kind(), step.argument(), step.negated());
+        }
+        plan.execute();
+        try {
+            resultCaller.validate();
+            return "";
+        } catch (PomValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String run(final String node, final List<PlanStep> steps, final PathIndex index,
+                       final boolean stepByStep) {
+        ResultCaller resultCaller = new ResultCaller(new ArrayList<>());
+        ChainPlan plan = new ChainPlan(node, index == null ? elements : index.getElements(), index,
+                resultCaller, EvaluationMode.COMPLETE);
+        for (PlanStep step : steps) {
+            plan.add(step.kind(), step.argument(), step.negated());
+            if (stepByStep) {
+                plan.execute();
+            }
+        }
+        plan.execute();
+        try {
+            resultCaller.validate();
+            return "";
+        } catch (PomValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String render(final List<PlanStep> steps) {
+        StringBuilder builder = new StringBuilder();
+        steps.forEach(step -> builder.append(step.negated() ? "!" : "").append(step.kind())
+                .append('(').append(step.argument()).append(") "));
+        return builder.toString();
+    }
+}
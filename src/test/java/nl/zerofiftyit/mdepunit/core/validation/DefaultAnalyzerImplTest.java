@@ -1,8 +1,10 @@
 package nl.zerofiftyit.mdepunit.core.validation;
 
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
 import nl.zerofiftyit.mdepunit.dsl.Statement;
 import nl.zerofiftyit.mdepunit.model.NegateNext;
 import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.Violation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,12 +12,14 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,7 +35,7 @@ class DefaultAnalyzerImplTest {
     void setup() {
 
         pomElements = new ArrayList<>();
-        resultCaller = mock(ResultCaller.class);
+        resultCaller = spy(new ResultCaller(new ArrayList<>()));
         negateNext = mock(NegateNext.class);
         errorMessages = new ArrayList<>();
 
@@ -54,8 +58,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result  = testable.haveTag("version");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
         verify(resultCaller).checkForErrors();
 
     }
@@ -76,8 +82,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.haveTag("version");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertEquals(2, errorMessages.size());
+        assertEquals(2, messages().size());
         verify(resultCaller).checkForErrors();
     }
 
@@ -97,8 +105,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result  = testable.haveTag("version");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertEquals(1, errorMessages.size());
+        assertEquals(1, messages().size());
         verify(resultCaller).checkForErrors();
     }
 
@@ -118,8 +128,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.haveTag("version");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
         verify(resultCaller).checkForErrors();
     }
 
@@ -141,8 +153,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.containValue("customer");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
         verify(resultCaller).checkForErrors();
     }
 
@@ -164,8 +178,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.containValue("customer");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertFalse(errorMessages.isEmpty());
+        assertFalse(messages().isEmpty());
         verify(resultCaller).checkForErrors();
     }
 
@@ -187,8 +203,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.containValue("notexisting");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertFalse(errorMessages.isEmpty());
+        assertFalse(messages().isEmpty());
         verify(resultCaller).checkForErrors();
     }
 
@@ -210,8 +228,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.containValue("notexisting");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
         verify(resultCaller).checkForErrors();
 
     }
@@ -227,8 +247,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.equalsValue("1.0.0");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
         verify(resultCaller).checkForErrors();
     }
 
@@ -243,8 +265,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.equalsValue("1.0.0");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertFalse(errorMessages.isEmpty());
+        assertFalse(messages().isEmpty());
         verify(resultCaller).checkForErrors();
     }
 
@@ -259,8 +283,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.equalsValue("2.0.0");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertFalse(errorMessages.isEmpty());
+        assertFalse(messages().isEmpty());
         verify(resultCaller).checkForErrors();
     }
 
@@ -275,8 +301,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.equalsValue("2.0.0");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
         verify(resultCaller).checkForErrors();
     }
 
@@ -291,8 +319,10 @@ class DefaultAnalyzerImplTest {
 
         Statement<DefaultAnalyzerImpl> result = testable.equalsValue("1.0.0");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
         verify(resultCaller).checkForErrors();
     }
 
@@ -314,5 +344,51 @@ class DefaultAnalyzerImplTest {
 
         Assertions.assertThrows(NullPointerException.class, () -> testable.equalsValue(null));
     }
-}
 
+    @Test
+    void testIndexedHaveTagSelectsThroughIndex() {
+
+        pomElements.add(new PomElement("dependencies.dependency", new ArrayList<>()));
+        pomElements.add(new PomElement("dependencies.dependency[0].artifactId", "artifact"));
+        pomElements.add(new PomElement("dependencies.dependency[0].version", "1.0.0"));
+        pomElements.add(new PomElement("parent.version", "2.0.0"));
+
+        testable = new DefaultAnalyzerImpl("dependencies.dependency", PathIndex.of(pomElements),
+                resultCaller, negateNext, errorMessages);
+
+        when(negateNext.isNegateNext()).thenReturn(true);
+
+        Statement<DefaultAnalyzerImpl> result = testable.haveTag("version");
+
+        testable.plan().execute();
+
+        assertNotNull(result);
+        assertEquals(List.of("version found in dependencies.dependency where it is not allowed. "
+                + "\nFound disallowed value: ", "- 1.0.0"), messages());
+        verify(resultCaller).checkForErrors();
+    }
+
+    @Test
+    void testIndexedContainValueThenHaveTagOnNarrowedElements() {
+
+        pomElements.add(new PomElement("modules.module", List.of("customer", "product")));
+        pomElements.add(new PomElement("modules.module[0]", "customer"));
+        pomElements.add(new PomElement("modules.module[1]", "product"));
+
+        testable = new DefaultAnalyzerImpl("modules.module", PathIndex.of(pomElements),
+                resultCaller, negateNext, errorMessages);
+
+        when(negateNext.isNegateNext()).thenReturn(false);
+
+        testable.containValue("customer").and().haveTag("[0]").validate();
+
+        assertTrue(messages().isEmpty());
+        assertEquals(1, testable.getPomElements().size());
+    }
+
+    private List<String> messages() {
+        return resultCaller.getViolations().stream()
+                .map(Violation::getMessage)
+                .collect(Collectors.toList());
+    }
+}
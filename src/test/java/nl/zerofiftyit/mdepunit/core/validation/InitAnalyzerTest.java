@@ -1,11 +1,26 @@
 package nl.zerofiftyit.mdepunit.core.validation;
 
+import nl.zerofiftyit.mdepunit.core.graph.GraphBuilder;
+import nl.zerofiftyit.mdepunit.core.parse.ParentResolver;
+import nl.zerofiftyit.mdepunit.core.parse.PomCache;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSetResult;
 import nl.zerofiftyit.mdepunit.dsl.Inclusion;
+import nl.zerofiftyit.mdepunit.exception.PomValidationException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,4 +56,255 @@ class InitAnalyzerTest {
 
         assertEquals(Inclusion.class, result.getClass());
     }
+
+    @Test
+    void testCheckingRuleSetEvaluatesAllRules() throws IOException {
+        RuleSet ruleSet = RuleSet.builder()
+                .rule("model").checking("modelVersion").should().containValue("4.0.0")
+                .rule("modules").checking("modules").should().haveTag("module")
+                .build();
+
+        RuleSetResult result = InitAnalyzer.analyzePom().checking(ruleSet);
+
+        assertEquals(2, result.getResults().size());
+        assertTrue(result.getResults().get(0).isPassed());
+        assertFalse(result.getResults().get(1).isPassed());
+    }
+
+    @Test
+    @SuppressWarnings("DataFlowIssue")
+    void testCheckingNullRuleSetThrowsException() throws IOException {
+        InitAnalyzer analyzer = InitAnalyzer.analyzePom();
+
+        assertThrows(NullPointerException.class, () -> analyzer.checking((RuleSet) null));
+    }
+
+    @Test
+    void testAnalyzePomTwiceIsServedFromCache() throws IOException {
+        InitAnalyzer.analyzePom();
+        long hits = PomCache.shared().getHits();
+
+        InitAnalyzer.analyzePom();
+
+        assertTrue(PomCache.shared().getHits() > hits);
+    }
+
+    @Test
+    void testModulesAreResolvedRelativeToTheAnalyzedPom(@TempDir final Path project)
+            throws IOException {
+        Files.createDirectories(project.resolve("child"));
+        Path pom = project.resolve("pom.xml");
+        Files.writeString(pom, "<project><modules><module>child</module></modules></project>");
+
+        InitAnalyzer analyzer = InitAnalyzer.analyzePom(pom.toString());
+
+        assertDoesNotThrow(() -> analyzer.checkingModule().should().moduleExists("child")
+                .validate());
+        assertThrows(PomValidationException.class, () -> analyzer.checkingModule().should()
+                .moduleExists("src").validate());
+    }
+
+    @Test
+    void testAllRegisteredModulesOfTheAnalyzedPomMustExist(@TempDir final Path project)
+            throws IOException {
+        Files.createDirectories(project.resolve("child"));
+        Path pom = project.resolve("pom.xml");
+        Files.writeString(pom, "<project><modules><module>child</module>"
+                + "<module>does-not-exist</module><module>also-missing</module></modules>"
+                + "</project>");
+
+        InitAnalyzer analyzer = InitAnalyzer.analyzePom(pom.toString());
+
+        PomValidationException exception = assertThrows(PomValidationException.class,
+                () -> analyzer.checkingModule().should().allRegisteredModulesExist().validate());
+        assertEquals("Error(s) occurred:\n"
+                + "Module 'does-not-exist' directory or pom file not found while expected\n"
+                + "Error(s) occurred:\n"
+                + "Module 'also-missing' directory or pom file not found while expected\n",
+                exception.getMessage());
+
+        Files.writeString(pom, "<project><modules><module>child</module></modules></project>");
+        assertDoesNotThrow(() -> InitAnalyzer.analyzePom(pom.toString()).checkingModule()
+                .should().allRegisteredModulesExist().validate());
+    }
+
+    @Test
+    void testChecksOfTheEffectivePomSeeTheParent(@TempDir final Path project)
+            throws IOException {
+        Files.writeString(project.resolve("pom.xml"), "<project><groupId>g</groupId>"
+                + "<artifactId>parent</artifactId><dependencyManagement><dependencies>"
+                + "<dependency><groupId>g</groupId><artifactId>a</artifactId>"
+                + "<version>1.0</version></dependency>"
+                + "</dependencies></dependencyManagement></project>");
+        Files.createDirectories(project.resolve("child"));
+        Path child = project.resolve("child/pom.xml");
+        Files.writeString(child, "<project><parent><groupId>g</groupId>"
+                + "<artifactId>parent</artifactId></parent><artifactId>child</artifactId>"
+                + "</project>");
+
+        InitAnalyzer analyzer = InitAnalyzer.analyzePom(child.toString());
+
+        assertThrows(PomValidationException.class, () -> analyzer
+                .checking("dependencyManagement.dependencies.dependency").should()
+                .haveTag("version").validate());
+        assertDoesNotThrow(() -> analyzer.withParents()
+                .checking("dependencyManagement.dependencies.dependency").should()
+                .haveTag("version").validate());
+        assertThrows(NullPointerException.class, () -> analyzer.withParents(null));
+    }
+
+    @Test
+    void testValueChecksCanCompareInterpolatedValues(@TempDir final Path project)
+            throws IOException {
+        Files.writeString(project.resolve("pom.xml"), "<project><groupId>g</groupId>"
+                + "<artifactId>parent</artifactId>"
+                + "<properties><spring.version>6.1.0</spring.version></properties></project>");
+        Files.createDirectories(project.resolve("child"));
+        Path child = project.resolve("child/pom.xml");
+        Files.writeString(child, "<project><parent><groupId>g</groupId>"
+                + "<artifactId>parent</artifactId></parent><artifactId>child</artifactId>"
+                + "<dependencies><dependency><artifactId>spring-core</artifactId>"
+                + "<version>${spring.version}</version></dependency></dependencies></project>");
+
+        InitAnalyzer analyzer = InitAnalyzer.analyzePom(child.toString());
+
+        assertThrows(PomValidationException.class, () -> analyzer.withInterpolation()
+                .checking("dependencies.dependency").should().containValue("6.1.0").validate());
+        assertDoesNotThrow(() -> analyzer.withInterpolation().withParents()
+                .checking("dependencies.dependency").should().containValue("6.1.0").validate());
+        assertDoesNotThrow(() -> analyzer.withParents().withInterpolation()
+                .checking("dependencies.dependency.version").should().containValue("6.1.0")
+                .and().haveTag("version").validate());
+        assertDoesNotThrow(() -> analyzer.withParents()
+                .checking("dependencies.dependency").should().containValue("${spring")
+                .validate());
+    }
+
+    @Test
+    void testDependenciesAreCheckedByCoordinates() throws IOException {
+        InitAnalyzer analyzer = InitAnalyzer.analyzePom();
+
+        assertDoesNotThrow(() -> analyzer.checking("dependencies").should()
+                .haveDependency("org.projectlombok", "lombok").validate());
+        assertThrows(PomValidationException.class, () -> analyzer.checking("dependencies")
+                .shouldNot().haveDependency("org.projectlombok:lombok::jar").validate());
+    }
+
+    @Test
+    void testTheDependencyGraphIsChecked(@TempDir final Path project) throws IOException {
+        Path repository = project.resolve("repository");
+        for (String[] artifact : new String[][]{{"a", "<dependency><groupId>g</groupId>"
+                + "<artifactId>c</artifactId><version>1</version></dependency>"
+                + "<dependency><groupId>g</groupId><artifactId>banned</artifactId>"
+                + "<version>1</version></dependency>"},
+                {"b", "<dependency><groupId>g</groupId><artifactId>c</artifactId>"
+                        + "<version>2</version></dependency>"},
+                {"c", "<dependency><groupId>g</groupId><artifactId>a</artifactId>"
+                        + "<version>1</version></dependency>"}}) {
+            for (String version : List.of("1", "2")) {
+                Path pom = repository.resolve("g/" + artifact[0] + "/" + version + "/"
+                        + artifact[0] + "-" + version + ".pom");
+                Files.createDirectories(pom.getParent());
+                Files.writeString(pom, "<project><groupId>g</groupId><artifactId>" + artifact[0]
+                        + "</artifactId><version>" + version + "</version><dependencies>"
+                        + (version.equals("1") ? artifact[1] : "") + "</dependencies></project>");
+            }
+        }
+        Path pomFile = project.resolve("pom.xml");
+        Files.writeString(pomFile, "<project><groupId>g</groupId><artifactId>app</artifactId>"
+                + "<version>1</version><dependencies>"
+                + "<dependency><groupId>g</groupId><artifactId>a</artifactId>"
+                + "<version>1</version></dependency>"
+                + "<dependency><groupId>g</groupId><artifactId>b</artifactId>"
+                + "<version>1</version></dependency></dependencies></project>");
+        InitAnalyzer plain = InitAnalyzer.analyzePom(pomFile.toString());
+        GraphBuilder builder = new GraphBuilder(new ParentResolver(repository));
+        InitAnalyzer analyzer = plain.withDependencyGraph(builder);
+
+        PomValidationException conflict = assertThrows(PomValidationException.class,
+                () -> analyzer.checking("dependencies").shouldNot().haveVersionConflicts()
+                        .validate());
+        assertEquals("Versions [1, 2] of 'g:c' found in the dependency graph of dependencies",
+                conflict.getViolations().get(0).getMessage());
+        PomValidationException banned = assertThrows(PomValidationException.class,
+                () -> analyzer.withInterpolation().checking("dependencies").shouldNot()
+                        .haveTransitiveDependency("g:banned").validate());
+        assertEquals("Transitive dependency 'g:banned:1' found in the dependency graph of"
+                        + " dependencies where it is not allowed, via g:app:1 -> g:a:1 ->"
+                        + " g:banned:1", banned.getViolations().get(0).getMessage());
+        PomValidationException cycle = assertThrows(PomValidationException.class,
+                () -> analyzer.withParents().checking("dependencies").shouldNot()
+                        .haveDependencyCycles().validate());
+        assertEquals("Dependency cycle found in the dependency graph of dependencies:"
+                        + " g:a:1 -> g:c:1 -> g:a:1", cycle.getViolations().get(0).getMessage());
+        assertDoesNotThrow(() -> analyzer.checking("dependencies").should()
+                .haveVersionConflicts().and().haveDependencyCycles().validate());
+        assertDoesNotThrow(() -> analyzer.checking("dependencies").shouldNot()
+                .haveTransitiveDependency("g:a").validate());
+        PomValidationException required = assertThrows(PomValidationException.class,
+                () -> analyzer.checking("dependencies").should()
+                        .haveTransitiveDependency("g:b").validate());
+        assertEquals("No transitive dependency 'g:b' found in the dependency graph of"
+                + " dependencies where it is required", required.getViolations().get(0)
+                .getMessage());
+        assertThrows(IllegalArgumentException.class, () -> analyzer.checking("dependencies")
+                .should().haveTransitiveDependency("g:b:1"));
+        assertThrows(IllegalStateException.class, () -> plain.checking("dependencies")
+                .shouldNot().haveDependencyCycles().validate());
+        String previous = System.getProperty(ParentResolver.SYSTEM_PROPERTY);
+        System.setProperty(ParentResolver.SYSTEM_PROPERTY, repository.toString());
+        try {
+            assertDoesNotThrow(() -> plain.withDependencyGraph().checking("dependencies")
+                    .should().haveDependencyCycles().validate());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(ParentResolver.SYSTEM_PROPERTY);
+            } else {
+                System.setProperty(ParentResolver.SYSTEM_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    void testTheNegationOfAChainDoesNotAffectOtherChains() throws IOException {
+        InitAnalyzer analyzer = InitAnalyzer.analyzePom();
+
+        analyzer.checking("modelVersion").shouldNot();
+        analyzer.checkingModule().shouldNot();
+
+        assertDoesNotThrow(() -> analyzer.checking("modelVersion").should()
+                .containValue("4.0.0").validate());
+        assertThrows(PomValidationException.class, () -> analyzer.checking("modelVersion")
+                .shouldNot().containValue("4.0.0").and().containValue("4.0.0").validate());
+        assertDoesNotThrow(() -> analyzer.checking("modelVersion").should()
+                .containValue("4.0.0").validate());
+    }
+
+    @Test
+    void testChainsOfOneAnalyzerCanBeValidatedConcurrently() throws Exception {
+        InitAnalyzer analyzer = InitAnalyzer.analyzePom();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> chains = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                boolean negated = i % 2 == 0;
+                chains.add(() -> {
+                    Inclusion<PomAnalyzer> inclusion = analyzer.checking("modelVersion");
+                    PomAnalyzer chain = negated ? inclusion.shouldNot() : inclusion.should();
+                    try {
+                        chain.containValue("4.0.0").and().haveTag("modelVersion").validate();
+                        return !negated;
+                    } catch (PomValidationException e) {
+                        return negated && e.getMessage()
+                                .startsWith("Error(s) occurred:\nmodelVersion found");
+                    }
+                });
+            }
+            for (Future<Boolean> outcome : executor.invokeAll(chains)) {
+                assertTrue(outcome.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
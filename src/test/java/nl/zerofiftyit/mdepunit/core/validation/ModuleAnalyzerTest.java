@@ -1,20 +1,27 @@
 package nl.zerofiftyit.mdepunit.core.validation;
 
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
 import nl.zerofiftyit.mdepunit.dsl.Statement;
 import nl.zerofiftyit.mdepunit.model.NegateNext;
 import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.Violation;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("all")
@@ -27,7 +34,6 @@ class ModuleAnalyzerTest {
     private List<PomElement> pomElements;
     private List<String> errorMessages;
 
-    @Mock
     private ResultCaller resultCaller;
     @Mock
     private NegateNext negateNext;
@@ -37,6 +43,7 @@ class ModuleAnalyzerTest {
         MockitoAnnotations.openMocks(this);
         pomElements = new ArrayList<>();
         errorMessages = new ArrayList<>();
+        resultCaller = spy(new ResultCaller(errorMessages));
         testable = new ModuleAnalyzer(GIVEN_NODE, pomElements, resultCaller, negateNext, errorMessages);
     }
 
@@ -46,7 +53,9 @@ class ModuleAnalyzerTest {
 
         Statement<ModuleAnalyzer> result = testable.moduleExists(GIVEN_NODE_VALUE);
 
-        assertTrue(errorMessages.isEmpty());
+        testable.plan().execute();
+
+        assertTrue(messages().isEmpty());
         assertNotNull(result);
     }
 
@@ -59,9 +68,11 @@ class ModuleAnalyzerTest {
 
         Statement<ModuleAnalyzer> result = testable.moduleExists("non-existing-module");
 
-        assertFalse(errorMessages.isEmpty());
-        assertEquals(1, errorMessages.size());
-        assertTrue(errorMessages.get(0).contains("non-existing-module"));
+        testable.plan().execute();
+
+        assertFalse(messages().isEmpty());
+        assertEquals(1, messages().size());
+        assertTrue(messages().get(0).contains("non-existing-module"));
         assertNotNull(result);
     }
 
@@ -71,10 +82,12 @@ class ModuleAnalyzerTest {
 
         Statement<ModuleAnalyzer> result = testable.moduleExists(GIVEN_NODE_VALUE); // "src" exists
 
-        assertFalse(errorMessages.isEmpty());
-        assertEquals(1, errorMessages.size());
-        assertTrue(errorMessages.get(0).contains(GIVEN_NODE_VALUE));
-        assertTrue(errorMessages.get(0).contains("found, but not expected"));
+        testable.plan().execute();
+
+        assertFalse(messages().isEmpty());
+        assertEquals(1, messages().size());
+        assertTrue(messages().get(0).contains(GIVEN_NODE_VALUE));
+        assertTrue(messages().get(0).contains("found, but not expected"));
         assertNotNull(result);
     }
 
@@ -84,7 +97,9 @@ class ModuleAnalyzerTest {
 
         Statement<ModuleAnalyzer> result = testable.moduleExists("non-existing-module");
 
-        assertTrue(errorMessages.isEmpty()); // No error should be added
+        testable.plan().execute();
+
+        assertTrue(messages().isEmpty()); // No error should be added
         assertNotNull(result);
     }
 
@@ -98,8 +113,9 @@ class ModuleAnalyzerTest {
 
         try {
             Statement<ModuleAnalyzer> result = testable.moduleExists("temp-test-dir");
+            testable.plan().execute();
 
-            assertTrue(errorMessages.isEmpty()); // No error should be added since directory exists
+            assertTrue(messages().isEmpty()); // No error should be added since directory exists
             assertNotNull(result);
         } finally {
             tempDir.delete();
@@ -123,7 +139,9 @@ class ModuleAnalyzerTest {
 
             Statement<ModuleAnalyzer> result = testable.moduleExists("temp-test-dir2");
 
-            assertTrue(errorMessages.isEmpty()); // No error should be added since pom.xml exists
+            testable.plan().execute();
+
+            assertTrue(messages().isEmpty()); // No error should be added since pom.xml exists
             assertNotNull(result);
         } catch (IOException e) {
             fail("Failed to create test files: " + e.getMessage());
@@ -136,24 +154,67 @@ class ModuleAnalyzerTest {
     @Test
     void testAllRegisteredModulesExistWhenNoModules() {
         Statement<ModuleAnalyzer> result = testable.allRegisteredModulesExist();
+        testable.plan().execute();
 
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
         assertNotNull(result);
     }
 
     @Test
-    void testAllRegisteredModulesExistWhenModulesExist() {
-        List<String> modules = List.of("test-module");
-        PomElement moduleElement = new PomElement("modules.module", modules);
-        pomElements.add(moduleElement);
+    void testAllRegisteredModulesExistWhenModulesExist(@TempDir final Path project)
+            throws IOException {
+        Files.createDirectories(project.resolve("module-a"));
+        Files.createDirectories(project.resolve("module-b"));
+        pomElements.add(new PomElement("modules.module[0]", "module-a"));
+        pomElements.add(new PomElement("modules.module[1]", "module-b"));
         when(negateNext.isNegateNext()).thenReturn(false);
+        testable = new ModuleAnalyzer("modules.module", PathIndex.of(pomElements), resultCaller,
+                negateNext, project);
 
         Statement<ModuleAnalyzer> result = testable.allRegisteredModulesExist();
 
-        assertTrue(errorMessages.isEmpty());
+        testable.plan().execute();
+
+        assertTrue(messages().isEmpty());
         assertNotNull(result);
     }
 
+    @Test
+    void testAllRegisteredModulesExistReportsEveryMissingModule(@TempDir final Path project)
+            throws IOException {
+        Files.createDirectories(project.resolve("module-a"));
+        pomElements.add(new PomElement("modules.module[0]", "module-a"));
+        pomElements.add(new PomElement("modules.module[1]", "missing-b"));
+        pomElements.add(new PomElement("modules.module[2]", "missing-c"));
+        when(negateNext.isNegateNext()).thenReturn(false);
+        testable = new ModuleAnalyzer("modules.module", PathIndex.of(pomElements), resultCaller,
+                negateNext, project);
+
+        testable.allRegisteredModulesExist();
+
+        testable.plan().execute();
+
+        assertEquals(List.of(
+                "Module 'missing-b' directory or pom file not found while expected",
+                "Module 'missing-c' directory or pom file not found while expected"),
+                messages());
+    }
+
+    @Test
+    void testAllRegisteredModulesExistChecksASingleModule(@TempDir final Path project) {
+        pomElements.add(new PomElement("modules.module", "missing"));
+        when(negateNext.isNegateNext()).thenReturn(false);
+        testable = new ModuleAnalyzer("modules.module", PathIndex.of(pomElements), resultCaller,
+                negateNext, project);
+
+        testable.allRegisteredModulesExist();
+
+        testable.plan().execute();
+
+        assertEquals(List.of("Module 'missing' directory or pom file not found while expected"),
+                messages());
+    }
+
     @Test
     void testContainModuleNodeWhenExists() {
         List<String> modules = List.of("test-module");
@@ -162,7 +223,9 @@ class ModuleAnalyzerTest {
 
         Statement<ModuleAnalyzer> result = testable.containModuleNode("test-module");
 
-        assertTrue(errorMessages.isEmpty());
+        testable.plan().execute();
+
+        assertTrue(messages().isEmpty());
         assertNotNull(result);
     }
 
@@ -172,8 +235,9 @@ class ModuleAnalyzerTest {
         PomElement moduleElement = new PomElement("modules.module", modules);
         pomElements.add(moduleElement);
         Statement<ModuleAnalyzer> result = testable.containModuleNode("non-existing-module");
+        testable.plan().execute();
 
-        assertFalse(errorMessages.isEmpty());
+        assertFalse(messages().isEmpty());
         assertNotNull(result);
     }
 
@@ -188,4 +252,24 @@ class ModuleAnalyzerTest {
 
         Assertions.assertThrows(NullPointerException.class, () -> testable.moduleExists(null));
     }
+
+    @Test
+    void testIndexedContainModuleNodeWhenExists() {
+        pomElements.add(new PomElement("modules.module", "test-module"));
+        testable = new ModuleAnalyzer("modules.module", PathIndex.of(pomElements), resultCaller,
+                negateNext, errorMessages);
+
+        Statement<ModuleAnalyzer> result = testable.containModuleNode("test-module");
+
+        testable.plan().execute();
+
+        assertTrue(messages().isEmpty());
+        assertNotNull(result);
+    }
+
+    private List<String> messages() {
+        return resultCaller.getViolations().stream()
+                .map(Violation::getMessage)
+                .collect(Collectors.toList());
+    }
 }
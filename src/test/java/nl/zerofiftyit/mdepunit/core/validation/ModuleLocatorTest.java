@@ -0,0 +1,83 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModuleLocatorTest {
+
+    @TempDir
+    Path project;
+
+    @Test
+    void testModulesAreResolvedRelativeToTheBaseDirectory() throws IOException {
+        Files.createDirectories(project.resolve("api"));
+        Files.createDirectories(project.resolve("services/billing"));
+        Files.writeString(project.resolve("services/shipping.xml"), "<project/>");
+        ModuleLocator locator = new ModuleLocator(project);
+
+        assertTrue(locator.exists("api"));
+        assertTrue(locator.exists("services/billing"));
+        assertTrue(locator.exists("services/shipping.xml"));
+        assertTrue(locator.exists("services/../api/"));
+        assertFalse(locator.exists("web"));
+        assertFalse(locator.exists("unknown/web"));
+    }
+
+    @Test
+    void testModulesSharingAParentDirectoryAreListedOnce() throws IOException {
+        Files.createDirectories(project.resolve("a"));
+        Files.createDirectories(project.resolve("b"));
+        Files.createDirectories(project.resolve("nested/c"));
+        ModuleLocator locator = new ModuleLocator(project, false);
+
+        locator.prefetch(List.of("a", "b", "missing", "nested/c"));
+
+        assertEquals(2, locator.getListedDirectories());
+        assertTrue(locator.exists("a"));
+        assertTrue(locator.exists("b"));
+        assertFalse(locator.exists("missing"));
+        assertTrue(locator.exists("nested/c"));
+        assertEquals(2, locator.getListedDirectories());
+    }
+
+    @Test
+    void testParentDirectoriesCanBeListedConcurrently() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            Files.createDirectories(project.resolve("group" + i + "/module"));
+        }
+        ModuleLocator locator = new ModuleLocator(project, true);
+        List<String> modules = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            modules.add("group" + i + "/module");
+        }
+
+        locator.prefetch(modules);
+
+        assertEquals(20, locator.getListedDirectories());
+        assertTrue(modules.stream().allMatch(locator::exists));
+    }
+
+    @Test
+    void testAFileCannotHoldModules() throws IOException {
+        Files.writeString(project.resolve("file"), "");
+        ModuleLocator locator = new ModuleLocator(project);
+
+        assertFalse(locator.exists("file/module"));
+    }
+
+    @Test
+    void testTheRootOfTheFileSystemHasNoParentToList() {
+        ModuleLocator locator = new ModuleLocator(project);
+
+        assertTrue(locator.exists(project.getRoot().toString()));
+        assertEquals(0, locator.getListedDirectories());
+    }
+}
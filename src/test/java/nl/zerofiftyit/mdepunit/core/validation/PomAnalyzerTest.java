@@ -1,17 +1,24 @@
 package nl.zerofiftyit.mdepunit.core.validation;
 
+import nl.zerofiftyit.mdepunit.core.parse.PathIndex;
 import nl.zerofiftyit.mdepunit.dsl.Statement;
+import nl.zerofiftyit.mdepunit.model.DependencyScope;
 import nl.zerofiftyit.mdepunit.model.NegateNext;
 import nl.zerofiftyit.mdepunit.model.PomElement;
+import nl.zerofiftyit.mdepunit.model.Violation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,7 +38,7 @@ class PomAnalyzerTest {
 
         testable = new PomAnalyzer("properties",
                 propertyPomElements,
-                resultCaller = mock(ResultCaller.class),
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
                 negateNext = mock(NegateNext.class),
                 errorMessages = new ArrayList<>());
     }
@@ -46,7 +53,7 @@ class PomAnalyzerTest {
 
         testable = new PomAnalyzer("properties",
                 propertyPomElements,
-                resultCaller = mock(ResultCaller.class),
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
                 negateNext = mock(NegateNext.class),
                 errorMessages = new ArrayList<>());
 
@@ -54,8 +61,10 @@ class PomAnalyzerTest {
 
         Statement<PomAnalyzer> result = testable.haveProperty("java.version");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
     }
 
     @Test
@@ -63,7 +72,7 @@ class PomAnalyzerTest {
 
         testable = new PomAnalyzer("properties",
                 propertyPomElements,
-                resultCaller = mock(ResultCaller.class),
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
                 negateNext = mock(NegateNext.class),
                 errorMessages = new ArrayList<>());
 
@@ -71,8 +80,10 @@ class PomAnalyzerTest {
 
         Statement<PomAnalyzer> result = testable.haveProperty("not.existing.property");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertEquals(1, errorMessages.size());
+        assertEquals(1, messages().size());
 
     }
 
@@ -81,7 +92,7 @@ class PomAnalyzerTest {
 
         testable = new PomAnalyzer("properties",
                 propertyPomElements,
-                resultCaller = mock(ResultCaller.class),
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
                 negateNext = mock(NegateNext.class),
                 errorMessages = new ArrayList<>());
 
@@ -89,8 +100,10 @@ class PomAnalyzerTest {
 
         Statement<PomAnalyzer> result = testable.haveProperty("java.version");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertEquals(1, errorMessages.size());
+        assertEquals(1, messages().size());
     }
 
     @Test
@@ -98,7 +111,7 @@ class PomAnalyzerTest {
 
         testable = new PomAnalyzer("properties",
                 propertyPomElements,
-                resultCaller = mock(ResultCaller.class),
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
                 negateNext = mock(NegateNext.class),
                 errorMessages = new ArrayList<>());
 
@@ -106,7 +119,208 @@ class PomAnalyzerTest {
 
         Statement<PomAnalyzer> result = testable.haveProperty("not.existing.version");
 
+        testable.plan().execute();
+
         assertNotNull(result);
-        assertTrue(errorMessages.isEmpty());
+        assertTrue(messages().isEmpty());
+    }
+
+    @Test
+    void testIndexedHavePropertyWhenShouldAndHas() {
+
+        propertyPomElements.add(new PomElement("dependencies.dependency.java.version", "11"));
+        testable = new PomAnalyzer("properties",
+                PathIndex.of(propertyPomElements),
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
+                negateNext = mock(NegateNext.class),
+                errorMessages = new ArrayList<>());
+
+        when(negateNext.isNegateNext()).thenReturn(false);
+
+        Statement<PomAnalyzer> result = testable.haveProperty("java.version");
+
+        testable.plan().execute();
+
+        assertNotNull(result);
+        assertTrue(messages().isEmpty());
+    }
+
+    @Test
+    void testHaveDependencyLooksUpTheSectionOfTheGivenNode() {
+        List<PomElement> elements = List.of(
+                new PomElement("dependencies.dependency", Map.of("groupId", "g",
+                        "artifactId", "a")),
+                new PomElement("dependencyManagement.dependencies.dependency",
+                        Map.of("groupId", "g", "artifactId", "managed", "type", "pom")));
+        String[][] checks = {
+                {"dependencies", "g:a", "false", "0"},
+                {"dependencies", "g:a::jar", "false", "0"},
+                {"dependencies", "g:managed", "false", "1"},
+                {"dependencies", "g:a", "true", "1"},
+                {"dependencies", "g:b", "true", "0"},
+                {"dependencyManagement", "g:managed::pom", "false", "0"},
+                {"dependencyManagement", "g:a", "false", "1"},
+        };
+        for (String[] check : checks) {
+            testable = new PomAnalyzer(check[0], elements,
+                    resultCaller = spy(new ResultCaller(new ArrayList<>())),
+                    negateNext = mock(NegateNext.class),
+                    errorMessages = new ArrayList<>());
+            when(negateNext.isNegateNext()).thenReturn(Boolean.parseBoolean(check[2]));
+
+            testable.haveDependency(check[1]);
+            testable.plan().execute();
+
+            assertEquals(Integer.parseInt(check[3]), messages().size(), String.join(" ", check));
+        }
+
+        testable = new PomAnalyzer("dependencies", elements,
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
+                negateNext = mock(NegateNext.class),
+                errorMessages = new ArrayList<>());
+        when(negateNext.isNegateNext()).thenReturn(true);
+        testable.haveDependency("g", "a");
+        testable.plan().execute();
+        assertEquals(List.of("Dependency 'g:a' found in dependencies where it is not allowed"),
+                messages());
+        assertEquals("dependencies.dependency",
+                resultCaller.getViolations().get(0).getPath().toString());
+    }
+
+    @Test
+    void testHaveDependencyByGroupAndArtifactId() {
+        testable = new PomAnalyzer("dependencies", List.of(),
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
+                negateNext = mock(NegateNext.class),
+                errorMessages = new ArrayList<>());
+
+        testable.haveDependency("g", "a");
+        testable.plan().execute();
+
+        assertEquals(List.of("Dependency 'g:a' not found in dependencies where it is required"),
+                messages());
+        assertThrows(IllegalArgumentException.class, () -> testable.haveDependency("g:a:b"));
+    }
+
+    @Test
+    void testHaveDependencyInScopeLooksUpThePartitionOfTheScope() {
+        List<PomElement> elements = List.of(
+                new PomElement("dependencies.dependency[0]", Map.of("groupId", "g",
+                        "artifactId", "a")),
+                new PomElement("dependencies.dependency[1]", Map.of("groupId", "g",
+                        "artifactId", "t", "scope", "test")),
+                new PomElement("dependencyManagement.dependencies.dependency",
+                        Map.of("groupId", "g", "artifactId", "bom", "type", "pom",
+                                "scope", "import")));
+        Object[][] checks = {
+                {"dependencies", "g:a", DependencyScope.COMPILE, false, 0},
+                {"dependencies", "g:a", DependencyScope.TEST, false, 1},
+                {"dependencies", "g:t", DependencyScope.TEST, true, 1},
+                {"dependencies", "g:t::jar", DependencyScope.COMPILE, true, 0},
+                {"dependencies", null, DependencyScope.TEST, false, 0},
+                {"dependencies", null, DependencyScope.SYSTEM, true, 0},
+                {"dependencies", null, DependencyScope.IMPORT, false, 1},
+                {"dependencyManagement", "g:bom::pom", DependencyScope.IMPORT, false, 0},
+                {"dependencyManagement", null, DependencyScope.IMPORT, true, 1},
+        };
+        for (Object[] check : checks) {
+            testable = new PomAnalyzer((String) check[0], elements,
+                    resultCaller = spy(new ResultCaller(new ArrayList<>())),
+                    negateNext = mock(NegateNext.class),
+                    errorMessages = new ArrayList<>());
+            when(negateNext.isNegateNext()).thenReturn((Boolean) check[3]);
+
+            DependencyScope scope = (DependencyScope) check[2];
+            Statement<PomAnalyzer> result = check[1] == null
+                    ? testable.haveDependencyInScope(scope)
+                    : testable.haveDependencyInScope((String) check[1], scope);
+            testable.plan().execute();
+
+            assertNotNull(result);
+            assertEquals(check[4], messages().size(), Arrays.toString(check));
+        }
+
+        testable = new PomAnalyzer("dependencies", elements,
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
+                negateNext = mock(NegateNext.class),
+                errorMessages = new ArrayList<>());
+        when(negateNext.isNegateNext()).thenReturn(true);
+        testable.haveDependencyInScope("g:t", DependencyScope.TEST);
+        testable.plan().execute();
+        assertEquals(List.of(
+                "Dependency 'g:t (test)' found in dependencies where it is not allowed"),
+                messages());
+
+        testable = new PomAnalyzer("dependencies", elements,
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
+                negateNext = mock(NegateNext.class),
+                errorMessages = new ArrayList<>());
+        when(negateNext.isNegateNext()).thenReturn(true);
+        testable.haveDependencyInScope(DependencyScope.COMPILE);
+        testable.plan().execute();
+        assertEquals(List.of(
+                "Dependency '* (compile)' found in dependencies where it is not allowed"),
+                messages());
+        assertEquals("dependencies.dependency[0]",
+                resultCaller.getViolations().get(0).getPath().toString());
+        assertThrows(IllegalArgumentException.class,
+                () -> testable.haveDependencyInScope("g", DependencyScope.TEST));
+    }
+
+    @Test
+    void testNoDuplicatesReportsEveryRepeatedDeclaration() {
+        List<PomElement> elements = List.of(
+                new PomElement("dependencies.dependency[0]", Map.of("groupId", "g",
+                        "artifactId", "a")),
+                new PomElement("dependencies.dependency[1]", Map.of("groupId", "g",
+                        "artifactId", "a", "type", "jar")),
+                new PomElement("dependencyManagement.dependencies.dependency",
+                        Map.of("groupId", "g", "artifactId", "a")),
+                new PomElement("build.plugins.plugin[0]", Map.of("artifactId", "p")),
+                new PomElement("build.plugins.plugin[1]", Map.of("artifactId", "p")),
+                new PomElement("build.pluginManagement.plugins.plugin",
+                        Map.of("artifactId", "p")));
+        Object[][] checks = {
+                {"dependencies", true, false, 1},
+                {"dependencies", true, true, 0},
+                {"dependencyManagement", true, false, 0},
+                {"dependencyManagement", true, true, 1},
+                {"build", false, false, 1},
+                {"build.pluginManagement", false, false, 0},
+                {"build.pluginManagement", false, true, 1},
+        };
+        for (Object[] check : checks) {
+            testable = new PomAnalyzer((String) check[0], elements,
+                    resultCaller = spy(new ResultCaller(new ArrayList<>())),
+                    negateNext = mock(NegateNext.class),
+                    errorMessages = new ArrayList<>());
+            when(negateNext.isNegateNext()).thenReturn((Boolean) check[2]);
+
+            Statement<PomAnalyzer> result = (Boolean) check[1]
+                    ? testable.noDuplicateDependencies() : testable.noDuplicatePlugins();
+            testable.plan().execute();
+
+            assertNotNull(result);
+            assertEquals(check[3], messages().size(), Arrays.toString(check));
+        }
+        assertEquals(List.of("No duplicate plugin found in build.pluginManagement where it is"
+                + " required"), messages());
+
+        testable = new PomAnalyzer("build", elements,
+                resultCaller = spy(new ResultCaller(new ArrayList<>())),
+                negateNext = mock(NegateNext.class),
+                errorMessages = new ArrayList<>());
+        testable.noDuplicatePlugins();
+        testable.plan().execute();
+        assertEquals(List.of("Plugin 'org.apache.maven.plugins:p' declared more than once in"
+                + " build, at build.plugins.plugin[0] and build.plugins.plugin[1]"), messages());
+        assertEquals("build.plugins.plugin[1]",
+                resultCaller.getViolations().get(0).getPath().toString());
+    }
+
+    private List<String> messages() {
+        return resultCaller.getViolations().stream()
+                .map(Violation::getMessage)
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,164 @@
+package nl.zerofiftyit.mdepunit.core.validation;
+
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import nl.zerofiftyit.mdepunit.exception.PomValidationException;
+import nl.zerofiftyit.mdepunit.model.PomElement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactorAnalyzerTest {
+
+    @TempDir
+    Path project;
+
+    @Test
+    void testAllNestedModulesAreDiscoveredInReactorOrder() throws IOException {
+        writeProject();
+
+        ReactorAnalyzer reactor = InitAnalyzer.analyzeReactor(
+                project.resolve("pom.xml").toString());
+
+        assertEquals(List.of(".", "api", "services", "services/billing", "services/shipping",
+                "web"), names(reactor.getModules()));
+        assertEquals(project.resolve("services/billing/pom.xml").toAbsolutePath().normalize(),
+                reactor.getModules().get(3).getPomFile());
+        assertEquals("api", reactor.getModules().get(1).toString());
+    }
+
+    @Test
+    void testTheChecksAreAppliedToEveryModule() throws IOException {
+        writeProject();
+
+        ReactorResult result = InitAnalyzer.analyzeReactor(project.resolve("pom.xml").toString(),
+                new ForkJoinPool(2)).check(pom -> pom.checking("dependencies.dependency")
+                        .shouldNot().haveTag("version").validate());
+
+        assertEquals(6, result.getResults().size());
+        assertFalse(result.isPassed());
+        assertEquals(List.of("services/billing"), result.getFailures().stream()
+                .map(failure -> failure.getModule().getName()).collect(Collectors.toList()));
+        ModuleResult failure = result.getFailures().get(0);
+        assertEquals("1.0", failure.getViolations().get(1).getValue());
+        assertTrue(result.getResults().get(0).isPassed());
+        assertNull(result.getResults().get(0).getMessage());
+        assertTrue(result.getResults().get(0).getViolations().isEmpty());
+
+        PomValidationException exception = assertThrows(PomValidationException.class,
+                result::validate);
+        assertEquals("services/billing\n" + failure.getMessage(), exception.getMessage());
+        assertEquals(failure.getViolations(), exception.getViolations());
+    }
+
+    @Test
+    void testARuleSetIsEvaluatedForEveryModule() throws IOException {
+        writeProject();
+        RuleSet rules = RuleSet.builder()
+                .rule("model").checking("modelVersion").should().containValue("4.0.0")
+                .build();
+
+        ReactorResult result = InitAnalyzer.analyzeReactor(project.resolve("pom.xml").toString())
+                .check(rules);
+
+        assertTrue(result.isPassed());
+        assertDoesNotThrow(result::validate);
+    }
+
+    @Test
+    void testAModuleReachedTwiceIsAnalyzedOnce() throws IOException {
+        write("pom.xml", "<module>a</module><module>b</module>");
+        write("a/pom.xml", "<module>../b</module>");
+        write("b/pom.xml", "<module>../a/pom.xml</module>");
+
+        ReactorAnalyzer reactor = InitAnalyzer.analyzeReactor(
+                project.resolve("pom.xml").toString());
+
+        assertEquals(3, reactor.getModules().size());
+        assertEquals(List.of(".", "a", "b"), names(reactor.getModules()).stream().sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testAModuleWithoutPomFileFailsTheDiscovery() throws IOException {
+        write("pom.xml", "<module>a</module>");
+        Files.createDirectories(project.resolve("a"));
+
+        NoSuchFileException exception = assertThrows(NoSuchFileException.class,
+                () -> InitAnalyzer.analyzeReactor(project.resolve("pom.xml").toString()));
+
+        assertTrue(exception.getMessage().contains("Module 'a' of"));
+    }
+
+    @Test
+    void testAnUnreadableModulePomFailsTheDiscovery() throws IOException {
+        write("pom.xml", "<module>a</module>");
+        Files.createDirectories(project.resolve("a"));
+        Files.writeString(project.resolve("a/pom.xml"), "<project>");
+
+        assertThrows(IOException.class,
+                () -> InitAnalyzer.analyzeReactor(project.resolve("pom.xml").toString()));
+    }
+
+    @Test
+    void testTheReactorOfTheWorkingDirectoryIsAnalyzedByDefault() throws IOException {
+        ReactorAnalyzer reactor = InitAnalyzer.analyzeReactor();
+
+        assertEquals(List.of("."), names(reactor.getModules()));
+        assertThrows(NullPointerException.class,
+                () -> reactor.check((Consumer<InitAnalyzer>) null));
+        assertThrows(NullPointerException.class, () -> reactor.check((RuleSet) null));
+        assertThrows(NullPointerException.class,
+                () -> InitAnalyzer.analyzeReactor(null, ForkJoinPool.commonPool()));
+        assertThrows(NullPointerException.class,
+                () -> InitAnalyzer.analyzeReactor("pom.xml", null));
+    }
+
+    @Test
+    void testOnlyModuleValuesAreReadAsModules() {
+        List<String> names = ReactorAnalyzer.moduleNames(List.of(
+                new PomElement("modules.module", List.of("a", "b")),
+                new PomElement("modules.module[0]", "a"),
+                new PomElement("modules.module[1]", "b"),
+                new PomElement("profiles.profile.modules.module", "c"),
+                new PomElement("dependencies.dependency[0]", "d")));
+
+        assertEquals(List.of("a", "b"), names);
+    }
+
+    private void writeProject() throws IOException {
+        write("pom.xml", "<module>api</module><module>services</module><module>web</module>");
+        write("api/pom.xml", "");
+        write("services/pom.xml", "<module>billing</module><module>shipping</module>");
+        write("services/billing/pom.xml", "", "<version>1.0</version>");
+        write("services/shipping/pom.xml", "");
+        write("web/pom.xml", "");
+    }
+
+    private void write(final String file, final String modules) throws IOException {
+        write(file, modules, "");
+    }
+
+    private void write(final String file, final String modules, final String version)
+            throws IOException {
+        Path path = project.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, "<project><modelVersion>4.0.0</modelVersion>"
+                + "<modules>" + modules + "</modules>"
+                + "<dependencies><dependency><groupId>g</groupId>" + version
+                + "</dependency></dependencies></project>");
+    }
+
+    private static List<String> names(final List<ReactorModule> modules) {
+        return modules.stream().map(ReactorModule::getName).collect(Collectors.toList());
+    }
+}
@@ -1,6 +1,8 @@
 package nl.zerofiftyit.mdepunit.core.validation;
 
 import nl.zerofiftyit.mdepunit.exception.PomValidationException;
+import nl.zerofiftyit.mdepunit.model.Violation;
+import nl.zerofiftyit.mdepunit.model.ViolationType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -103,4 +105,50 @@ class ResultCallerTest {
 
         Assertions.assertThrows(NullPointerException.class, () -> testable.validate(null));
     }
+
+    @Test
+    void testReportedViolationsAreRenderedWhenValidationFails() {
+        Violation violation = Violation.of(ViolationType.TAG_REQUIRED, "dependencies", "version");
+
+        testable.report(violation);
+        testable.checkForErrors();
+        errorMessages.add("error1");
+        testable.checkForErrors();
+
+        PomValidationException e = assertThrows(PomValidationException.class,
+                () -> testable.validate("reason"));
+
+        assertEquals("reason\nError(s) occurred:\n"
+                + "No version found in dependencies where it is required\n"
+                + "Error(s) occurred:\nerror1\n", e.getMessage());
+        assertEquals(violation, e.getViolations().get(0));
+        assertEquals(2, testable.getViolations().size());
+    }
+
+    @Test
+    void testViolationsAreNotRenderedWhenCleared() {
+        Object value = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("rendered");
+            }
+        };
+        testable.report(new Violation(null, ViolationType.DISALLOWED_ELEMENT, "a", "b", null,
+                value));
+        testable.checkForErrors();
+
+        testable.clearErrors();
+
+        assertDoesNotThrow(() -> testable.validate());
+        assertTrue(testable.getViolations().isEmpty());
+    }
+
+    @Test
+    void testPendingViolationsAreOnlyCollectedByCheckForErrors() {
+        testable.report(Violation.message("error1"));
+
+        assertDoesNotThrow(() -> testable.validate());
+        assertThrows(UnsupportedOperationException.class,
+                () -> testable.getViolations().add(Violation.message("error2")));
+    }
 }
@@ -1,5 +1,6 @@
 package nl.zerofiftyit.mdepunit.dsl;
 
+import nl.zerofiftyit.mdepunit.core.validation.ChainPlan;
 import nl.zerofiftyit.mdepunit.core.validation.ResultCaller;
 import nl.zerofiftyit.mdepunit.exception.PomValidationException;
 import nl.zerofiftyit.mdepunit.model.NegateNext;
@@ -37,12 +38,20 @@ class StatementTest {
     @Test
     void testAndWhenNegateNextIsTrue() {
         // Arrange
+        ChainPlan plan = mock(ChainPlan.class);
+        statement = new Statement<>(testValue, resultCaller, negateNext, plan);
         when(negateNext.isNegateNext()).thenReturn(true);
 
         String result = statement.and();
 
         assertEquals(testValue, result);
-        verify(resultCaller).clearErrors();
+        verify(plan).and(true);
+        verify(resultCaller, never()).clearErrors();
+
+        statement.validate();
+
+        verify(plan).execute();
+        verify(resultCaller).validate();
     }
 
     @Test
@@ -62,24 +71,12 @@ class StatementTest {
         when(negateNext.isNegateNext()).thenReturn(true);
 
         String result = statement.or();
+        statement.validate("reason");
 
         assertEquals(testValue, result);
         verify(resultCaller, never()).clearErrors();
-        verify(resultCaller).validate();
-    }
-
-
-    @Test
-    void testOrWhenPomValidationThrowsIsIgnored() {
-
-        when(negateNext.isNegateNext()).thenReturn(true);
-        doThrow(new PomValidationException("test")).when(resultCaller).validate();
-
-        String result = statement.or();
-
-        assertEquals(testValue, result);
-        verify(resultCaller, never()).clearErrors();
-        verify(resultCaller).validate();
+        verify(resultCaller, never()).validate();
+        verify(resultCaller).validate("reason");
     }
 
     @Test
@@ -1,7 +1,11 @@
 package nl.zerofiftyit.mdepunit.exception;
 
+import nl.zerofiftyit.mdepunit.model.Violation;
+
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PomValidationExceptionTest {
@@ -11,6 +15,16 @@ class PomValidationExceptionTest {
         String errorMessage = "Invalid POM configuration";
         PomValidationException exception = new PomValidationException(errorMessage);
         assertEquals(errorMessage, exception.getMessage());
+        assertTrue(exception.getViolations().isEmpty());
+    }
+
+    @Test
+    void testExceptionViolations() {
+        Violation violation = Violation.message("Invalid POM configuration");
+        PomValidationException exception = new PomValidationException("message",
+                List.of(violation));
+
+        assertEquals(List.of(violation), exception.getViolations());
     }
 
     @Test
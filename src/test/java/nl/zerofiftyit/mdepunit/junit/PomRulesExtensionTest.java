@@ -0,0 +1,148 @@
+package nl.zerofiftyit.mdepunit.junit;
+
+import nl.zerofiftyit.mdepunit.core.validation.InitAnalyzer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+class PomRulesExtensionTest {
+
+    private static final List<InitAnalyzer> INJECTED = Collections.synchronizedList(
+            new ArrayList<>());
+
+    @Test
+    void testAnalyzersAreSharedByAllTestsOfARun() {
+        INJECTED.clear();
+
+        String output = run(ProjectRules.class, MoreProjectRules.class);
+
+        assertEquals(3, INJECTED.size());
+        assertSame(INJECTED.get(0), INJECTED.get(1));
+        assertSame(INJECTED.get(0), INJECTED.get(2));
+        assertTrue(output.startsWith("mDepUnit rules: 4 tests in "), output);
+        assertTrue(output.contains(", 1 failed; 2 POM files parsed in "), output);
+        assertTrue(output.contains("  ProjectRules.modelVersion"), output);
+    }
+
+    @Test
+    void testTheFileOfAParameterTakesPrecedenceOverThatOfTheClass() {
+        INJECTED.clear();
+
+        run(DistRules.class);
+
+        assertEquals(2, INJECTED.size());
+        assertNotSame(INJECTED.get(0), INJECTED.get(1));
+    }
+
+    @Test
+    void testTheExtensionAloneInjectsTheDefaultPomFile() {
+        INJECTED.clear();
+
+        run(ProjectRules.class, ExtendedRules.class);
+
+        assertEquals(3, INJECTED.size());
+        assertSame(INJECTED.get(0), INJECTED.get(2));
+    }
+
+    @Test
+    void testAMissingPomFileFailsTheTest() {
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        LauncherFactory.create().execute(request().selectors(selectClass(MissingRules.class))
+                .build(), listener);
+
+        TestExecutionSummary summary = listener.getSummary();
+        assertEquals(1, summary.getTestsFailedCount());
+        Throwable failure = summary.getFailures().get(0).getException();
+        assertInstanceOf(ParameterResolutionException.class, failure);
+        assertTrue(failure.getMessage().startsWith("Cannot read POM file "));
+    }
+
+    private static String run(final Class<?>... testClasses) {
+        LauncherDiscoveryRequest request = request().selectors(List.of(testClasses).stream()
+                .map(testClass -> selectClass(testClass)).toArray(
+                        org.junit.platform.engine.DiscoverySelector[]::new)).build();
+        PrintStream out = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            LauncherFactory.create().execute(request);
+        } finally {
+            System.setOut(out);
+        }
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    @PomRules
+    static class ProjectRules {
+
+        @Test
+        void modelVersion(final InitAnalyzer analyzer) {
+            INJECTED.add(analyzer);
+            analyzer.checking("modelVersion").should().containValue("4.0.0").validate();
+        }
+
+        @Test
+        void failing(final InitAnalyzer analyzer) {
+            INJECTED.add(analyzer);
+            analyzer.checking("modelVersion").shouldNot().containValue("4.0.0").validate();
+        }
+    }
+
+    @PomRules
+    static class MoreProjectRules {
+
+        @Test
+        void modules(final InitAnalyzer analyzer) {
+            INJECTED.add(analyzer);
+        }
+
+        @Test
+        void dist(@PomFile("src/test/resources/dist/pom.xml") final InitAnalyzer analyzer) {
+            assertNotNull(analyzer);
+        }
+    }
+
+    @PomRules("src/test/resources/dist/pom.xml")
+    static class DistRules {
+
+        @Test
+        void both(final InitAnalyzer dist,
+                  @PomFile("./pom.xml") final InitAnalyzer project) {
+            INJECTED.add(dist);
+            INJECTED.add(project);
+        }
+    }
+
+    @ExtendWith(PomRulesExtension.class)
+    static class ExtendedRules {
+
+        @Test
+        void project(final InitAnalyzer analyzer) {
+            INJECTED.add(analyzer);
+        }
+    }
+
+    @PomRules("missing/pom.xml")
+    static class MissingRules {
+
+        @Test
+        void missing(final InitAnalyzer analyzer) {
+            fail("not injected");
+        }
+    }
+}
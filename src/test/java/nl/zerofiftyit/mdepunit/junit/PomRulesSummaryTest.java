@@ -0,0 +1,55 @@
+package nl.zerofiftyit.mdepunit.junit;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PomRulesSummaryTest {
+
+    @Test
+    void testTimingsAreAggregatedPerTestMethod() {
+        PomRulesSummary testable = new PomRulesSummary();
+        testable.parsed(Paths.get("pom.xml"), 3_000_000);
+        for (int i = 1; i <= 7; i++) {
+            testable.tested("Rules.rule" + i, i * 1_000_000L, false);
+        }
+        testable.tested("Rules.rule1", 9_500_000, true);
+
+        assertEquals("mDepUnit rules: 8 tests in 37.5 ms, 1 failed; 1 POM files parsed in 3.0 ms\n"
+                + "  10.5 ms  Rules.rule1 (2 tests)\n"
+                + "  7.0 ms  Rules.rule7\n"
+                + "  6.0 ms  Rules.rule6\n"
+                + "  5.0 ms  Rules.rule5\n"
+                + "  4.0 ms  Rules.rule4", testable.toString());
+    }
+
+    @Test
+    void testTheSummaryIsOnlyPrintedAfterTests() {
+        PomRulesSummary testable = new PomRulesSummary();
+
+        assertEquals("", close(testable));
+        testable.tested("Rules.rule", 0, false);
+        assertEquals("mDepUnit rules: 1 tests in 0.0 ms, 0 failed; 0 POM files parsed in 0.0 ms\n"
+                + "  0.0 ms  Rules.rule" + System.lineSeparator(), close(testable));
+        PomRulesSummary parsedOnly = new PomRulesSummary();
+        parsedOnly.parsed(Paths.get("pom.xml"), 0);
+        assertFalse(close(parsedOnly).isEmpty());
+    }
+
+    private static String close(final PomRulesSummary summary) {
+        PrintStream out = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            summary.close();
+        } finally {
+            System.setOut(out);
+        }
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -22,4 +22,13 @@ class DependencyScopeTest {
         assertEquals("runtime", DependencyScope.RUNTIME.toString());
     }
 
+    @Test
+    void of_ScopeAsWritten_ReturnsScope() {
+        assertEquals(DependencyScope.COMPILE, DependencyScope.of(null));
+        assertEquals(DependencyScope.COMPILE, DependencyScope.of(" "));
+        assertEquals(DependencyScope.TEST, DependencyScope.of(" test "));
+        assertEquals(DependencyScope.IMPORT, DependencyScope.of("Import"));
+        assertEquals(DependencyScope.SYSTEM, DependencyScope.of("system"));
+        assertNull(DependencyScope.of("${scope}"));
+    }
 }
@@ -0,0 +1,40 @@
+package nl.zerofiftyit.mdepunit.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationModeTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(EvaluationMode.SYSTEM_PROPERTY);
+    }
+
+    @Test
+    void testDefaultModeWithoutPropertyIsComplete() {
+        assertEquals(EvaluationMode.COMPLETE, EvaluationMode.defaultMode());
+    }
+
+    @Test
+    void testDefaultModeWithBlankPropertyIsComplete() {
+        System.setProperty(EvaluationMode.SYSTEM_PROPERTY, " ");
+
+        assertEquals(EvaluationMode.COMPLETE, EvaluationMode.defaultMode());
+    }
+
+    @Test
+    void testDefaultModeFromProperty() {
+        System.setProperty(EvaluationMode.SYSTEM_PROPERTY, " fail-fast ");
+
+        assertEquals(EvaluationMode.FAIL_FAST, EvaluationMode.defaultMode());
+    }
+
+    @Test
+    void testDefaultModeWithUnknownPropertyThrows() {
+        System.setProperty(EvaluationMode.SYSTEM_PROPERTY, "lazy");
+
+        assertThrows(IllegalArgumentException.class, EvaluationMode::defaultMode);
+    }
+}
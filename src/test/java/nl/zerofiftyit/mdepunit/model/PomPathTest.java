@@ -0,0 +1,101 @@
+package nl.zerofiftyit.mdepunit.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PomPathTest {
+
+    private static final List<String> PATHS = List.of(
+            "", "project", "dependencies.dependency", "dependencies.dependency[0]",
+            "dependencies.dependency[12].version", "properties.spring.version", "mix.", "mix.[0]",
+            "a..b", ".a", "a[0][1]", "a[01]", "a[x]", "[0]", "[0].a", "a[", "a]", "a[]");
+
+    @Test
+    void testParseRendersAsGivenString() {
+        for (String path : PATHS) {
+            PomPath parsed = PomPath.parse(path);
+
+            assertEquals(path, parsed.toString());
+            assertEquals(path.length(), parsed.length());
+            assertTrue(parsed.rendersAs(path), path);
+        }
+    }
+
+    @Test
+    void testParseSplitsNamesAndListIndices() {
+        PomPath path = PomPath.parse("dependencies.dependency[12].version");
+
+        assertEquals("version", path.getName());
+        assertEquals(-1, path.getIndex());
+        assertEquals(3, path.getDepth());
+        assertEquals("[12]", path.getParent().getName());
+        assertEquals(12, path.getParent().getIndex());
+        assertEquals(PomPath.of("dependencies").child("dependency").item(12).child("version"), path);
+    }
+
+    @Test
+    void testParseKeepsInvalidListIndexInName() {
+        assertEquals("a[01]", PomPath.parse("a[01]").getName());
+        assertEquals("a[x]", PomPath.parse("a[x]").getName());
+        assertNull(PomPath.parse("a[x]").getParent());
+    }
+
+    @Test
+    void testStringComparisonsMatchRenderedString() {
+        Set<String> fragments = new LinkedHashSet<>(List.of("x", "[", "]", ".", "..", "a.b"));
+        for (String path : PATHS) {
+            for (int i = 0; i <= path.length(); i++) {
+                fragments.add(path.substring(0, i));
+                fragments.add(path.substring(i));
+            }
+        }
+
+        for (String path : PATHS) {
+            PomPath parsed = PomPath.parse(path);
+            for (String fragment : fragments) {
+                String message = path + " / " + fragment;
+                assertEquals(path.startsWith(fragment), parsed.startsWith(fragment), message);
+                assertEquals(path.endsWith(fragment), parsed.endsWith(fragment), message);
+                assertEquals(path.equals(fragment), parsed.rendersAs(fragment), message);
+                assertEquals(isAncestorOf(path, fragment), parsed.isAncestorOf(fragment), message);
+            }
+        }
+    }
+
+    @Test
+    void testStartsWithComparesSegments() {
+        PomPath dependency = PomPath.of("dependencies").child("dependency");
+        PomPath version = dependency.item(0).child("version");
+
+        assertTrue(version.startsWith(dependency));
+        assertTrue(version.startsWith(version));
+        assertFalse(dependency.startsWith(version));
+        assertFalse(version.startsWith(PomPath.of("dependencies").child("dep")));
+        assertFalse(PomPath.of("properties").child("spring.version")
+                .startsWith(PomPath.parse("properties.spring")));
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        PomPath path = PomPath.parse("modules.module[1]");
+
+        assertEquals(path, path);
+        assertEquals(path, PomPath.of("modules").child("module").item(1));
+        assertEquals(path.hashCode(), PomPath.of("modules").child("module").item(1).hashCode());
+        assertNotEquals(path, PomPath.parse("modules.module[2]"));
+        assertNotEquals(path, PomPath.parse("modules.module"));
+        assertNotEquals(PomPath.parse("a.b"), PomPath.parse("c.b"));
+        assertNotEquals(PomPath.parse("a.b"), PomPath.of("a.b"));
+        assertNotEquals(path, "modules.module[1]");
+    }
+
+    private static boolean isAncestorOf(final String path, final String other) {
+        return other.length() > path.length() && other.startsWith(path)
+                && (other.charAt(path.length()) == '.' || other.charAt(path.length()) == '[');
+    }
+}
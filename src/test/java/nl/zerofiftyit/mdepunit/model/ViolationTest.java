@@ -0,0 +1,78 @@
+package nl.zerofiftyit.mdepunit.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViolationTest {
+
+    @Test
+    void testEveryTypeRendersTheMessageOfTheAnalyzers() {
+        assertEquals("No version found in dependencies where it is required",
+                Violation.of(ViolationType.TAG_REQUIRED, "dependencies", "version").getMessage());
+        assertEquals("version found in dependencies where it is not allowed. "
+                        + "\nFound disallowed value: ",
+                Violation.of(ViolationType.TAG_NOT_ALLOWED, "dependencies", "version")
+                        .getMessage());
+        assertEquals("Value 'a' not found in b where it is required",
+                Violation.of(ViolationType.VALUE_REQUIRED, "b", "a").getMessage());
+        assertEquals("Value 'a' found in b where it is not allowed",
+                Violation.of(ViolationType.VALUE_NOT_ALLOWED, "b", "a").getMessage());
+        assertEquals("Required property 'a' not found",
+                Violation.of(ViolationType.PROPERTY_REQUIRED, "b", "a").getMessage());
+        assertEquals("Property 'a' found where not allowed",
+                Violation.of(ViolationType.PROPERTY_NOT_ALLOWED, "b", "a").getMessage());
+        assertEquals("Module 'a' directory or pom file not found while expected",
+                Violation.of(ViolationType.MODULE_REQUIRED, "b", "a").getMessage());
+        assertEquals("Module 'a' directory or pom file found, but not expected",
+                Violation.of(ViolationType.MODULE_NOT_ALLOWED, "b", "a").getMessage());
+        assertEquals("text", Violation.message("text").toString());
+    }
+
+    @Test
+    void testDuplicatesRenderBothPositions() {
+        Duplicate duplicate = new Duplicate("g:a::jar", PomPath.parse("dependencies.dependency[0]"),
+                PomPath.parse("dependencies.dependency[2]"));
+
+        assertEquals("Dependency 'g:a::jar' declared more than once in dependencies, at "
+                        + "dependencies.dependency[0] and dependencies.dependency[2]",
+                new Violation(null, ViolationType.DUPLICATE_DEPENDENCY, "dependencies",
+                        duplicate.getKey(), duplicate.getRepeated(), duplicate.getFirst())
+                        .getMessage());
+        assertEquals("g:a::jar at dependencies.dependency[0] and dependencies.dependency[2]",
+                duplicate.toString());
+        assertEquals("No duplicate plugin found in build where it is required",
+                Violation.of(ViolationType.DUPLICATE_REQUIRED, "build", "plugin").getMessage());
+    }
+
+    @Test
+    void testOffendingElementIsKeptAsReference() {
+        PomPath path = PomPath.parse("dependencies.dependency[1].version");
+        Object value = new Object() {
+            @Override
+            public String toString() {
+                return "1.0";
+            }
+        };
+
+        Violation violation = new Violation("rule", ViolationType.DISALLOWED_ELEMENT,
+                "dependencies", "version", path, value);
+
+        assertEquals("rule", violation.getRuleId());
+        assertEquals(ViolationType.DISALLOWED_ELEMENT, violation.getType());
+        assertEquals("dependencies", violation.getSelector());
+        assertEquals("version", violation.getArgument());
+        assertSame(path, violation.getPath());
+        assertSame(value, violation.getValue());
+        assertEquals("- 1.0", violation.getMessage());
+    }
+
+    @Test
+    void testViolationWithoutOffendingElement() {
+        Violation violation = Violation.of(ViolationType.TAG_REQUIRED, "dependencies", "version");
+
+        assertNull(violation.getRuleId());
+        assertNull(violation.getPath());
+        assertNull(violation.getValue());
+    }
+}
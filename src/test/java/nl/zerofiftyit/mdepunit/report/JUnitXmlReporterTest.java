@@ -0,0 +1,51 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JUnitXmlReporterTest {
+
+    @Test
+    void testEveryPomFileIsATestSuite(@TempDir final Path directory) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Reporter testable = ReportFormat.JUNIT_XML.open(out, ReportFixture.RULES);
+
+        testable.report("a/pom.xml", ReportFixture.evaluate(directory));
+        int written = out.size();
+        testable.reportError("b/pom.xml", "Unexpected end of file");
+        assertTrue(out.size() > written, "the error is written before the report is closed");
+        testable.close();
+
+        Document report = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("testsuites", report.getDocumentElement().getTagName());
+        NodeList suites = report.getElementsByTagName("testsuite");
+        assertEquals(2, suites.getLength());
+        Element evaluated = (Element) suites.item(0);
+        assertEquals("a/pom.xml", evaluated.getAttribute("name"));
+        assertEquals("3", evaluated.getAttribute("tests"));
+        assertEquals("2", evaluated.getAttribute("failures"));
+        assertEquals("0", evaluated.getAttribute("errors"));
+        NodeList cases = evaluated.getElementsByTagName("testcase");
+        assertEquals("versions", ((Element) cases.item(0)).getAttribute("name"));
+        Element failure = (Element) ((Element) cases.item(0)).getElementsByTagName("failure")
+                .item(0);
+        assertEquals("TAG_NOT_ALLOWED", failure.getAttribute("type"));
+        assertTrue(failure.getTextContent().contains("- 1.0"));
+        assertEquals(0, ((Element) cases.item(1)).getElementsByTagName("failure").getLength());
+        Element unreadable = (Element) suites.item(1);
+        assertEquals("1", unreadable.getAttribute("errors"));
+        assertEquals("Unexpected end of file", ((Element) unreadable
+                .getElementsByTagName("error").item(0)).getAttribute("message"));
+    }
+}
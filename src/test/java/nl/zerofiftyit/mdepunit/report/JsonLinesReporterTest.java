@@ -0,0 +1,49 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLinesReporterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void testEveryRuleIsALine(@TempDir final Path directory) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Reporter testable = ReportFormat.JSON_LINES.open(out, ReportFixture.RULES);
+
+        testable.report("a/pom.xml", ReportFixture.evaluate(directory));
+        int written = out.size();
+        testable.reportError("b/pom.xml", "Unexpected end of file");
+        assertTrue(out.size() > written, "the error is written before the report is closed");
+        testable.close();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        JsonNode versions = MAPPER.readTree(lines[0]);
+        assertEquals("a/pom.xml", versions.get("pom").asText());
+        assertEquals("versions", versions.get("rule").asText());
+        assertFalse(versions.get("passed").asBoolean());
+        assertEquals("TAG_NOT_ALLOWED", versions.get("violations").get(0).get("type").asText());
+        assertFalse(versions.get("violations").get(0).has("path"));
+        JsonNode element = versions.get("violations").get(1);
+        assertEquals("DISALLOWED_ELEMENT", element.get("type").asText());
+        assertEquals("dependencies.dependency.version", element.get("path").asText());
+        assertEquals("1.0", element.get("value").asText());
+        JsonNode groups = MAPPER.readTree(lines[1]);
+        assertTrue(groups.get("passed").asBoolean());
+        assertEquals(0, groups.get("violations").size());
+        assertEquals("No modelVersion found in  where it is required",
+                MAPPER.readTree(lines[2]).get("violations").get(0).get("message").asText());
+        assertEquals("{\"pom\":\"b/pom.xml\",\"error\":\"Unexpected end of file\"}", lines[3]);
+    }
+}
@@ -0,0 +1,29 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import nl.zerofiftyit.mdepunit.core.parse.PomReader;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSet;
+import nl.zerofiftyit.mdepunit.core.rules.RuleSetResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+final class ReportFixture {
+
+    static final RuleSet RULES = RuleSet.builder()
+            .rule("versions").checking("dependencies.dependency").shouldNot().haveTag("version")
+            .rule("groups").checking("dependencies.dependency").should().haveTag("groupId")
+            .rule("model").should().haveTag("modelVersion")
+            .build();
+
+    private ReportFixture() {
+    }
+
+    static RuleSetResult evaluate(final Path directory) throws IOException {
+        Path pom = directory.resolve("pom.xml");
+        Files.writeString(pom, "<project><dependencies><dependency><groupId>g</groupId>"
+                + "<artifactId>a</artifactId><version>1.0</version></dependency>"
+                + "</dependencies></project>");
+        return RULES.evaluate(new PomReader(pom.toString()).getElements());
+    }
+}
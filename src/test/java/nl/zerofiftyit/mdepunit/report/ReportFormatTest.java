@@ -0,0 +1,32 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportFormatTest {
+
+    @Test
+    void testFormatsAreFoundByTheirShortName() {
+        for (ReportFormat format : ReportFormat.values()) {
+            assertSame(format, ReportFormat.of(format.toString()));
+            assertSame(format, ReportFormat.of(format.toString().toUpperCase()));
+        }
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ReportFormat.of("html"));
+        assertEquals("Unknown report format 'html', expected jsonl, junit or sarif",
+                exception.getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("DataFlowIssue")
+    void testNullArgumentsAreRejected() {
+        assertThrows(NullPointerException.class, () -> ReportFormat.of(null));
+        assertThrows(NullPointerException.class,
+                () -> ReportFormat.SARIF.open(null, ReportFixture.RULES));
+        assertThrows(NullPointerException.class,
+                () -> ReportFormat.SARIF.open(new ByteArrayOutputStream(), null));
+    }
+}
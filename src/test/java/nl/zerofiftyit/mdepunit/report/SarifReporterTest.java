@@ -0,0 +1,52 @@
+package nl.zerofiftyit.mdepunit.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SarifReporterTest {
+
+    @Test
+    void testEveryFailedRuleIsAResult(@TempDir final Path directory) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Reporter testable = ReportFormat.SARIF.open(out, ReportFixture.RULES);
+
+        testable.report("a\\pom.xml", ReportFixture.evaluate(directory));
+        int written = out.size();
+        testable.reportError("b/pom.xml", "Unexpected end of file");
+        assertTrue(out.size() > written, "the error is written before the report is closed");
+        testable.close();
+
+        JsonNode report = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals("2.1.0", report.get("version").asText());
+        JsonNode run = report.get("runs").get(0);
+        JsonNode rules = run.get("tool").get("driver").get("rules");
+        assertEquals(4, rules.size());
+        assertEquals("versions: checking(dependencies.dependency).shouldNot().HAVE_TAG(version)",
+                rules.get(0).get("shortDescription").get("text").asText());
+        assertEquals(SarifReporter.NOT_READABLE, rules.get(3).get("id").asText());
+        JsonNode results = run.get("results");
+        assertEquals(3, results.size());
+        JsonNode versions = results.get(0);
+        assertEquals("versions", versions.get("ruleId").asText());
+        assertEquals(0, versions.get("ruleIndex").asInt());
+        assertEquals("error", versions.get("level").asText());
+        JsonNode location = versions.get("locations").get(0);
+        assertEquals("a/pom.xml", location.get("physicalLocation").get("artifactLocation")
+                .get("uri").asText());
+        assertEquals("dependencies.dependency.version", location.get("logicalLocations")
+                .get(0).get("fullyQualifiedName").asText());
+        assertEquals("model", results.get(1).get("ruleId").asText());
+        assertEquals(2, results.get(1).get("ruleIndex").asInt());
+        assertEquals(SarifReporter.NOT_READABLE, results.get(2).get("ruleId").asText());
+        assertEquals("Unexpected end of file", results.get(2).get("message").get("text")
+                .asText());
+    }
+}